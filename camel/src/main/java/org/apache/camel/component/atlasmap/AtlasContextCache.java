@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.atlasmap;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import io.atlasmap.api.AtlasContext;
+import io.atlasmap.core.DefaultAtlasContext;
+import io.atlasmap.expression.internal.LruCache;
+
+/**
+ * A bounded cache used by {@link AtlasEndpoint} to reuse the {@code AtlasContext}s created from
+ * the mapping definitions passed in a message header. The MBeans of an evicted context are unregistered.
+ */
+public class AtlasContextCache extends LruCache<String, AtlasContext> {
+
+    public AtlasContextCache(int maxSize) {
+        super(maxSize);
+    }
+
+    @Override
+    protected void onRemoval(String key, AtlasContext context) {
+        if (context instanceof DefaultAtlasContext) {
+            ((DefaultAtlasContext) context).unregisterJmx();
+        }
+    }
+
+    /**
+     * Computes the cache key for the mapping definition content.
+     * @param content mapping definition content
+     * @return hex encoded SHA-256 digest of the content
+     */
+    public static String digest(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder buf = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                buf.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return buf.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
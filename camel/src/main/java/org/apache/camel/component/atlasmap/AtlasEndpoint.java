@@ -67,6 +67,9 @@ public class AtlasEndpoint extends ResourceEndpoint {
     private String targetMapName;
     @UriParam(defaultValue = "MAP")
     private TargetMapMode targetMapMode = TargetMapMode.MAP;
+    @UriParam(defaultValue = "100")
+    private int mappingCacheSize = 100;
+    private volatile AtlasContextCache contextCache;
 
     public enum TargetMapMode {
         MAP, MESSAGE_HEADER, EXCHANGE_PROPERTY;
@@ -172,6 +175,48 @@ public class AtlasEndpoint extends ResourceEndpoint {
         return this.targetMapMode;
     }
 
+    /**
+     * The maximum number of the AtlasContexts created from the mapping definitions passed in
+     * {@link AtlasConstants#ATLAS_MAPPING} header to keep cached. Least recently used ones are evicted
+     * once exceeded. Zero or negative value disables the cache and releases the cached contexts.
+     * @param size cache size
+     */
+    public synchronized void setMappingCacheSize(int size) {
+        this.mappingCacheSize = size;
+        AtlasContextCache cache = contextCache;
+        if (cache == null) {
+            return;
+        }
+        if (size > 0) {
+            cache.setMaxSize(size);
+        } else {
+            contextCache = null;
+            cache.clear();
+        }
+    }
+
+    public int getMappingCacheSize() {
+        return this.mappingCacheSize;
+    }
+
+    /**
+     * Returns the cache of the AtlasContexts created from the mapping definitions passed in
+     * {@link AtlasConstants#ATLAS_MAPPING} header.
+     * @return the cache, or {@code null} if the cache is disabled
+     */
+    public AtlasContextCache getContextCache() {
+        AtlasContextCache cache = contextCache;
+        if (cache == null && mappingCacheSize > 0) {
+            synchronized (this) {
+                if (contextCache == null) {
+                    contextCache = new AtlasContextCache(mappingCacheSize);
+                }
+                cache = contextCache;
+            }
+        }
+        return cache;
+    }
+
     public AtlasEndpoint findOrCreateEndpoint(String uri, String newResourceUri) {
         String newUri = uri.replace(getResourceUri(), newResourceUri);
         log.debug("Getting endpoint with URI: {}", newUri);
@@ -228,15 +273,15 @@ public class AtlasEndpoint extends ResourceEndpoint {
 
         String content = incomingMessage.getHeader(AtlasConstants.ATLAS_MAPPING, String.class);
         if (content != null) {
-            // use content from header
-            InputStream is = new ByteArrayInputStream(content.getBytes());
-            if (log.isDebugEnabled()) {
-                log.debug("Atlas mapping content read from header {} for endpoint {}", AtlasConstants.ATLAS_MAPPING,
-                        getEndpointUri());
-            }
             // remove the header to avoid it being propagated in the routing
             incomingMessage.removeHeader(AtlasConstants.ATLAS_MAPPING);
-            return atlasContextFactory.createContext(JSON, is);
+            AtlasContextCache cache = getContextCache();
+            if (cache == null) {
+                return createAtlasContextFromHeader(content);
+            }
+            // use cached context if the same mapping content has been seen
+            return cache.computeIfAbsent(AtlasContextCache.digest(content),
+                    key -> createAtlasContextFromHeader(content));
         } else if (getAtlasContext() != null) {
             // no mapping specified in header, and found an existing context
             return getAtlasContext();
@@ -252,6 +297,16 @@ public class AtlasEndpoint extends ResourceEndpoint {
         return atlasContext;
     }
 
+    private AtlasContext createAtlasContextFromHeader(String content) throws Exception {
+        // use content from header
+        InputStream is = new ByteArrayInputStream(content.getBytes());
+        if (log.isDebugEnabled()) {
+            log.debug("Atlas mapping content read from header {} for endpoint {}", AtlasConstants.ATLAS_MAPPING,
+                    getEndpointUri());
+        }
+        return atlasContextFactory.createContext(JSON, is);
+    }
+
     private void populateSourceDocuments(Exchange exchange, AtlasSession session) {
         if (session.getMapping().getDataSource() == null) {
             return;
@@ -16,13 +16,20 @@
 package org.apache.camel.component.atlasmap;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -36,7 +43,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.atlasmap.api.AtlasContext;
+import io.atlasmap.api.AtlasContextFactory;
 import io.atlasmap.api.AtlasSession;
+import io.atlasmap.core.DefaultAtlasContext;
 import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.Audits;
 import io.atlasmap.v2.DataSource;
@@ -119,6 +128,71 @@ public class AtlasEndpointTest {
         perform(dataSources, null, null, true);
     }
 
+    @Test
+    public void testMappingHeaderContextCache() throws Exception {
+        final AtlasContextFactory factory = spy(AtlasContextFactory.class);
+        final List<DefaultAtlasContext> contexts = new ArrayList<>();
+        when(factory.createContext(eq(AtlasContextFactory.Format.JSON), any(InputStream.class)))
+                .thenAnswer(invocation -> {
+                    DefaultAtlasContext context = mock(DefaultAtlasContext.class);
+                    AtlasContext template = createContext();
+                    when(context.createSession()).thenAnswer(i -> template.createSession());
+                    contexts.add(context);
+                    return context;
+                });
+        final AtlasEndpoint endpoint = new AtlasEndpoint("atlas:test.xml", new AtlasComponent(), "test.xml");
+        endpoint.setAtlasContextFactory(factory);
+        endpoint.setMappingCacheSize(2);
+        exchangeWithMapping(endpoint, "{\"mapping\":1}");
+        exchangeWithMapping(endpoint, "{\"mapping\":1}");
+        exchangeWithMapping(endpoint, "{\"mapping\":2}");
+        exchangeWithMapping(endpoint, "{\"mapping\":3}");
+        exchangeWithMapping(endpoint, "{\"mapping\":1}");
+        verify(factory, times(4)).createContext(eq(AtlasContextFactory.Format.JSON), any(InputStream.class));
+        AtlasContextCache cache = endpoint.getContextCache();
+        assertEquals(1, cache.getHitCount());
+        assertEquals(4, cache.getMissCount());
+        assertEquals(2, cache.getEvictionCount());
+        assertEquals(2, cache.size());
+        assertEquals(0.2d, cache.getHitRate(), 0.0001d);
+        // evicted contexts are unregistered from JMX
+        verify(contexts.get(0)).unregisterJmx();
+        verify(contexts.get(1)).unregisterJmx();
+        verify(contexts.get(2), never()).unregisterJmx();
+
+        endpoint.setMappingCacheSize(0);
+        assertNull(endpoint.getContextCache());
+        verify(contexts.get(2)).unregisterJmx();
+        verify(contexts.get(3)).unregisterJmx();
+        exchangeWithMapping(endpoint, "{\"mapping\":1}");
+        exchangeWithMapping(endpoint, "{\"mapping\":1}");
+        verify(factory, times(6)).createContext(eq(AtlasContextFactory.Format.JSON), any(InputStream.class));
+    }
+
+    private void exchangeWithMapping(AtlasEndpoint endpoint, String mapping) throws Exception {
+        final Exchange exchange = spy(Exchange.class);
+        final Message inMessage = spy(Message.class);
+        when(inMessage.getHeader(AtlasConstants.ATLAS_MAPPING, String.class)).thenReturn(mapping);
+        when(inMessage.getBody()).thenReturn("{test}");
+        when(exchange.getIn()).thenReturn(inMessage);
+        final Message outMessage = spy(Message.class);
+        doNothing().when(outMessage).setBody(any());
+        doNothing().when(outMessage).setHeaders(any());
+        doNothing().when(outMessage).setAttachments(any());
+        when(exchange.getOut()).thenReturn(outMessage);
+        endpoint.onExchange(exchange);
+    }
+
+    private AtlasContext createContext() throws Exception {
+        final AtlasContext context = spy(AtlasContext.class);
+        final AtlasSession session = spy(AtlasSession.class);
+        when(context.createSession()).thenReturn(session);
+        when(session.getAtlasContext()).thenReturn(context);
+        when(session.getMapping()).thenReturn(new AtlasMapping());
+        when(session.getAudits()).thenReturn(new Audits());
+        return context;
+    }
+
     private void perform(List<DataSource> dataSources, String sourceDocId, String targetDocId, boolean fromStream) throws Exception {
         final AtlasMapping mapping = new AtlasMapping();
         mapping.getDataSource().addAll(dataSources);
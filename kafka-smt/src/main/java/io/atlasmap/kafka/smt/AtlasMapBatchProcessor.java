@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.kafka.smt;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.core.DefaultAtlasContext;
+import io.atlasmap.core.DefaultAtlasSession;
+
+/**
+ * Processes AtlasMap data mapping with a batch of Kafka record keys and values at once by using
+ * {@link DefaultAtlasContext#processBatch(List)}. This is used by {@link AtlasMapSMT}, and also
+ * could be used on the consumer side to map the {@link ConsumerRecord}s returned by a poll.
+ */
+public class AtlasMapBatchProcessor {
+
+    private final DefaultAtlasContext atlasContext;
+    private final String docIdSourceKey;
+    private final String docIdSourceValue;
+    private final String docIdTargetKey;
+    private final String docIdTargetValue;
+
+    /**
+     * Creates a processor. Empty or {@code null} Document ID for the source value or the target value
+     * means the default document.
+     * @param atlasContext context
+     * @param docIdSourceKey Document ID for the source key, or {@code null} to not map the key
+     * @param docIdSourceValue Document ID for the source value
+     * @param docIdTargetKey Document ID for the target key, or {@code null} to not map the key
+     * @param docIdTargetValue Document ID for the target value
+     */
+    public AtlasMapBatchProcessor(DefaultAtlasContext atlasContext, String docIdSourceKey, String docIdSourceValue,
+            String docIdTargetKey, String docIdTargetValue) {
+        this.atlasContext = atlasContext;
+        this.docIdSourceKey = docIdSourceKey;
+        this.docIdSourceValue = docIdSourceValue;
+        this.docIdTargetKey = docIdTargetKey;
+        this.docIdTargetValue = docIdTargetValue;
+    }
+
+    /**
+     * Processes the record keys and values.
+     * @param keys record keys
+     * @param values record values, in the same order and the same size as keys
+     * @return results in the same order
+     * @throws AtlasException unexpected error
+     */
+    public List<Result> process(List<?> keys, List<?> values) throws AtlasException {
+        if (keys.size() != values.size()) {
+            throw new IllegalArgumentException(String.format(
+                    "The number of keys %s doesn't match with the number of values %s", keys.size(), values.size()));
+        }
+        List<Map<String, Object>> sourceDocuments = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            Map<String, Object> docs = new LinkedHashMap<>();
+            if (docIdSourceKey != null && !docIdSourceKey.isEmpty()) {
+                docs.put(docIdSourceKey, keys.get(i));
+            }
+            docs.put(docIdSourceValue != null && !docIdSourceValue.isEmpty() ? docIdSourceValue : null,
+                    values.get(i));
+            sourceDocuments.add(docs);
+        }
+        List<AtlasSession> sessions = atlasContext.processBatch(sourceDocuments);
+        List<Result> answer = new ArrayList<>(sessions.size());
+        for (AtlasSession session : sessions) {
+            Exception failure = ((DefaultAtlasSession) session).getProcessingFailure();
+            if (failure != null) {
+                answer.add(new Result(null, null, session, failure));
+                continue;
+            }
+            Object outKey = null;
+            Object outValue = null;
+            if (docIdTargetKey != null && !docIdTargetKey.isEmpty()) {
+                outKey = session.getTargetDocument(docIdTargetKey);
+            }
+            if (docIdTargetValue != null && !docIdTargetValue.isEmpty()) {
+                outValue = session.getTargetDocument(docIdTargetValue);
+            } else {
+                outValue = session.getDefaultTargetDocument();
+            }
+            answer.add(new Result(outKey, outValue, session, null));
+        }
+        return answer;
+    }
+
+    /**
+     * Processes the consumer records.
+     * @param <K> record key type
+     * @param <V> record value type
+     * @param records consumer records
+     * @return results in the iteration order of the records
+     * @throws AtlasException unexpected error
+     */
+    public <K, V> List<Result> process(Iterable<ConsumerRecord<K, V>> records) throws AtlasException {
+        List<Object> keys = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        for (ConsumerRecord<K, V> record : records) {
+            keys.add(record.key());
+            values.add(record.value());
+        }
+        return process(keys, values);
+    }
+
+    /**
+     * A mapped record key and value.
+     */
+    public static class Result {
+        private final Object key;
+        private final Object value;
+        private final AtlasSession session;
+        private final Exception failure;
+
+        private Result(Object key, Object value, AtlasSession session, Exception failure) {
+            this.key = key;
+            this.value = value;
+            this.session = session;
+            this.failure = failure;
+        }
+
+        public Object getKey() {
+            return key;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        /**
+         * Returns the processed session to inspect the audits.
+         * @return session
+         */
+        public AtlasSession getSession() {
+            return session;
+        }
+
+        /**
+         * Returns the unexpected exception thrown while processing this record.
+         * @return the exception, or {@code null} if the record was processed
+         */
+        public Exception getFailure() {
+            return failure;
+        }
+    }
+
+}
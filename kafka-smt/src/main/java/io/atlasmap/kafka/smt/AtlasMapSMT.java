@@ -16,6 +16,8 @@
 package io.atlasmap.kafka.smt;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.kafka.common.config.ConfigDef;
@@ -56,6 +58,7 @@ public class AtlasMapSMT<R extends ConnectRecord<R>> implements Transformation<R
     private String docIdTargetKey;
     private String docIdTargetValue;
     private DefaultAtlasContext atlasContext;
+    private AtlasMapBatchProcessor batchProcessor;
 
     @Override
     public void configure(Map<String, ?> props) {
@@ -68,6 +71,8 @@ public class AtlasMapSMT<R extends ConnectRecord<R>> implements Transformation<R
 
         try {
             atlasContext = DefaultAtlasContextFactory.getInstance().createContext(new File(admPath));
+            batchProcessor = new AtlasMapBatchProcessor(atlasContext,
+                    docIdSourceKey, docIdSourceValue, docIdTargetKey, docIdTargetValue);
         } catch (Exception e) {
             LOG.error("Could not load ADM archive file: {}", e.getMessage());
             if (LOG.isDebugEnabled()) {
@@ -101,14 +106,61 @@ public class AtlasMapSMT<R extends ConnectRecord<R>> implements Transformation<R
             return record.newRecord(record.topic(), record.kafkaPartition(),
                 null, outKey, null, outValue, record.timestamp());
         } catch (Exception e) {
-            LOG.error("Could not process AtlasMap mapping: {}", e.getMessage());
-            if (LOG.isDebugEnabled()) {
-                LOG.error("", e);
-            }
+            logFailure(e);
             return record;
         }
     }
 
+    /**
+     * Processes a batch of records at once. The setup which doesn't depend on the record is done
+     * once for the whole batch. A batch of a single record is processed by {@link #apply(ConnectRecord)}.
+     * @param records records
+     * @return transformed records in the same order, the original record is kept for each record
+     * failed to be processed
+     */
+    public List<R> applyBatch(List<R> records) {
+        if (records.size() <= 1) {
+            List<R> answer = new ArrayList<>(records.size());
+            for (R record : records) {
+                answer.add(apply(record));
+            }
+            return answer;
+        }
+        List<AtlasMapBatchProcessor.Result> results;
+        try {
+            List<Object> keys = new ArrayList<>(records.size());
+            List<Object> values = new ArrayList<>(records.size());
+            for (R record : records) {
+                keys.add(record.key());
+                values.add(record.value());
+            }
+            results = batchProcessor.process(keys, values);
+        } catch (Exception e) {
+            logFailure(e);
+            return records;
+        }
+        List<R> answer = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            R record = records.get(i);
+            AtlasMapBatchProcessor.Result result = results.get(i);
+            if (result.getFailure() != null) {
+                logFailure(result.getFailure());
+                answer.add(record);
+                continue;
+            }
+            answer.add(record.newRecord(record.topic(), record.kafkaPartition(),
+                null, result.getKey(), null, result.getValue(), record.timestamp()));
+        }
+        return answer;
+    }
+
+    private void logFailure(Exception e) {
+        LOG.error("Could not process AtlasMap mapping: {}", e.getMessage());
+        if (LOG.isDebugEnabled()) {
+            LOG.error("", e);
+        }
+    }
+
     @Override
     public ConfigDef config() {
         return CONFIG_DEF;
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.kafka.smt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.xmlunit.builder.DiffBuilder;
+import org.xmlunit.builder.Input;
+import org.xmlunit.diff.Diff;
+
+import io.atlasmap.core.DefaultAtlasContext;
+import io.atlasmap.core.DefaultAtlasContextFactory;
+
+public class AtlasMapBatchProcessorTest {
+
+    private static final String SOURCE_DOC_ID = "source-c7ee0c6f-d615-4d53-9563-d91750745cf9";
+    private static final String TARGET_DOC_ID = "target-4e4d7eb5-8dff-4de8-9780-0707a07a9bad";
+
+    @Test
+    public void testProcess() throws Exception {
+        DefaultAtlasContext context = DefaultAtlasContextFactory.getInstance()
+                .createContext(new File("src/test/resources/atlasmap-mapping.adm"));
+        AtlasMapBatchProcessor processor = new AtlasMapBatchProcessor(context, null, SOURCE_DOC_ID, null, TARGET_DOC_ID);
+        String source = new String(Files.readAllBytes(Paths.get("src/test/resources/source.json")),
+                StandardCharsets.UTF_8);
+        List<ConsumerRecord<String, String>> records = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            records.add(new ConsumerRecord<>("topic", 0, i, "key" + i, source));
+        }
+        List<AtlasMapBatchProcessor.Result> results = processor.process(records);
+        assertEquals(3, results.size());
+        for (AtlasMapBatchProcessor.Result result : results) {
+            assertFalse(result.getSession().hasErrors());
+            assertNull(result.getKey());
+            Diff d = DiffBuilder.compare(Input.fromFile("src/test/resources/target.xml").build())
+                .withTest(Input.fromString(result.getValue().toString()).build())
+                .ignoreWhitespace().build();
+            assertFalse(d.hasDifferences(), d.toString() + ": " + result.getValue());
+        }
+    }
+
+    @Test
+    public void testSizeMismatch() throws Exception {
+        DefaultAtlasContext context = DefaultAtlasContextFactory.getInstance()
+                .createContext(new File("src/test/resources/atlasmap-mapping.adm"));
+        AtlasMapBatchProcessor processor = new AtlasMapBatchProcessor(context, null, SOURCE_DOC_ID, null, TARGET_DOC_ID);
+        assertThrows(IllegalArgumentException.class,
+                () -> processor.process(Arrays.asList("a", "b"), Arrays.asList("c")));
+    }
+
+}
@@ -30,6 +30,52 @@ import io.atlasmap.spi.AtlasSeparateStrategy;
 public interface AtlasContextFactory {
 
     static final String PROPERTY_ATLASMAP_CORE_VERSION = "atlasmap.core.version";
+    /**
+     * If {@code true}, sessions share the mapping definition held by the context instead of
+     * cloning it on creation. This makes the session creation independent of the mapping size, however
+     * each mapping entry being processed is still copied from its serialized form for every message,
+     * so the per-message copy cost remains proportional to the number of processed entries.
+     */
+    static final String PROPERTY_ATLASMAP_SESSION_SHARE_MAPPING = "atlasmap.session.shareMapping";
+    /**
+     * When the mapping definition is validated in {@code AtlasContext#process(AtlasSession)}, one of
+     * {@code always} (default) to validate on every session, {@code once} to validate once and replay
+     * the cached results into the following sessions, or {@code never} to skip runtime validation.
+     */
+    static final String PROPERTY_ATLASMAP_VALIDATION_MODE = "atlasmap.validation.mode";
+    /**
+     * The maximum number of parsed expressions to be cached. The cache is shared across contexts.
+     */
+    static final String PROPERTY_ATLASMAP_EXPRESSION_CACHE_SIZE = "atlasmap.expression.cacheSize";
+    /**
+     * The maximum number of parsed field paths to be cached. The cache is shared across contexts.
+     */
+    static final String PROPERTY_ATLASMAP_PATH_CACHE_SIZE = "atlasmap.path.cacheSize";
+    /**
+     * If {@code true}, contexts record the execution metrics and expose them through JMX. This is
+     * also enabled when a {@code AtlasMetricsRecorder} is set on the context factory.
+     */
+    static final String PROPERTY_ATLASMAP_METRICS_ENABLED = "atlasmap.metrics.enabled";
+    /**
+     * If {@code true}, contexts read the source fields of the independent mapping entries in parallel
+     * within a session. The target fields are still written sequentially in the order of the mapping
+     * entries. This is also enabled when an {@code Executor} is set on the context factory, otherwise
+     * the common fork-join pool is used.
+     */
+    static final String PROPERTY_ATLASMAP_PARALLEL_ENABLED = "atlasmap.parallel.enabled";
+    /**
+     * The minimum number of the mapping entries eligible for the parallel execution in a session,
+     * below which the session is processed sequentially. Defaults to 8.
+     */
+    static final String PROPERTY_ATLASMAP_PARALLEL_THRESHOLD = "atlasmap.parallel.threshold";
+    /**
+     * If {@code true}, the collection to collection mappings which have a single source and target
+     * field are processed item by item. Each source item is read from a cursor, then converted and
+     * written into the target document before reading the next one, instead of reading the whole
+     * collection first. The mappings which the source or target module doesn't support are processed
+     * as usual.
+     */
+    static final String PROPERTY_ATLASMAP_COLLECTION_STREAMING = "atlasmap.collection.streaming";
 
     enum Format { ADM, JSON };
 
@@ -25,4 +25,24 @@ public interface AtlasContextFactoryMXBean {
 
     String getVersion();
 
+    int getExpressionCacheSize();
+
+    int getExpressionCacheMaxSize();
+
+    long getExpressionCacheHitCount();
+
+    long getExpressionCacheMissCount();
+
+    long getExpressionCacheEvictionCount();
+
+    int getPathCacheSize();
+
+    int getPathCacheMaxSize();
+
+    long getPathCacheHitCount();
+
+    long getPathCacheMissCount();
+
+    long getPathCacheEvictionCount();
+
 }
@@ -15,6 +15,10 @@
  */
 package io.atlasmap.mxbean;
 
+/**
+ * The JMX management interface of the context. The statistics are available only when the metrics
+ * are enabled, otherwise zero is returned. All execution times are in nanoseconds.
+ */
 public interface AtlasContextMXBean {
 
     String getUuid();
@@ -29,4 +33,44 @@ public interface AtlasContextMXBean {
 
     String getVersion();
 
+    boolean isMetricsEnabled();
+
+    long getSessionCount();
+
+    long getSessionErrorCount();
+
+    long getSessionTotalExecutionTime();
+
+    long getSessionMinExecutionTime();
+
+    long getSessionMaxExecutionTime();
+
+    long getSessionMeanExecutionTime();
+
+    long getSession50thPercentileExecutionTime();
+
+    long getSession99thPercentileExecutionTime();
+
+    long getFieldActionCount();
+
+    long getFieldActionErrorCount();
+
+    long getFieldActionTotalExecutionTime();
+
+    long getConversionCount();
+
+    long getConversionErrorCount();
+
+    long getAuditErrorCount();
+
+    long getAuditWarnCount();
+
+    /**
+     * Returns the statistics of each mapping entry, sorted by the total execution time in descending order.
+     * @return statistics, or an empty array if the metrics are not enabled
+     */
+    AtlasMappingStatistics[] getMappingStatistics();
+
+    void resetStatistics();
+
 }
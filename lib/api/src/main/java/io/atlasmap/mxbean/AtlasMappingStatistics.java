@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.mxbean;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * A snapshot of the execution statistics of a mapping entry, exposed as a row of
+ * {@link AtlasContextMXBean#getMappingStatistics()}. All execution times are in nanoseconds.
+ */
+public class AtlasMappingStatistics {
+
+    private final String mappingId;
+    private final long count;
+    private final long errorCount;
+    private final long totalExecutionTime;
+    private final long minExecutionTime;
+    private final long maxExecutionTime;
+    private final long meanExecutionTime;
+    private final long percentile50ExecutionTime;
+    private final long percentile99ExecutionTime;
+
+    @ConstructorProperties({"mappingId", "count", "errorCount", "totalExecutionTime", "minExecutionTime",
+        "maxExecutionTime", "meanExecutionTime", "percentile50ExecutionTime", "percentile99ExecutionTime"})
+    public AtlasMappingStatistics(String mappingId, long count, long errorCount, long totalExecutionTime,
+            long minExecutionTime, long maxExecutionTime, long meanExecutionTime, long percentile50ExecutionTime,
+            long percentile99ExecutionTime) {
+        this.mappingId = mappingId;
+        this.count = count;
+        this.errorCount = errorCount;
+        this.totalExecutionTime = totalExecutionTime;
+        this.minExecutionTime = minExecutionTime;
+        this.maxExecutionTime = maxExecutionTime;
+        this.meanExecutionTime = meanExecutionTime;
+        this.percentile50ExecutionTime = percentile50ExecutionTime;
+        this.percentile99ExecutionTime = percentile99ExecutionTime;
+    }
+
+    public String getMappingId() {
+        return mappingId;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public long getTotalExecutionTime() {
+        return totalExecutionTime;
+    }
+
+    public long getMinExecutionTime() {
+        return minExecutionTime;
+    }
+
+    public long getMaxExecutionTime() {
+        return maxExecutionTime;
+    }
+
+    public long getMeanExecutionTime() {
+        return meanExecutionTime;
+    }
+
+    public long getPercentile50ExecutionTime() {
+        return percentile50ExecutionTime;
+    }
+
+    public long getPercentile99ExecutionTime() {
+        return percentile99ExecutionTime;
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.spi;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.v2.Field;
+
+/**
+ * A cursor over the items of a source collection field, e.g. {@code /orders<>/amount}, which is
+ * opened by {@link AtlasModule#openSourceCursor(AtlasInternalSession)}. The items are read one by one
+ * so that the whole collection doesn't have to be held as a {@link io.atlasmap.v2.FieldGroup}.
+ */
+public interface AtlasFieldCursor extends AutoCloseable {
+
+    /**
+     * Reads the next item. The returned field has the collection index in its path and holds the
+     * item value. The cursor may reuse the same field object for the next item, so the caller must
+     * not keep it after the next call.
+     *
+     * @return the next item, or {@code null} if there is no more item
+     * @throws AtlasException failed to read the item
+     */
+    Field next() throws AtlasException;
+
+    @Override
+    default void close() throws AtlasException {
+    }
+
+}
@@ -46,6 +46,17 @@ public interface AtlasInternalSession extends AtlasSession {
 
     Head head();
 
+    /**
+     * Returns whether the session mapping is identical with the mapping definition compiled by
+     * the context, so that the modules could use the state prepared in
+     * {@link AtlasModule#prepareMapping(io.atlasmap.v2.AtlasMapping)} instead of looking into
+     * the session mapping.
+     * @return true if intact
+     */
+    default boolean isMappingDefinitionIntact() {
+        return false;
+    }
+
     public interface Head {
 
         Mapping getMapping();
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.spi;
+
+/**
+ * A plug-in interface to receive the execution metrics of the mapping, e.g. to bridge them into
+ * a metrics library such as Micrometer or Dropwizard Metrics. All durations are in nanoseconds.
+ * The methods are invoked on the mapping thread, so the implementation must be thread safe and
+ * should not block. Each method is a no-op by default.
+ */
+public interface AtlasMetricsRecorder {
+
+    /**
+     * Records the whole processing of a session.
+     * @param mappingName the name of the mapping definition
+     * @param durationNanos elapsed time
+     * @param errorCount the number of the error audits in the session
+     * @param warnCount the number of the warning audits in the session
+     */
+    default void recordSession(String mappingName, long durationNanos, int errorCount, int warnCount) {
+    }
+
+    /**
+     * Records the processing of a single mapping entry.
+     * @param mappingName the name of the mapping definition
+     * @param mappingId the mapping entry ID, alias, or its position if neither is available
+     * @param durationNanos elapsed time
+     * @param failed whether the mapping entry produced an error audit
+     */
+    default void recordMapping(String mappingName, String mappingId, long durationNanos, boolean failed) {
+    }
+
+    /**
+     * Records reading a source field value by a module.
+     * @param mappingName the name of the mapping definition
+     * @param docId the Document ID of the source
+     * @param durationNanos elapsed time
+     * @param failed whether reading failed
+     */
+    default void recordSourceRead(String mappingName, String docId, long durationNanos, boolean failed) {
+    }
+
+    /**
+     * Records populating and writing a target field value by a module, including the target field actions.
+     * @param mappingName the name of the mapping definition
+     * @param docId the Document ID of the target
+     * @param durationNanos elapsed time
+     * @param failed whether writing failed
+     */
+    default void recordTargetWrite(String mappingName, String docId, long durationNanos, boolean failed) {
+    }
+
+    /**
+     * Records applying the field actions of a field.
+     * @param mappingName the name of the mapping definition
+     * @param durationNanos elapsed time
+     * @param failed whether any of the field actions failed
+     */
+    default void recordFieldActions(String mappingName, long durationNanos, boolean failed) {
+    }
+
+    /**
+     * Records a type conversion performed by a module.
+     * @param mappingName the name of the mapping definition
+     * @param failed whether the conversion failed
+     */
+    default void recordConversion(String mappingName, boolean failed) {
+    }
+
+}
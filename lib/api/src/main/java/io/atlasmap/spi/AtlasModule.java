@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 
 import io.atlasmap.api.AtlasException;
+import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.DataSourceMetadata;
 import io.atlasmap.v2.Field;
 
@@ -109,6 +110,54 @@ public interface AtlasModule {
 
     Boolean isStatisticsEnabled();
 
+    /**
+     * Returns whether {@link #readSourceValue(AtlasInternalSession)} could be invoked concurrently
+     * from multiple threads for a same session. If {@code true}, the mapping entries which only read
+     * from such modules are eligible for the parallel execution enabled by
+     * {@code AtlasContextFactory#PROPERTY_ATLASMAP_PARALLEL_ENABLED}.
+     *
+     * @return true if the source document is read without modifying any shared state
+     */
+    default boolean isConcurrentReadSupported() {
+        return false;
+    }
+
+    /**
+     * Opens a cursor over the items of the source collection field set in the session head, which is
+     * used instead of {@link #readSourceValue(AtlasInternalSession)} when the collection mapping is
+     * processed item by item with {@code AtlasContextFactory#PROPERTY_ATLASMAP_COLLECTION_STREAMING}.
+     *
+     * @param session current session
+     * @return the cursor, or {@code null} if the field can't be read item by item
+     * @throws AtlasException failed to open the cursor
+     */
+    default AtlasFieldCursor openSourceCursor(AtlasInternalSession session) throws AtlasException {
+        return null;
+    }
+
+    /**
+     * Returns whether the items of a target collection could be written one by one, each as a target
+     * field which has the collection index in its path, rather than all at once as a
+     * {@link io.atlasmap.v2.FieldGroup}.
+     *
+     * @return true if the collection items could be written one by one
+     */
+    default boolean isTargetItemWriteSupported() {
+        return false;
+    }
+
+    /**
+     * Prepares the module for the mapping definition when the context compiles it, e.g. to collect
+     * the paths of the fields it reads or writes once rather than on every session. The prepared state
+     * applies only to the sessions whose {@link AtlasInternalSession#isMappingDefinitionIntact()} is
+     * {@code true}, the others have to look into their own session mapping.
+     *
+     * @param mappingDefinition the mapping definition compiled by the context
+     * @throws AtlasException failed to prepare
+     */
+    default void prepareMapping(AtlasMapping mappingDefinition) throws AtlasException {
+    }
+
     Boolean isSupportedField(Field field);
 
     Field cloneField(Field field) throws AtlasException;
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.atlasmap.core.AtlasPath;
+
+/**
+ * Micro benchmark of {@link AtlasPath} parsing and the operations performed per field while
+ * processing a collection mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AtlasPathBenchmark {
+
+    @Param({"/orderId", "/order/customer/name", "/items<>/sku", "/order/items/item<15>/sku",
+            "/a<>/b[]/c{}/d<3>/@e"})
+    public String path;
+
+    @Benchmark
+    public AtlasPath parse() {
+        return new AtlasPath(path);
+    }
+
+    @Benchmark
+    public String parseAndIndex() {
+        AtlasPath atlasPath = new AtlasPath(path);
+        if (atlasPath.hasCollection() && !atlasPath.isIndexedCollection()) {
+            atlasPath.setVacantCollectionIndex(7);
+        }
+        return atlasPath.toString();
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.atlasmap.api.AtlasConversionException;
+import io.atlasmap.core.DefaultAtlasConversionService;
+import io.atlasmap.v2.FieldType;
+
+/**
+ * Micro benchmark of {@link DefaultAtlasConversionService#convertType(Object, FieldType, FieldType)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionServiceBenchmark {
+
+    private final DefaultAtlasConversionService service = DefaultAtlasConversionService.getInstance();
+    private String integerString = "12345";
+    private String doubleString = "12345.678";
+    private String booleanString = "true";
+    private Integer integerValue = 12345;
+    private Double doubleValue = 12345.678d;
+    private Long longValue = 1234567890123L;
+
+    @Benchmark
+    public Object stringToInteger() throws AtlasConversionException {
+        return service.convertType(integerString, FieldType.STRING, FieldType.INTEGER);
+    }
+
+    @Benchmark
+    public Object stringToDouble() throws AtlasConversionException {
+        return service.convertType(doubleString, FieldType.STRING, FieldType.DOUBLE);
+    }
+
+    @Benchmark
+    public Object stringToBoolean() throws AtlasConversionException {
+        return service.convertType(booleanString, FieldType.STRING, FieldType.BOOLEAN);
+    }
+
+    @Benchmark
+    public Object integerToString() throws AtlasConversionException {
+        return service.convertType(integerValue, FieldType.INTEGER, FieldType.STRING);
+    }
+
+    @Benchmark
+    public Object doubleToLong() throws AtlasConversionException {
+        return service.convertType(doubleValue, FieldType.DOUBLE, FieldType.LONG);
+    }
+
+    @Benchmark
+    public Object longToDateTime() throws AtlasConversionException {
+        return service.convertType(longValue, FieldType.LONG, FieldType.DATE_TIME);
+    }
+
+    @Benchmark
+    public Object sameType() throws AtlasConversionException {
+        return service.convertType(integerString, FieldType.STRING, FieldType.STRING);
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.core.DefaultAtlasContext;
+import io.atlasmap.core.DefaultAtlasContextFactory;
+import io.atlasmap.core.DefaultAtlasFieldActionService;
+import io.atlasmap.spi.AtlasInternalSession;
+import io.atlasmap.v2.AbsoluteValue;
+import io.atlasmap.v2.Action;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.Capitalize;
+import io.atlasmap.v2.Concatenate;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldGroup;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.Round;
+import io.atlasmap.v2.SimpleField;
+import io.atlasmap.v2.Trim;
+import io.atlasmap.v2.Uppercase;
+
+/**
+ * Micro benchmark of {@link DefaultAtlasFieldActionService#processActions(AtlasInternalSession, Field)}.
+ * A new field is created for each invocation since the actions replace the field value.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldActionServiceBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int groupSize;
+
+    private DefaultAtlasFieldActionService service;
+    private AtlasInternalSession session;
+
+    @Setup
+    public void setup() throws AtlasException {
+        service = DefaultAtlasFieldActionService.getInstance();
+        AtlasMapping mapping = AtlasModelFactory.createAtlasMapping();
+        mapping.setName("benchmark");
+        DefaultAtlasContext context = new DefaultAtlasContext(DefaultAtlasContextFactory.getInstance(), mapping);
+        session = (AtlasInternalSession) context.createSession();
+    }
+
+    @Benchmark
+    public Field stringActions() throws AtlasException {
+        Field field = createField(FieldType.STRING, "  hello atlasmap  ");
+        field.setActions(actions(new Trim(), new Capitalize(), new Uppercase()));
+        return service.processActions(session, field);
+    }
+
+    @Benchmark
+    public Field numberActions() throws AtlasException {
+        Field field = createField(FieldType.DOUBLE, -12345.678d);
+        field.setActions(actions(new AbsoluteValue(), new Round()));
+        return service.processActions(session, field);
+    }
+
+    @Benchmark
+    public Field concatenate() throws AtlasException {
+        FieldGroup group = AtlasModelFactory.createFieldGroupFrom(createField(FieldType.STRING, null), false);
+        for (int i = 0; i < groupSize; i++) {
+            Field f = createField(FieldType.STRING, "value" + i);
+            f.setIndex(i);
+            group.getField().add(f);
+        }
+        Concatenate concatenate = new Concatenate();
+        concatenate.setDelimiter(",");
+        group.setActions(actions(concatenate));
+        return service.processActions(session, group);
+    }
+
+    private Field createField(FieldType type, Object value) {
+        SimpleField field = new SimpleField();
+        field.setFieldType(type);
+        field.setPath("/field");
+        field.setValue(value);
+        return field;
+    }
+
+    private ArrayList<Action> actions(Action... actions) {
+        ArrayList<Action> answer = new ArrayList<>(actions.length);
+        for (Action a : actions) {
+            answer.add(a);
+        }
+        return answer;
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.benchmarks;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.atlasmap.api.AtlasContext;
+import io.atlasmap.api.AtlasContextFactory;
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.core.DefaultAtlasContextFactory;
+import io.atlasmap.v2.Audit;
+import io.atlasmap.v2.AuditStatus;
+
+/**
+ * End-to-end benchmark of {@link AtlasContext#process(AtlasSession)} for the mapping definitions
+ * under {@code mappings/} with several payload sizes. Each invocation creates a session, sets
+ * the source documents, processes the mapping and returns the target document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"json-json", "xml-json", "java-java", "csv-json", "multidoc", "expression", "lookup"})
+    public String mapping;
+
+    @Param({"1", "100", "1000"})
+    public int size;
+
+    private AtlasContext context;
+    private Map<String, Object> sourceDocuments;
+
+    @Setup
+    public void setup() throws Exception {
+        try (InputStream in = MappingBenchmark.class.getClassLoader()
+                .getResourceAsStream("mappings/" + mapping + ".json")) {
+            context = DefaultAtlasContextFactory.getInstance().createContext(AtlasContextFactory.Format.JSON, in);
+        }
+        sourceDocuments = Payloads.create(mapping, size);
+        // fail fast rather than measuring a broken mapping
+        AtlasSession session = doProcess();
+        if (session.hasErrors() || session.getTargetDocument(Payloads.INVOICE_DOC_ID) == null) {
+            StringBuilder buf = new StringBuilder("Mapping '" + mapping + "' failed: ");
+            for (Audit audit : session.getAudits().getAudit()) {
+                if (audit.getStatus() == AuditStatus.ERROR) {
+                    buf.append('[').append(audit.getPath()).append(": ").append(audit.getMessage()).append("] ");
+                }
+            }
+            throw new IllegalStateException(buf.toString());
+        }
+    }
+
+    @Benchmark
+    public Object process() throws AtlasException {
+        return doProcess().getTargetDocument(Payloads.INVOICE_DOC_ID);
+    }
+
+    private AtlasSession doProcess() throws AtlasException {
+        AtlasSession session = context.createSession();
+        for (Map.Entry<String, Object> doc : sourceDocuments.entrySet()) {
+            session.setSourceDocument(doc.getKey(), doc.getValue());
+        }
+        context.process(session);
+        return session;
+    }
+
+}
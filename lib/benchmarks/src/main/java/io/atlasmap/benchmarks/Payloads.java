@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.atlasmap.benchmarks.model.Customer;
+import io.atlasmap.benchmarks.model.Item;
+import io.atlasmap.benchmarks.model.Order;
+
+/**
+ * Generates the source documents for the mapping definitions under {@code mappings/}. The payload size
+ * is the number of the order items, which are mapped by the collection mappings.
+ */
+public final class Payloads {
+
+    public static final String ORDER_DOC_ID = "order";
+    public static final String CUSTOMER_DOC_ID = "customer";
+    public static final String INVOICE_DOC_ID = "invoice";
+
+    private static final String[] STATUSES = new String[] {"NEW", "PAID", "SHIPPED", "DELIVERED", "CANCELLED"};
+
+    private Payloads() {
+    }
+
+    /**
+     * Creates the source documents for the mapping.
+     * @param mapping mapping name, the file name under {@code mappings/} without extension
+     * @param size the number of the order items
+     * @return source documents keyed by the Document ID
+     */
+    public static Map<String, Object> create(String mapping, int size) {
+        Map<String, Object> answer = new HashMap<>();
+        switch (mapping) {
+        case "json-json":
+        case "expression":
+        case "lookup":
+            answer.put(ORDER_DOC_ID, jsonOrder(size));
+            break;
+        case "xml-json":
+            answer.put(ORDER_DOC_ID, xmlOrder(size));
+            break;
+        case "java-java":
+            answer.put(ORDER_DOC_ID, javaOrder(size));
+            break;
+        case "csv-json":
+            answer.put(ORDER_DOC_ID, csvItems(size));
+            break;
+        case "multidoc":
+            answer.put(ORDER_DOC_ID, jsonOrder(size));
+            answer.put(CUSTOMER_DOC_ID, xmlCustomer());
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown mapping: " + mapping);
+        }
+        return answer;
+    }
+
+    public static String jsonOrder(int size) {
+        StringBuilder buf = new StringBuilder(64 + size * 80);
+        buf.append("{\"orderId\":\"order-1\",\"status\":\"PAID\",")
+            .append("\"customer\":{\"name\":\"Jane Doe\",\"email\":\"jane.doe@example.com\"},\"items\":[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                buf.append(',');
+            }
+            buf.append("{\"sku\":\" sku-").append(i).append(" \",\"quantity\":").append(i % 10 + 1)
+                .append(",\"price\":").append(price(i)).append(",\"status\":\"").append(status(i)).append("\"}");
+        }
+        return buf.append("]}").toString();
+    }
+
+    public static String xmlOrder(int size) {
+        StringBuilder buf = new StringBuilder(128 + size * 100);
+        buf.append("<order><orderId>order-1</orderId><status>PAID</status>")
+            .append("<customer><name>Jane Doe</name><email>jane.doe@example.com</email></customer><items>");
+        for (int i = 0; i < size; i++) {
+            buf.append("<item><sku>sku-").append(i).append("</sku><quantity>").append(i % 10 + 1)
+                .append("</quantity><price>").append(price(i)).append("</price><status>").append(status(i))
+                .append("</status></item>");
+        }
+        return buf.append("</items></order>").toString();
+    }
+
+    public static String xmlCustomer() {
+        return "<customer><name>Jane Doe</name><email>jane.doe@example.com</email></customer>";
+    }
+
+    public static String csvItems(int size) {
+        StringBuilder buf = new StringBuilder(32 + size * 24);
+        buf.append("sku,quantity,price\n");
+        for (int i = 0; i < size; i++) {
+            buf.append("sku-").append(i).append(',').append(i % 10 + 1).append(',').append(price(i)).append('\n');
+        }
+        return buf.toString();
+    }
+
+    public static Order javaOrder(int size) {
+        Order order = new Order();
+        order.setOrderId("order-1");
+        order.setStatus("PAID");
+        Customer customer = new Customer();
+        customer.setName("Jane Doe");
+        customer.setEmail("jane.doe@example.com");
+        order.setCustomer(customer);
+        List<Item> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Item item = new Item();
+            item.setSku("sku-" + i);
+            item.setQuantity(i % 10 + 1);
+            item.setPrice(price(i));
+            item.setStatus(status(i));
+            items.add(item);
+        }
+        order.setItems(items);
+        return order;
+    }
+
+    private static double price(int i) {
+        return (i % 100) + 0.25d;
+    }
+
+    private static String status(int i) {
+        return STATUSES[i % STATUSES.length];
+    }
+
+}
@@ -25,6 +25,7 @@ import java.io.OutputStream;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
@@ -35,7 +36,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import io.atlasmap.api.AtlasContextFactory;
 import io.atlasmap.api.AtlasException;
@@ -44,6 +47,7 @@ import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.DataSourceKey;
 import io.atlasmap.v2.DataSourceMetadata;
 import io.atlasmap.v2.Json;
+import io.atlasmap.v2.LookupEntry;
 
 /**
  * <div>
@@ -55,6 +59,8 @@ import io.atlasmap.v2.Json;
  * <li>Gzipped digest file which contains all non-Java document metadata
  *  and mapping definition in a single JSON file (adm-catalog-files-n.gz)</li>
  * <li>Java libraries (jar files in lib/ directory)</li>
+ * <li>Lookup table entries too large to be inlined into the mapping definition,
+ *  as a JSON array of LookupEntry (lookup-tables/&lt;table name&gt;.json)</li>
  * </ul>
  * </div>
  * {@link #load(Path)} {@link #export(OutputStream)}
@@ -80,16 +86,20 @@ public class ADMArchiveHandler {
     private static final String MAPPING_DEFINITION_TEMPLATE = "atlasmapping-UI.%s.json";
     private static final String GZIPPED_ADM_DIGEST_FILTER = "adm-catalog-files";
     private static final String GZIPPED_ADM_DIGEST_TEMPLATE = "adm-catalog-files-%s.gz";
+    private static final String LOOKUP_TABLE_DIRECTORY = "lookup-tables/";
+    private static final String LOOKUP_TABLE_SUFFIX = ".json";
 
     private byte[] buffer = new byte[2048];
     private byte[] gzippedAdmDigestBytes = null;
     private byte[] mappingDefinitionBytes = null;
     private ObjectMapper jsonMapper;
     private ObjectMapper jsonMapperForDigest;
+    private ObjectMapper jsonMapperForEntry;
 
     private AtlasMapping mappingDefinition = null;
     private String mappingDefinitionId = "0";
     private Map<DataSourceKey, DataSourceMetadata> dataSourceMetadata;
+    private Map<String, byte[]> lookupTableBytes = new HashMap<>();
     private boolean ignoreLibrary = false;
     private Path persistDirectory;
     private Path libraryDirectory;
@@ -102,6 +112,10 @@ public class ADMArchiveHandler {
         this.jsonMapper = Json.withClassLoader(loader);
         this.jsonMapperForDigest = this.jsonMapper.copy();
         this.jsonMapperForDigest.configure(DeserializationFeature.UNWRAP_ROOT_VALUE, false);
+        this.jsonMapperForEntry = this.jsonMapper.copy();
+        this.jsonMapperForEntry.configure(SerializationFeature.WRAP_ROOT_VALUE, false);
+        this.jsonMapperForEntry.configure(SerializationFeature.INDENT_OUTPUT, false);
+        this.jsonMapperForEntry.configure(DeserializationFeature.UNWRAP_ROOT_VALUE, false);
     }
 
     /**
@@ -188,8 +202,17 @@ public class ADMArchiveHandler {
                 zipOut.closeEntry();
             }
 
+            for (Map.Entry<String, byte[]> table : this.lookupTableBytes.entrySet()) {
+                String tableFileName = getLookupTableFileName(table.getKey());
+                LOG.debug("  Creating lookup table file '{}'", tableFileName);
+                zipOut.putNextEntry(new ZipEntry(tableFileName));
+                zipOut.write(table.getValue(), 0, table.getValue().length);
+                zipOut.closeEntry();
+            }
+
             if (!isIgnoreLibrary() && libraryDirectory != null && libraryDirectory.toFile().isDirectory()) {
-                for (File jarFile : libraryDirectory.toFile().listFiles()) {
+                // only the jars, other files such as the library index are local to the directory
+                for (File jarFile : libraryDirectory.toFile().listFiles((d, name) -> name.endsWith(".jar"))) {
                     LOG.debug("  Creating jar file entry '{}'", "lib/" + jarFile.getName());
                     ZipEntry libEntry = new ZipEntry("lib/" + jarFile.getName());
                     zipOut.putNextEntry(libEntry);
@@ -242,6 +265,16 @@ public class ADMArchiveHandler {
                 LOG.warn("Failed to persist gzipped ADM digest file");
             }
         }
+
+        for (Map.Entry<String, byte[]> table : this.lookupTableBytes.entrySet()) {
+            Path tablePath = this.persistDirectory.resolve(getLookupTableFileName(table.getKey()));
+            tablePath.getParent().toFile().mkdirs();
+            try (FileOutputStream out = new FileOutputStream(tablePath.toFile())) {
+                out.write(table.getValue());
+            } catch (Exception e) {
+                LOG.warn("Failed to persist lookup table file '{}'", tablePath);
+            }
+        }
     }
 
     public AtlasMapping getMappingDefinition() {
@@ -335,6 +368,39 @@ public class ADMArchiveHandler {
         return Collections.unmodifiableMap(this.dataSourceMetadata);
     }
 
+    /**
+     * Sets the entries of the lookup table to be stored as a separate file in the ADM archive
+     * instead of being inlined into the mapping definition.
+     * @param tableName lookup table name
+     * @param is InputStream to read a JSON array of LookupEntry
+     * @throws AtlasException If it fails to read
+     */
+    public void setLookupEntries(String tableName, InputStream is) throws AtlasException {
+        try {
+            this.lookupTableBytes.put(tableName, readIntoByteArray(is));
+        } catch (Exception e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    /**
+     * Reads the entries of the lookup table stored as a separate file in the ADM archive.
+     * @param tableName lookup table name
+     * @return lookup entries, or {@code null} if the ADM archive doesn't have the lookup table file
+     * @throws AtlasException If it fails to read
+     */
+    public List<LookupEntry> getLookupEntries(String tableName) throws AtlasException {
+        byte[] bytes = this.lookupTableBytes.get(tableName);
+        if (bytes == null) {
+            return null;
+        }
+        try (MappingIterator<LookupEntry> it = this.jsonMapperForEntry.readerFor(LookupEntry.class).readValues(bytes)) {
+            return it.readAll();
+        } catch (Exception e) {
+            throw new AtlasException(String.format("Invalid lookup table file for '%s'", tableName), e);
+        }
+    }
+
     public AtlasMapping cloneMappingDefinition() throws AtlasException {
         AtlasMapping atlasMapping = getMappingDefinition();
         if (atlasMapping == null) {
@@ -353,6 +419,7 @@ public class ADMArchiveHandler {
         this.mappingDefinition = null;
         this.gzippedAdmDigestBytes = null;
         this.dataSourceMetadata = null;
+        this.lookupTableBytes.clear();
     }
 
     public void setIgnoreLibrary(boolean ignoreLib) {
@@ -385,6 +452,10 @@ public class ADMArchiveHandler {
         return String.format(MAPPING_DEFINITION_TEMPLATE, this.mappingDefinitionId);
     }
 
+    public String getLookupTableFileName(String tableName) {
+        return LOOKUP_TABLE_DIRECTORY + tableName + LOOKUP_TABLE_SUFFIX;
+    }
+
     private void loadExploded(File dir) throws AtlasException {
         setPersistDirectory(dir.toPath());
         this.mappingDefinitionId = dir.getName();
@@ -405,6 +476,20 @@ public class ADMArchiveHandler {
                 throw new AtlasException("Failed to read digest file", e);
             }
         }
+
+        File[] tableFiles = dir.toPath().resolve(LOOKUP_TABLE_DIRECTORY).toFile()
+                .listFiles((d, name) -> name.endsWith(LOOKUP_TABLE_SUFFIX));
+        if (tableFiles != null) {
+            for (File tableFile : tableFiles) {
+                String name = tableFile.getName();
+                try (InputStream tableis = new FileInputStream(tableFile)) {
+                    this.lookupTableBytes.put(name.substring(0, name.length() - LOOKUP_TABLE_SUFFIX.length()),
+                            readIntoByteArray(tableis));
+                } catch (Exception e) {
+                    throw new AtlasException(String.format("Failed to read lookup table file '%s'", name), e);
+                }
+            }
+        }
     }
 
     private void loadADMFile(File file) throws AtlasException {
@@ -427,7 +512,11 @@ public class ADMArchiveHandler {
             while ((catEntry = zipIn.getNextEntry()) != null) {
                 catEntryName = catEntry.getName();
                 LOG.debug("  Extracting ADM file entry '{}'", catEntryName);
-                if (catEntryName.contains(GZIPPED_ADM_DIGEST_FILTER)) {
+                if (catEntryName.startsWith(LOOKUP_TABLE_DIRECTORY) && catEntryName.endsWith(LOOKUP_TABLE_SUFFIX)) {
+                    String name = catEntryName.substring(LOOKUP_TABLE_DIRECTORY.length(),
+                            catEntryName.length() - LOOKUP_TABLE_SUFFIX.length());
+                    this.lookupTableBytes.put(name, readIntoByteArray(zipIn));
+                } else if (catEntryName.contains(GZIPPED_ADM_DIGEST_FILTER)) {
                     this.gzippedAdmDigestBytes = readIntoByteArray(zipIn);
                 } else if (!isIgnoreLibrary() && catEntryName.contains(".jar")) {
                     if (this.libraryDirectory == null) {
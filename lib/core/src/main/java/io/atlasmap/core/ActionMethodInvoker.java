@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Invokes a field action method through a {@link MethodHandle} adapted to the generic
+ * {@code (Object...)Object} signature, so that the call site doesn't go through
+ * {@link Method#invoke(Object, Object...)} for every action. Falls back to the reflection
+ * if the method is not accessible from here.
+ */
+class ActionMethodInvoker {
+    private static final Logger LOG = LoggerFactory.getLogger(ActionMethodInvoker.class);
+
+    private final Method method;
+    private final boolean isStatic;
+    private final MethodHandle handle;
+
+    ActionMethodInvoker(Method method) {
+        this.method = method;
+        this.isStatic = Modifier.isStatic(method.getModifiers());
+        MethodHandle h = null;
+        try {
+            int arity = method.getParameterCount() + (this.isStatic ? 0 : 1);
+            h = MethodHandles.lookup().unreflect(method).asType(MethodType.genericMethodType(arity));
+        } catch (IllegalAccessException e) {
+            LOG.debug("Falling back to the reflection for the field action method {}: {}", method, e.getMessage());
+        }
+        this.handle = h;
+    }
+
+    Object invoke(Object receiver) throws Throwable {
+        if (handle == null) {
+            return method.invoke(receiver);
+        }
+        return isStatic ? (Object) handle.invokeExact() : (Object) handle.invokeExact(receiver);
+    }
+
+    Object invoke(Object receiver, Object arg) throws Throwable {
+        if (handle == null) {
+            return method.invoke(receiver, arg);
+        }
+        return isStatic ? (Object) handle.invokeExact(arg) : (Object) handle.invokeExact(receiver, arg);
+    }
+
+    Object invoke(Object receiver, Object arg1, Object arg2) throws Throwable {
+        if (handle == null) {
+            return method.invoke(receiver, arg1, arg2);
+        }
+        return isStatic ? (Object) handle.invokeExact(arg1, arg2) : (Object) handle.invokeExact(receiver, arg1, arg2);
+    }
+
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.atlasmap.mxbean.AtlasMappingStatistics;
+import io.atlasmap.spi.AtlasMetricsRecorder;
+import io.atlasmap.spi.AtlasModule;
+import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.Mapping;
+
+/**
+ * The execution metrics of a {@link DefaultAtlasContext}, recorded only when enabled by
+ * {@link io.atlasmap.api.AtlasContextFactory#PROPERTY_ATLASMAP_METRICS_ENABLED} or a
+ * {@link AtlasMetricsRecorder} is set on the factory. The metrics are kept in memory to be exposed
+ * through JMX, and also passed to the {@link AtlasMetricsRecorder} if any.
+ */
+public class AtlasContextMetrics {
+    private static final Logger LOG = LoggerFactory.getLogger(AtlasContextMetrics.class);
+
+    private final String mappingName;
+    private final AtlasMetricsRecorder recorder;
+    private final ExecutionStatistics sessions = new ExecutionStatistics();
+    private final ExecutionStatistics fieldActions = new ExecutionStatistics();
+    private final Map<String, ExecutionStatistics> mappings = new ConcurrentHashMap<>();
+    private final LongAdder conversionCount = new LongAdder();
+    private final LongAdder conversionErrorCount = new LongAdder();
+    private final LongAdder auditErrorCount = new LongAdder();
+    private final LongAdder auditWarnCount = new LongAdder();
+
+    public AtlasContextMetrics(String mappingName, AtlasMetricsRecorder recorder) {
+        this.mappingName = mappingName;
+        this.recorder = recorder;
+    }
+
+    /**
+     * Derives the key to record the mapping entry with; the mapping ID if available,
+     * then the alias, then its position in the mapping definition.
+     * @param mapping mapping entry
+     * @param index position of the mapping entry
+     * @return key
+     */
+    public static String mappingId(BaseMapping mapping, int index) {
+        if (mapping instanceof Mapping) {
+            String id = ((Mapping) mapping).getId();
+            if (id != null && !id.isEmpty()) {
+                return id;
+            }
+        }
+        String alias = mapping != null ? mapping.getAlias() : null;
+        return alias != null && !alias.isEmpty() ? alias : "#" + index;
+    }
+
+    public void recordSession(long durationNanos, int errorCount, int warnCount) {
+        sessions.record(durationNanos, errorCount > 0);
+        auditErrorCount.add(errorCount);
+        auditWarnCount.add(warnCount);
+        if (recorder != null) {
+            try {
+                recorder.recordSession(mappingName, durationNanos, errorCount, warnCount);
+            } catch (Exception e) {
+                warn(e);
+            }
+        }
+    }
+
+    public void recordMapping(String mappingId, long durationNanos, boolean failed) {
+        mappings.computeIfAbsent(mappingId, k -> new ExecutionStatistics()).record(durationNanos, failed);
+        if (recorder != null) {
+            try {
+                recorder.recordMapping(mappingName, mappingId, durationNanos, failed);
+            } catch (Exception e) {
+                warn(e);
+            }
+        }
+    }
+
+    public void recordSourceRead(AtlasModule module, long durationNanos, boolean failed) {
+        if (module instanceof BaseAtlasModule) {
+            ExecutionStatistics stats = ((BaseAtlasModule) module).getSourceStatistics();
+            if (stats != null) {
+                stats.record(durationNanos, failed);
+            }
+        }
+        if (recorder != null) {
+            try {
+                recorder.recordSourceRead(mappingName, module.getDocId(), durationNanos, failed);
+            } catch (Exception e) {
+                warn(e);
+            }
+        }
+    }
+
+    public void recordTargetWrite(AtlasModule module, long durationNanos, boolean failed) {
+        if (module instanceof BaseAtlasModule) {
+            ExecutionStatistics stats = ((BaseAtlasModule) module).getTargetStatistics();
+            if (stats != null) {
+                stats.record(durationNanos, failed);
+            }
+        }
+        if (recorder != null) {
+            try {
+                recorder.recordTargetWrite(mappingName, module.getDocId(), durationNanos, failed);
+            } catch (Exception e) {
+                warn(e);
+            }
+        }
+    }
+
+    public void recordFieldActions(long durationNanos, boolean failed) {
+        fieldActions.record(durationNanos, failed);
+        if (recorder != null) {
+            try {
+                recorder.recordFieldActions(mappingName, durationNanos, failed);
+            } catch (Exception e) {
+                warn(e);
+            }
+        }
+    }
+
+    public void recordConversion(boolean failed) {
+        conversionCount.increment();
+        if (failed) {
+            conversionErrorCount.increment();
+        }
+        if (recorder != null) {
+            try {
+                recorder.recordConversion(mappingName, failed);
+            } catch (Exception e) {
+                warn(e);
+            }
+        }
+    }
+
+    private void warn(Exception e) {
+        if (LOG.isDebugEnabled()) {
+            LOG.warn("AtlasMetricsRecorder failed to record the metrics", e);
+        } else {
+            LOG.warn("AtlasMetricsRecorder failed to record the metrics: {}", e.getMessage());
+        }
+    }
+
+    public AtlasMetricsRecorder getRecorder() {
+        return recorder;
+    }
+
+    public ExecutionStatistics getSessionStatistics() {
+        return sessions;
+    }
+
+    public ExecutionStatistics getFieldActionStatistics() {
+        return fieldActions;
+    }
+
+    /**
+     * Returns the statistics of each mapping entry, sorted by the total execution time
+     * in descending order so that the most expensive mapping entries come first.
+     * @return statistics keyed by the mapping ID
+     */
+    public Map<String, ExecutionStatistics> getMappingStatistics() {
+        List<Map.Entry<String, ExecutionStatistics>> sorted = new ArrayList<>(mappings.entrySet());
+        sorted.sort((a, b) -> Long.compare(b.getValue().getTotalTime(), a.getValue().getTotalTime()));
+        Map<String, ExecutionStatistics> answer = new LinkedHashMap<>();
+        for (Map.Entry<String, ExecutionStatistics> entry : sorted) {
+            answer.put(entry.getKey(), entry.getValue());
+        }
+        return Collections.unmodifiableMap(answer);
+    }
+
+    public long getConversionCount() {
+        return conversionCount.sum();
+    }
+
+    public long getConversionErrorCount() {
+        return conversionErrorCount.sum();
+    }
+
+    public long getAuditErrorCount() {
+        return auditErrorCount.sum();
+    }
+
+    public long getAuditWarnCount() {
+        return auditWarnCount.sum();
+    }
+
+    /**
+     * Returns a snapshot of the mapping entry statistics for JMX.
+     * @return statistics sorted by the total execution time in descending order
+     */
+    public AtlasMappingStatistics[] getMappingStatisticsSnapshot() {
+        Map<String, ExecutionStatistics> stats = getMappingStatistics();
+        AtlasMappingStatistics[] answer = new AtlasMappingStatistics[stats.size()];
+        int i = 0;
+        for (Map.Entry<String, ExecutionStatistics> entry : stats.entrySet()) {
+            ExecutionStatistics s = entry.getValue();
+            answer[i++] = new AtlasMappingStatistics(entry.getKey(), s.getCount(), s.getErrorCount(), s.getTotalTime(),
+                    s.getMinTime(), s.getMaxTime(), s.getMeanTime(), s.getPercentile(50), s.getPercentile(99));
+        }
+        return answer;
+    }
+
+    public void reset() {
+        sessions.reset();
+        fieldActions.reset();
+        mappings.clear();
+        conversionCount.reset();
+        conversionErrorCount.reset();
+        auditErrorCount.reset();
+        auditWarnCount.reset();
+    }
+
+}
@@ -0,0 +1,530 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.core.DefaultAtlasExpressionProcessor.CompiledExpression;
+import io.atlasmap.expression.Expression;
+import io.atlasmap.expression.ExpressionException;
+import io.atlasmap.spi.AtlasModule;
+import io.atlasmap.spi.FieldDirection;
+import io.atlasmap.v2.Action;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.Collection;
+import io.atlasmap.v2.CopyTo;
+import io.atlasmap.v2.CustomMapping;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldGroup;
+import io.atlasmap.v2.LookupTable;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
+
+/**
+ * An immutable execution plan of the {@link AtlasMapping}. It is compiled once in
+ * {@link DefaultAtlasContext#init()} so that {@link DefaultAtlasContext#process(io.atlasmap.api.AtlasSession)}
+ * doesn't need to unwrap collection mappings, resolve modules, lookup tables and parse
+ * target paths again on every session.
+ * <p>
+ * The plan doesn't hold any reference to the mapping entries themselves since each session
+ * works on its own copy of the mapping definition. Instead each {@link Entry} keeps the
+ * position of the mapping entry, which is looked up against the session mapping with
+ * {@link Entry#locate(AtlasMapping)}. Since the session mapping could be modified by the caller,
+ * {@link #matches(AtlasMapping)} and {@link Entry#matches(BaseMapping)} must be checked before
+ * the pre-resolved information is used.
+ */
+public class AtlasMappingPlan {
+
+    private final AtlasMapping mappingDefinition;
+    private final List<Entry> entries;
+    private final int[] shape;
+
+    private AtlasMappingPlan(AtlasMapping mappingDefinition, List<Entry> entries, int[] shape) {
+        this.mappingDefinition = mappingDefinition;
+        this.entries = Collections.unmodifiableList(entries);
+        this.shape = shape;
+    }
+
+    /**
+     * Compiles the mapping definition into an execution plan.
+     * @param context the context which owns modules and lookup tables
+     * @param mappingDefinition mapping definition
+     * @return compiled plan
+     */
+    public static AtlasMappingPlan compile(DefaultAtlasContext context, AtlasMapping mappingDefinition)
+            throws AtlasException {
+        List<Entry> entries = new ArrayList<>();
+        int[] shape = new int[0];
+        if (mappingDefinition.getMappings() != null) {
+            List<BaseMapping> mappings = mappingDefinition.getMappings().getMapping();
+            shape = new int[mappings.size()];
+            for (int i = 0; i < mappings.size(); i++) {
+                BaseMapping baseMapping = mappings.get(i);
+                if (baseMapping.getMappingType() == MappingType.COLLECTION) {
+                    // just unwrap collection mappings to be compatible with older UI
+                    List<BaseMapping> inner = ((Collection) baseMapping).getMappings().getMapping();
+                    shape[i] = inner.size();
+                    for (int j = 0; j < inner.size(); j++) {
+                        entries.add(compileEntry(context, inner.get(j), i, j));
+                    }
+                } else {
+                    shape[i] = -1;
+                    entries.add(compileEntry(context, baseMapping, i, -1));
+                }
+            }
+        }
+        for (AtlasModule module : context.getSourceModules().values()) {
+            module.prepareMapping(mappingDefinition);
+        }
+        for (AtlasModule module : context.getTargetModules().values()) {
+            module.prepareMapping(mappingDefinition);
+        }
+        return new AtlasMappingPlan(mappingDefinition, entries, shape);
+    }
+
+    private static Entry compileEntry(DefaultAtlasContext context, BaseMapping baseMapping, int index, int innerIndex)
+            throws AtlasException {
+        if (baseMapping instanceof CustomMapping) {
+            return new Entry(index, innerIndex, baseMapping, null, new AtlasModule[0], new AtlasModule[0],
+                    new boolean[0], false, null, false);
+        }
+
+        Mapping mapping = (Mapping) baseMapping;
+        CompiledExpression expression = DefaultAtlasExpressionProcessor.compile(context, mapping);
+        Map<String, LookupTable> lookupTables = context.getLookupTables();
+        LookupTable lookupTable = mapping.getLookupTableName() != null
+                ? lookupTables.get(mapping.getLookupTableName()) : null;
+
+        List<Field> inputFields = mapping.getInputField();
+        AtlasModule[] sourceModules = new AtlasModule[inputFields.size()];
+        boolean copyTo = false;
+        if (mapping.getInputFieldGroup() != null) {
+            preparseActionExpressions(mapping.getInputFieldGroup());
+        }
+        for (int i = 0; i < inputFields.size(); i++) {
+            Field f = inputFields.get(i);
+            copyTo |= hasCopyTo(f);
+            preparseActionExpressions(f);
+            if (!(f instanceof FieldGroup)) {
+                sourceModules[i] = context.lookupModule(FieldDirection.SOURCE, f);
+            }
+        }
+
+        List<Field> outputFields = mapping.getOutputField();
+        AtlasModule[] targetModules = new AtlasModule[outputFields.size()];
+        boolean[] targetCollections = new boolean[outputFields.size()];
+        for (int i = 0; i < outputFields.size(); i++) {
+            Field f = outputFields.get(i);
+            preparseActionExpressions(f);
+            targetModules[i] = context.lookupModule(FieldDirection.TARGET, f);
+            if (f.getPath() != null) {
+                AtlasPath path = new AtlasPath(f.getPath());
+                targetCollections[i] = path.hasCollection() && !path.isIndexedCollection();
+            }
+        }
+        boolean streamable = isStreamable(mapping, sourceModules, targetModules, targetCollections, copyTo);
+        return new Entry(index, innerIndex, mapping, lookupTable, sourceModules, targetModules,
+                targetCollections, copyTo, expression, streamable);
+    }
+
+    /**
+     * Checks if the mapping entry is a simple collection to collection mapping, e.g. from
+     * {@code /orders<>/amount} to {@code /items<>/price}, which could be processed item by item.
+     * The field actions are checked at runtime since they could differ in the session mapping.
+     */
+    private static boolean isStreamable(Mapping mapping, AtlasModule[] sourceModules, AtlasModule[] targetModules,
+            boolean[] targetCollections, boolean copyTo) {
+        if ((mapping.getMappingType() != null && mapping.getMappingType() != MappingType.MAP)
+                || mapping.getExpression() != null || mapping.getInputFieldGroup() != null || copyTo
+                || sourceModules.length != 1 || targetModules.length != 1 || !targetCollections[0]) {
+            return false;
+        }
+        Field source = mapping.getInputField().get(0);
+        Field target = mapping.getOutputField().get(0);
+        if (source instanceof FieldGroup || target instanceof FieldGroup || source.getPath() == null
+                || sourceModules[0] == null || targetModules[0] == null
+                || !targetModules[0].isTargetItemWriteSupported()) {
+            return false;
+        }
+        AtlasPath sourcePath = new AtlasPath(source.getPath());
+        return sourcePath.getCollectionSegmentCount() == 1 && !sourcePath.isIndexedCollection();
+    }
+
+    private static void preparseActionExpressions(Field f) {
+        if (f instanceof FieldGroup) {
+            for (Field child : ((FieldGroup) f).getField()) {
+                preparseActionExpressions(child);
+            }
+        }
+        if (f.getActions() == null) {
+            return;
+        }
+        for (Action a : f.getActions()) {
+            if (a instanceof io.atlasmap.v2.Expression) {
+                preparseExpression(((io.atlasmap.v2.Expression) a).getExpression());
+            }
+        }
+    }
+
+    /**
+     * Parses the expression in advance so that the sessions find it in the {@link Expression#CACHE}.
+     * The parse error is also cached, and then reported when the expression is actually processed.
+     */
+    private static void preparseExpression(String expression) {
+        if (expression == null || expression.trim().isEmpty()) {
+            return;
+        }
+        try {
+            Expression.parse(expression, DefaultAtlasFunctionResolver.getInstance());
+        } catch (ExpressionException e) {
+            // reported at runtime
+        }
+    }
+
+    private static boolean hasCopyTo(Field f) {
+        if (f instanceof FieldGroup) {
+            for (Field child : ((FieldGroup) f).getField()) {
+                if (hasCopyTo(child)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (f.getActions() == null) {
+            return false;
+        }
+        for (Action a : f.getActions()) {
+            if (a instanceof CopyTo) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the session mapping still has the same shape as the mapping definition this plan
+     * was compiled from, i.e. the same number of mapping entries at the same position.
+     * @param sessionMapping the mapping definition which the session works on
+     * @return true if matches, or false if the session mapping has to be interpreted directly
+     */
+    public boolean matches(AtlasMapping sessionMapping) {
+        if (sessionMapping == null || sessionMapping.getMappings() == null) {
+            return shape.length == 0;
+        }
+        List<BaseMapping> mappings = sessionMapping.getMappings().getMapping();
+        if (mappings.size() != shape.length) {
+            return false;
+        }
+        for (int i = 0; i < shape.length; i++) {
+            BaseMapping baseMapping = mappings.get(i);
+            boolean collection = baseMapping.getMappingType() == MappingType.COLLECTION;
+            if (collection != shape[i] >= 0) {
+                return false;
+            }
+            if (collection && ((Collection) baseMapping).getMappings().getMapping().size() != shape[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the mapping definition this plan was compiled from.
+     * @return mapping definition
+     */
+    public AtlasMapping getMappingDefinition() {
+        return mappingDefinition;
+    }
+
+    /**
+     * Returns plan entries in execution order. Collection mappings are already unwrapped.
+     * @return a list of {@link Entry}
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * A pre-resolved mapping entry.
+     */
+    public static class Entry {
+        private final int index;
+        private final int innerIndex;
+        private final boolean custom;
+        private final String lookupTableName;
+        private final String[] sourceKeys;
+        private final String[] targetKeys;
+        private final LookupTable lookupTable;
+        private final AtlasModule[] sourceModules;
+        private final AtlasModule[] targetModules;
+        private final boolean[] targetCollections;
+        private final boolean copyTo;
+        private final String expressionText;
+        private final String[] sourceGroupKeys;
+        private final CompiledExpression expression;
+        private final boolean concurrentRead;
+        private final boolean streamable;
+
+        private Entry(int index, int innerIndex, BaseMapping baseMapping, LookupTable lookupTable,
+                AtlasModule[] sourceModules, AtlasModule[] targetModules, boolean[] targetCollections,
+                boolean copyTo, CompiledExpression expression, boolean streamable) {
+            this.index = index;
+            this.innerIndex = innerIndex;
+            this.custom = baseMapping instanceof CustomMapping;
+            if (this.custom) {
+                this.lookupTableName = null;
+                this.sourceKeys = new String[0];
+                this.targetKeys = new String[0];
+                this.expressionText = null;
+                this.sourceGroupKeys = null;
+            } else {
+                Mapping mapping = (Mapping) baseMapping;
+                this.lookupTableName = mapping.getLookupTableName();
+                this.sourceKeys = toKeys(mapping.getInputField());
+                this.targetKeys = toKeys(mapping.getOutputField());
+                this.expressionText = mapping.getExpression();
+                this.sourceGroupKeys = toGroupKeys(mapping.getInputFieldGroup());
+            }
+            this.lookupTable = lookupTable;
+            this.sourceModules = sourceModules;
+            this.targetModules = targetModules;
+            this.targetCollections = targetCollections;
+            this.copyTo = copyTo;
+            this.expression = expression;
+            this.concurrentRead = !this.custom && this.sourceGroupKeys == null && sourceModules.length > 0
+                    && targetModules.length > 0 && isConcurrentReadSupported(sourceModules);
+            this.streamable = streamable;
+        }
+
+        private static boolean isConcurrentReadSupported(AtlasModule[] modules) {
+            for (AtlasModule module : modules) {
+                if (module == null || !module.isConcurrentReadSupported()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Finds the mapping entry at the same position in the session mapping.
+         * @param sessionMapping the mapping definition which the session works on
+         * @return corresponding mapping entry
+         */
+        public BaseMapping locate(AtlasMapping sessionMapping) {
+            BaseMapping answer = sessionMapping.getMappings().getMapping().get(index);
+            if (innerIndex >= 0) {
+                answer = ((Collection) answer).getMappings().getMapping().get(innerIndex);
+            }
+            return answer;
+        }
+
+        /**
+         * Creates a working copy of the mapping entry for the session which shares the mapping definition.
+         * The fields are copied by {@link Field#workingCopy()} since they hold the per message values,
+         * indexes and collection paths, while the rest of the mapping entry including the field actions
+         * is shared with the mapping definition. A custom mapping is returned as is.
+         * @param mappingDefinition the mapping definition this plan was compiled from
+         * @return a copy of the mapping entry
+         */
+        public BaseMapping newWorkingCopy(AtlasMapping mappingDefinition) {
+            BaseMapping baseMapping = locate(mappingDefinition);
+            if (custom) {
+                return baseMapping;
+            }
+            Mapping mapping = (Mapping) baseMapping;
+            Mapping answer = new Mapping();
+            answer.setAlias(mapping.getAlias());
+            answer.setDescription(mapping.getDescription());
+            answer.setMappingType(mapping.getMappingType());
+            answer.setId(mapping.getId());
+            answer.setExpression(mapping.getExpression());
+            answer.setDelimiter(mapping.getDelimiter());
+            answer.setDelimiterString(mapping.getDelimiterString());
+            answer.setLookupTableName(mapping.getLookupTableName());
+            answer.setStrategy(mapping.getStrategy());
+            answer.setStrategyClassName(mapping.getStrategyClassName());
+            if (mapping.getInputFieldGroup() != null) {
+                answer.setInputFieldGroup(mapping.getInputFieldGroup().workingCopy());
+            }
+            for (Field f : mapping.getInputField()) {
+                answer.getInputField().add(f.workingCopy());
+            }
+            for (Field f : mapping.getOutputField()) {
+                answer.getOutputField().add(f.workingCopy());
+            }
+            return answer;
+        }
+
+        /**
+         * Checks if the session mapping entry still refers the same documents, fields and lookup table
+         * as the one this entry was compiled from.
+         * @param baseMapping the session mapping entry located by {@link #locate(AtlasMapping)}
+         * @return true if matches, or false if the mapping entry has to be interpreted directly
+         */
+        public boolean matches(BaseMapping baseMapping) {
+            if (custom || baseMapping instanceof CustomMapping) {
+                return custom && baseMapping instanceof CustomMapping;
+            }
+            Mapping mapping = (Mapping) baseMapping;
+            if (!Objects.equals(lookupTableName, mapping.getLookupTableName())
+                    || !matchesKeys(sourceKeys, mapping.getInputField())
+                    || !matchesKeys(targetKeys, mapping.getOutputField())
+                    || !Objects.equals(expressionText, mapping.getExpression())
+                    || !matchesGroupKeys(sourceGroupKeys, mapping.getInputFieldGroup())) {
+                return false;
+            }
+            boolean sessionCopyTo = false;
+            for (Field f : mapping.getInputField()) {
+                sessionCopyTo |= AtlasMappingPlan.hasCopyTo(f);
+            }
+            return sessionCopyTo == copyTo;
+        }
+
+        private static String[] toKeys(List<Field> fields) {
+            String[] keys = new String[fields.size() * 3];
+            for (int i = 0; i < fields.size(); i++) {
+                Field f = fields.get(i);
+                keys[i * 3] = f.getClass().getName();
+                keys[i * 3 + 1] = f.getDocId();
+                keys[i * 3 + 2] = f.getPath();
+            }
+            return keys;
+        }
+
+        private static String[] toGroupKeys(FieldGroup group) {
+            if (group == null) {
+                return null;
+            }
+            List<Field> fields = new ArrayList<>(group.getField().size() + 1);
+            fields.add(group);
+            fields.addAll(group.getField());
+            return toKeys(fields);
+        }
+
+        private static boolean matchesGroupKeys(String[] keys, FieldGroup group) {
+            if (keys == null || group == null) {
+                return keys == null && group == null;
+            }
+            if (keys.length != (group.getField().size() + 1) * 3
+                    || !matchesKeys(keys, 0, group)) {
+                return false;
+            }
+            for (int i = 0; i < group.getField().size(); i++) {
+                if (!matchesKeys(keys, i + 1, group.getField().get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean matchesKeys(String[] keys, List<Field> fields) {
+            if (keys.length != fields.size() * 3) {
+                return false;
+            }
+            for (int i = 0; i < fields.size(); i++) {
+                if (!matchesKeys(keys, i, fields.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean matchesKeys(String[] keys, int i, Field f) {
+            return keys[i * 3].equals(f.getClass().getName())
+                    && Objects.equals(keys[i * 3 + 1], f.getDocId())
+                    && Objects.equals(keys[i * 3 + 2], f.getPath());
+        }
+
+        public boolean isCustom() {
+            return custom;
+        }
+
+        public LookupTable getLookupTable() {
+            return lookupTable;
+        }
+
+        /**
+         * Returns the module for the source field at the index, or {@code null} if it's not resolved
+         * at compile time, e.g. for a nested {@link FieldGroup}.
+         * @param i index of the source field
+         * @return resolved module or {@code null}
+         */
+        public AtlasModule getSourceModule(int i) {
+            return i < sourceModules.length ? sourceModules[i] : null;
+        }
+
+        /**
+         * Returns the module for the target field at the index, or {@code null} if it's not resolved.
+         * @param i index of the target field
+         * @return resolved module or {@code null}
+         */
+        public AtlasModule getTargetModule(int i) {
+            return i < targetModules.length ? targetModules[i] : null;
+        }
+
+        /**
+         * Returns whether the target field at the index has a non-indexed collection in its path.
+         * This is not available when the source fields have {@link CopyTo} action, since it
+         * rewrites the target path at runtime.
+         * @param i index of the target field
+         * @return {@code Boolean.TRUE} if it's a non-indexed collection, or {@code null} if it's not available
+         */
+        public Boolean isTargetCollection(int i) {
+            if (copyTo || i >= targetCollections.length) {
+                return null;
+            }
+            return targetCollections[i];
+        }
+
+        public boolean hasCopyTo() {
+            return copyTo;
+        }
+
+        /**
+         * Returns whether the source fields of this entry could be read in parallel with the other
+         * entries, i.e. it's not a custom mapping nor a source field group, and all the source fields
+         * are read by the modules which support concurrent reads.
+         * @return true if eligible for the parallel execution
+         */
+        public boolean isConcurrentReadSupported() {
+            return concurrentRead;
+        }
+
+        /**
+         * Returns whether this entry is a collection to collection mapping with a single source and
+         * target field, which could be processed item by item if the source module opens a cursor.
+         * @return true if eligible for the item by item execution
+         */
+        public boolean isStreamable() {
+            return streamable;
+        }
+
+        /**
+         * Returns the compiled mapping expression.
+         * @return compiled expression, or {@code null} if the mapping doesn't have a valid expression
+         */
+        public CompiledExpression getExpression() {
+            return expression;
+        }
+    }
+
+}
@@ -18,6 +18,7 @@ package io.atlasmap.core;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +28,11 @@ import io.atlasmap.v2.CollectionType;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldGroup;
 
+/**
+ * A parsed field path. The paths created by this class, not by the subclasses, are parsed once and
+ * the immutable segments are shared through the {@link #CACHE}, so that it doesn't reparse the same
+ * path string on every field of every message. The segments are copied on the first modification.
+ */
 public class AtlasPath implements Cloneable {
 
     public static final String PATH_SEPARATOR = "/";
@@ -44,20 +50,33 @@ public class AtlasPath implements Cloneable {
     public static final String PATH_ATTRIBUTE_PREFIX = "@";
     public static final String PATH_NAMESPACE_SEPARATOR = ":";
 
+    /**
+     * The parsed paths shared across contexts.
+     */
+    public static final AtlasPathCache CACHE = new AtlasPathCache();
+
     private static final Logger LOG = LoggerFactory.getLogger(AtlasPath.class);
+    private static final Function<String, List<SegmentContext>> PARSER =
+            p -> Collections.unmodifiableList(new AtlasPath().parse(p));
 
     protected List<SegmentContext> segmentContexts;
     private String originalPath = null;
+    private AtlasPathCache.Entry cached;
 
     public AtlasPath(String p) {
         String path = p;
         this.originalPath = path;
-        this.segmentContexts = parse(path);
+        if (path != null && getClass() == AtlasPath.class) {
+            this.cached = CACHE.get(path, PARSER);
+            this.segmentContexts = this.cached.getSegments();
+        } else {
+            this.segmentContexts = parse(path);
+        }
     }
 
     protected AtlasPath(List<SegmentContext> segments) {
         this.segmentContexts = segments;
-        this.originalPath = getSegmentPath(segments.get(segments.size() - 1));
+        this.originalPath = toPathString(segments, segments.size() - 1);
     }
 
     private AtlasPath() {
@@ -108,8 +127,8 @@ public class AtlasPath implements Cloneable {
                 }
             } else {
                 selected.add(entryField.getField().get(relativeRootSegment.getCollectionIndex()));
-                entrySegment.collectionIndex = relativeRootSegment.getCollectionIndex();
-                extractedSegments.set(entrySegments.size() - 1, entrySegment.rebuild());
+                extractedSegments.set(entrySegments.size() - 1,
+                        entrySegment.withCollectionIndex(relativeRootSegment.getCollectionIndex()));
             }
         } else {
             selected.addAll(entryField.getField());
@@ -169,10 +188,18 @@ public class AtlasPath implements Cloneable {
     }
 
     public AtlasPath appendField(String fieldExpression) {
-        this.segmentContexts.add(createSegmentContext(fieldExpression));
+        mutableSegments().add(createSegmentContext(fieldExpression));
         return this;
     }
 
+    private List<SegmentContext> mutableSegments() {
+        if (this.cached != null) {
+            this.segmentContexts = new ArrayList<>(this.segmentContexts);
+            this.cached = null;
+        }
+        return this.segmentContexts;
+    }
+
     @Override
     public AtlasPath clone() {
         return new AtlasPath(this.toString());
@@ -180,7 +207,7 @@ public class AtlasPath implements Cloneable {
     
     public List<SegmentContext> getSegments(boolean includeRoot) {
         if (includeRoot) {
-            return Collections.unmodifiableList(this.segmentContexts);
+            return this.cached != null ? this.segmentContexts : Collections.unmodifiableList(this.segmentContexts);
         }
         if (this.segmentContexts.size() > 1) {
             return Collections.unmodifiableList(this.segmentContexts.subList(1, this.segmentContexts.size()));
@@ -273,9 +300,9 @@ public class AtlasPath implements Cloneable {
                     "Cannnot set negative collection index %s for the path %s",
                     collectionIndex, this.toString()));
         }
-        SegmentContext sc = this.segmentContexts.get(segmentIndex);
-        sc.collectionIndex = collectionIndex;
-        return this.segmentContexts.set(segmentIndex, sc.rebuild());
+        SegmentContext sc = this.segmentContexts.get(segmentIndex).withCollectionIndex(collectionIndex);
+        mutableSegments().set(segmentIndex, sc);
+        return sc;
     }
 
     public List<SegmentContext> getCollectionSegments(boolean includeRoot) {
@@ -304,22 +331,29 @@ public class AtlasPath implements Cloneable {
         if (toIndex == -1) {
             return null;
         }
+        return toPathString(this.segmentContexts, toIndex);
+    }
+
+    static String toPathString(List<SegmentContext> segments, int toIndex) {
         StringBuilder builder = new StringBuilder().append(PATH_SEPARATOR_CHAR);
-        if (!this.segmentContexts.get(0).getExpression().isEmpty()) {
-            builder.append(this.segmentContexts.get(0).getExpression());
+        if (!segments.get(0).getExpression().isEmpty()) {
+            builder.append(segments.get(0).getExpression());
         }
         for (int i=1; i<=toIndex; i++) {
             if (!(builder.charAt(builder.length()-1) == PATH_SEPARATOR_CHAR)) {
                 builder.append(PATH_SEPARATOR_CHAR);
             }
-            builder.append(this.segmentContexts.get(i).getExpression());
+            builder.append(segments.get(i).getExpression());
         }
         return builder.toString();
     }
 
     @Override
     public String toString() {
-        return getSegmentPath(getLastSegment());
+        if (this.cached != null) {
+            return this.cached.getPath();
+        }
+        return toPathString(this.segmentContexts, this.segmentContexts.size() - 1);
     }
 
     public String getOriginalPath() {
@@ -340,16 +374,16 @@ public class AtlasPath implements Cloneable {
         path = sanitize(path);
         List<SegmentContext> segmentContexts = new ArrayList<>();
         if (path != null && !"".equals(path)) {
-            if (path.startsWith(PATH_SEPARATOR)) {
-                path = path.replaceFirst(PATH_SEPARATOR, "");
-            }
-            if (path.contains(PATH_SEPARATOR)) {
-                String[] parts = path.split(PATH_SEPARATOR_ESCAPED, 512);
-                for (String part : parts) {
-                    segmentContexts.add(createSegmentContext(part));
+            int start = path.charAt(0) == PATH_SEPARATOR_CHAR ? 1 : 0;
+            // at most 512 segments, the last one takes the rest as String#split(String, int) did
+            while (true) {
+                int end = segmentContexts.size() < 511 ? path.indexOf(PATH_SEPARATOR_CHAR, start) : -1;
+                if (end == -1) {
+                    segmentContexts.add(createSegmentContext(path.substring(start)));
+                    break;
                 }
-            } else {
-                segmentContexts.add(createSegmentContext(path));
+                segmentContexts.add(createSegmentContext(path.substring(start, end)));
+                start = end + 1;
             }
         }
         if (segmentContexts.isEmpty() || !segmentContexts.get(0).isRoot()) {
@@ -366,9 +400,9 @@ public class AtlasPath implements Cloneable {
         }
         if (answer.indexOf("//") != -1) {
             LOG.warn("Sanitizing double slash (//) in the path '{}'", answer);
-            answer = answer.replaceAll("//", "/");
+            answer = answer.replace("//", "/");
         }
-        if (answer.endsWith("/")) {
+        if (answer.charAt(answer.length() - 1) == PATH_SEPARATOR_CHAR) {
             LOG.warn("Sanitizing trailing slash (/) in the path '{}'", answer);
             answer = answer.substring(0, answer.length()-1);
 
@@ -391,29 +425,75 @@ public class AtlasPath implements Cloneable {
         private boolean isRoot;
 
         public SegmentContext(String expression) {
-            this.expression = expression;
-            if (this.expression.startsWith(PATH_SEPARATOR)) {
-                this.expression = this.expression.replaceFirst(PATH_SEPARATOR, "");
-            }
+            boolean leadingSeparator = !expression.isEmpty() && expression.charAt(0) == PATH_SEPARATOR_CHAR;
+            this.expression = leadingSeparator ? expression.substring(1) : expression;
             this.name = cleanPathSegment(expression);
-            if (expression.contains(PATH_MAP_START)) {
-                this.collectionType = CollectionType.MAP;
-            } else if (expression.contains(PATH_ARRAY_START)) {
-                this.collectionType = CollectionType.ARRAY;
-            } else if (expression.contains(PATH_LIST_START)) {
-                this.collectionType = CollectionType.LIST;
-            } else {
-                this.collectionType = CollectionType.NONE;
+            int mapStart = -1;
+            int arrayStart = -1;
+            int listStart = -1;
+            for (int i = 0; i < expression.length(); i++) {
+                char c = expression.charAt(i);
+                if (c == '{' && mapStart == -1) {
+                    mapStart = i;
+                } else if (c == '[' && arrayStart == -1) {
+                    arrayStart = i;
+                } else if (c == '<' && listStart == -1) {
+                    listStart = i;
+                }
             }
-            if (this.collectionType == CollectionType.MAP) {
-                this.mapKey = getMapKey(expression);
+            char last = expression.isEmpty() ? 0 : expression.charAt(expression.length() - 1);
+            if (mapStart != -1) {
+                this.collectionType = CollectionType.MAP;
+                int start = mapStart + 1;
+                String key = expression.substring(start, expression.indexOf('}', start));
+                this.mapKey = key.isEmpty() ? null : key;
             } else {
-                this.collectionIndex = getCollectionIndex(expression);
+                if (arrayStart != -1) {
+                    this.collectionType = CollectionType.ARRAY;
+                } else if (listStart != -1) {
+                    this.collectionType = CollectionType.LIST;
+                } else {
+                    this.collectionType = CollectionType.NONE;
+                }
+                if (arrayStart != -1 && last == ']') {
+                    this.collectionIndex = parseIndex(expression, arrayStart + 1, ']');
+                } else if (listStart != -1 && last == '>') {
+                    this.collectionIndex = parseIndex(expression, listStart + 1, '>');
+                }
             }
-            this.isAttribute = expression.startsWith(PATH_ATTRIBUTE_PREFIX);
+            this.isAttribute = !expression.isEmpty() && expression.charAt(0) == '@';
             this.isRoot = this.name.isEmpty();
         }
 
+        private SegmentContext(SegmentContext sc, Integer collectionIndex) {
+            this.name = sc.name;
+            this.expression = sc.expression;
+            this.collectionType = sc.collectionType;
+            this.collectionIndex = collectionIndex;
+            this.mapKey = sc.mapKey;
+            this.isAttribute = sc.isAttribute;
+            this.isRoot = sc.isRoot;
+        }
+
+        private static Integer parseIndex(String expression, int start, char endChar) {
+            int end = expression.indexOf(endChar, start);
+            if (end == start) {
+                return null;
+            }
+            if (end - start < 10) {
+                int answer = 0;
+                for (int i = start; i < end; i++) {
+                    char c = expression.charAt(i);
+                    if (c < '0' || c > '9') {
+                        return Integer.valueOf(expression.substring(start, end));
+                    }
+                    answer = answer * 10 + (c - '0');
+                }
+                return answer;
+            }
+            return Integer.valueOf(expression.substring(start, end));
+        }
+
         public String getName() {
             return name;
         }
@@ -442,7 +522,42 @@ public class AtlasPath implements Cloneable {
             return isRoot;
         }
 
+        /**
+         * Derives the segment with the collection index. The segment itself is not modified since
+         * it might be shared through the {@link AtlasPath#CACHE}.
+         * @param index collection index
+         * @return derived segment
+         */
+        protected SegmentContext withCollectionIndex(Integer index) {
+            if (getClass() != SegmentContext.class) {
+                // the subclasses are not cached, rebuild as they do
+                this.collectionIndex = index;
+                return rebuild();
+            }
+            SegmentContext answer = new SegmentContext(this, index);
+            if ((collectionType == CollectionType.ARRAY || collectionType == CollectionType.LIST)
+                    && !isAttribute && isPlainName(name)) {
+                answer.expression = answer.formatExpression();
+                return answer;
+            }
+            return answer.rebuild();
+        }
+
+        private static boolean isPlainName(String name) {
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (c == ':' || c == '[' || c == '<' || c == '{' || c == PATH_SEPARATOR_CHAR) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         protected SegmentContext rebuild() {
+            return new SegmentContext(formatExpression());
+        }
+
+        private String formatExpression() {
             StringBuilder buf = new StringBuilder();
             if (this.isAttribute) {
                 buf.append(PATH_ATTRIBUTE_PREFIX);
@@ -456,7 +571,7 @@ public class AtlasPath implements Cloneable {
             } else if (this.collectionType == CollectionType.MAP) {
                 buf.append(PATH_LIST_START).append(mapKey).append(PATH_LIST_END);
             }
-            return new SegmentContext(buf.toString());
+            return buf.toString();
         }
 
         @Override
@@ -476,58 +591,24 @@ public class AtlasPath implements Cloneable {
             }
 
             // strip namespace if there is one
-            if (answer.contains(PATH_NAMESPACE_SEPARATOR)) {
-                answer = answer.substring(answer.indexOf(PATH_NAMESPACE_SEPARATOR) + 1);
-            }
-
-            if (answer.contains(PATH_ARRAY_START) && answer.endsWith(PATH_ARRAY_END)) {
-                return answer.substring(0, answer.indexOf(PATH_ARRAY_START, 0));
-            }
-
-            if (answer.contains(PATH_LIST_START) && answer.endsWith(PATH_LIST_END)) {
-                return answer.substring(0, answer.indexOf(PATH_LIST_START, 0));
-            }
-
-            if (answer.contains(PATH_MAP_START) && answer.endsWith(PATH_MAP_END)) {
-                return answer.substring(0, answer.indexOf(PATH_MAP_START, 0));
-            }
-
-            return answer;
-        }
-
-        private Integer getCollectionIndex(String expression) {
-            if (expression == null) {
-                return null;
-            }
-
-            if (expression.contains(PATH_ARRAY_START) && expression.endsWith(PATH_ARRAY_END)) {
-                int start = expression.indexOf(PATH_ARRAY_START, 0) + 1;
-                String index = expression.substring(start, expression.indexOf(PATH_ARRAY_END, start));
-                if (index != null && index.length() > 0) {
-                    return Integer.valueOf(index);
-                }
-                return null;
+            int namespaceEnd = answer.indexOf(':');
+            if (namespaceEnd != -1) {
+                answer = answer.substring(namespaceEnd + 1);
             }
-
-            if (expression.contains(PATH_LIST_START) && expression.endsWith(PATH_LIST_END)) {
-                int start = expression.indexOf(PATH_LIST_START, 0) + 1;
-                String index = expression.substring(start, expression.indexOf(PATH_LIST_END, start));
-                if (index != null && index.length() > 0) {
-                    return Integer.valueOf(index);
-                }
-                return null;
+            if (answer.isEmpty()) {
+                return answer;
             }
 
-            return null;
-        }
-
-        private String getMapKey(String expression) {
-            int start = expression.indexOf(PATH_MAP_START, 0) + 1;
-            String key = expression.substring(start, expression.indexOf(PATH_MAP_END, start));
-            if (key != null && key.length() > 0) {
-                return key;
+            char last = answer.charAt(answer.length() - 1);
+            int start = -1;
+            if (last == ']') {
+                start = answer.indexOf('[');
+            } else if (last == '>') {
+                start = answer.indexOf('<');
+            } else if (last == '}') {
+                start = answer.indexOf('{');
             }
-            return null;
+            return start != -1 ? answer.substring(0, start) : answer;
         }
     }
 
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.List;
+import java.util.function.Function;
+
+import io.atlasmap.core.AtlasPath.SegmentContext;
+import io.atlasmap.expression.internal.LruCache;
+
+/**
+ * A bounded cache of the parsed {@link AtlasPath} segments keyed by the path string.
+ * The cached segments are immutable and shared by all the {@link AtlasPath} instances created from
+ * the same path string.
+ */
+public class AtlasPathCache extends LruCache<String, AtlasPathCache.Entry> {
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    public AtlasPathCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public AtlasPathCache(int maxSize) {
+        super(maxSize);
+    }
+
+    /**
+     * Returns the cached entry, or parses the path and caches it if it's not cached yet.
+     * @param path path string
+     * @param parser parses the path into the segments
+     * @return cached entry
+     */
+    Entry get(String path, Function<String, List<SegmentContext>> parser) {
+        return computeIfAbsent(path, p -> new Entry(parser.apply(p)));
+    }
+
+    /**
+     * The parsed path.
+     */
+    public static final class Entry {
+        private final List<SegmentContext> segments;
+        private final String path;
+
+        private Entry(List<SegmentContext> segments) {
+            this.segments = segments;
+            this.path = AtlasPath.toPathString(segments, segments.size() - 1);
+        }
+
+        List<SegmentContext> getSegments() {
+            return segments;
+        }
+
+        String getPath() {
+            return path;
+        }
+    }
+
+}
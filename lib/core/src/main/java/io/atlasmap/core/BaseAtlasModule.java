@@ -21,7 +21,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
 import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+import javax.management.openmbean.TabularType;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,6 +67,8 @@ public abstract class BaseAtlasModule implements AtlasModule, AtlasModuleMXBean
     private Map<String,String> uriParameters = new HashMap<>();
     private ClassLoader classLoader;
     private DataSourceMetadata dataSourceMetadata;
+    private volatile ExecutionStatistics sourceStatistics;
+    private volatile ExecutionStatistics targetStatistics;
 
     @Override
     public void init() throws AtlasException {
@@ -119,21 +128,31 @@ public abstract class BaseAtlasModule implements AtlasModule, AtlasModuleMXBean
 
     protected void processLookupField(AtlasInternalSession session, LookupTable lookupTable, Object sourceValue,
             Field targetField) throws AtlasException {
-        String lookupValue = null;
+        LookupTableIndex index = session.getAtlasContext() instanceof DefaultAtlasContext
+                ? ((DefaultAtlasContext) session.getAtlasContext()).getLookupTableIndex(lookupTable) : null;
         FieldType lookupType = null;
-        for (LookupEntry lkp : lookupTable.getLookupEntry()) {
-            if (lkp.getSourceValue().equals(sourceValue)) {
-                lookupValue = lkp.getTargetValue();
-                lookupType = lkp.getTargetType();
-                break;
-            }
-        }
-
         Object targetValue = null;
-        if (lookupType == null || FieldType.STRING.equals(lookupType)) {
-            targetValue = lookupValue;
+        if (index != null) {
+            LookupTableIndex.Value value = index.get(sourceValue);
+            if (value != null) {
+                lookupType = value.getTargetType();
+                targetValue = value.getTargetValue();
+            }
         } else {
-            targetValue = atlasConversionService.convertType(lookupValue, FieldType.STRING, lookupType);
+            String lookupValue = null;
+            for (LookupEntry lkp : lookupTable.getLookupEntry()) {
+                if (lkp.getSourceValue().equals(sourceValue)) {
+                    lookupValue = lkp.getTargetValue();
+                    lookupType = lkp.getTargetType();
+                    break;
+                }
+            }
+
+            if (lookupType == null || FieldType.STRING.equals(lookupType)) {
+                targetValue = lookupValue;
+            } else {
+                targetValue = atlasConversionService.convertType(lookupValue, FieldType.STRING, lookupType);
+            }
         }
 
         FieldType targetFieldType = targetField.getFieldType();
@@ -177,12 +196,12 @@ public abstract class BaseAtlasModule implements AtlasModule, AtlasModuleMXBean
 
     @Override
     public Boolean isStatisticsSupported() {
-        return false;
+        return true;
     }
 
     @Override
     public Boolean isStatisticsEnabled() {
-        return false;
+        return this.sourceStatistics != null;
     }
 
     @Override
@@ -326,62 +345,74 @@ public abstract class BaseAtlasModule implements AtlasModule, AtlasModuleMXBean
 
     @Override
     public long getSourceErrorCount() {
-        return 0L;
+        ExecutionStatistics stats = this.sourceStatistics;
+        return stats != null ? stats.getErrorCount() : 0L;
     }
 
     @Override
     public long getSourceCount() {
-        return 0L;
+        ExecutionStatistics stats = this.sourceStatistics;
+        return stats != null ? stats.getCount() : 0L;
     }
 
     @Override
     public long getSourceMaxExecutionTime() {
-        return 0L;
+        ExecutionStatistics stats = this.sourceStatistics;
+        return stats != null ? stats.getMaxTime() : 0L;
     }
 
     @Override
     public long getSourceMinExecutionTime() {
-        return 0L;
+        ExecutionStatistics stats = this.sourceStatistics;
+        return stats != null ? stats.getMinTime() : 0L;
     }
 
     @Override
     public long getSourceSuccessCount() {
-        return 0L;
+        ExecutionStatistics stats = this.sourceStatistics;
+        return stats != null ? stats.getSuccessCount() : 0L;
     }
 
     @Override
     public long getSourceTotalExecutionTime() {
-        return 0L;
+        ExecutionStatistics stats = this.sourceStatistics;
+        return stats != null ? stats.getTotalTime() : 0L;
     }
 
     @Override
     public long getTargetCount() {
-        return 0L;
+        ExecutionStatistics stats = this.targetStatistics;
+        return stats != null ? stats.getCount() : 0L;
     }
 
     @Override
     public long getTargetErrorCount() {
-        return 0L;
+        ExecutionStatistics stats = this.targetStatistics;
+        return stats != null ? stats.getErrorCount() : 0L;
     }
 
     @Override
     public long getTargetMaxExecutionTime() {
-        return 0L;
+        ExecutionStatistics stats = this.targetStatistics;
+        return stats != null ? stats.getMaxTime() : 0L;
     }
 
     @Override
     public long getTargetMinExecutionTime() {
-        return 0L;
+        ExecutionStatistics stats = this.targetStatistics;
+        return stats != null ? stats.getMinTime() : 0L;
     }
 
     @Override
     public long getTargetSuccessCount() {
-        return 0L;
+        ExecutionStatistics stats = this.targetStatistics;
+        return stats != null ? stats.getSuccessCount() : 0L;
     }
 
     @Override
     public long getTargetTotalExecutionTime() {
-        return 0L;
+        ExecutionStatistics stats = this.targetStatistics;
+        return stats != null ? stats.getTotalTime() : 0L;
     }
 
     @Override
@@ -395,13 +426,59 @@ public abstract class BaseAtlasModule implements AtlasModule, AtlasModuleMXBean
     }
 
     @Override
-    public TabularData readAndResetStatistics() {
-        return null;
+    public TabularData readAndResetStatistics() throws OpenDataException {
+        ExecutionStatistics source = this.sourceStatistics;
+        ExecutionStatistics target = this.targetStatistics;
+        if (source == null || target == null) {
+            return null;
+        }
+        String[] itemNames = new String[] {"direction", "count", "errorCount", "totalTime", "minTime", "maxTime",
+            "p50Time", "p99Time"};
+        OpenType<?>[] itemTypes = new OpenType<?>[] {SimpleType.STRING, SimpleType.LONG, SimpleType.LONG,
+            SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG};
+        CompositeType rowType = new CompositeType("ModuleStatistics", "Module execution statistics",
+                itemNames, itemNames, itemTypes);
+        TabularDataSupport answer = new TabularDataSupport(new TabularType("ModuleStatisticsTable",
+                "Module execution statistics", rowType, new String[] {"direction"}));
+        for (ExecutionStatistics stats : Arrays.asList(source, target)) {
+            answer.put(new CompositeDataSupport(rowType, itemNames, new Object[] {
+                stats == source ? "SOURCE" : "TARGET", stats.getCount(), stats.getErrorCount(),
+                stats.getTotalTime(), stats.getMinTime(), stats.getMaxTime(), stats.getPercentile(50),
+                stats.getPercentile(99)}));
+            stats.reset();
+        }
+        return answer;
     }
 
+    /**
+     * Enables or disables recording the source read and target write statistics. The statistics
+     * are recorded by {@link DefaultAtlasContext} and all durations are in nanoseconds.
+     */
     @Override
     public void setStatisticsEnabled(boolean enabled) {
-        LOG.warn("Statistics is not yet implemented");
+        if (enabled && this.sourceStatistics == null) {
+            this.targetStatistics = new ExecutionStatistics();
+            this.sourceStatistics = new ExecutionStatistics();
+        } else if (!enabled) {
+            this.sourceStatistics = null;
+            this.targetStatistics = null;
+        }
+    }
+
+    /**
+     * Returns the source read statistics.
+     * @return statistics, or {@code null} if not enabled
+     */
+    public ExecutionStatistics getSourceStatistics() {
+        return this.sourceStatistics;
+    }
+
+    /**
+     * Returns the target write statistics.
+     * @return statistics, or {@code null} if not enabled
+     */
+    public ExecutionStatistics getTargetStatistics() {
+        return this.targetStatistics;
     }
 
 }
@@ -0,0 +1,434 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.UnaryOperator;
+
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldGroup;
+import io.atlasmap.v2.FieldType;
+
+/**
+ * A {@link FieldGroup} of the simple collection items, e.g. the values read from {@code /orders<>/amount},
+ * which keeps the item values in a single typed column instead of holding one {@link Field} per item.
+ * The item fields share a template field, and {@link #getField()} materializes the item field only when
+ * it's requested. Once materialized, the item field is kept and the changes made on it are visible through
+ * {@link #getElementValue(int)}. If the list returned by {@link #getField()} is structurally modified,
+ * all the items are materialized and this group behaves as a plain {@link FieldGroup} from then on.
+ * <p>
+ * This class is not thread safe, as well as the other {@link Field}s.
+ * </p>
+ */
+public class ColumnarFieldGroup extends FieldGroup {
+
+    private static final long serialVersionUID = 1L;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private enum Kind { INT, LONG, DOUBLE, BOOLEAN, OBJECT }
+
+    private final Field template;
+    private final int segmentIndex;
+    private final transient UnaryOperator<Field> factory;
+    private final transient AtlasPath templatePath;
+    private Kind kind;
+    private int size;
+    private int capacity;
+    private int[] ints;
+    private long[] longs;
+    private double[] doubles;
+    private BitSet booleans;
+    private Object[] objects;
+    private BitSet nulls;
+    private FieldType elementType;
+    private FieldType[] elementTypes;
+    private int[] collectionIndexes;
+    private Field[] views;
+    private boolean inflated;
+
+    /**
+     * A constructor.
+     * @param field the field which represents the whole collection, e.g. {@code /orders<>/amount}
+     * @param segmentIndex the index of the collection segment in the path, including root
+     * @param factory creates a module specific copy of the given field, used to create the item fields
+     */
+    public ColumnarFieldGroup(Field field, int segmentIndex, UnaryOperator<Field> factory) {
+        AtlasModelFactory.copyField(field, this, true);
+        this.template = factory.apply(field);
+        this.template.setIndex(null);
+        this.template.setValue(null);
+        this.segmentIndex = segmentIndex;
+        this.factory = factory;
+        this.templatePath = new AtlasPath(field.getPath());
+    }
+
+    /**
+     * Appends an item.
+     * @param value item value
+     * @param fieldType item field type
+     */
+    public void add(Object value, FieldType fieldType) {
+        add(getElementCount(), value, fieldType);
+    }
+
+    /**
+     * Appends an item which has a collection index different from its position in this group,
+     * e.g. when some of the collection items don't have the field.
+     * @param collectionIndex the collection index to be put in the item path
+     * @param value item value
+     * @param fieldType item field type
+     */
+    public void add(int collectionIndex, Object value, FieldType fieldType) {
+        if (inflated) {
+            Field item = createItem(collectionIndex);
+            item.setValue(value);
+            item.setFieldType(fieldType);
+            field.add(item);
+            return;
+        }
+        ensureCapacity(size + 1);
+        int index = size++;
+        if (collectionIndexes != null || collectionIndex != index) {
+            if (collectionIndexes == null) {
+                collectionIndexes = new int[capacity];
+                for (int i = 0; i < index; i++) {
+                    collectionIndexes[i] = i;
+                }
+            }
+            collectionIndexes[index] = collectionIndex;
+        }
+        store(index, value);
+        if (index == 0) {
+            elementType = fieldType;
+        } else if (elementTypes != null || fieldType != elementType) {
+            if (elementTypes == null) {
+                elementTypes = new FieldType[capacity];
+                Arrays.fill(elementTypes, 0, index, elementType);
+            }
+            elementTypes[index] = fieldType;
+        }
+    }
+
+    public int getElementCount() {
+        return inflated ? field.size() : size;
+    }
+
+    public Object getElementValue(int index) {
+        checkIndex(index);
+        if (inflated) {
+            return field.get(index).getValue();
+        }
+        if (views != null && views[index] != null) {
+            return views[index].getValue();
+        }
+        return load(index);
+    }
+
+    public void setElementValue(int index, Object value) {
+        checkIndex(index);
+        if (inflated) {
+            field.get(index).setValue(value);
+            return;
+        }
+        store(index, value);
+        if (views != null && views[index] != null) {
+            views[index].setValue(value);
+        }
+    }
+
+    public FieldType getElementFieldType(int index) {
+        checkIndex(index);
+        if (inflated) {
+            return field.get(index).getFieldType();
+        }
+        if (views != null && views[index] != null) {
+            return views[index].getFieldType();
+        }
+        return elementTypes != null ? elementTypes[index] : elementType;
+    }
+
+    /**
+     * Creates a new item field which is not kept in this group. Use this when the item is only read,
+     * e.g. to populate a target field, to avoid materializing all the items.
+     * @param index item index
+     * @return item field
+     */
+    public Field createElementField(int index) {
+        checkIndex(index);
+        if (inflated) {
+            return field.get(index);
+        }
+        Field item = createItem(collectionIndexes != null ? collectionIndexes[index] : index);
+        item.setValue(getElementValue(index));
+        item.setFieldType(getElementFieldType(index));
+        return item;
+    }
+
+    private Field createItem(int collectionIndex) {
+        Field item = factory.apply(template);
+        AtlasPath itemPath = templatePath.clone();
+        itemPath.setCollectionIndex(segmentIndex, collectionIndex);
+        item.setPath(itemPath.toString());
+        item.setIndex(null);
+        return item;
+    }
+
+    /**
+     * Returns the item for read only use. It doesn't materialize the item of the {@link ColumnarFieldGroup}.
+     * @param group field group
+     * @param index item index
+     * @return item field
+     */
+    public static Field getElementField(FieldGroup group, int index) {
+        if (group instanceof ColumnarFieldGroup) {
+            return ((ColumnarFieldGroup) group).createElementField(index);
+        }
+        return group.getField().get(index);
+    }
+
+    @Override
+    public List<Field> getField() {
+        if (inflated) {
+            return field;
+        }
+        return new Elements();
+    }
+
+    private void inflate() {
+        if (inflated) {
+            return;
+        }
+        List<Field> items = new ArrayList<>(Math.max(size, INITIAL_CAPACITY));
+        for (int i = 0; i < size; i++) {
+            items.add(view(i));
+        }
+        field = items;
+        inflated = true;
+        ints = null;
+        longs = null;
+        doubles = null;
+        booleans = null;
+        objects = null;
+        nulls = null;
+        elementTypes = null;
+        collectionIndexes = null;
+        views = null;
+    }
+
+    private Field view(int index) {
+        if (views == null) {
+            views = new Field[capacity];
+        }
+        if (views[index] == null) {
+            views[index] = createElementField(index);
+        }
+        return views[index];
+    }
+
+    private void store(int index, Object value) {
+        if (value == null) {
+            if (kind != null && kind != Kind.OBJECT) {
+                if (nulls == null) {
+                    nulls = new BitSet();
+                }
+                nulls.set(index);
+            } else if (objects != null) {
+                objects[index] = null;
+            }
+            return;
+        }
+        if (kind == null) {
+            initColumn(kindOf(value));
+        } else if (kind != Kind.OBJECT && kind != kindOf(value)) {
+            toObjectColumn();
+        }
+        if (nulls != null) {
+            nulls.clear(index);
+        }
+        switch (kind) {
+        case INT:
+            ints[index] = (Integer) value;
+            break;
+        case LONG:
+            longs[index] = (Long) value;
+            break;
+        case DOUBLE:
+            doubles[index] = (Double) value;
+            break;
+        case BOOLEAN:
+            booleans.set(index, (Boolean) value);
+            break;
+        default:
+            objects[index] = value;
+        }
+    }
+
+    private Object load(int index) {
+        if (kind == null || (nulls != null && nulls.get(index))) {
+            return null;
+        }
+        switch (kind) {
+        case INT:
+            return ints[index];
+        case LONG:
+            return longs[index];
+        case DOUBLE:
+            return doubles[index];
+        case BOOLEAN:
+            return booleans.get(index);
+        default:
+            return objects[index];
+        }
+    }
+
+    private static Kind kindOf(Object value) {
+        if (value instanceof Integer) {
+            return Kind.INT;
+        } else if (value instanceof Long) {
+            return Kind.LONG;
+        } else if (value instanceof Double) {
+            return Kind.DOUBLE;
+        } else if (value instanceof Boolean) {
+            return Kind.BOOLEAN;
+        }
+        return Kind.OBJECT;
+    }
+
+    private void initColumn(Kind newKind) {
+        this.kind = newKind;
+        switch (newKind) {
+        case INT:
+            ints = new int[capacity];
+            break;
+        case LONG:
+            longs = new long[capacity];
+            break;
+        case DOUBLE:
+            doubles = new double[capacity];
+            break;
+        case BOOLEAN:
+            booleans = new BitSet(capacity);
+            break;
+        default:
+            objects = new Object[capacity];
+        }
+        // the items appended before are all null
+        if (newKind != Kind.OBJECT && size > 0) {
+            nulls = new BitSet();
+            nulls.set(0, size);
+        }
+    }
+
+    private void toObjectColumn() {
+        Object[] values = new Object[capacity];
+        for (int i = 0; i < size; i++) {
+            values[i] = load(i);
+        }
+        ints = null;
+        longs = null;
+        doubles = null;
+        booleans = null;
+        nulls = null;
+        objects = values;
+        kind = Kind.OBJECT;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity <= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(minCapacity, Math.max(INITIAL_CAPACITY, capacity + (capacity >> 1)));
+        if (ints != null) {
+            ints = Arrays.copyOf(ints, newCapacity);
+        }
+        if (longs != null) {
+            longs = Arrays.copyOf(longs, newCapacity);
+        }
+        if (doubles != null) {
+            doubles = Arrays.copyOf(doubles, newCapacity);
+        }
+        if (objects != null) {
+            objects = Arrays.copyOf(objects, newCapacity);
+        }
+        if (elementTypes != null) {
+            elementTypes = Arrays.copyOf(elementTypes, newCapacity);
+        }
+        if (collectionIndexes != null) {
+            collectionIndexes = Arrays.copyOf(collectionIndexes, newCapacity);
+        }
+        if (views != null) {
+            views = Arrays.copyOf(views, newCapacity);
+        }
+        capacity = newCapacity;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= getElementCount()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + getElementCount());
+        }
+    }
+
+    /**
+     * A live view of the items which materializes the item field on demand.
+     */
+    private final class Elements extends AbstractList<Field> implements RandomAccess {
+
+        @Override
+        public Field get(int index) {
+            if (inflated) {
+                return field.get(index);
+            }
+            checkIndex(index);
+            return view(index);
+        }
+
+        @Override
+        public int size() {
+            return getElementCount();
+        }
+
+        @Override
+        public Field set(int index, Field element) {
+            inflate();
+            return field.set(index, element);
+        }
+
+        @Override
+        public void add(int index, Field element) {
+            inflate();
+            field.add(index, element);
+        }
+
+        @Override
+        public Field remove(int index) {
+            inflate();
+            return field.remove(index);
+        }
+
+        @Override
+        public void clear() {
+            inflate();
+            field.clear();
+        }
+    }
+
+}
@@ -177,6 +177,11 @@ public class ConstantModule implements AtlasModule {
         return false;
     }
 
+    @Override
+    public boolean isConcurrentReadSupported() {
+        return true;
+    }
+
     @Override
     public Boolean isSupportedField(Field field) {
         return field instanceof ConstantField;
@@ -16,75 +16,147 @@
 package io.atlasmap.core;
 
 import java.net.URL;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.atlasmap.expression.internal.LruCache;
+
 class DefaultAtlasCompoundClassLoader extends CompoundClassLoader {
     private static final Logger LOG = LoggerFactory.getLogger(CompoundClassLoader.class);
+    private static final int NOT_FOUND_CACHE_SIZE = 1000;
 
-    private Set<ClassLoader> delegates = new LinkedHashSet<>();
+    /** Copy-on-write, replaced when an alternative loader is added. */
+    private volatile ClassLoader[] delegates = new ClassLoader[0];
+    /**
+     * Class name to the class loaded by the delegates, it's bounded by the classes the delegates
+     * have loaded anyway. The misses are kept in the bounded {@link #notFound} instead.
+     */
+    private final Map<String, Class<?>> resolved = new ConcurrentHashMap<>();
+    /** Class names none of the delegates could load, bounded so that arbitrary names can't grow it. */
+    private final LruCache<String, Boolean> notFound = new LruCache<>(NOT_FOUND_CACHE_SIZE);
 
     @Override
     public Class<?> loadClass(String name) throws ClassNotFoundException {
-        for (ClassLoader cl : classLoaders()) {
+        ClassLoader[] loaders = this.delegates;
+        Class<?> answer = resolved.get(name);
+        if (answer != null) {
+            return answer;
+        }
+        if (notFound.get(name) == null) {
+            answer = loadFromDelegates(loaders, name);
+            if (answer != null) {
+                resolved.put(name, answer);
+                if (loaders != this.delegates) {
+                    // a loader was added meanwhile
+                    resolved.remove(name);
+                }
+                return answer;
+            }
+            notFound.put(name, Boolean.TRUE);
+            if (loaders != this.delegates) {
+                notFound.remove(name);
+            }
+        }
+        // the thread context class loader differs by thread, so it's not cached
+        ClassLoader tccl = contextClassLoader(loaders);
+        if (tccl != null) {
             try {
-                return cl.loadClass(name);
+                return tccl.loadClass(name);
             } catch (Throwable t) {
-                LOG.debug("Class '{}' was not found with ClassLoader '{}': {}", name, cl);
-                LOG.debug(t.getMessage(), t);
+                LOG.debug("Class '{}' was not found with ClassLoader '{}': {}", name, tccl, t.getMessage());
             }
         }
         throw new ClassNotFoundException(name);
     }
 
-    private Set<ClassLoader> classLoaders() {
-        Set<ClassLoader> answer = new LinkedHashSet<>(delegates);
+    private Class<?> loadFromDelegates(ClassLoader[] loaders, String name) {
+        for (ClassLoader cl : loaders) {
+            try {
+                return cl.loadClass(name);
+            } catch (Throwable t) {
+                LOG.debug("Class '{}' was not found with ClassLoader '{}': {}", name, cl, t.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private ClassLoader contextClassLoader(ClassLoader[] loaders) {
         ClassLoader tccl = Thread.currentThread().getContextClassLoader();
-        if (tccl != null && !tccl.equals(this)) {
-            answer.add(tccl);
+        if (tccl == null || tccl == this) {
+            return null;
+        }
+        for (ClassLoader cl : loaders) {
+            if (cl == tccl) {
+                return null;
+            }
         }
-        return answer;
+        return tccl;
     }
 
     @Override
     public URL getResource(String name) {
-        for (ClassLoader cl : classLoaders()) {
+        ClassLoader[] loaders = this.delegates;
+        for (ClassLoader cl : loaders) {
             URL url = cl.getResource(name);
             if (url != null) {
                 return url;
             }
-            LOG.debug("Resource '{}' was not found with ClassLoader '{}': {}", name, cl);
+            LOG.debug("Resource '{}' was not found with ClassLoader '{}'", name, cl);
         }
-        return null;
+        ClassLoader tccl = contextClassLoader(loaders);
+        return tccl != null ? tccl.getResource(name) : null;
     }
 
     @Override
     public Enumeration<URL> getResources(String name) {
         Set<URL> answer = new LinkedHashSet<>();
-        for (ClassLoader cl : classLoaders()) {
-            try {
-                Enumeration<URL> urls = cl.getResources(name);
-                while (urls != null && urls.hasMoreElements()) {
-                    answer.add(urls.nextElement());
-                }
-            } catch (Exception e) {
-                LOG.debug("I/O error while looking for a resource '{}' with ClassLoader '{}': {}", name, cl);
-                LOG.debug(e.getMessage(), e);
-            }
+        ClassLoader[] loaders = this.delegates;
+        for (ClassLoader cl : loaders) {
+            collectResources(cl, name, answer);
+        }
+        ClassLoader tccl = contextClassLoader(loaders);
+        if (tccl != null) {
+            collectResources(tccl, name, answer);
         }
         return Collections.enumeration(answer);
     }
 
+    private void collectResources(ClassLoader cl, String name, Set<URL> answer) {
+        try {
+            Enumeration<URL> urls = cl.getResources(name);
+            while (urls != null && urls.hasMoreElements()) {
+                answer.add(urls.nextElement());
+            }
+        } catch (Exception e) {
+            LOG.debug("I/O error while looking for a resource '{}' with ClassLoader '{}'", name, cl);
+            LOG.debug(e.getMessage(), e);
+        }
+    }
+
     @Override
     public synchronized void addAlternativeLoader(ClassLoader cl) {
-        if (cl != null && !this.equals(cl)) {
-            delegates.add(cl);
+        if (cl == null || this.equals(cl)) {
+            return;
+        }
+        ClassLoader[] loaders = this.delegates;
+        for (ClassLoader existing : loaders) {
+            if (existing.equals(cl)) {
+                return;
+            }
         }
+        ClassLoader[] updated = Arrays.copyOf(loaders, loaders.length + 1);
+        updated[loaders.length] = cl;
+        this.delegates = updated;
+        resolved.clear();
+        notFound.clear();
     }
 
 }
@@ -30,8 +30,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
+import javax.management.MBeanServer;
 import javax.management.ObjectName;
 
 import org.slf4j.Logger;
@@ -43,16 +48,24 @@ import io.atlasmap.api.AtlasContextFactory;
 import io.atlasmap.api.AtlasConversionException;
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.api.AtlasSession;
+import io.atlasmap.expression.Expression;
 import io.atlasmap.mxbean.AtlasContextMXBean;
+import io.atlasmap.mxbean.AtlasMappingStatistics;
+import io.atlasmap.spi.AtlasConversionService;
+import io.atlasmap.spi.AtlasFieldCursor;
 import io.atlasmap.spi.AtlasInternalSession;
+import io.atlasmap.spi.AtlasInternalSession.Head;
 import io.atlasmap.spi.AtlasModule;
 import io.atlasmap.spi.AtlasModuleInfo;
 import io.atlasmap.spi.AtlasModuleInfoRegistry;
 import io.atlasmap.spi.AtlasModuleMode;
 import io.atlasmap.spi.FieldDirection;
 import io.atlasmap.spi.StringDelimiter;
+import io.atlasmap.v2.Action;
+import io.atlasmap.v2.ActionDetail;
 import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.Audit;
 import io.atlasmap.v2.AuditStatus;
 import io.atlasmap.v2.Audits;
 import io.atlasmap.v2.BaseMapping;
@@ -67,10 +80,12 @@ import io.atlasmap.v2.DataSourceType;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldGroup;
 import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.LookupEntry;
 import io.atlasmap.v2.LookupTable;
 import io.atlasmap.v2.Mapping;
 import io.atlasmap.v2.MappingType;
 import io.atlasmap.v2.Mappings;
+import io.atlasmap.v2.Multiplicity;
 import io.atlasmap.v2.PropertyField;
 import io.atlasmap.v2.SimpleField;
 import io.atlasmap.v2.Validation;
@@ -79,6 +94,7 @@ import io.atlasmap.v2.Validations;
 public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultAtlasContext.class);
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 8;
     private ObjectName jmxObjectName;
     private final UUID uuid;
     private DefaultAtlasContextFactory factory;
@@ -87,7 +103,16 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
     private Map<String, AtlasModule> sourceModules = new HashMap<>();
     private Map<String, AtlasModule> targetModules = new HashMap<>();
     private Map<String, LookupTable> lookupTables = new HashMap<>();
+    private Map<String, LookupTableIndex> lookupTableIndexes = new HashMap<>();
     private Map<DataSourceKey, DataSourceMetadata> dataSourceMetadataMap;
+    private volatile AtlasMappingPlan mappingPlan;
+    private volatile List<Audit> validationAudits;
+    private volatile AtlasContextMetrics metrics;
+    private Executor parallelExecutor;
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    private boolean collectionStreaming;
+    private ValidationMode validationMode = ValidationMode.ALWAYS;
+    private boolean shareMappingDefinition;
     private boolean initialized;
 
     public DefaultAtlasContext(URI atlasMappingUri) {
@@ -156,8 +181,6 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
             return;
         }
 
-        registerJmx(this);
-
         if (this.atlasMappingUri != null) {
             this.admHandler = new ADMArchiveHandler(factory.getClassLoader());
             this.admHandler.setIgnoreLibrary(true);
@@ -178,21 +201,31 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                 mappingVersion,
                 version);
         }
+        Map<String, String> properties = factory.getProperties();
+        boolean metricsEnabled = factory.getMetricsRecorder() != null || (properties != null
+                && Boolean.parseBoolean(properties.get(AtlasContextFactory.PROPERTY_ATLASMAP_METRICS_ENABLED)));
+        this.metrics = metricsEnabled ? new AtlasContextMetrics(atlasMapping.getName(), factory.getMetricsRecorder())
+                : null;
+        AtlasConversionService conversionService = metricsEnabled
+                ? new MeteredAtlasConversionService(factory.getConversionService(), this.metrics)
+                : factory.getConversionService();
         sourceModules.clear();
         ConstantModule constant = new ConstantModule();
-        constant.setConversionService(factory.getConversionService());
+        constant.setConversionService(conversionService);
         constant.setFieldActionService(factory.getFieldActionService());
         sourceModules.put(AtlasConstants.CONSTANTS_DOCUMENT_ID, constant);
         PropertyModule property = new PropertyModule(factory.getPropertyStrategy());
-        property.setConversionService(factory.getConversionService());
+        property.setConversionService(conversionService);
         property.setFieldActionService(factory.getFieldActionService());
         property.setMode(AtlasModuleMode.SOURCE);
+        property.setStatisticsEnabled(metricsEnabled);
         sourceModules.put(AtlasConstants.PROPERTIES_SOURCE_DOCUMENT_ID, property);
         targetModules.clear();
         property = new PropertyModule(factory.getPropertyStrategy());
-        property.setConversionService(factory.getConversionService());
+        property.setConversionService(conversionService);
         property.setFieldActionService(factory.getFieldActionService());
         property.setMode(AtlasModuleMode.TARGET);
+        property.setStatisticsEnabled(metricsEnabled);
         targetModules.put(AtlasConstants.PROPERTIES_TARGET_DOCUMENT_ID, property);
 
         lookupTables.clear();
@@ -202,6 +235,7 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                 lookupTables.put(table.getName(), table);
             }
         }
+        indexLookupTables();
 
         AtlasModuleInfoRegistry moduleInfoRegistry = factory.getModuleInfoRegistry();
         for (DataSource ds : admHandler.getMappingDefinition().getDataSource()) {
@@ -233,7 +267,7 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
             try {
                 AtlasModule module = moduleInfo.getModuleClass().getDeclaredConstructor().newInstance();
                 module.setClassLoader(factory.getClassLoader());
-                module.setConversionService(factory.getConversionService());
+                module.setConversionService(conversionService);
                 module.setFieldActionService(factory.getFieldActionService());
                 module.setUri(ds.getUri());
                 if (ds.getDataSourceType() == DataSourceType.SOURCE) {
@@ -253,6 +287,9 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                     }
                 }
                 module.init();
+                if (metricsEnabled && module instanceof BaseAtlasModule) {
+                    ((BaseAtlasModule) module).setStatisticsEnabled(true);
+                }
             } catch (Exception t) {
                 LOG.error("Unable to initialize {} module: {}", ds.getDataSourceType(), moduleInfo);
                 LOG.error(t.getMessage(), t);
@@ -260,25 +297,111 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                         moduleInfo.toString()), t);
             }
         }
+        this.shareMappingDefinition = properties != null
+                && Boolean.parseBoolean(properties.get(AtlasContextFactory.PROPERTY_ATLASMAP_SESSION_SHARE_MAPPING));
+        this.validationMode = ValidationMode.fromProperty(
+                properties != null ? properties.get(AtlasContextFactory.PROPERTY_ATLASMAP_VALIDATION_MODE) : null);
+        this.validationAudits = null;
+        String cacheSize = properties != null
+                ? properties.get(AtlasContextFactory.PROPERTY_ATLASMAP_EXPRESSION_CACHE_SIZE) : null;
+        if (cacheSize != null) {
+            try {
+                Expression.CACHE.setMaxSize(Integer.parseInt(cacheSize.trim()));
+            } catch (IllegalArgumentException e) {
+                LOG.warn("Ignoring invalid expression cache size '{}': {}", cacheSize, e.getMessage());
+            }
+        }
+        String pathCacheSize = properties != null
+                ? properties.get(AtlasContextFactory.PROPERTY_ATLASMAP_PATH_CACHE_SIZE) : null;
+        if (pathCacheSize != null) {
+            try {
+                AtlasPath.CACHE.setMaxSize(Integer.parseInt(pathCacheSize.trim()));
+            } catch (IllegalArgumentException e) {
+                LOG.warn("Ignoring invalid path cache size '{}': {}", pathCacheSize, e.getMessage());
+            }
+        }
+        boolean parallelEnabled = factory.getParallelExecutor() != null || (properties != null
+                && Boolean.parseBoolean(properties.get(AtlasContextFactory.PROPERTY_ATLASMAP_PARALLEL_ENABLED)));
+        if (parallelEnabled) {
+            this.parallelExecutor = factory.getParallelExecutor() != null ? factory.getParallelExecutor()
+                    : ForkJoinPool.commonPool();
+        } else {
+            this.parallelExecutor = null;
+        }
+        this.parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+        String threshold = properties != null
+                ? properties.get(AtlasContextFactory.PROPERTY_ATLASMAP_PARALLEL_THRESHOLD) : null;
+        if (threshold != null) {
+            try {
+                this.parallelThreshold = Integer.parseInt(threshold.trim());
+            } catch (NumberFormatException e) {
+                LOG.warn("Ignoring invalid parallel threshold '{}': {}", threshold, e.getMessage());
+            }
+        }
+        this.collectionStreaming = properties != null
+                && Boolean.parseBoolean(properties.get(AtlasContextFactory.PROPERTY_ATLASMAP_COLLECTION_STREAMING));
+        this.mappingPlan = AtlasMappingPlan.compile(this, atlasMapping);
         initialized = true;
+        registerJmx(this);
     }
 
+    /**
+     * Registers the context and its modules with JMX if the metrics are enabled. Otherwise the context
+     * is not registered so that the contexts which are not explicitly unregistered don't pile up.
+     *
+     * @param context context to register
+     */
     protected void registerJmx(DefaultAtlasContext context) {
         try {
             setJmxObjectName(new ObjectName(
                     getContextFactory().getJmxObjectName() + ",context=Contexts,uuid=" + uuid.toString()));
-            if (ManagementFactory.getPlatformMBeanServer().isRegistered(getJmxObjectName())) {
-                ManagementFactory.getPlatformMBeanServer().registerMBean(this, getJmxObjectName());
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Registered AtlasContext {} with JMX", context.getUuid());
+            unregisterJmx();
+            if (this.metrics == null) {
+                return;
+            }
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(this, getJmxObjectName());
+            for (Map.Entry<String, AtlasModule> entry : getSourceModules().entrySet()) {
+                if (entry.getValue() instanceof BaseAtlasModule) {
+                    server.registerMBean(entry.getValue(), new ObjectName(getJmxObjectName()
+                            + ",modules=SourceModules,docId=" + ObjectName.quote(entry.getKey())));
+                }
+            }
+            for (Map.Entry<String, AtlasModule> entry : getTargetModules().entrySet()) {
+                if (entry.getValue() instanceof BaseAtlasModule) {
+                    server.registerMBean(entry.getValue(), new ObjectName(getJmxObjectName()
+                            + ",modules=TargetModules,docId=" + ObjectName.quote(entry.getKey())));
                 }
             }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Registered AtlasContext {} with JMX", context.getUuid());
+            }
         } catch (Exception t) {
             LOG.warn("Failed to register AtlasContext {} with JMX", context.getUuid());
             LOG.warn(t.getMessage(), t);
         }
     }
 
+    /**
+     * Unregisters the context and its modules from JMX. The contexts are also unregistered
+     * when the {@link DefaultAtlasContextFactory} is destroyed.
+     */
+    public void unregisterJmx() {
+        if (getJmxObjectName() == null) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            // the pattern matches the context itself as well as its modules
+            for (ObjectName name : server.queryNames(new ObjectName(getJmxObjectName() + ",*"), null)) {
+                server.unregisterMBean(name);
+            }
+        } catch (Exception t) {
+            LOG.warn("Failed to unregister AtlasContext {} from JMX", getUuid());
+            LOG.warn(t.getMessage(), t);
+        }
+    }
+
     /**
      * Process single mapping entry in preview mode. Since modules don't participate
      * in preview mode, any document format specific function won't be applied.
@@ -296,8 +419,13 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         if (field.getActions() == null) {
             return field;
         }
+        AtlasContextMetrics m = this.metrics;
+        long start = m != null ? System.nanoTime() : 0L;
+        boolean failed = true;
         try {
-            return factory.getFieldActionService().processActions(session, field);
+            Field answer = factory.getFieldActionService().processActions(session, field);
+            failed = false;
+            return answer;
         } catch (AtlasException e) {
             AtlasUtil.addAudit(session, field, String.format(
                     "Failed to apply field action: %s", AtlasUtil.getChainedMessage(e)),
@@ -306,6 +434,10 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                 LOG.error("", e);
             }
             return field;
+        } finally {
+            if (m != null) {
+                m.recordFieldActions(System.nanoTime() - start, failed);
+            }
         }
     }
 
@@ -323,6 +455,114 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         }
 
         DefaultAtlasSession session = (DefaultAtlasSession) userSession;
+        doProcess(session, getOrCompileMappingPlan(), null);
+    }
+
+    /**
+     * Processes a batch of source document sets. The setup which doesn't depend on the source documents
+     * is done once for the whole batch; the sessions share the mapping definition of this context
+     * instead of cloning it, and the mapping definition is validated only once. A batch of a single
+     * source document set is processed as a regular session.
+     * <p>
+     * An unexpected exception thrown while processing a session doesn't stop the rest of the batch. It's
+     * kept in the session, see {@link DefaultAtlasSession#getProcessingFailure()}.
+     * @param sourceDocuments a list of source document maps keyed by the Document ID, {@code null} or
+     * empty key is for the default source document
+     * @return the processed sessions in the same order, each holds its own target documents and audits
+     * @throws AtlasException unexpected error while preparing the batch
+     */
+    public List<AtlasSession> processBatch(List<Map<String, Object>> sourceDocuments) throws AtlasException {
+        init();
+        List<AtlasSession> answer = new ArrayList<>(sourceDocuments.size());
+        if (sourceDocuments.isEmpty()) {
+            return answer;
+        }
+        AtlasMappingPlan plan = getOrCompileMappingPlan();
+        if (sourceDocuments.size() == 1) {
+            DefaultAtlasSession session = (DefaultAtlasSession) createSession();
+            answer.add(processBatchSession(session, sourceDocuments.get(0), plan, null));
+            return answer;
+        }
+        DefaultAtlasSession first = createBatchSession(null);
+        first.getAudits().getAudit().clear();
+        first.getValidations().getValidation().clear();
+        first.setMappingDefinitionIntact(isMappingDefinitionIntact(first, plan));
+        processValidationAudits(first, plan);
+        List<Audit> validationAudits = new ArrayList<>(first.getAudits().getAudit().size());
+        for (Audit audit : first.getAudits().getAudit()) {
+            validationAudits.add(copyAudit(audit));
+        }
+        Map<String, Object> sessionProperties = new HashMap<>(first.getProperties());
+        for (Map<String, Object> docs : sourceDocuments) {
+            DefaultAtlasSession session = createBatchSession(sessionProperties);
+            answer.add(processBatchSession(session, docs, plan, validationAudits));
+        }
+        return answer;
+    }
+
+    private DefaultAtlasSession processBatchSession(DefaultAtlasSession session, Map<String, Object> docs,
+            AtlasMappingPlan plan, List<Audit> validationAudits) {
+        try {
+            for (Map.Entry<String, Object> doc : docs.entrySet()) {
+                session.setSourceDocument(doc.getKey(), doc.getValue());
+            }
+            doProcess(session, plan, validationAudits);
+        } catch (Exception e) {
+            LOG.debug("Failed to process a session in the batch", e);
+            session.setProcessingFailure(e);
+        }
+        return session;
+    }
+
+    private DefaultAtlasSession createBatchSession(Map<String, Object> sessionProperties) throws AtlasException {
+        DefaultAtlasSession session = new DefaultAtlasSession(this, true);
+        session.setAtlasContext(this);
+        session.setAudits(new Audits());
+        session.setValidations(new Validations());
+        if (sessionProperties != null) {
+            session.getProperties().putAll(sessionProperties);
+        } else {
+            setDefaultSessionProperties(session);
+        }
+        return session;
+    }
+
+    private AtlasMappingPlan getOrCompileMappingPlan() throws AtlasException {
+        AtlasMappingPlan plan = getMappingPlan();
+        if (plan == null && this.initialized) {
+            plan = AtlasMappingPlan.compile(this, getMapping());
+            this.mappingPlan = plan;
+        }
+        return plan;
+    }
+
+    private void doProcess(DefaultAtlasSession session, AtlasMappingPlan plan, List<Audit> validationAudits)
+            throws AtlasException {
+        AtlasContextMetrics m = this.metrics;
+        if (m == null) {
+            processSession(session, plan, validationAudits);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            processSession(session, plan, validationAudits);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            int errors = 0;
+            int warns = 0;
+            for (Audit audit : session.getAudits().getAudit()) {
+                if (audit.getStatus() == AuditStatus.ERROR) {
+                    errors++;
+                } else if (audit.getStatus() == AuditStatus.WARN) {
+                    warns++;
+                }
+            }
+            m.recordSession(elapsed, errors, warns);
+        }
+    }
+
+    private void processSession(DefaultAtlasSession session, AtlasMappingPlan plan, List<Audit> validationAudits)
+            throws AtlasException {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Begin process {}", (session == null ? null : session.toString()));
         }
@@ -330,11 +570,14 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         session.head().unset();
         session.getAudits().getAudit().clear();
         session.getValidations().getValidation().clear();
+        session.setMappingDefinitionIntact(isMappingDefinitionIntact(session, plan));
 
-        // TODO https://github.com/atlasmap/atlasmap/issues/863 - Add an option to enable/disable runtime validation
-        processValidation(session);
-        for (Validation v : session.getValidations().getValidation()) {
-            AtlasUtil.addAudit(session, v);
+        if (validationAudits != null) {
+            for (Audit audit : validationAudits) {
+                session.getAudits().getAudit().add(copyAudit(audit));
+            }
+        } else {
+            processValidationAudits(session, plan);
         }
 
         // Additional runtime only audit
@@ -367,31 +610,22 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
             return;
         }
 
-        for (BaseMapping baseMapping : session.getMapping().getMappings().getMapping()) {
-            for (BaseMapping innerMapping : unwrapCollectionMappings(session, baseMapping)) {
-                if (innerMapping instanceof CustomMapping) {
-                    DefaultAtlasCustomMappingProcessor.getInstance().process(
-                            session, (CustomMapping)innerMapping);
-                    continue;
-                }
-
-                Mapping mapping = (Mapping) innerMapping;
-                session.head().setMapping(mapping).setLookupTable(lookupTables.get(mapping.getLookupTableName()));
-
-                if (mapping.getOutputField() == null || mapping.getOutputField().isEmpty()) {
-                    AtlasUtil.addAudit(session, (String)null,
-                            String.format("Mapping does not contain at least one target field: alias=%s desc=%s",
-                                    mapping.getAlias(), mapping.getDescription()),
-                            AuditStatus.WARN, null);
-                    continue;
-                }
-
-                processSourceFieldMapping(session);
-                if (!session.head().hasError()) {
-                    processTargetFieldMapping(session, mapping);
+        if (session.isMappingDefinitionShared()) {
+            if (plan == null || plan.getMappingDefinition() != session.getMapping()) {
+                AtlasUtil.addAudit(session, (String)null,
+                        "Mapping definition has been replaced after the session was created",
+                        AuditStatus.ERROR, null);
+                return;
+            }
+            processEntries(session, plan);
+        } else if (plan != null && plan.getMappingDefinition() == getMapping() && plan.matches(session.getMapping())) {
+            processEntries(session, plan);
+        } else {
+            int i = 0;
+            for (BaseMapping baseMapping : session.getMapping().getMappings().getMapping()) {
+                for (BaseMapping innerMapping : unwrapCollectionMappings(session, baseMapping)) {
+                    processMapping(session, innerMapping, null, i++);
                 }
-                session.getAudits().getAudit().addAll(session.head().getAudits());
-                session.head().unset();
             }
         }
 
@@ -414,6 +648,365 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         }
     }
 
+    private void processEntries(DefaultAtlasSession session, AtlasMappingPlan plan) throws AtlasException {
+        List<AtlasMappingPlan.Entry> entries = plan.getEntries();
+        if (session.isMappingDefinitionShared()) {
+            session.resetWorkingMappings(plan);
+        }
+        ForkedMapping[] forked = this.parallelExecutor != null ? forkMappings(session, plan) : null;
+        for (int i = 0; i < entries.size(); i++) {
+            if (forked != null && forked[i] != null) {
+                joinMapping(session, forked[i], i);
+                continue;
+            }
+            AtlasMappingPlan.Entry entry = entries.get(i);
+            if (session.isMappingDefinitionShared()) {
+                // the shared mapping definition must not be touched, process the session's copy
+                processMapping(session, session.getWorkingMapping(plan, i), entry, i);
+            } else {
+                BaseMapping baseMapping = entry.locate(session.getMapping());
+                processMapping(session, baseMapping, entry.matches(baseMapping) ? entry : null, i);
+            }
+        }
+    }
+
+    /**
+     * Reads the source fields of the mapping entries eligible for the parallel execution, each with
+     * its own head and audits. The target fields are not touched here since the target documents are
+     * not thread safe, {@link #joinMapping(DefaultAtlasSession, ForkedMapping, int)} writes them afterwards
+     * in the order of the mapping entries so that the result is identical with the sequential execution.
+     * @param session session
+     * @param plan mapping plan
+     * @return forked mappings at the position of the mapping entries, or {@code null} if there are
+     * not enough eligible entries to be worth the parallel execution
+     */
+    private ForkedMapping[] forkMappings(DefaultAtlasSession session, AtlasMappingPlan plan) {
+        List<AtlasMappingPlan.Entry> entries = plan.getEntries();
+        ForkedMapping[] answer = new ForkedMapping[entries.size()];
+        List<ForkedMapping> tasks = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            AtlasMappingPlan.Entry entry = entries.get(i);
+            if (!entry.isConcurrentReadSupported() || (this.collectionStreaming && entry.isStreamable())) {
+                continue;
+            }
+            BaseMapping baseMapping;
+            if (session.isMappingDefinitionShared()) {
+                baseMapping = session.getWorkingMapping(plan, i);
+            } else {
+                baseMapping = entry.locate(session.getMapping());
+                if (!entry.matches(baseMapping)) {
+                    continue;
+                }
+            }
+            answer[i] = new ForkedMapping(session.fork(), entry, baseMapping);
+            tasks.add(answer[i]);
+        }
+        if (tasks.size() < Math.max(2, this.parallelThreshold)) {
+            return null;
+        }
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[tasks.size()];
+        session.setForked(true);
+        try {
+            for (int i = 0; i < futures.length; i++) {
+                ForkedMapping forked = tasks.get(i);
+                Runnable task = () -> forked.fork.run(() -> readSourceFields(session, forked));
+                try {
+                    futures[i] = CompletableFuture.runAsync(task, this.parallelExecutor);
+                } catch (RejectedExecutionException e) {
+                    task.run();
+                    futures[i] = CompletableFuture.completedFuture(null);
+                }
+            }
+            CompletableFuture.allOf(futures).join();
+        } finally {
+            session.setForked(false);
+        }
+        return answer;
+    }
+
+    private void readSourceFields(DefaultAtlasSession session, ForkedMapping forked) {
+        long start = System.nanoTime();
+        try {
+            session.head().setMapping((Mapping) forked.mapping).setLookupTable(forked.entry.getLookupTable());
+            processSourceFieldMapping(session, forked.entry);
+        } catch (Throwable t) {
+            forked.failure = t;
+        } finally {
+            forked.elapsed = System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Merges the head and audits of the forked mapping into the session, then writes the target fields.
+     * @param session session
+     * @param forked forked mapping
+     * @param index position of the mapping entry
+     * @throws AtlasException if reading the source fields failed
+     */
+    private void joinMapping(DefaultAtlasSession session, ForkedMapping forked, int index) throws AtlasException {
+        if (forked.failure instanceof AtlasException) {
+            throw (AtlasException) forked.failure;
+        } else if (forked.failure instanceof RuntimeException) {
+            throw (RuntimeException) forked.failure;
+        } else if (forked.failure instanceof Error) {
+            throw (Error) forked.failure;
+        }
+        AtlasContextMetrics m = this.metrics;
+        int auditIndex = session.getAudits().getAudit().size();
+        long start = m != null ? System.nanoTime() : 0L;
+        try {
+            Mapping mapping = (Mapping) forked.mapping;
+            Head head = forked.fork.head();
+            session.getAudits().getAudit().addAll(forked.fork.getAudits().getAudit());
+            session.head().setMapping(mapping).setLookupTable(head.getLookupTable())
+                    .setSourceField(head.getSourceField());
+            session.head().getAudits().addAll(head.getAudits());
+            if (!session.head().hasError()) {
+                processTargetFieldMapping(session, mapping, forked.entry);
+            }
+            session.getAudits().getAudit().addAll(session.head().getAudits());
+            session.head().unset();
+        } finally {
+            if (m != null) {
+                m.recordMapping(AtlasContextMetrics.mappingId(forked.mapping, index),
+                        forked.elapsed + System.nanoTime() - start, hasErrorsSince(session, auditIndex));
+            }
+        }
+    }
+
+    private void processValidationAudits(DefaultAtlasSession session, AtlasMappingPlan plan) throws AtlasException {
+        if (this.validationMode == ValidationMode.NEVER) {
+            return;
+        }
+        boolean cacheable = this.validationMode == ValidationMode.ONCE && session.isMappingDefinitionIntact();
+        List<Audit> cached = this.validationAudits;
+        if (cacheable && cached != null) {
+            for (Audit audit : cached) {
+                session.getAudits().getAudit().add(copyAudit(audit));
+            }
+            return;
+        }
+
+        processValidation(session);
+        for (Validation v : session.getValidations().getValidation()) {
+            AtlasUtil.addAudit(session, v);
+        }
+        if (cacheable) {
+            List<Audit> answer = new ArrayList<>();
+            for (Audit audit : session.getAudits().getAudit()) {
+                answer.add(copyAudit(audit));
+            }
+            this.validationAudits = answer;
+        }
+    }
+
+    private boolean isMappingDefinitionIntact(DefaultAtlasSession session, AtlasMappingPlan plan) {
+        if (plan == null || plan.getMappingDefinition() != getMapping()) {
+            return false;
+        }
+        if (session.isMappingDefinitionShared()) {
+            return true;
+        }
+        if (!plan.matches(session.getMapping())) {
+            return false;
+        }
+        for (AtlasMappingPlan.Entry entry : plan.getEntries()) {
+            if (!entry.matches(entry.locate(session.getMapping()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Audit copyAudit(Audit audit) {
+        Audit answer = new Audit();
+        answer.setStatus(audit.getStatus());
+        answer.setDocId(audit.getDocId());
+        answer.setDocName(audit.getDocName());
+        answer.setPath(audit.getPath());
+        answer.setValue(audit.getValue());
+        answer.setMessage(audit.getMessage());
+        return answer;
+    }
+
+    private void processMapping(DefaultAtlasSession session, BaseMapping baseMapping, AtlasMappingPlan.Entry entry,
+            int index) {
+        AtlasContextMetrics m = this.metrics;
+        if (m == null) {
+            processMapping(session, baseMapping, entry);
+            return;
+        }
+        int auditIndex = session.getAudits().getAudit().size();
+        long start = System.nanoTime();
+        try {
+            processMapping(session, baseMapping, entry);
+        } finally {
+            m.recordMapping(AtlasContextMetrics.mappingId(baseMapping, index), System.nanoTime() - start,
+                    hasErrorsSince(session, auditIndex));
+        }
+    }
+
+    private boolean hasErrorsSince(DefaultAtlasSession session, int auditIndex) {
+        List<Audit> audits = session.getAudits().getAudit();
+        for (int i = auditIndex; i < audits.size(); i++) {
+            if (audits.get(i).getStatus() == AuditStatus.ERROR) {
+                return true;
+            }
+        }
+        return session.head().hasError();
+    }
+
+    private void recordTargetWrite(DefaultAtlasSession session, AtlasModule module, long start, int auditIndex) {
+        AtlasContextMetrics m = this.metrics;
+        if (m != null) {
+            m.recordTargetWrite(module, System.nanoTime() - start, hasErrorsSince(session, auditIndex));
+        }
+    }
+
+    private void processMapping(DefaultAtlasSession session, BaseMapping baseMapping, AtlasMappingPlan.Entry entry) {
+        if (baseMapping instanceof CustomMapping) {
+            DefaultAtlasCustomMappingProcessor.getInstance().process(
+                    session, (CustomMapping)baseMapping);
+            return;
+        }
+
+        Mapping mapping = (Mapping) baseMapping;
+        LookupTable lookupTable = entry != null ? entry.getLookupTable() : lookupTables.get(mapping.getLookupTableName());
+        session.head().setMapping(mapping).setLookupTable(lookupTable);
+
+        if (mapping.getOutputField() == null || mapping.getOutputField().isEmpty()) {
+            AtlasUtil.addAudit(session, (String)null,
+                    String.format("Mapping does not contain at least one target field: alias=%s desc=%s",
+                            mapping.getAlias(), mapping.getDescription()),
+                    AuditStatus.WARN, null);
+            return;
+        }
+
+        if (!this.collectionStreaming || entry == null || !entry.isStreamable()
+                || !processCollectionItems(session, mapping, entry)) {
+            processSourceFieldMapping(session, entry);
+            if (!session.head().hasError()) {
+                processTargetFieldMapping(session, mapping, entry);
+            }
+        }
+        session.getAudits().getAudit().addAll(session.head().getAudits());
+        session.head().unset();
+    }
+
+    /**
+     * Processes the collection mapping item by item. Each source item is read from the cursor opened by
+     * the source module, then the field actions are applied and it's written into the target document
+     * as a target field which has the collection index in its path, before reading the next item.
+     * @param session session
+     * @param mapping collection to collection mapping with a single source and target field
+     * @param entry mapping plan entry
+     * @return false if the mapping can't be processed item by item, in that case nothing has been done yet
+     */
+    private boolean processCollectionItems(DefaultAtlasSession session, Mapping mapping, AtlasMappingPlan.Entry entry) {
+        Field sourceField = mapping.getInputField().get(0);
+        Field targetField = mapping.getOutputField().get(0);
+        if (!hasOnlyOneToOneActions(sourceField) || !hasOnlyOneToOneActions(targetField)) {
+            return false;
+        }
+        AtlasModule sourceModule = entry.getSourceModule(0);
+        AtlasModule targetModule = entry.getTargetModule(0);
+        session.head().setSourceField(sourceField);
+        AtlasFieldCursor cursor = null;
+        Field item;
+        try {
+            cursor = sourceModule.openSourceCursor(session);
+            if (cursor == null) {
+                return false;
+            }
+            item = cursor.next();
+        } catch (Exception e) {
+            // let the usual path report it
+            if (cursor != null) {
+                closeCursor(cursor);
+            }
+            return false;
+        }
+        if (item == null) {
+            // leave the empty collection to the usual path
+            closeCursor(cursor);
+            return false;
+        }
+
+        ArrayList<Action> sourceActions = sourceField.getActions();
+        Field previousTargetItem = null;
+        int auditIndex = session.getAudits().getAudit().size();
+        long start = this.metrics != null ? System.nanoTime() : 0L;
+        try {
+            while (item != null) {
+                item.setActions(sourceActions);
+                session.head().setSourceField(item);
+                Field sourceItem = applyFieldActions(session, item);
+                item.setActions(null);
+                Field targetItem = targetModule.cloneField(targetField);
+                targetModule.getCollectionHelper().copyCollectionIndexes(sourceField, sourceItem, targetItem,
+                        previousTargetItem);
+                session.head().setSourceField(sourceItem).setTargetField(targetItem);
+                try {
+                    targetModule.populateTargetField(session);
+                } catch (Exception e) {
+                    AtlasUtil.addAudit(session, targetItem,
+                            "Failed to populate target field: " + e.getMessage(),
+                            AuditStatus.ERROR, null);
+                    return true;
+                }
+                Field processed = applyFieldActions(session, session.head().getTargetField());
+                session.head().setTargetField(processed);
+                try {
+                    targetModule.writeTargetValue(session);
+                } catch (Exception e) {
+                    AtlasUtil.addAudit(session, targetItem,
+                            "Failed to write field value into target document: " + e.getMessage(),
+                            AuditStatus.ERROR, null);
+                    return true;
+                }
+                previousTargetItem = targetItem;
+                item = cursor.next();
+            }
+        } catch (Exception e) {
+            session.head().addAudit(AuditStatus.ERROR, sourceField, String.format(
+                    "Unexpected exception is thrown while processing collection item: %s", e.getMessage()));
+            if (LOG.isDebugEnabled()) {
+                LOG.error("", e);
+            }
+        } finally {
+            closeCursor(cursor);
+            recordTargetWrite(session, targetModule, start, auditIndex);
+        }
+        return true;
+    }
+
+    private boolean hasOnlyOneToOneActions(Field field) {
+        if (field.getActions() == null) {
+            return true;
+        }
+        for (Action action : field.getActions()) {
+            try {
+                ActionDetail detail = factory.getFieldActionService().findActionDetail(action, field.getFieldType());
+                if (detail == null || (detail.getMultiplicity() != null
+                        && detail.getMultiplicity() != Multiplicity.ONE_TO_ONE)) {
+                    return false;
+                }
+            } catch (AtlasException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void closeCursor(AtlasFieldCursor cursor) {
+        try {
+            cursor.close();
+        } catch (Exception e) {
+            LOG.warn("Failed to close the source cursor: {}", e.getMessage());
+        }
+    }
+
     // just unwrap collection mappings to be compatible with older UI
     private List<BaseMapping> unwrapCollectionMappings(DefaultAtlasSession session, BaseMapping baseMapping) {
         if (baseMapping.getMappingType() == null || !baseMapping.getMappingType().equals(MappingType.COLLECTION)) {
@@ -431,12 +1024,17 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
     }
 
     protected void processSourceFieldMapping(DefaultAtlasSession session) {
+        processSourceFieldMapping(session, null);
+    }
+
+    private void processSourceFieldMapping(DefaultAtlasSession session, AtlasMappingPlan.Entry entry) {
         try {
             Mapping mapping = session.head().getMapping();
             if (mapping.getInputFieldGroup() != null) {
                 if (mapping.getExpression() != null) {
                     session.head().setSourceField(mapping.getInputFieldGroup());
-                    DefaultAtlasExpressionProcessor.processExpression(session, mapping.getExpression());
+                    DefaultAtlasExpressionProcessor.processExpression(session, mapping.getExpression(),
+                            entry != null ? entry.getExpression() : null);
                 } else {
                     processSourceFieldGroup(session, mapping.getInputFieldGroup());
                 }
@@ -445,11 +1043,14 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                     FieldGroup sourceFieldGroup = new FieldGroup();
                     sourceFieldGroup.getField().addAll(mapping.getInputField());
                     session.head().setSourceField(sourceFieldGroup);
-                    DefaultAtlasExpressionProcessor.processExpression(session, mapping.getExpression());
+                    DefaultAtlasExpressionProcessor.processExpression(session, mapping.getExpression(),
+                            entry != null ? entry.getExpression() : null);
                 } else {
                     List<Field> sourceFields = mapping.getInputField();
-                    applyCopyToActions(sourceFields, mapping);
-                    processSourceFields(session, sourceFields);
+                    if (entry == null || entry.hasCopyTo()) {
+                        applyCopyToActions(sourceFields, mapping);
+                    }
+                    processSourceFields(session, sourceFields, entry);
                 }
             } else {
                 session.head().addAudit(AuditStatus.WARN, null, String.format(
@@ -469,25 +1070,28 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
     }
 
     private void processSourceFieldGroup(DefaultAtlasSession session, FieldGroup sourceFieldGroup) throws AtlasException {
-        processSourceFields(session, sourceFieldGroup.getField());
+        processSourceFields(session, sourceFieldGroup.getField(), null);
         session.head().setSourceField(sourceFieldGroup);
         Field processed = applyFieldActions(session, session.head().getSourceField());
         session.head().setSourceField(processed);
     }
 
-    private void processSourceFields(DefaultAtlasSession session, List<Field> sourceFields)
-            throws AtlasException {
+    private void processSourceFields(DefaultAtlasSession session, List<Field> sourceFields,
+            AtlasMappingPlan.Entry entry) throws AtlasException {
         for (int i = 0; i < sourceFields.size(); i++) {
             Field sourceField = sourceFields.get(i);
             session.head().setSourceField(sourceField);
             if (sourceField instanceof FieldGroup) {
-                processSourceFields(session, ((FieldGroup)sourceField).getField());
+                processSourceFields(session, ((FieldGroup)sourceField).getField(), null);
                 Field processed = applyFieldActions(session, sourceField);
                 session.head().setSourceField(processed);
                 continue;
             }
 
-            AtlasModule module = resolveModule(FieldDirection.SOURCE, sourceField);
+            AtlasModule module = entry != null ? entry.getSourceModule(i) : null;
+            if (module == null) {
+                module = resolveModule(FieldDirection.SOURCE, sourceField);
+            }
             if (module == null) {
                 AtlasUtil.addAudit(session, sourceField,
                         String.format("Module not found for docId '%s'", sourceField.getDocId()),
@@ -502,7 +1106,21 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                 return;
             }
 
-            module.readSourceValue(session);
+            AtlasContextMetrics m = this.metrics;
+            if (m == null) {
+                module.readSourceValue(session);
+            } else {
+                int auditIndex = session.getAudits().getAudit().size();
+                long start = System.nanoTime();
+                boolean read = false;
+                try {
+                    module.readSourceValue(session);
+                    read = true;
+                } finally {
+                    m.recordSourceRead(module, System.nanoTime() - start,
+                            !read || hasErrorsSince(session, auditIndex));
+                }
+            }
             Field processed = applyFieldActions(session, session.head().getSourceField());
             session.head().setSourceField(processed);
             sourceFields.set(i, processed);
@@ -510,27 +1128,44 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
     }
 
     protected AtlasModule resolveModule(FieldDirection direction, Field field) {
-        String docId = field.getDocId();
-        if (docId == null || docId.isEmpty()) {
-            docId = direction == FieldDirection.SOURCE ? AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID
-                    : AtlasConstants.DEFAULT_TARGET_DOCUMENT_ID;
-        }
-        Map<String, AtlasModule> modules =
-                direction == FieldDirection.SOURCE ? sourceModules : targetModules;
-        if (direction == FieldDirection.SOURCE && field instanceof ConstantField) {
-            AtlasModule answer = sourceModules.get(AtlasConstants.CONSTANTS_DOCUMENT_ID);
+        AtlasModule answer = lookupModule(direction, field);
+        if (field instanceof PropertyField
+                || (direction == FieldDirection.SOURCE && field instanceof ConstantField)) {
+            String docId = field.getDocId();
+            if (docId == null || docId.isEmpty()) {
+                docId = direction == FieldDirection.SOURCE ? AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID
+                        : AtlasConstants.DEFAULT_TARGET_DOCUMENT_ID;
+            }
+            Map<String, AtlasModule> modules =
+                    direction == FieldDirection.SOURCE ? sourceModules : targetModules;
             if (!modules.containsKey(docId)) {
                 modules.put(docId, answer);
             }
-            return answer;
         }
+        return answer;
+    }
+
+    /**
+     * Resolves the module for the field without registering the document ID alias
+     * for constant and property fields, as {@link #resolveModule(FieldDirection, Field)} does.
+     * @param direction source or target
+     * @param field field
+     * @return resolved module, or {@code null} if not found
+     */
+    AtlasModule lookupModule(FieldDirection direction, Field field) {
+        if (direction == FieldDirection.SOURCE && field instanceof ConstantField) {
+            return sourceModules.get(AtlasConstants.CONSTANTS_DOCUMENT_ID);
+        }
+        Map<String, AtlasModule> modules =
+                direction == FieldDirection.SOURCE ? sourceModules : targetModules;
         if (field instanceof PropertyField) {
-            AtlasModule answer = modules.get(
+            return modules.get(
                     direction == FieldDirection.SOURCE ? AtlasConstants.PROPERTIES_SOURCE_DOCUMENT_ID : AtlasConstants.PROPERTIES_TARGET_DOCUMENT_ID);
-            if (!modules.containsKey(docId)) {
-                modules.put(docId, answer);
-            }
-            return answer;
+        }
+        String docId = field.getDocId();
+        if (docId == null || docId.isEmpty()) {
+            docId = direction == FieldDirection.SOURCE ? AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID
+                    : AtlasConstants.DEFAULT_TARGET_DOCUMENT_ID;
         }
         return modules.get(docId);
     }
@@ -580,7 +1215,8 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         }
     }
 
-    private void processTargetFieldMapping(DefaultAtlasSession session, Mapping mapping) {
+    private void processTargetFieldMapping(DefaultAtlasSession session, Mapping mapping,
+            AtlasMappingPlan.Entry entry) {
         MappingType mappingType = mapping.getMappingType();
         List<Field> sourceFields = mapping.getInputField();
         List<Field> targetFields = mapping.getOutputField();
@@ -593,17 +1229,21 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
             if (sourceField instanceof FieldGroup) {
                 sourceFieldGroup = unwrapNestedGroup((FieldGroup)sourceField);
             }
-            for (Field f : targetFields) {
-                targetField = f;
-                module = resolveModule(FieldDirection.TARGET, targetField);
+            for (int i = 0; i < targetFields.size(); i++) {
+                targetField = targetFields.get(i);
+                module = resolveTargetModule(entry, i, targetField);
                 if (!auditTargetFieldType(session, module, targetField)) {
                     continue;
                 }
                 session.head().setTargetField(targetField);
                 if (sourceFieldGroup != null) {
                     Integer index = targetField.getIndex();
-                    AtlasPath targetPath = new AtlasPath(targetField.getPath());
-                    if (targetPath.hasCollection() && !targetPath.isIndexedCollection()) {
+                    Boolean targetCollection = entry != null ? entry.isTargetCollection(i) : null;
+                    if (targetCollection == null) {
+                        AtlasPath targetPath = new AtlasPath(targetField.getPath());
+                        targetCollection = targetPath.hasCollection() && !targetPath.isIndexedCollection();
+                    }
+                    if (targetCollection) {
                         if (targetFields.size() > 1) {
                             AtlasUtil.addAudit(session, targetField,
                                     "It's not yet supported to have a collection field as a part of multiple target fields in a same mapping",
@@ -627,59 +1267,71 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                         }
                     }
                 }
+                int auditIndex = session.getAudits().getAudit().size();
+                long start = this.metrics != null ? System.nanoTime() : 0L;
+                try {
+                    try {
+                        module.populateTargetField(session);
+                    } catch (Exception e) {
+                        AtlasUtil.addAudit(session, targetField,
+                                "Failed to populate target field: " + e.getMessage(),
+                                AuditStatus.ERROR, null);
+                        if (LOG.isDebugEnabled()) {
+                            LOG.error(String.format("populateTargetField() failed for %s:%s",
+                                    targetField.getDocId(), targetField.getPath()), e);
+                        }
+                        return;
+                    }
+                    Field processed = applyFieldActions(session, session.head().getTargetField());
+                    session.head().setTargetField(processed);
+                    try {
+                        module.writeTargetValue(session);
+                    } catch (Exception e) {
+                        AtlasUtil.addAudit(session, targetField,
+                                "Failed to write field value into target document: " + e.getMessage(),
+                                AuditStatus.ERROR, null);
+                        if (LOG.isDebugEnabled()) {
+                            LOG.error(String.format("writeTargetValue() failed for %s:%s",
+                                    targetField.getDocId(), targetField.getPath()), e);
+                        }
+                        return;
+                    }
+                } finally {
+                    recordTargetWrite(session, module, start, auditIndex);
+                }
+            }
+            return;
+
+        } else if (mappingType == MappingType.COMBINE) {
+            targetField = targetFields.get(0);
+            module = resolveTargetModule(entry, 0, targetField);
+            if (!auditTargetFieldType(session, module, targetField)) {
+                return;
+            }
+            Field sourceField = processCombineField(session, mapping, sourceFields, targetField);
+            session.head().setSourceField(sourceField).setTargetField(targetField);
+            int auditIndex = session.getAudits().getAudit().size();
+            long start = this.metrics != null ? System.nanoTime() : 0L;
+            try {
                 try {
                     module.populateTargetField(session);
                 } catch (Exception e) {
                     AtlasUtil.addAudit(session, targetField,
                             "Failed to populate target field: " + e.getMessage(),
                             AuditStatus.ERROR, null);
-                    if (LOG.isDebugEnabled()) {
-                        LOG.error(String.format("populateTargetField() failed for %s:%s",
-                                targetField.getDocId(), targetField.getPath()), e);
-                    }
                     return;
                 }
-                Field processed = applyFieldActions(session, session.head().getTargetField());
-                session.head().setTargetField(processed);
+                applyFieldActions(session, session.head().getTargetField());
                 try {
                     module.writeTargetValue(session);
                 } catch (Exception e) {
                     AtlasUtil.addAudit(session, targetField,
                             "Failed to write field value into target document: " + e.getMessage(),
                             AuditStatus.ERROR, null);
-                    if (LOG.isDebugEnabled()) {
-                        LOG.error(String.format("writeTargetValue() failed for %s:%s",
-                                targetField.getDocId(), targetField.getPath()), e);
-                    }
                     return;
                 }
-            }
-            return;
-
-        } else if (mappingType == MappingType.COMBINE) {
-            targetField = targetFields.get(0);
-            module = resolveModule(FieldDirection.TARGET, targetField);
-            if (!auditTargetFieldType(session, module, targetField)) {
-                return;
-            }
-            Field sourceField = processCombineField(session, mapping, sourceFields, targetField);
-            session.head().setSourceField(sourceField).setTargetField(targetField);
-            try {
-                module.populateTargetField(session);
-            } catch (Exception e) {
-                AtlasUtil.addAudit(session, targetField,
-                        "Failed to populate target field: " + e.getMessage(),
-                        AuditStatus.ERROR, null);
-                return;
-            }
-            applyFieldActions(session, session.head().getTargetField());
-            try {
-                module.writeTargetValue(session);
-            } catch (Exception e) {
-                AtlasUtil.addAudit(session, targetField,
-                        "Failed to write field value into target document: " + e.getMessage(),
-                        AuditStatus.ERROR, null);
-                return;
+            } finally {
+                recordTargetWrite(session, module, start, auditIndex);
             }
             return;
 
@@ -697,9 +1349,9 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                 return;
             }
 
-            for (Field f : targetFields) {
-                targetField = f;
-                module = resolveModule(FieldDirection.TARGET, targetField);
+            for (int i = 0; i < targetFields.size(); i++) {
+                targetField = targetFields.get(i);
+                module = resolveTargetModule(entry, i, targetField);
                 if (!auditTargetFieldType(session, module, targetField)) {
                     continue;
                 }
@@ -717,23 +1369,29 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                     break;
                 }
                 session.head().setSourceField(separatedFields.get(targetField.getIndex())).setTargetField(targetField);
+                int auditIndex = session.getAudits().getAudit().size();
+                long start = this.metrics != null ? System.nanoTime() : 0L;
                 try {
-                    module.populateTargetField(session);
-                } catch (Exception e) {
-                    AtlasUtil.addAudit(session, targetField,
-                            "Failed to populate target field: " + e.getMessage(),
-                            AuditStatus.ERROR, null);
-                    return;
-                }
-                Field processed = applyFieldActions(session, session.head().getTargetField());
-                session.head().setTargetField(processed);
-                try {
-                    module.writeTargetValue(session);
-                } catch (Exception e) {
-                    AtlasUtil.addAudit(session, targetField,
-                            "Failed to write field value into target document: " + e.getMessage(),
-                            AuditStatus.ERROR, null);
-                    return;
+                    try {
+                        module.populateTargetField(session);
+                    } catch (Exception e) {
+                        AtlasUtil.addAudit(session, targetField,
+                                "Failed to populate target field: " + e.getMessage(),
+                                AuditStatus.ERROR, null);
+                        return;
+                    }
+                    Field processed = applyFieldActions(session, session.head().getTargetField());
+                    session.head().setTargetField(processed);
+                    try {
+                        module.writeTargetValue(session);
+                    } catch (Exception e) {
+                        AtlasUtil.addAudit(session, targetField,
+                                "Failed to write field value into target document: " + e.getMessage(),
+                                AuditStatus.ERROR, null);
+                        return;
+                    }
+                } finally {
+                    recordTargetWrite(session, module, start, auditIndex);
                 }
             }
             return;
@@ -744,6 +1402,11 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                 AuditStatus.ERROR, null);
     }
 
+    private AtlasModule resolveTargetModule(AtlasMappingPlan.Entry entry, int index, Field targetField) {
+        AtlasModule module = entry != null ? entry.getTargetModule(index) : null;
+        return module != null ? module : resolveModule(FieldDirection.TARGET, targetField);
+    }
+
     private FieldGroup unwrapNestedGroup(FieldGroup parent) {
         if (parent.getPath() == null && parent.getField().size() == 1
                 && parent.getField().get(0) instanceof FieldGroup) {
@@ -937,6 +1600,8 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         this.admHandler = new ADMArchiveHandler(this.factory.getClassLoader());
         this.admHandler.setIgnoreLibrary(true);
         this.admHandler.setMappingDefinition(mappingDefinition);
+        this.mappingPlan = null;
+        this.validationAudits = null;
         this.initialized = false;
         init();
         return doCreateSession();
@@ -964,6 +1629,8 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
 
     public void setSourceModules(Map<String, AtlasModule> sourceModules) {
         this.sourceModules = sourceModules;
+        this.mappingPlan = null;
+        this.validationAudits = null;
     }
 
     public Map<String, AtlasModule> getTargetModules() {
@@ -972,6 +1639,8 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
 
     public void setTargetModules(Map<String, AtlasModule> targetModules) {
         this.targetModules = targetModules;
+        this.mappingPlan = null;
+        this.validationAudits = null;
     }
 
     public Map<String, LookupTable> getLookupTables() {
@@ -980,6 +1649,76 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
 
     public void setLookupTables(Map<String, LookupTable> lookupTables) {
         this.lookupTables = lookupTables;
+        this.mappingPlan = null;
+        this.validationAudits = null;
+        indexLookupTables();
+    }
+
+    /**
+     * Returns the hash index of the lookup table built in {@link #init()}.
+     * @param lookupTable lookup table
+     * @return index, or {@code null} if the lookup table is not indexed, e.g. added after initialization
+     */
+    public LookupTableIndex getLookupTableIndex(LookupTable lookupTable) {
+        if (lookupTable == null) {
+            return null;
+        }
+        LookupTableIndex index = lookupTableIndexes.get(lookupTable.getName());
+        return index != null && index.getLookupTable() == lookupTable ? index : null;
+    }
+
+    private void indexLookupTables() {
+        Map<String, LookupTableIndex> indexes = new HashMap<>();
+        if (lookupTables != null) {
+            for (LookupTable table : lookupTables.values()) {
+                List<LookupEntry> entries = table.getLookupEntry();
+                if (entries.isEmpty() && admHandler != null) {
+                    try {
+                        List<LookupEntry> archived = admHandler.getLookupEntries(table.getName());
+                        if (archived != null) {
+                            entries = archived;
+                        }
+                    } catch (AtlasException e) {
+                        LOG.warn("Unable to load LookupTable '{}' from ADM archive: {}", table.getName(),
+                                e.getMessage());
+                        LOG.debug(e.getMessage(), e);
+                    }
+                }
+                indexes.put(table.getName(),
+                        LookupTableIndex.build(table, entries, factory.getConversionService()));
+            }
+        }
+        this.lookupTableIndexes = indexes;
+    }
+
+    /**
+     * Returns the execution plan compiled in {@link #init()}, or {@code null} if it's not yet
+     * compiled or invalidated by replacing modules or lookup tables. If it's {@code null},
+     * {@link #process(AtlasSession)} interprets the mapping definition directly.
+     * @return compiled plan
+     */
+    public AtlasMappingPlan getMappingPlan() {
+        return this.mappingPlan;
+    }
+
+    /**
+     * Returns whether the sessions share the mapping definition held by this context instead of cloning it.
+     * The fields of each processed mapping entry are still copied per message since they hold the values,
+     * see {@link AtlasMappingPlan.Entry#newWorkingCopy}.
+     * This is enabled by {@link AtlasContextFactory#PROPERTY_ATLASMAP_SESSION_SHARE_MAPPING}.
+     * @return true if shared
+     */
+    public boolean isMappingDefinitionShared() {
+        return this.shareMappingDefinition;
+    }
+
+    /**
+     * Returns how the mapping definition is validated in {@link #process(AtlasSession)}.
+     * This is configured by {@link AtlasContextFactory#PROPERTY_ATLASMAP_VALIDATION_MODE}.
+     * @return validation mode
+     */
+    public ValidationMode getValidationMode() {
+        return this.validationMode;
     }
 
     protected void setJmxObjectName(ObjectName jmxObjectName) {
@@ -1025,6 +1764,124 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         return Thread.currentThread().getName();
     }
 
+    /**
+     * Returns the execution metrics.
+     * @return metrics, or {@code null} if not enabled
+     * @see AtlasContextFactory#PROPERTY_ATLASMAP_METRICS_ENABLED
+     */
+    public AtlasContextMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    @Override
+    public boolean isMetricsEnabled() {
+        return this.metrics != null;
+    }
+
+    @Override
+    public long getSessionCount() {
+        AtlasContextMetrics m = this.metrics;
+        return m != null ? m.getSessionStatistics().getCount() : 0L;
+    }
+
+    @Override
+    public long getSessionErrorCount() {
+        AtlasContextMetrics m = this.metrics;
+        return m != null ? m.getSessionStatistics().getErrorCount() : 0L;
+    }
+
+    @Override
+    public long getSessionTotalExecutionTime() {
+        AtlasContextMetrics m = this.metrics;
+        return m != null ? m.getSessionStatistics().getTotalTime() : 0L;
+    }
+
+    @Override
+    public long getSessionMinExecutionTime() {
+        AtlasContextMetrics m = this.metrics;
+        return m != null ? m.getSessionStatistics().getMinTime() : 0L;
+    }
+
+    @Override
+    public long getSessionMaxExecutionTime() {
+        AtlasContextMetrics m = this.metrics;
+        return m != null ? m.getSessionStatistics().getMaxTime() : 0L;
+    }
+
+    @Override
+    public long getSessionMeanExecutionTime() {
+        AtlasContextMetrics m = this.metrics;
+        return m != null ? m.getSessionStatistics().getMeanTime() : 0L;
+    }
+
+    @Override
+    public long getSession50thPercentileExecutionTime() {
+        AtlasContextMetrics m = this.metrics;
+        return m != null ? m.getSessionStatistics().getPercentile(50) : 0L;
+    }
+
+    @Override
+    public long getSession99thPercentileExecutionTime() {
+        AtlasContextMetrics m = this.metrics;
+        return m != null ? m.getSessionStatistics().getPercentile(99) : 0L;
+    }
+
+    @Override
+    public long getFieldActionCount() {
+        AtlasContextMetrics m = this.metrics;
+        return m != null ? m.getFieldActionStatistics().getCount() : 0L;
+    }
+
+    @Override
+    public long getFieldActionErrorCount() {
+        AtlasContextMetrics m = this.metrics;
+        return m != null ? m.getFieldActionStatistics().getErrorCount() : 0L;
+    }
+
+    @Override
+    public long getFieldActionTotalExecutionTime() {
+        AtlasContextMetrics m = this.metrics;
+        return m != null ? m.getFieldActionStatistics().getTotalTime() : 0L;
+    }
+
+    @Override
+    public long getConversionCount() {
+        AtlasContextMetrics m = this.metrics;
+        return m != null ? m.getConversionCount() : 0L;
+    }
+
+    @Override
+    public long getConversionErrorCount() {
+        AtlasContextMetrics m = this.metrics;
+        return m != null ? m.getConversionErrorCount() : 0L;
+    }
+
+    @Override
+    public long getAuditErrorCount() {
+        AtlasContextMetrics m = this.metrics;
+        return m != null ? m.getAuditErrorCount() : 0L;
+    }
+
+    @Override
+    public long getAuditWarnCount() {
+        AtlasContextMetrics m = this.metrics;
+        return m != null ? m.getAuditWarnCount() : 0L;
+    }
+
+    @Override
+    public AtlasMappingStatistics[] getMappingStatistics() {
+        AtlasContextMetrics m = this.metrics;
+        return m != null ? m.getMappingStatisticsSnapshot() : new AtlasMappingStatistics[0];
+    }
+
+    @Override
+    public void resetStatistics() {
+        AtlasContextMetrics m = this.metrics;
+        if (m != null) {
+            m.reset();
+        }
+    }
+
     @Override
     public String toString() {
         return "DefaultAtlasContext [jmxObjectName=" + jmxObjectName + ", uuid=" + uuid + ", factory=" + factory
@@ -1036,4 +1893,45 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         return this.admHandler;
     }
 
+    /**
+     * The runtime validation mode.
+     */
+    public enum ValidationMode {
+        /** Validate on every session. */
+        ALWAYS,
+        /** Validate once and replay the cached results into the following sessions. */
+        ONCE,
+        /** Skip runtime validation. */
+        NEVER;
+
+        static ValidationMode fromProperty(String value) {
+            if (value == null || value.isEmpty()) {
+                return ALWAYS;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                LOG.warn("Unknown validation mode '{}', falling back to '{}'", value, ALWAYS);
+                return ALWAYS;
+            }
+        }
+    }
+
+    /**
+     * A mapping entry whose source fields are read in parallel.
+     */
+    private static final class ForkedMapping {
+        private final DefaultAtlasSession.Fork fork;
+        private final AtlasMappingPlan.Entry entry;
+        private final BaseMapping mapping;
+        private long elapsed;
+        private Throwable failure;
+
+        private ForkedMapping(DefaultAtlasSession.Fork fork, AtlasMappingPlan.Entry entry, BaseMapping mapping) {
+            this.fork = fork;
+            this.entry = entry;
+            this.mapping = mapping;
+        }
+    }
+
 }
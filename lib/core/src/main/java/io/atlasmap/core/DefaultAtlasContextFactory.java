@@ -31,7 +31,9 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Executor;
 
+import javax.management.MBeanServer;
 import javax.management.MalformedObjectNameException;
 import javax.management.ObjectName;
 
@@ -41,8 +43,10 @@ import org.slf4j.LoggerFactory;
 import io.atlasmap.api.AtlasContextFactory;
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.api.AtlasValidationService;
+import io.atlasmap.expression.Expression;
 import io.atlasmap.mxbean.AtlasContextFactoryMXBean;
 import io.atlasmap.spi.AtlasCombineStrategy;
+import io.atlasmap.spi.AtlasMetricsRecorder;
 import io.atlasmap.spi.AtlasModule;
 import io.atlasmap.spi.AtlasModuleDetail;
 import io.atlasmap.spi.AtlasModuleInfo;
@@ -65,6 +69,8 @@ public class DefaultAtlasContextFactory implements AtlasContextFactory, AtlasCon
     private AtlasCombineStrategy atlasCombineStrategy = null;
     private AtlasPropertyStrategy atlasPropertyStrategy = null;
     private AtlasSeparateStrategy atlasSeparateStrategy = null;
+    private AtlasMetricsRecorder atlasMetricsRecorder = null;
+    private Executor parallelExecutor = null;
     private AtlasValidationService atlasValidationService = null;
     private AtlasModuleInfoRegistry moduleInfoRegistry;
     private Map<String, String> properties = null;
@@ -159,8 +165,12 @@ public class DefaultAtlasContextFactory implements AtlasContextFactory, AtlasCon
         unloadModules();
 
         try {
-            if (ManagementFactory.getPlatformMBeanServer().isRegistered(getJmxObjectName())) {
-                ManagementFactory.getPlatformMBeanServer().unregisterMBean(getJmxObjectName());
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            for (ObjectName name : server.queryNames(new ObjectName(getJmxObjectName() + ",context=Contexts,*"), null)) {
+                server.unregisterMBean(name);
+            }
+            if (server.isRegistered(getJmxObjectName())) {
+                server.unregisterMBean(getJmxObjectName());
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Unregistered AtlasContextFactory with JMX");
                 }
@@ -177,6 +187,8 @@ public class DefaultAtlasContextFactory implements AtlasContextFactory, AtlasCon
         this.atlasPropertyStrategy = null;
         this.atlasCombineStrategy = null;
         this.atlasSeparateStrategy = null;
+        this.atlasMetricsRecorder = null;
+        this.parallelExecutor = null;
         this.atlasValidationService = null;
         this.moduleInfoRegistry = null;
         this.classLoader = null;
@@ -243,6 +255,56 @@ public class DefaultAtlasContextFactory implements AtlasContextFactory, AtlasCon
         return this.uuid;
     }
 
+    @Override
+    public int getExpressionCacheSize() {
+        return Expression.CACHE.size();
+    }
+
+    @Override
+    public int getExpressionCacheMaxSize() {
+        return Expression.CACHE.getMaxSize();
+    }
+
+    @Override
+    public long getExpressionCacheHitCount() {
+        return Expression.CACHE.getHitCount();
+    }
+
+    @Override
+    public long getExpressionCacheMissCount() {
+        return Expression.CACHE.getMissCount();
+    }
+
+    @Override
+    public long getExpressionCacheEvictionCount() {
+        return Expression.CACHE.getEvictionCount();
+    }
+
+    @Override
+    public int getPathCacheSize() {
+        return AtlasPath.CACHE.size();
+    }
+
+    @Override
+    public int getPathCacheMaxSize() {
+        return AtlasPath.CACHE.getMaxSize();
+    }
+
+    @Override
+    public long getPathCacheHitCount() {
+        return AtlasPath.CACHE.getHitCount();
+    }
+
+    @Override
+    public long getPathCacheMissCount() {
+        return AtlasPath.CACHE.getMissCount();
+    }
+
+    @Override
+    public long getPathCacheEvictionCount() {
+        return AtlasPath.CACHE.getEvictionCount();
+    }
+
     public ObjectName getJmxObjectName() {
         return this.objectName;
     }
@@ -293,6 +355,33 @@ public class DefaultAtlasContextFactory implements AtlasContextFactory, AtlasCon
         this.atlasSeparateStrategy = atlasSeparateStrategy;
     }
 
+    public AtlasMetricsRecorder getMetricsRecorder() {
+        return atlasMetricsRecorder;
+    }
+
+    /**
+     * Sets the recorder to receive the execution metrics. This enables the metrics on the contexts
+     * initialized afterwards, as {@link #PROPERTY_ATLASMAP_METRICS_ENABLED} does.
+     * @param atlasMetricsRecorder recorder, or {@code null} to only keep the metrics for JMX if enabled
+     */
+    public void setMetricsRecorder(AtlasMetricsRecorder atlasMetricsRecorder) {
+        this.atlasMetricsRecorder = atlasMetricsRecorder;
+    }
+
+    public Executor getParallelExecutor() {
+        return parallelExecutor;
+    }
+
+    /**
+     * Sets the executor to read the source fields of the mapping entries in parallel, e.g. a virtual
+     * thread executor. This enables the parallel execution on the contexts initialized afterwards,
+     * as {@link #PROPERTY_ATLASMAP_PARALLEL_ENABLED} does.
+     * @param parallelExecutor executor, or {@code null} to use the common fork-join pool if enabled
+     */
+    public void setParallelExecutor(Executor parallelExecutor) {
+        this.parallelExecutor = parallelExecutor;
+    }
+
     @Override
     public AtlasValidationService getValidationService() {
         return atlasValidationService;
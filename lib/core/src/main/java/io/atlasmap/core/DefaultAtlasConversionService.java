@@ -17,7 +17,9 @@ package io.atlasmap.core;
 
 import static java.util.Objects.hash;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.math.BigInteger;
@@ -32,6 +34,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,6 +62,14 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
 
     private Map<ConverterKey, ConverterMethodHolder> converterMethods = null;
     private Map<ConverterKey, ConverterMethodHolder> customConverterMethods = null;
+    // resolved converters keyed by source class and then boxed target class, including negative results
+    private final ClassValue<Map<Class<?>, ConverterMethodHolder>> resolvedConverters
+            = new ClassValue<Map<Class<?>, ConverterMethodHolder>>() {
+                @Override
+                protected Map<Class<?>, ConverterMethodHolder> computeValue(Class<?> sourceClass) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
 
     // Used as the lookup key in the converter methods map
     private class ConverterKey {
@@ -85,10 +96,13 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
         }
     }
 
-    // used to hold converter and method for future reflection use
-    private class ConverterMethodHolder {
+    // used to hold converter and method bound to a MethodHandle for future invocation
+    private static class ConverterMethodHolder {
+        private static final ConverterMethodHolder NONE = new ConverterMethodHolder(null, null, false, false);
+
         private AtlasConverter<?> converter;
         private Method method;
+        private MethodHandle handle;
         private boolean staticMethod;
         private boolean containsFormat;
 
@@ -98,11 +112,33 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
             this.method = method;
             this.staticMethod = staticMethod;
             this.containsFormat = containsFormat;
+            if (method == null) {
+                return;
+            }
+            try {
+                MethodHandle h = MethodHandles.lookup().unreflect(method);
+                if (!staticMethod) {
+                    h = h.bindTo(converter);
+                }
+                this.handle = h.asType(MethodType.genericMethodType(method.getParameterCount()));
+            } catch (IllegalAccessException e) {
+                LOG.debug("Falling back to the reflection for the converter method {}: {}", method, e.getMessage());
+            }
         }
 
         public AtlasConverter<?> getConverter() {
             return converter;
         }
+
+        public Object invoke(Object sourceValue, String sourceFormat, String targetFormat) throws Throwable {
+            if (handle == null) {
+                Object target = staticMethod ? null : converter;
+                return containsFormat ? method.invoke(target, sourceValue, sourceFormat, targetFormat)
+                        : method.invoke(target, sourceValue);
+            }
+            return containsFormat ? (Object) handle.invokeExact(sourceValue, (Object) sourceFormat, (Object) targetFormat)
+                    : (Object) handle.invokeExact(sourceValue);
+        }
     }
 
     private DefaultAtlasConversionService() {
@@ -314,12 +350,8 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
         ConverterMethodHolder methodHolder = getConverter(sourceValue, targetType);
         if (methodHolder != null) {
             try {
-                Object target = methodHolder.staticMethod ? null : methodHolder.converter;
-                if (methodHolder.containsFormat) {
-                    return methodHolder.method.invoke(target, sourceValue, sourceFormat, targetFormat);
-                }
-                return methodHolder.method.invoke(target, sourceValue);
-            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+                return methodHolder.invoke(sourceValue, sourceFormat, targetFormat);
+            } catch (Throwable e) {
                 throw new AtlasConversionException("Invoking type convertor failed", e);
             }
         }
@@ -333,14 +365,24 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
     }
 
     private ConverterMethodHolder getConverter(Object sourceValue, Class<?> targetType) {
-        Class<?> boxedSourceClass = sourceValue.getClass();
-        if (sourceValue.getClass().isPrimitive()) {
-            boxedSourceClass = boxOrUnboxPrimitive(boxedSourceClass);
-        }
         Class<?> boxedTargetClass = targetType;
         if (targetType.isPrimitive()) {
             boxedTargetClass = boxOrUnboxPrimitive(boxedTargetClass);
         }
+        Map<Class<?>, ConverterMethodHolder> byTarget = resolvedConverters.get(sourceValue.getClass());
+        ConverterMethodHolder methodHolder = byTarget.get(boxedTargetClass);
+        if (methodHolder == null) {
+            methodHolder = resolveConverter(sourceValue, boxedTargetClass);
+            byTarget.put(boxedTargetClass, methodHolder != null ? methodHolder : ConverterMethodHolder.NONE);
+        }
+        return methodHolder != ConverterMethodHolder.NONE ? methodHolder : null;
+    }
+
+    private ConverterMethodHolder resolveConverter(Object sourceValue, Class<?> boxedTargetClass) {
+        Class<?> boxedSourceClass = sourceValue.getClass();
+        if (sourceValue.getClass().isPrimitive()) {
+            boxedSourceClass = boxOrUnboxPrimitive(boxedSourceClass);
+        }
 
         ConverterKey converterKey = new ConverterKey(boxedSourceClass.getCanonicalName(),
                 boxedTargetClass.getCanonicalName());
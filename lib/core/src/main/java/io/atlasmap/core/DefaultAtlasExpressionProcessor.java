@@ -15,7 +15,9 @@
  */
 package io.atlasmap.core;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
@@ -30,6 +32,7 @@ import io.atlasmap.v2.AuditStatus;
 import io.atlasmap.v2.ConstantField;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldGroup;
+import io.atlasmap.v2.Mapping;
 import io.atlasmap.v2.PropertyField;
 import io.atlasmap.v2.SimpleField;
 
@@ -37,56 +40,63 @@ public class DefaultAtlasExpressionProcessor {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultAtlasExpressionProcessor.class);
 
     public static void processExpression(DefaultAtlasSession session, String expression) {
+        processExpression(session, expression, null);
+    }
+
+    /**
+     * Processes the expression. If the {@link CompiledExpression} is given, variable references
+     * are read through the source fields and modules bound at compile time instead of resolving
+     * them on every evaluation.
+     * @param session session
+     * @param expression expression text
+     * @param compiled compiled expression for the current mapping entry, or {@code null}
+     */
+    public static void processExpression(DefaultAtlasSession session, String expression, CompiledExpression compiled) {
         if (expression == null || expression.trim().isEmpty()) {
             return;
         }
 
         try {
-            Map<String, Field> sourceFieldMap = new HashMap<>();
             Field parent = session.head().getSourceField();
-            if (parent != null && !AtlasUtil.isEmpty(parent.getDocId()) && !AtlasUtil.isEmpty(parent.getPath())) {
-                 sourceFieldMap.put(parent.getDocId() + ":" + parent.getPath(), parent);
-            }
-            // Anonymous FieldGroup is just a wrapping, peel it off
-            if (parent instanceof FieldGroup && AtlasUtil.isEmpty(parent.getPath())) {
-                FieldGroup parentGroup = FieldGroup.class.cast(parent);
-                for (Field child : parentGroup.getField()) {
-                    if (!(AtlasUtil.isEmpty(child.getDocId()) && AtlasUtil.isEmpty(child.getPath()))) {
-                         sourceFieldMap.put(child.getDocId() + ":" + child.getPath(), child);
+            Object answer;
+            if (compiled != null) {
+                answer = compiled.expression.evaluate((path) -> {
+                    Binding binding = path != null ? compiled.bindings.get(path) : null;
+                    if (binding == null) {
+                        return null;
                     }
+                    Field f = binding.index < 0 ? parent : ((FieldGroup) parent).getField().get(binding.index);
+                    AtlasModule sourceModule = binding.module != null ? binding.module
+                            : resolveModule(session, f, path);
+                    return readVariable(session, f, sourceModule, path);
+                });
+            } else {
+                Map<String, Field> sourceFieldMap = new HashMap<>();
+                if (parent != null && !AtlasUtil.isEmpty(parent.getDocId()) && !AtlasUtil.isEmpty(parent.getPath())) {
+                     sourceFieldMap.put(parent.getDocId() + ":" + parent.getPath(), parent);
                 }
-            }
-
-            Expression parsedExpression = Expression.parse(expression, DefaultAtlasFunctionResolver.getInstance());
-            Object answer = parsedExpression.evaluate((path) -> {
-                if (path == null || path.isEmpty()) {
-                    return null;
+                // Anonymous FieldGroup is just a wrapping, peel it off
+                if (parent instanceof FieldGroup && AtlasUtil.isEmpty(parent.getPath())) {
+                    FieldGroup parentGroup = FieldGroup.class.cast(parent);
+                    for (Field child : parentGroup.getField()) {
+                        if (!(AtlasUtil.isEmpty(child.getDocId()) && AtlasUtil.isEmpty(child.getPath()))) {
+                             sourceFieldMap.put(child.getDocId() + ":" + child.getPath(), child);
+                        }
+                    }
                 }
-                try {
+
+                Expression parsedExpression = Expression.parse(expression, DefaultAtlasFunctionResolver.getInstance());
+                answer = parsedExpression.evaluate((path) -> {
+                    if (path == null || path.isEmpty()) {
+                        return null;
+                    }
                     Field f = sourceFieldMap.get(path);
                     if (f == null) {
                         return null;
                     }
-                    AtlasModule sourceModule;
-                    Map<String, AtlasModule> sourceModules = session.getAtlasContext().getSourceModules();
-                    if (f instanceof ConstantField) {
-                        sourceModule = sourceModules.get(AtlasConstants.CONSTANTS_DOCUMENT_ID);
-                    } else if (f instanceof PropertyField) {
-                        sourceModule = sourceModules.get(AtlasConstants.PROPERTIES_SOURCE_DOCUMENT_ID);
-                    } else {
-                        String[] splitted = path.split(":", 2);
-                        sourceModule = sourceModules.get(splitted[0]);
-                    }
-                    if (sourceModule == null) {
-                        throw new ExpressionException(String.format("Module for the path '%s' is not found", path));
-                    }
-                    session.head().setSourceField(f);
-                    sourceModule.readSourceValue(session);
-                    return session.head().getSourceField();
-                } catch (Exception e) {
-                    throw new ExpressionException(e);
-                }
-            });
+                    return readVariable(session, f, resolveModule(session, f, path), path);
+                });
+            }
             if (answer instanceof Field) {
                 session.head().setSourceField((Field)answer);
             } else {
@@ -107,4 +117,110 @@ public class DefaultAtlasExpressionProcessor {
         }
     }
 
+    private static AtlasModule resolveModule(DefaultAtlasSession session, Field f, String path) {
+        return resolveModule(session.getAtlasContext().getSourceModules(), f, path);
+    }
+
+    private static AtlasModule resolveModule(Map<String, AtlasModule> sourceModules, Field f, String path) {
+        if (f instanceof ConstantField) {
+            return sourceModules.get(AtlasConstants.CONSTANTS_DOCUMENT_ID);
+        } else if (f instanceof PropertyField) {
+            return sourceModules.get(AtlasConstants.PROPERTIES_SOURCE_DOCUMENT_ID);
+        }
+        String[] splitted = path.split(":", 2);
+        return sourceModules.get(splitted[0]);
+    }
+
+    private static Field readVariable(DefaultAtlasSession session, Field f, AtlasModule sourceModule, String path)
+            throws ExpressionException {
+        if (sourceModule == null) {
+            throw new ExpressionException(String.format("Module for the path '%s' is not found", path));
+        }
+        try {
+            session.head().setSourceField(f);
+            sourceModule.readSourceValue(session);
+            return session.head().getSourceField();
+        } catch (Exception e) {
+            throw new ExpressionException(e);
+        }
+    }
+
+    /**
+     * Compiles the expression of the mapping entry. Each variable reference is bound to the position
+     * of the source field in the mapping entry and the module which reads it.
+     * @param context context which owns the source modules
+     * @param mapping mapping entry
+     * @return compiled expression, or {@code null} if the mapping doesn't have a valid expression
+     */
+    public static CompiledExpression compile(DefaultAtlasContext context, Mapping mapping) {
+        String expression = mapping.getExpression();
+        if (expression == null || expression.trim().isEmpty()) {
+            return null;
+        }
+        Expression parsedExpression;
+        try {
+            parsedExpression = Expression.parse(expression, DefaultAtlasFunctionResolver.getInstance());
+        } catch (ExpressionException e) {
+            // reported at runtime
+            return null;
+        }
+
+        Map<String, AtlasModule> sourceModules = context.getSourceModules();
+        Map<String, Binding> bindings = new HashMap<>();
+        Field parent = mapping.getInputFieldGroup();
+        List<Field> children;
+        if (parent != null) {
+            children = mapping.getInputFieldGroup().getField();
+            if (!AtlasUtil.isEmpty(parent.getDocId()) && !AtlasUtil.isEmpty(parent.getPath())) {
+                String path = parent.getDocId() + ":" + parent.getPath();
+                bindings.put(path, new Binding(-1, resolveModule(sourceModules, parent, path)));
+            }
+            if (!AtlasUtil.isEmpty(parent.getPath())) {
+                children = Collections.emptyList();
+            }
+        } else {
+            children = mapping.getInputField();
+        }
+        for (int i = 0; i < children.size(); i++) {
+            Field child = children.get(i);
+            if (!(AtlasUtil.isEmpty(child.getDocId()) && AtlasUtil.isEmpty(child.getPath()))) {
+                String path = child.getDocId() + ":" + child.getPath();
+                bindings.put(path, new Binding(i, resolveModule(sourceModules, child, path)));
+            }
+        }
+        return new CompiledExpression(parsedExpression, bindings);
+    }
+
+    /**
+     * A parsed expression with its variable references bound to the source fields of the mapping entry.
+     */
+    public static class CompiledExpression {
+        private final Expression expression;
+        private final Map<String, Binding> bindings;
+
+        private CompiledExpression(Expression expression, Map<String, Binding> bindings) {
+            this.expression = expression;
+            this.bindings = bindings;
+        }
+
+        /**
+         * Returns whether the variable is bound to a source field.
+         * @param path variable name, i.e. {@code docId:path}
+         * @return true if bound
+         */
+        public boolean isBound(String path) {
+            return bindings.containsKey(path);
+        }
+    }
+
+    private static class Binding {
+        private final int index;
+        private final AtlasModule module;
+
+        private Binding(int index, AtlasModule module) {
+            this.index = index;
+            this.module = module;
+        }
+    }
+
 }
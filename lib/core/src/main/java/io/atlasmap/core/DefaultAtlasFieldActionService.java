@@ -23,16 +23,15 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -77,8 +76,7 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
         "java.util.LinkedHashMap", "java.util.SortedMap", "java.util.WeakHashMap", "java.util.Properties",
         "java.util.concurrent.ConcurrentHashMap", "java.util.concurrent.ConcurrentMap"));
 
-    private List<ActionProcessor> actionProcessors = new ArrayList<>();
-    private ReadWriteLock actionProcessorsLock = new ReentrantReadWriteLock();
+    private volatile ActionProcessorRegistry actionProcessors = new ActionProcessorRegistry(Collections.emptyList());
     private AtlasConversionService conversionService = null;
     private ActionResolver actionResolver = null;
 
@@ -108,16 +106,9 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
         return TypeFactory.defaultInstance().constructType(type);
     }
 
-    public void init(ClassLoader classLoader) {
-        Lock writeLock = actionProcessorsLock.writeLock();
-        try {
-            writeLock.lock();
-            actionProcessors.clear();
-            this.actionResolver = ActionResolver.getInstance().init(classLoader);
-            actionProcessors.addAll(loadFieldActions(classLoader));
-        } finally {
-            writeLock.unlock();
-        }
+    public synchronized void init(ClassLoader classLoader) {
+        this.actionResolver = ActionResolver.getInstance().init(classLoader);
+        this.actionProcessors = new ActionProcessorRegistry(loadFieldActions(classLoader));
     }
 
     public List<ActionProcessor> loadFieldActions() {
@@ -212,6 +203,7 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
         }
 
         Class<? extends Action> finalActionClazz = actionClazz;
+        final ActionMethodInvoker invoker = new ActionMethodInvoker(method);
         return new ActionProcessor() {
 
             @Override
@@ -236,19 +228,19 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
                         // cf. https://github.com/atlasmap/atlasmap/issues/536
                         if (det.isCustom() != null && det.isCustom()) {
                             targetObject = det.getMultiplicity() == Multiplicity.ZERO_TO_ONE
-                                ? method.invoke(null) : method.invoke(null, convertedSourceObject);
+                                ? invoker.invoke(null) : invoker.invoke(null, convertedSourceObject);
                         } else {
                             targetObject = det.getMultiplicity() == Multiplicity.ZERO_TO_ONE
-                                ? method.invoke(null, action) : method.invoke(null, action, convertedSourceObject);
+                                ? invoker.invoke(null, action) : invoker.invoke(null, action, convertedSourceObject);
                         }
                     } else {
                         Object object = clazz.getDeclaredConstructor().newInstance();
                         if (det.isCustom() != null && det.isCustom()) {
                             targetObject = det.getMultiplicity() == Multiplicity.ZERO_TO_ONE
-                                ? method.invoke(object) : method.invoke(object, convertedSourceObject);
+                                ? invoker.invoke(object) : invoker.invoke(object, convertedSourceObject);
                         } else {
                             targetObject = det.getMultiplicity() == Multiplicity.ZERO_TO_ONE
-                                ? method.invoke(object, action) : method.invoke(object, action, convertedSourceObject);
+                                ? invoker.invoke(object, action) : invoker.invoke(object, action, convertedSourceObject);
                         }
                     }
                 } catch (Throwable e) {
@@ -348,6 +340,7 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
         final Object object = o;
 
         Class<? extends Action> finalActionClazz = actionClazz;
+        final ActionMethodInvoker invoker = new ActionMethodInvoker(method);
 
         return new ActionProcessor() {
             @Override
@@ -364,10 +357,10 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
             public Object process(Action action, Object sourceObject) throws AtlasException {
                 try {
                     if( det.getMultiplicity() == Multiplicity.ZERO_TO_ONE ) {
-                        return method.invoke(object, action);
+                        return invoker.invoke(object, action);
                     } else {
                         sourceObject = convertSourceObject(sourceObject);
-                        return method.invoke(object, action, sourceObject);
+                        return invoker.invoke(object, action, sourceObject);
                     }
                 } catch (Throwable e) {
                     throw new AtlasException(String.format("Error processing action %s", det.getName()), e);
@@ -517,13 +510,7 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
 
     @Override
     public List<ActionDetail> listActionDetails() {
-        Lock readLock = this.actionProcessorsLock.readLock();
-        try {
-            readLock.lock();
-            return actionProcessors.stream().map(x->x.getActionDetail()).collect(Collectors.toList());
-        } finally {
-            readLock.unlock();
-        }
+        return actionProcessors.all.stream().map(x->x.getActionDetail()).collect(Collectors.toList());
     }
 
     /*
@@ -573,55 +560,24 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
                 throw new AtlasException("The class name and method name must be specified for custom FieldAction: " + customAction.getName());
             }
         }
-        List<ActionProcessor> matches = new ArrayList<>();
-        Lock readLock = actionProcessorsLock.readLock();
-        try {
-            readLock.lock();
-            for (ActionProcessor processor : actionProcessors) {
-                if (customAction != null) {
-                    ActionDetail detail = processor.getActionDetail();
-                    if (customAction.getClassName().equals(detail.getClassName())
-                        && customAction.getMethodName().equals(detail.getMethod())) {
-                        matches.add(processor);
-                        break;
-                    }
-                } else if (processor.getActionClass() == action.getClass()) {
-                    matches.add(processor);
-                }
-            }
-        } finally {
-            readLock.unlock();
+        ActionProcessorRegistry registry = this.actionProcessors;
+        if (customAction != null) {
+            return registry.byCustomMethod.get(customMethodKey(customAction.getClassName(), customAction.getMethodName()));
         }
-
-        return findBestActionProcessor(matches, sourceType);
+        return findBestActionProcessor(registry.byActionClass.get(action.getClass()), sourceType);
     }
 
     public ActionProcessor findActionProcessor(String name, Object value) {
         FieldType valueType = (value != null ? getConversionService().fieldTypeFromClass(value.getClass()) : FieldType.NONE);
-        String uppercaseName = name.toUpperCase();
-
-        List<ActionProcessor> processors = new ArrayList<>();
-        Lock readLock = actionProcessorsLock.readLock();
-        try {
-            readLock.lock();
-            for (ActionProcessor processor : actionProcessors) {
-                if (processor.getActionDetail().getName().toUpperCase().equals(uppercaseName)) {
-                    processors.add(processor);
-                }
-            }
-        } finally {
-            readLock.unlock();
-        }
-
-        return findBestActionProcessor(processors, valueType);
+        return findBestActionProcessor(this.actionProcessors.byName.get(name.toUpperCase()), valueType);
     }
 
     private ActionProcessor findBestActionProcessor(List<ActionProcessor> processors, FieldType valueType) {
-        if (processors.isEmpty()) {
+        if (processors == null || processors.isEmpty()) {
             return null;
         } else if (processors.size() == 1) {
             return processors.get(0);
-        } else if (valueType != null && !Arrays.asList(FieldType.ANY, FieldType.NONE).contains(valueType)) {
+        } else if (valueType != null && valueType != FieldType.ANY && valueType != FieldType.NONE) {
             for (ActionProcessor processor: processors) {
                 if (valueType.equals(processor.getActionDetail().getSourceType())) {
                     return processor;
@@ -684,6 +640,19 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
         if (field == null) {
             return null;
         }
+        if (field instanceof ColumnarFieldGroup) {
+            ColumnarFieldGroup group = (ColumnarFieldGroup) field;
+            for (int i = 0; i < group.getElementCount(); i++) {
+                FieldType type = group.getElementFieldType(i);
+                if (type == null && group.getElementValue(i) != null) {
+                    type = getConversionService().fieldTypeFromClass(group.getElementValue(i).getClass());
+                }
+                if (type != null) {
+                    return type;
+                }
+            }
+            return FieldType.NONE;
+        }
         if (field instanceof FieldGroup) {
             for (Field f : FieldGroup.class.cast(field).getField()) {
                 FieldType type = determineFieldType(f);
@@ -863,6 +832,13 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
             && fieldGroup.getField().size() == 1 && (fieldGroup.getField().get(0) instanceof FieldGroup)) {
             fieldGroup = (FieldGroup)fieldGroup.getField().get(0);
         }
+        if (fieldGroup instanceof ColumnarFieldGroup) {
+            ColumnarFieldGroup columnar = (ColumnarFieldGroup) fieldGroup;
+            for (int i = 0; i < columnar.getElementCount(); i++) {
+                values.add(columnar.getElementValue(i));
+            }
+            return;
+        }
         List<Object> tmpValues = new LinkedList<>();
         for (int i=0; i<fieldGroup.getField().size(); i++) {
             Field subField = fieldGroup.getField().get(i);
@@ -937,6 +913,17 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
 
     private FieldGroup processActionForEachCollectionItem(Action action, ActionProcessor processor, FieldType sourceType, FieldGroup fieldGroup)
      throws AtlasException {
+        if (fieldGroup instanceof ColumnarFieldGroup) {
+            ColumnarFieldGroup columnar = (ColumnarFieldGroup) fieldGroup;
+            for (int i = 0; i < columnar.getElementCount(); i++) {
+                Object value = columnar.getElementValue(i);
+                if (value != null && isAssignableFieldType(processor.getActionDetail().getSourceType(), sourceType)) {
+                    value = getConversionService().convertType(value, sourceType, processor.getActionDetail().getSourceType());
+                }
+                columnar.setElementValue(i, processor.process(action, value));
+            }
+            return fieldGroup;
+        }
         for (Field subField : fieldGroup.getField()) {
             if (subField instanceof FieldGroup) {
                 processActionForEachCollectionItem(action, processor, sourceType, (FieldGroup)subField);
@@ -983,6 +970,38 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
         return this.conversionService;
     }
 
+    private static String customMethodKey(String className, String methodName) {
+        return className + "#" + methodName;
+    }
+
+    /**
+     * An immutable snapshot of the loaded {@link ActionProcessor}s indexed by action class,
+     * custom action class and method, and upper cased action name. The order of the processors
+     * in each index is kept as loaded, so that the best match is chosen as same as the linear scan.
+     */
+    private static class ActionProcessorRegistry {
+        private final List<ActionProcessor> all;
+        private final Map<Class<? extends Action>, List<ActionProcessor>> byActionClass = new HashMap<>();
+        private final Map<String, ActionProcessor> byCustomMethod = new HashMap<>();
+        private final Map<String, List<ActionProcessor>> byName = new HashMap<>();
+
+        ActionProcessorRegistry(List<ActionProcessor> processors) {
+            this.all = Collections.unmodifiableList(new ArrayList<>(processors));
+            for (ActionProcessor processor : this.all) {
+                ActionDetail detail = processor.getActionDetail();
+                if (processor.getActionClass() != null) {
+                    byActionClass.computeIfAbsent(processor.getActionClass(), k -> new ArrayList<>()).add(processor);
+                }
+                if (detail.getClassName() != null && detail.getMethod() != null) {
+                    byCustomMethod.putIfAbsent(customMethodKey(detail.getClassName(), detail.getMethod()), processor);
+                }
+                if (detail.getName() != null) {
+                    byName.computeIfAbsent(detail.getName().toUpperCase(), k -> new ArrayList<>()).add(processor);
+                }
+            }
+        }
+    }
+
     private String camelize(String parameter) {
         if (parameter == null || parameter.length() == 0) {
             return parameter;
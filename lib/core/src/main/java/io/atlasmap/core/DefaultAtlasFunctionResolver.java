@@ -33,17 +33,25 @@ import io.atlasmap.v2.FieldGroup;
 
 public class DefaultAtlasFunctionResolver implements FunctionResolver {
 
-    private static DefaultAtlasFunctionResolver instance;
+    private static volatile DefaultAtlasFunctionResolver instance;
 
     private HashMap<String, FunctionFactory> functions = new HashMap<>();
     private DefaultAtlasFieldActionService fieldActionService;
 
     public static DefaultAtlasFunctionResolver getInstance() {
-        if (instance == null) {
-            instance = new DefaultAtlasFunctionResolver();
-            instance.init();
+        DefaultAtlasFunctionResolver answer = instance;
+        if (answer == null) {
+            synchronized (DefaultAtlasFunctionResolver.class) {
+                answer = instance;
+                if (answer == null) {
+                    // parsed expressions are cached per resolver, publish only a fully initialized one
+                    answer = new DefaultAtlasFunctionResolver();
+                    answer.init();
+                    instance = answer;
+                }
+            }
         }
-        return instance;
+        return answer;
     }
 
     private void init() {
@@ -35,6 +35,7 @@ import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.Audit;
 import io.atlasmap.v2.AuditStatus;
 import io.atlasmap.v2.Audits;
+import io.atlasmap.v2.BaseMapping;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.LookupTable;
 import io.atlasmap.v2.Mapping;
@@ -42,8 +43,12 @@ import io.atlasmap.v2.Validations;
 
 public class DefaultAtlasSession implements AtlasInternalSession {
 
+    private static final ThreadLocal<Fork> CURRENT_FORK = new ThreadLocal<>();
+
     private DefaultAtlasContext atlasContext;
     private final AtlasMapping mapping;
+    private final boolean mappingDefinitionShared;
+    private boolean mappingDefinitionIntact;
     private Audits audits;
     private Validations validations;
     private Map<String, Object> sourceProperties;
@@ -56,15 +61,31 @@ public class DefaultAtlasSession implements AtlasInternalSession {
     private Head head = new HeadImpl(this);
     private String defaultSourceDocumentId;
     private String defaultTargetDocumentId;
+    private BaseMapping[] workingMappings;
+    private volatile boolean forked;
+    private Exception processingFailure;
 
     public DefaultAtlasSession(DefaultAtlasContext context) throws AtlasException {
+        this(context, context.isMappingDefinitionShared());
+    }
+
+    /**
+     * Creates a session.
+     * @param context context
+     * @param shareMappingDefinition true to refer the mapping definition of the context instead of cloning it
+     * @throws AtlasException unexpected error
+     */
+    protected DefaultAtlasSession(DefaultAtlasContext context, boolean shareMappingDefinition) throws AtlasException {
         this.atlasContext = context;
         initialize();
         if (context.getMapping() == null) {
             this.mapping = null;
+            this.mappingDefinitionShared = false;
             return;
         }
-        this.mapping = context.getADMArchiveHandler().cloneMappingDefinition();
+        this.mappingDefinitionShared = shareMappingDefinition;
+        this.mapping = this.mappingDefinitionShared ? context.getMapping()
+                : context.getADMArchiveHandler().cloneMappingDefinition();
     }
 
     protected void initialize() {
@@ -95,6 +116,55 @@ public class DefaultAtlasSession implements AtlasInternalSession {
         return mapping;
     }
 
+    /**
+     * Returns whether this session shares the mapping definition with the context. If {@code true},
+     * {@link #getMapping()} returns the context's mapping definition itself which must not be modified.
+     * @return true if shared
+     */
+    public boolean isMappingDefinitionShared() {
+        return mappingDefinitionShared;
+    }
+
+    @Override
+    public boolean isMappingDefinitionIntact() {
+        return mappingDefinitionIntact;
+    }
+
+    /**
+     * Sets whether the session mapping is identical with the compiled mapping definition,
+     * which is checked by the context when the session is processed.
+     * @param intact true if intact
+     */
+    void setMappingDefinitionIntact(boolean intact) {
+        this.mappingDefinitionIntact = intact;
+    }
+
+    /**
+     * Returns the working copy of the shared mapping entry at the position of the plan entries,
+     * which holds the per message field values, indexes and collection paths of this session
+     * instead of the mapping definition. It's created on the first call after
+     * {@link #resetWorkingMappings(AtlasMappingPlan)}.
+     * @param plan the plan being processed
+     * @param position position of the plan entry
+     * @return working copy of the mapping entry
+     */
+    BaseMapping getWorkingMapping(AtlasMappingPlan plan, int position) {
+        BaseMapping answer = this.workingMappings[position];
+        if (answer == null) {
+            answer = plan.getEntries().get(position).newWorkingCopy(plan.getMappingDefinition());
+            this.workingMappings[position] = answer;
+        }
+        return answer;
+    }
+
+    /**
+     * Drops the working copies of the mapping entries processed previously.
+     * @param plan the plan to be processed
+     */
+    void resetWorkingMappings(AtlasMappingPlan plan) {
+        this.workingMappings = new BaseMapping[plan.getEntries().size()];
+    }
+
     @Override
     public Validations getValidations() {
         return this.validations;
@@ -107,6 +177,12 @@ public class DefaultAtlasSession implements AtlasInternalSession {
 
     @Override
     public Audits getAudits() {
+        if (this.forked) {
+            Fork fork = CURRENT_FORK.get();
+            if (fork != null && fork.session == this) {
+                return fork.audits;
+            }
+        }
         return this.audits;
     }
 
@@ -305,9 +381,33 @@ public class DefaultAtlasSession implements AtlasInternalSession {
 
     @Override
     public Head head() {
+        if (this.forked) {
+            Fork fork = CURRENT_FORK.get();
+            if (fork != null && fork.session == this) {
+                return fork.head;
+            }
+        }
         return this.head;
     }
 
+    /**
+     * Switches whether the tasks run by {@link Fork#run(Runnable)} see their own head and audits
+     * instead of the ones of this session. The caller must not access the head and audits from
+     * the other threads while it's forked.
+     * @param forked true to start, or false to finish the parallel execution
+     */
+    void setForked(boolean forked) {
+        this.forked = forked;
+    }
+
+    /**
+     * Creates the head and audits for a task of the parallel execution.
+     * @return fork
+     */
+    Fork fork() {
+        return new Fork(this);
+    }
+
     @Override
     @Deprecated
     public Map<String, Object> getProperties() {
@@ -344,6 +444,19 @@ public class DefaultAtlasSession implements AtlasInternalSession {
         return e;
     }
 
+    /**
+     * Returns the unexpected exception thrown while processing this session as a part of
+     * {@link DefaultAtlasContext#processBatch(List)}.
+     * @return the exception, or {@code null} if the session was processed
+     */
+    public Exception getProcessingFailure() {
+        return processingFailure;
+    }
+
+    void setProcessingFailure(Exception processingFailure) {
+        this.processingFailure = processingFailure;
+    }
+
     @Override
     public boolean hasErrors() {
         for (Audit audit : getAudits().getAudit()) {
@@ -397,6 +510,47 @@ public class DefaultAtlasSession implements AtlasInternalSession {
         return (PropertyModule) this.getAtlasContext().getTargetModules().get(AtlasConstants.PROPERTIES_TARGET_DOCUMENT_ID);
     }
 
+    /**
+     * The head and audits of a task in the parallel execution. They are merged back into the session
+     * by the caller once the task is finished.
+     */
+    static final class Fork {
+        private final DefaultAtlasSession session;
+        private final Head head;
+        private final Audits audits = new Audits();
+
+        private Fork(DefaultAtlasSession session) {
+            this.session = session;
+            this.head = session.new HeadImpl(session);
+        }
+
+        /**
+         * Runs the task on the current thread with this head and audits.
+         * @param task task
+         */
+        void run(Runnable task) {
+            Fork previous = CURRENT_FORK.get();
+            CURRENT_FORK.set(this);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    CURRENT_FORK.set(previous);
+                } else {
+                    CURRENT_FORK.remove();
+                }
+            }
+        }
+
+        Head head() {
+            return head;
+        }
+
+        Audits getAudits() {
+            return audits;
+        }
+    }
+
     private class HeadImpl implements Head {
         private DefaultAtlasSession session;
         private Mapping mapping;
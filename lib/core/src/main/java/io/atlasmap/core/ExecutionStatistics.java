@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread safe execution count, error count and latency distribution of an operation. Counters are
+ * striped with {@link LongAdder} so that concurrent mapping threads don't contend on a single
+ * counter. Latencies are recorded into a log-linear histogram, each power of 2 range is split into
+ * 8 linear buckets, so that the percentiles are within 12.5% of the recorded value with a fixed
+ * footprint regardless of the number of the recorded values. All durations are in nanoseconds.
+ */
+public class ExecutionStatistics {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    /** Durations longer than 2^41 nanoseconds (~36 minutes) are recorded into the last bucket. */
+    private static final int MAX_EXPONENT = 41;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT * (MAX_EXPONENT - SUB_BUCKET_BITS + 2);
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
+    private final LongAccumulator minTime = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator maxTime = new LongAccumulator(Math::max, 0L);
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Records an execution.
+     * @param durationNanos elapsed time
+     * @param failed whether the execution failed
+     */
+    public void record(long durationNanos, boolean failed) {
+        long duration = durationNanos < 0 ? 0 : durationNanos;
+        count.increment();
+        if (failed) {
+            errorCount.increment();
+        }
+        totalTime.add(duration);
+        minTime.accumulate(duration);
+        maxTime.accumulate(duration);
+        buckets.incrementAndGet(bucketIndex(duration));
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    public long getSuccessCount() {
+        return Math.max(0L, getCount() - getErrorCount());
+    }
+
+    public long getTotalTime() {
+        return totalTime.sum();
+    }
+
+    public long getMinTime() {
+        long min = minTime.get();
+        return min == Long.MAX_VALUE ? 0L : min;
+    }
+
+    public long getMaxTime() {
+        return maxTime.get();
+    }
+
+    public long getMeanTime() {
+        long c = getCount();
+        return c == 0 ? 0L : getTotalTime() / c;
+    }
+
+    /**
+     * Returns the approximate duration at the percentile.
+     * @param percentile percentile between 0 and 100
+     * @return duration, or 0 if nothing is recorded yet
+     */
+    public long getPercentile(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0L;
+        }
+        double p = Math.min(100d, Math.max(0d, percentile));
+        long rank = Math.max(1L, (long) Math.ceil(total * p / 100d));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(bucketMidpoint(i), getMaxTime());
+            }
+        }
+        return getMaxTime();
+    }
+
+    public void reset() {
+        count.reset();
+        errorCount.reset();
+        totalTime.reset();
+        minTime.reset();
+        maxTime.reset();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0L);
+        }
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long bucketMidpoint(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        long lower = (long) (SUB_BUCKET_COUNT + subBucket) << shift;
+        return lower + ((1L << shift) >>> 1);
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionStatistics [count=" + getCount() + ", errorCount=" + getErrorCount()
+                + ", totalTime=" + getTotalTime() + ", minTime=" + getMinTime() + ", maxTime=" + getMaxTime()
+                + ", p50=" + getPercentile(50) + ", p99=" + getPercentile(99) + "]";
+    }
+
+}
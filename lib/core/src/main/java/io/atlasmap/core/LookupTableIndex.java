@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.atlasmap.api.AtlasConversionException;
+import io.atlasmap.spi.AtlasConversionService;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.LookupEntry;
+import io.atlasmap.v2.LookupTable;
+
+/**
+ * An immutable hash index of the {@link LookupTable} entries built when the context is initialized.
+ * Target values are converted into their {@code targetType} in advance so that looking up
+ * a value costs a single hash lookup.
+ */
+public class LookupTableIndex {
+
+    private final LookupTable lookupTable;
+    private final Map<String, Value> values;
+
+    private LookupTableIndex(LookupTable lookupTable, Map<String, Value> values) {
+        this.lookupTable = lookupTable;
+        this.values = values;
+    }
+
+    /**
+     * Builds the index. If there are multiple entries for the same source value,
+     * the first one wins as it does with a linear scan.
+     * @param lookupTable lookup table
+     * @param entries lookup entries, either the inline ones or the ones loaded from the ADM archive
+     * @param conversionService conversion service to convert the target values
+     * @return index
+     */
+    public static LookupTableIndex build(LookupTable lookupTable, List<LookupEntry> entries,
+            AtlasConversionService conversionService) {
+        Map<String, Value> values = new HashMap<>((int) (entries.size() / 0.75f) + 1);
+        for (LookupEntry entry : entries) {
+            if (entry.getSourceValue() == null || values.containsKey(entry.getSourceValue())) {
+                continue;
+            }
+            values.put(entry.getSourceValue(),
+                    new Value(entry.getTargetValue(), entry.getTargetType(), conversionService));
+        }
+        return new LookupTableIndex(lookupTable, Collections.unmodifiableMap(values));
+    }
+
+    /**
+     * Returns the lookup table this index is built from.
+     * @return lookup table
+     */
+    public LookupTable getLookupTable() {
+        return lookupTable;
+    }
+
+    /**
+     * Returns the number of indexed source values.
+     * @return size
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Looks up the entry for the source value.
+     * @param sourceValue source value
+     * @return the entry, or {@code null} if not found
+     */
+    public Value get(Object sourceValue) {
+        return sourceValue instanceof String ? values.get(sourceValue) : null;
+    }
+
+    /**
+     * A target value of the lookup entry.
+     */
+    public static class Value {
+        private final String rawValue;
+        private final FieldType targetType;
+        private final AtlasConversionService conversionService;
+        private final Object targetValue;
+        private final boolean converted;
+
+        private Value(String rawValue, FieldType targetType, AtlasConversionService conversionService) {
+            this.rawValue = rawValue;
+            this.targetType = targetType;
+            Object value = rawValue;
+            boolean success = true;
+            if (targetType != null && targetType != FieldType.STRING) {
+                try {
+                    value = conversionService.convertType(rawValue, FieldType.STRING, targetType);
+                } catch (AtlasConversionException e) {
+                    // reported when the entry is actually used
+                    value = null;
+                    success = false;
+                }
+            }
+            this.targetValue = value;
+            this.converted = success;
+            this.conversionService = success ? null : conversionService;
+        }
+
+        public FieldType getTargetType() {
+            return targetType;
+        }
+
+        /**
+         * Returns the target value converted into {@link #getTargetType()}.
+         * @return target value
+         * @throws AtlasConversionException if the target value can't be converted
+         */
+        public Object getTargetValue() throws AtlasConversionException {
+            if (converted) {
+                return targetValue;
+            }
+            return conversionService.convertType(rawValue, FieldType.STRING, targetType);
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.Optional;
+
+import io.atlasmap.api.AtlasConversionException;
+import io.atlasmap.spi.AtlasConversionService;
+import io.atlasmap.spi.AtlasConverter;
+import io.atlasmap.v2.FieldType;
+
+/**
+ * An {@link AtlasConversionService} which counts the type conversions into {@link AtlasContextMetrics}.
+ * This is handed to the modules instead of the shared conversion service when the metrics are enabled.
+ */
+class MeteredAtlasConversionService implements AtlasConversionService {
+
+    private final AtlasConversionService delegate;
+    private final AtlasContextMetrics metrics;
+
+    MeteredAtlasConversionService(AtlasConversionService delegate, AtlasContextMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    AtlasConversionService getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Object convertType(Object sourceValue, FieldType origSourceType, FieldType targetType)
+            throws AtlasConversionException {
+        boolean failed = true;
+        try {
+            Object answer = delegate.convertType(sourceValue, origSourceType, targetType);
+            failed = false;
+            return answer;
+        } finally {
+            metrics.recordConversion(failed);
+        }
+    }
+
+    @Override
+    public Object convertType(Object sourceValue, String sourceFormat, FieldType targetType, String targetFormat)
+            throws AtlasConversionException {
+        boolean failed = true;
+        try {
+            Object answer = delegate.convertType(sourceValue, sourceFormat, targetType, targetFormat);
+            failed = false;
+            return answer;
+        } finally {
+            metrics.recordConversion(failed);
+        }
+    }
+
+    @Override
+    public Object convertType(Object sourceValue, String sourceFormat, Class<?> targetType, String targetFormat)
+            throws AtlasConversionException {
+        boolean failed = true;
+        try {
+            Object answer = delegate.convertType(sourceValue, sourceFormat, targetType, targetFormat);
+            failed = false;
+            return answer;
+        } finally {
+            metrics.recordConversion(failed);
+        }
+    }
+
+    @Override
+    public Optional<AtlasConverter<?>> findMatchingConverter(FieldType source, FieldType target) {
+        return delegate.findMatchingConverter(source, target);
+    }
+
+    @Override
+    public Optional<AtlasConverter<?>> findMatchingConverter(String sourceClassName, String targetClassName) {
+        return delegate.findMatchingConverter(sourceClassName, targetClassName);
+    }
+
+    @Override
+    public Object copyPrimitive(Object sourceValue) {
+        return delegate.copyPrimitive(sourceValue);
+    }
+
+    @Override
+    public boolean isConvertionAvailableFor(Object sourceValue, Class<?> targetType) {
+        return delegate.isConvertionAvailableFor(sourceValue, targetType);
+    }
+
+    @Override
+    public Class<?> boxOrUnboxPrimitive(Class<?> clazz) {
+        return delegate.boxOrUnboxPrimitive(clazz);
+    }
+
+    @Override
+    public Class<?> boxOrUnboxPrimitive(String clazzName) {
+        return delegate.boxOrUnboxPrimitive(clazzName);
+    }
+
+    @Override
+    public Class<?> classFromFieldType(FieldType fieldType) {
+        return delegate.classFromFieldType(fieldType);
+    }
+
+    @Override
+    public FieldType fieldTypeFromClass(Class<?> clazz) {
+        return delegate.fieldTypeFromClass(clazz);
+    }
+
+    @Override
+    public FieldType fieldTypeFromClass(String className) {
+        return delegate.fieldTypeFromClass(className);
+    }
+
+    @Override
+    public Boolean isPrimitive(String className) {
+        return delegate.isPrimitive(className);
+    }
+
+    @Override
+    public Boolean isPrimitive(Class<?> clazz) {
+        return delegate.isPrimitive(clazz);
+    }
+
+    @Override
+    public Boolean isPrimitive(FieldType fieldType) {
+        return delegate.isPrimitive(fieldType);
+    }
+
+    @Override
+    public Boolean isBoxedPrimitive(Class<?> clazz) {
+        return delegate.isBoxedPrimitive(clazz);
+    }
+
+    @Override
+    public Boolean isAssignableFieldType(FieldType source, FieldType target) {
+        return delegate.isAssignableFieldType(source, target);
+    }
+
+}
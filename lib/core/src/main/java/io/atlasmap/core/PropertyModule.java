@@ -96,6 +96,16 @@ public class PropertyModule extends BaseAtlasModule {
         // no-op
     }
 
+    /**
+     * The properties are read from the concurrent maps of the session, the mapping definition and the
+     * environment. A custom {@link AtlasPropertyStrategy} must also be thread safe to enable the
+     * parallel execution.
+     */
+    @Override
+    public boolean isConcurrentReadSupported() {
+        return true;
+    }
+
     @Override
     public Boolean isSupportedField(Field field) {
         return field instanceof PropertyField;
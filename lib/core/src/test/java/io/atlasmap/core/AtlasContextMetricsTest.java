@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.jupiter.api.Test;
+
+import io.atlasmap.api.AtlasConstants;
+import io.atlasmap.api.AtlasContextFactory;
+import io.atlasmap.spi.AtlasMetricsRecorder;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
+import io.atlasmap.v2.PropertyField;
+import io.atlasmap.v2.Uppercase;
+
+public class AtlasContextMetricsTest {
+
+    @Test
+    public void testMetricsDisabled() throws Exception {
+        DefaultAtlasContext context = new DefaultAtlasContext(DefaultAtlasContextFactory.getInstance(),
+                createAtlasMapping());
+        DefaultAtlasSession session = (DefaultAtlasSession) context.createSession();
+        session.getSourceProperties().put("in", "foo");
+        session.getSourceProperties().put("number", "42");
+        context.process(session);
+        assertFalse(session.hasErrors());
+        assertFalse(context.isMetricsEnabled());
+        assertNull(context.getMetrics());
+        assertEquals(0L, context.getSessionCount());
+        assertEquals(0, context.getMappingStatistics().length);
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(context.getJmxObjectName()));
+    }
+
+    @Test
+    public void testMetricsEnabled() throws Exception {
+        DefaultAtlasContextFactory factory = DefaultAtlasContextFactory.getInstance();
+        factory.getProperties().put(AtlasContextFactory.PROPERTY_ATLASMAP_METRICS_ENABLED, "true");
+        DefaultAtlasContext context = null;
+        try {
+            context = new DefaultAtlasContext(factory, createAtlasMapping());
+            int errors = 0;
+            for (int i = 0; i < 3; i++) {
+                DefaultAtlasSession session = (DefaultAtlasSession) context.createSession();
+                session.getSourceProperties().put("in", "foo");
+                session.getSourceProperties().put("number", i == 2 ? "not a number" : "42");
+                context.process(session);
+                assertEquals(i == 2, session.hasErrors());
+                errors += session.errorCount();
+                if (i == 0) {
+                    assertEquals("FOO", session.getTargetProperties().get("out"));
+                    assertEquals(42, session.getTargetProperties().get("number"));
+                }
+            }
+            assertTrue(context.isMetricsEnabled());
+            assertEquals(3L, context.getSessionCount());
+            assertEquals(1L, context.getSessionErrorCount());
+            assertEquals(errors, context.getAuditErrorCount());
+            assertTrue(context.getSessionTotalExecutionTime() > 0);
+            assertTrue(context.getSessionMaxExecutionTime() >= context.getSession99thPercentileExecutionTime());
+            assertTrue(context.getSession99thPercentileExecutionTime() >= context.getSessionMinExecutionTime());
+            assertEquals(3L, context.getFieldActionCount());
+            assertEquals(3L, context.getConversionCount());
+            assertEquals(1L, context.getConversionErrorCount());
+
+            Map<String, ExecutionStatistics> mappings = context.getMetrics().getMappingStatistics();
+            assertEquals(2, mappings.size());
+            assertEquals(3L, mappings.get("upper").getCount());
+            assertEquals(0L, mappings.get("upper").getErrorCount());
+            assertEquals(3L, mappings.get("#1").getCount());
+            assertEquals(1L, mappings.get("#1").getErrorCount());
+
+            BaseAtlasModule source = (BaseAtlasModule) context.getSourceModules()
+                    .get(AtlasConstants.PROPERTIES_SOURCE_DOCUMENT_ID);
+            BaseAtlasModule target = (BaseAtlasModule) context.getTargetModules()
+                    .get(AtlasConstants.PROPERTIES_TARGET_DOCUMENT_ID);
+            assertTrue(source.isStatisticsEnabled());
+            assertEquals(6L, source.getSourceCount());
+            assertEquals(6L, target.getTargetCount());
+            assertEquals(1L, target.getTargetErrorCount());
+            assertEquals(5L, target.getTargetSuccessCount());
+
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = context.getJmxObjectName();
+            assertTrue(server.isRegistered(name));
+            assertEquals(3L, server.getAttribute(name, "SessionCount"));
+            CompositeData[] rows = (CompositeData[]) server.getAttribute(name, "MappingStatistics");
+            assertEquals(2, rows.length);
+            assertEquals(3L, rows[0].get("count"));
+            assertEquals(context.getMappingStatistics()[0].getMappingId(), rows[0].get("mappingId"));
+            ObjectName moduleName = new ObjectName(name + ",modules=TargetModules,docId="
+                    + ObjectName.quote(AtlasConstants.PROPERTIES_TARGET_DOCUMENT_ID));
+            assertEquals(6L, server.getAttribute(moduleName, "TargetCount"));
+            assertNotNull(server.invoke(moduleName, "readAndResetStatistics", null, null));
+            assertEquals(0L, target.getTargetCount());
+
+            context.resetStatistics();
+            assertEquals(0L, context.getSessionCount());
+            assertTrue(context.getMetrics().getMappingStatistics().isEmpty());
+
+            context.unregisterJmx();
+            assertFalse(server.isRegistered(name));
+            assertFalse(server.isRegistered(moduleName));
+        } finally {
+            factory.getProperties().remove(AtlasContextFactory.PROPERTY_ATLASMAP_METRICS_ENABLED);
+            if (context != null) {
+                context.unregisterJmx();
+            }
+        }
+    }
+
+    @Test
+    public void testMetricsRecorder() throws Exception {
+        List<String> recorded = Collections.synchronizedList(new ArrayList<>());
+        AtlasMetricsRecorder recorder = new AtlasMetricsRecorder() {
+            @Override
+            public void recordSession(String mappingName, long durationNanos, int errorCount, int warnCount) {
+                recorded.add("session:" + mappingName + ":" + errorCount);
+            }
+
+            @Override
+            public void recordMapping(String mappingName, String mappingId, long durationNanos, boolean failed) {
+                recorded.add("mapping:" + mappingId + ":" + failed);
+            }
+
+            @Override
+            public void recordTargetWrite(String mappingName, String docId, long durationNanos, boolean failed) {
+                throw new IllegalStateException("must not break the mapping");
+            }
+        };
+        DefaultAtlasContextFactory factory = DefaultAtlasContextFactory.getInstance();
+        factory.setMetricsRecorder(recorder);
+        DefaultAtlasContext context = null;
+        try {
+            context = new DefaultAtlasContext(factory, createAtlasMapping());
+            DefaultAtlasSession session = (DefaultAtlasSession) context.createSession();
+            session.getSourceProperties().put("in", "foo");
+            session.getSourceProperties().put("number", "42");
+            context.process(session);
+            assertFalse(session.hasErrors());
+            assertTrue(context.isMetricsEnabled());
+            assertEquals(3, recorded.size(), recorded.toString());
+            assertEquals("mapping:upper:false", recorded.get(0));
+            assertEquals("mapping:#1:false", recorded.get(1));
+            assertEquals("session:metrics:0", recorded.get(2));
+        } finally {
+            factory.setMetricsRecorder(null);
+            if (context != null) {
+                context.unregisterJmx();
+            }
+        }
+    }
+
+    private AtlasMapping createAtlasMapping() {
+        AtlasMapping atlasMapping = AtlasModelFactory.createAtlasMapping();
+        atlasMapping.setName("metrics");
+        Mapping upper = createMapping("in", FieldType.STRING, "out", FieldType.STRING);
+        upper.setId("upper");
+        upper.getOutputField().get(0).setActions(new ArrayList<>(Collections.singletonList(new Uppercase())));
+        atlasMapping.getMappings().getMapping().add(upper);
+        atlasMapping.getMappings().getMapping().add(createMapping("number", FieldType.STRING, "number",
+                FieldType.INTEGER));
+        return atlasMapping;
+    }
+
+    private Mapping createMapping(String sourceName, FieldType sourceType, String targetName, FieldType targetType) {
+        Mapping m = AtlasModelFactory.createMapping(MappingType.MAP);
+        PropertyField source = AtlasModelFactory.createPropertyField();
+        source.setName(sourceName);
+        source.setPath("/" + sourceName);
+        source.setFieldType(sourceType);
+        m.getInputField().add(source);
+        PropertyField target = AtlasModelFactory.createPropertyField();
+        target.setName(targetName);
+        target.setPath("/" + targetName);
+        target.setFieldType(targetType);
+        m.getOutputField().add(target);
+        return m;
+    }
+
+}
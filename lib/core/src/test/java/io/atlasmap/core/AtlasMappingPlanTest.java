@@ -0,0 +1,412 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.atlasmap.api.AtlasConstants;
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.api.AtlasContextFactory;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.expression.Expression;
+import io.atlasmap.spi.AtlasInternalSession;
+import io.atlasmap.spi.AtlasModule;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.Audit;
+import io.atlasmap.v2.Collection;
+import io.atlasmap.v2.ConstantField;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.LookupEntry;
+import io.atlasmap.v2.LookupTable;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
+import io.atlasmap.v2.PropertyField;
+import io.atlasmap.v2.Uppercase;
+
+public class AtlasMappingPlanTest {
+
+    @Test
+    public void testCompileAndProcess() throws Exception {
+        AtlasMapping atlasMapping = AtlasModelFactory.createAtlasMapping();
+        atlasMapping.setName("plan");
+        atlasMapping.getMappings().getMapping().add(createMapping("in", "out", null));
+        atlasMapping.getMappings().getMapping().add(createMapping("code", "translated", "table"));
+        Collection collection = AtlasModelFactory.createCollection();
+        collection.getMappings().getMapping().add(createMapping("in", "out2", null));
+        atlasMapping.getMappings().getMapping().add(collection);
+        LookupTable table = new LookupTable();
+        table.setName("table");
+        LookupEntry entry = new LookupEntry();
+        entry.setSourceValue("A");
+        entry.setTargetValue("alpha");
+        entry.setTargetType(FieldType.STRING);
+        table.getLookupEntry().add(entry);
+        atlasMapping.getLookupTables().getLookupTable().add(table);
+
+        DefaultAtlasContext context = new DefaultAtlasContext(DefaultAtlasContextFactory.getInstance(), atlasMapping);
+        DefaultAtlasSession session = (DefaultAtlasSession) context.createSession();
+        AtlasMappingPlan plan = context.getMappingPlan();
+        assertNotNull(plan);
+        assertSame(atlasMapping, plan.getMappingDefinition());
+        assertEquals(3, plan.getEntries().size());
+        assertNull(plan.getEntries().get(0).getLookupTable());
+        assertEquals("table", plan.getEntries().get(1).getLookupTable().getName());
+        assertSame(context.getSourceModules().get(AtlasConstants.PROPERTIES_SOURCE_DOCUMENT_ID),
+                plan.getEntries().get(2).getSourceModule(0));
+        assertSame(context.getTargetModules().get(AtlasConstants.PROPERTIES_TARGET_DOCUMENT_ID),
+                plan.getEntries().get(2).getTargetModule(0));
+        assertFalse(plan.getEntries().get(2).isTargetCollection(0));
+        assertEquals("out2", ((Mapping) plan.getEntries().get(2).locate(session.getMapping()))
+                .getOutputField().get(0).getName());
+
+        session.getSourceProperties().put("in", "foo");
+        session.getSourceProperties().put("code", "A");
+        context.process(session);
+        assertFalse(session.hasErrors(), printAudit(session));
+        assertEquals("foo", session.getTargetProperties().get("out"));
+        assertEquals("alpha", session.getTargetProperties().get("translated"));
+        assertEquals("foo", session.getTargetProperties().get("out2"));
+        // compiling the plan must not register document ID aliases into the module map
+        assertEquals(2, context.getSourceModules().size());
+
+        context.setLookupTables(new HashMap<>());
+        assertNull(context.getMappingPlan());
+    }
+
+    @Test
+    public void testTargetCollection() throws Exception {
+        AtlasMapping atlasMapping = AtlasModelFactory.createAtlasMapping();
+        Mapping m = createMapping("in", "out", null);
+        m.getOutputField().get(0).setPath("/list<>/out");
+        atlasMapping.getMappings().getMapping().add(m);
+        DefaultAtlasContext context = new DefaultAtlasContext(DefaultAtlasContextFactory.getInstance(), atlasMapping);
+        context.createSession();
+        assertTrue(context.getMappingPlan().getEntries().get(0).isTargetCollection(0));
+        assertFalse(context.getMappingPlan().getEntries().get(0).hasCopyTo());
+    }
+
+    @Test
+    public void testSessionMappingModified() throws Exception {
+        AtlasMapping atlasMapping = AtlasModelFactory.createAtlasMapping();
+        atlasMapping.setName("plan");
+        atlasMapping.getMappings().getMapping().add(createMapping("in", "out", null));
+        DefaultAtlasContext context = new DefaultAtlasContext(DefaultAtlasContextFactory.getInstance(), atlasMapping);
+        DefaultAtlasSession session = (DefaultAtlasSession) context.createSession();
+        AtlasMappingPlan plan = context.getMappingPlan();
+        AtlasMappingPlan.Entry entry = plan.getEntries().get(0);
+        assertTrue(plan.matches(session.getMapping()));
+        assertTrue(entry.matches(entry.locate(session.getMapping())));
+
+        Mapping m = (Mapping) entry.locate(session.getMapping());
+        m.getOutputField().get(0).setPath("/changed");
+        m.getOutputField().get(0).setName("changed");
+        assertFalse(entry.matches(m));
+        session.getMapping().getMappings().getMapping().add(createMapping("in", "added", null));
+        assertFalse(plan.matches(session.getMapping()));
+
+        session.getSourceProperties().put("in", "foo");
+        context.process(session);
+        assertFalse(session.hasErrors(), printAudit(session));
+        assertEquals("foo", session.getTargetProperties().get("changed"));
+        assertEquals("foo", session.getTargetProperties().get("added"));
+    }
+
+    @Test
+    public void testSharedMappingDefinition() throws Exception {
+        AtlasMapping atlasMapping = AtlasModelFactory.createAtlasMapping();
+        atlasMapping.setName("plan");
+        atlasMapping.getMappings().getMapping().add(createMapping("in", "out", null));
+        Collection collection = AtlasModelFactory.createCollection();
+        collection.getMappings().getMapping().add(createMapping("in", "out2", null));
+        atlasMapping.getMappings().getMapping().add(collection);
+
+        DefaultAtlasContextFactory factory = DefaultAtlasContextFactory.getInstance();
+        factory.getProperties().put(AtlasContextFactory.PROPERTY_ATLASMAP_SESSION_SHARE_MAPPING, "true");
+        try {
+            DefaultAtlasContext context = new DefaultAtlasContext(factory, atlasMapping);
+            DefaultAtlasSession session = (DefaultAtlasSession) context.createSession();
+            assertTrue(context.isMappingDefinitionShared());
+            assertTrue(session.isMappingDefinitionShared());
+            assertSame(context.getMapping(), session.getMapping());
+
+            session.getSourceProperties().put("in", "foo");
+            context.process(session);
+            assertFalse(session.hasErrors(), printAudit(session));
+            assertEquals("foo", session.getTargetProperties().get("out"));
+            assertEquals("foo", session.getTargetProperties().get("out2"));
+            Mapping shared = (Mapping) context.getMapping().getMappings().getMapping().get(0);
+            assertNull(shared.getInputField().get(0).getValue());
+            assertNull(shared.getOutputField().get(0).getValue());
+
+            DefaultAtlasSession session2 = (DefaultAtlasSession) context.createSession();
+            session2.getSourceProperties().put("in", "bar");
+            context.process(session2);
+            assertFalse(session2.hasErrors(), printAudit(session2));
+            assertEquals("bar", session2.getTargetProperties().get("out"));
+        } finally {
+            factory.getProperties().remove(AtlasContextFactory.PROPERTY_ATLASMAP_SESSION_SHARE_MAPPING);
+        }
+    }
+
+    @Test
+    public void testWorkingCopy() throws Exception {
+        AtlasMapping atlasMapping = AtlasModelFactory.createAtlasMapping();
+        atlasMapping.setName("plan");
+        Mapping m = createMapping("in", "out", null);
+        m.getInputField().get(0).setActions(new ArrayList<>(Arrays.asList(new Uppercase())));
+        atlasMapping.getMappings().getMapping().add(m);
+        DefaultAtlasContext context = new DefaultAtlasContext(DefaultAtlasContextFactory.getInstance(), atlasMapping);
+        context.createSession();
+        AtlasMappingPlan plan = context.getMappingPlan();
+
+        Mapping copy = (Mapping) plan.getEntries().get(0).newWorkingCopy(plan.getMappingDefinition());
+        assertNotSame(m, copy);
+        Field source = m.getInputField().get(0);
+        Field sourceCopy = copy.getInputField().get(0);
+        assertNotSame(source, sourceCopy);
+        assertTrue(sourceCopy instanceof PropertyField);
+        assertEquals("in", ((PropertyField) sourceCopy).getName());
+        assertNotSame(source.getActions(), sourceCopy.getActions());
+        assertSame(source.getActions().get(0), sourceCopy.getActions().get(0));
+
+        sourceCopy.setValue("foo");
+        sourceCopy.getActions().clear();
+        copy.getOutputField().get(0).setPath("/changed");
+        assertNull(source.getValue());
+        assertEquals(1, source.getActions().size());
+        assertEquals("/out", m.getOutputField().get(0).getPath());
+    }
+
+    @Test
+    public void testValidationModeOnce() throws Exception {
+        AtlasMapping atlasMapping = AtlasModelFactory.createAtlasMapping();
+        atlasMapping.getMappings().getMapping().add(createMapping("in", "out", null));
+
+        DefaultAtlasContextFactory factory = DefaultAtlasContextFactory.getInstance();
+        factory.getProperties().put(AtlasContextFactory.PROPERTY_ATLASMAP_VALIDATION_MODE, "once");
+        try {
+            DefaultAtlasContext context = new DefaultAtlasContext(factory, atlasMapping);
+            DefaultAtlasSession session = (DefaultAtlasSession) context.createSession();
+            assertEquals(DefaultAtlasContext.ValidationMode.ONCE, context.getValidationMode());
+            context.process(session);
+            // mapping name is missing
+            assertTrue(session.hasErrors());
+
+            // the mapping entries are not changed, then cached validation results are replayed
+            atlasMapping.setName("plan");
+            session = (DefaultAtlasSession) context.createSession();
+            context.process(session);
+            assertTrue(session.hasErrors());
+
+            context.setLookupTables(new HashMap<>());
+            session = (DefaultAtlasSession) context.createSession();
+            session.getSourceProperties().put("in", "foo");
+            context.process(session);
+            assertFalse(session.hasErrors(), printAudit(session));
+            assertEquals("foo", session.getTargetProperties().get("out"));
+        } finally {
+            factory.getProperties().remove(AtlasContextFactory.PROPERTY_ATLASMAP_VALIDATION_MODE);
+        }
+    }
+
+    @Test
+    public void testValidationModeNever() throws Exception {
+        AtlasMapping atlasMapping = AtlasModelFactory.createAtlasMapping();
+        atlasMapping.getMappings().getMapping().add(createMapping("in", "out", null));
+
+        DefaultAtlasContextFactory factory = DefaultAtlasContextFactory.getInstance();
+        factory.getProperties().put(AtlasContextFactory.PROPERTY_ATLASMAP_VALIDATION_MODE, "never");
+        try {
+            DefaultAtlasContext context = new DefaultAtlasContext(factory, atlasMapping);
+            DefaultAtlasSession session = (DefaultAtlasSession) context.createSession();
+            session.getSourceProperties().put("in", "foo");
+            context.process(session);
+            assertFalse(session.hasErrors(), printAudit(session));
+            assertEquals("foo", session.getTargetProperties().get("out"));
+        } finally {
+            factory.getProperties().remove(AtlasContextFactory.PROPERTY_ATLASMAP_VALIDATION_MODE);
+        }
+    }
+
+    @Test
+    public void testPreparseExpressions() throws Exception {
+        AtlasMapping atlasMapping = AtlasModelFactory.createAtlasMapping();
+        Mapping m = createMapping("in", "out", null);
+        m.setExpression("IF(ISEMPTY(${io.atlasmap.properties.source:/in}), 'empty', 'not empty')");
+        atlasMapping.getMappings().getMapping().add(m);
+        Expression.clearCache();
+        DefaultAtlasContext context = new DefaultAtlasContext(DefaultAtlasContextFactory.getInstance(), atlasMapping);
+        context.createSession();
+        assertEquals(1, Expression.CACHE.size());
+        long misses = Expression.CACHE.getMissCount();
+        Expression.parse(m.getExpression(), DefaultAtlasFunctionResolver.getInstance());
+        assertEquals(misses, Expression.CACHE.getMissCount());
+    }
+
+    @Test
+    public void testBoundExpression() throws Exception {
+        AtlasMapping atlasMapping = AtlasModelFactory.createAtlasMapping();
+        atlasMapping.setName("plan");
+        Mapping m = createMapping("a", "out", null);
+        m.getInputField().add(createMapping("b", "unused", null).getInputField().get(0));
+        m.getInputField().add(createMapping("c", "unused", null).getInputField().get(0));
+        for (Field f : m.getInputField()) {
+            f.setDocId(AtlasConstants.PROPERTIES_SOURCE_DOCUMENT_ID);
+        }
+        String prefix = "${" + AtlasConstants.PROPERTIES_SOURCE_DOCUMENT_ID + ":/";
+        m.setExpression("IF(ISEMPTY(" + prefix + "a}), " + prefix + "b}, " + prefix + "c})");
+        atlasMapping.getMappings().getMapping().add(m);
+
+        DefaultAtlasContext context = new DefaultAtlasContext(DefaultAtlasContextFactory.getInstance(), atlasMapping);
+        DefaultAtlasSession session = (DefaultAtlasSession) context.createSession();
+        AtlasMappingPlan.Entry entry = context.getMappingPlan().getEntries().get(0);
+        assertNotNull(entry.getExpression());
+        assertTrue(entry.getExpression().isBound(AtlasConstants.PROPERTIES_SOURCE_DOCUMENT_ID + ":/c"));
+        assertFalse(entry.getExpression().isBound(AtlasConstants.PROPERTIES_SOURCE_DOCUMENT_ID + ":/d"));
+
+        session.getSourceProperties().put("b", "bar");
+        session.getSourceProperties().put("c", "baz");
+        context.process(session);
+        assertFalse(session.hasErrors(), printAudit(session));
+        assertEquals("bar", session.getTargetProperties().get("out"));
+
+        session = (DefaultAtlasSession) context.createSession();
+        session.getSourceProperties().put("a", "foo");
+        session.getSourceProperties().put("b", "bar");
+        session.getSourceProperties().put("c", "baz");
+        context.process(session);
+        assertFalse(session.hasErrors(), printAudit(session));
+        assertEquals("baz", session.getTargetProperties().get("out"));
+
+        // the expression is modified in the session, it must not use the compiled one
+        Mapping sessionMapping = (Mapping) entry.locate(session.getMapping());
+        sessionMapping.setExpression(prefix + "a}");
+        assertFalse(entry.matches(sessionMapping));
+        context.process(session);
+        assertFalse(session.hasErrors(), printAudit(session));
+        assertEquals("foo", session.getTargetProperties().get("out"));
+    }
+
+    @Test
+    public void testProcessBatch() throws Exception {
+        AtlasMapping atlasMapping = AtlasModelFactory.createAtlasMapping();
+        Mapping m = createMapping("in", "out", null);
+        ConstantField constant = new ConstantField();
+        constant.setDocId(AtlasConstants.CONSTANTS_DOCUMENT_ID);
+        constant.setPath("/in");
+        constant.setValue("bar");
+        constant.setFieldType(FieldType.STRING);
+        m.getInputField().set(0, constant);
+        atlasMapping.getMappings().getMapping().add(m);
+        DefaultAtlasContext context = new DefaultAtlasContext(DefaultAtlasContextFactory.getInstance(), atlasMapping);
+        assertTrue(context.processBatch(Collections.emptyList()).isEmpty());
+
+        // mapping name is missing, the validation error is reported on every session
+        List<AtlasSession> sessions = context.processBatch(Arrays.asList(new HashMap<>(), new HashMap<>()));
+        assertEquals(2, sessions.size());
+        for (AtlasSession session : sessions) {
+            assertTrue(session.hasErrors());
+            assertEquals(1, session.errorCount());
+        }
+        assertNotSame(sessions.get(0).getAudits().getAudit().get(0), sessions.get(1).getAudits().getAudit().get(0));
+
+        atlasMapping.setName("plan");
+        context.setLookupTables(new HashMap<>());
+        Map<String, Object> docs = new HashMap<>();
+        docs.put(null, "foo");
+        sessions = context.processBatch(Arrays.asList(docs, docs, docs));
+        assertEquals(3, sessions.size());
+        for (AtlasSession session : sessions) {
+            assertFalse(session.hasErrors(), printAudit((DefaultAtlasSession) session));
+            assertTrue(((DefaultAtlasSession) session).isMappingDefinitionShared());
+            assertSame(context.getMapping(), session.getMapping());
+            assertEquals("foo", session.getDefaultSourceDocument());
+            assertEquals("bar", session.getTargetProperties().get("out"));
+        }
+        assertNotSame(sessions.get(0).getTargetProperties(), sessions.get(1).getTargetProperties());
+
+        // a single source document set is processed as a regular session
+        sessions = context.processBatch(Collections.singletonList(docs));
+        assertEquals(1, sessions.size());
+        assertFalse(sessions.get(0).hasErrors(), printAudit((DefaultAtlasSession) sessions.get(0)));
+        assertEquals("bar", sessions.get(0).getTargetProperties().get("out"));
+
+        // a failure is kept in the failed session and the rest of the batch is processed
+        AtlasModule failing = mock(AtlasModule.class);
+        doAnswer(invocation -> {
+            AtlasInternalSession session = invocation.getArgument(0);
+            if ("boom".equals(session.getDefaultSourceDocument())) {
+                throw new AtlasException("boom");
+            }
+            return null;
+        }).when(failing).processPreSourceExecution(any());
+        context.getSourceModules().put("failing", failing);
+        Map<String, Object> boom = new HashMap<>();
+        boom.put(null, "boom");
+        sessions = context.processBatch(Arrays.asList(docs, boom, docs));
+        assertEquals(3, sessions.size());
+        assertNull(((DefaultAtlasSession) sessions.get(0)).getProcessingFailure());
+        assertEquals("bar", sessions.get(0).getTargetProperties().get("out"));
+        assertEquals("boom", ((DefaultAtlasSession) sessions.get(1)).getProcessingFailure().getMessage());
+        assertNull(((DefaultAtlasSession) sessions.get(2)).getProcessingFailure());
+        assertEquals("bar", sessions.get(2).getTargetProperties().get("out"));
+    }
+
+    private Mapping createMapping(String sourceName, String targetName, String lookupTableName) {
+        Mapping m = AtlasModelFactory.createMapping(lookupTableName != null ? MappingType.LOOKUP : MappingType.MAP);
+        m.setLookupTableName(lookupTableName);
+        PropertyField source = AtlasModelFactory.createPropertyField();
+        source.setName(sourceName);
+        source.setPath("/" + sourceName);
+        source.setFieldType(FieldType.STRING);
+        m.getInputField().add(source);
+        PropertyField target = AtlasModelFactory.createPropertyField();
+        target.setName(targetName);
+        target.setPath("/" + targetName);
+        target.setFieldType(FieldType.STRING);
+        m.getOutputField().add(target);
+        return m;
+    }
+
+    private String printAudit(DefaultAtlasSession session) {
+        StringBuilder buf = new StringBuilder("Audits: ");
+        for (Audit a : session.getAudits().getAudit()) {
+            buf.append('[').append(a.getStatus()).append(", message=").append(a.getMessage()).append("], ");
+        }
+        return buf.toString();
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import io.atlasmap.core.AtlasPath.SegmentContext;
+
+public class AtlasPathCacheTest {
+
+    private static final Function<String, List<SegmentContext>> PARSER =
+            p -> Collections.singletonList(new SegmentContext(""));
+
+    @Test
+    public void testHitMissAndEviction() {
+        AtlasPathCache cache = new AtlasPathCache(10);
+        AtlasPathCache.Entry first = cache.get("/foo", PARSER);
+        assertEquals("/", first.getPath());
+        assertSame(first, cache.get("/foo", PARSER));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        for (int i = 0; i < 10; i++) {
+            cache.get("/foo", PARSER);
+            cache.get("/bar" + i, PARSER);
+        }
+        assertEquals(2, cache.getEvictionCount());
+        // recently used one survives
+        assertSame(first, cache.get("/foo", PARSER));
+
+        cache.setMaxSize(2);
+        assertEquals(2, cache.size());
+        assertSame(first, cache.get("/foo", PARSER));
+        assertThrows(IllegalArgumentException.class, () -> cache.setMaxSize(0));
+    }
+
+}
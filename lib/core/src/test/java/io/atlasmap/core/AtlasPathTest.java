@@ -18,7 +18,9 @@ package io.atlasmap.core;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -27,6 +29,7 @@ import java.util.List;
 import org.junit.jupiter.api.Test;
 
 import io.atlasmap.core.AtlasPath.SegmentContext;
+import io.atlasmap.v2.CollectionType;
 
 public class AtlasPathTest {
 
@@ -250,4 +253,31 @@ public class AtlasPathTest {
         assertEquals("product", segments.get(3).getName());
         assertEquals("name", segments.get(4).getName());
     }
+
+    @Test
+    public void testSharedSegments() {
+        AtlasPath first = new AtlasPath("/orders<>/items[]/sku");
+        AtlasPath second = new AtlasPath("/orders<>/items[]/sku");
+        assertSame(first.getSegments(true), second.getSegments(true));
+
+        SegmentContext items = second.getSegments(true).get(2);
+        SegmentContext indexed = second.setCollectionIndex(2, 3);
+        assertEquals("items[3]", indexed.getExpression());
+        assertEquals(Integer.valueOf(3), indexed.getCollectionIndex());
+        assertEquals(CollectionType.ARRAY, indexed.getCollectionType());
+        assertEquals("items", indexed.getName());
+        assertNull(items.getCollectionIndex());
+        assertEquals("/orders<>/items[3]/sku", second.toString());
+        assertEquals("/orders<>/items[]/sku", first.toString());
+        assertNotSame(first.getSegments(true), second.getSegments(true));
+        assertSame(first.getSegments(true).get(3), second.getSegments(true).get(3));
+
+        second.setVacantCollectionIndex(1);
+        assertEquals("/orders<1>/items[3]/sku", second.toString());
+        assertEquals("/orders<>/items[]/sku", new AtlasPath("/orders<>/items[]/sku").toString());
+        assertEquals("/orders<>/items[]/sku/name",
+                new AtlasPath("/orders<>/items[]/sku").appendField("name").toString());
+        assertEquals("/orders<>/items[]/sku", new AtlasPath("/orders<>/items[]/sku").toString());
+    }
+
 }
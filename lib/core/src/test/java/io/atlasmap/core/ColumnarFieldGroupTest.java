@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import io.atlasmap.v2.Action;
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.SimpleField;
+import io.atlasmap.v2.Uppercase;
+
+public class ColumnarFieldGroupTest {
+
+    @Test
+    public void testPrimitiveColumn() {
+        ColumnarFieldGroup group = createGroup();
+        for (int i = 0; i < 100; i++) {
+            group.add(i % 10 == 0 ? null : i, FieldType.INTEGER);
+        }
+        assertEquals(100, group.getElementCount());
+        assertEquals(100, group.getField().size());
+        assertNull(group.getElementValue(0));
+        assertEquals(99, group.getElementValue(99));
+        assertEquals(FieldType.INTEGER, group.getElementFieldType(50));
+        assertEquals("/orders<>/amount", group.getPath());
+        assertEquals(1, group.getActions().size());
+
+        // a value of the other type switches to the boxed column
+        group.setElementValue(1, "one");
+        group.add(100L, FieldType.LONG);
+        assertEquals("one", group.getElementValue(1));
+        assertEquals(2, group.getElementValue(2));
+        assertNull(group.getElementValue(10));
+        assertEquals(100L, group.getElementValue(100));
+        assertEquals(FieldType.LONG, group.getElementFieldType(100));
+        assertEquals(FieldType.INTEGER, group.getElementFieldType(99));
+        assertThrows(IndexOutOfBoundsException.class, () -> group.getElementValue(101));
+    }
+
+    @Test
+    public void testMaterialize() {
+        ColumnarFieldGroup group = createGroup();
+        group.add(1.5d, FieldType.DOUBLE);
+        group.add(5, null, FieldType.DOUBLE);
+        group.add(6, true, FieldType.BOOLEAN);
+
+        Field detached = group.createElementField(1);
+        assertEquals("/orders<5>/amount", detached.getPath());
+        assertNull(detached.getActions());
+        assertNotSame(detached, group.createElementField(1));
+
+        Field item = group.getField().get(0);
+        assertSame(item, group.getField().get(0));
+        assertEquals(SimpleField.class, item.getClass());
+        assertEquals("/orders<0>/amount", item.getPath());
+        assertEquals(1.5d, item.getValue());
+        item.setValue(2.5d);
+        assertEquals(2.5d, group.getElementValue(0));
+        group.setElementValue(0, 3.5d);
+        assertEquals(3.5d, item.getValue());
+        assertEquals(true, group.getField().get(2).getValue());
+        assertEquals(FieldType.BOOLEAN, group.getField().get(2).getFieldType());
+    }
+
+    @Test
+    public void testInflate() {
+        ColumnarFieldGroup group = createGroup();
+        group.add("a", FieldType.STRING);
+        group.add("b", FieldType.STRING);
+        Field first = group.getField().get(0);
+        group.getField().remove(1);
+        assertEquals(1, group.getElementCount());
+        assertSame(first, group.getField().get(0));
+
+        group.add("c", FieldType.STRING);
+        assertEquals(2, group.getField().size());
+        assertEquals("c", group.getElementValue(1));
+        assertEquals("/orders<1>/amount", group.getField().get(1).getPath());
+        group.getField().clear();
+        assertEquals(0, group.getElementCount());
+    }
+
+    private ColumnarFieldGroup createGroup() {
+        SimpleField field = new SimpleField();
+        field.setPath("/orders<>/amount");
+        field.setActions(new ArrayList<Action>(Collections.singletonList(new Uppercase())));
+        return new ColumnarFieldGroup(field, 1, f -> {
+            SimpleField item = new SimpleField();
+            AtlasModelFactory.copyField(f, item, false);
+            return item;
+        });
+    }
+
+}
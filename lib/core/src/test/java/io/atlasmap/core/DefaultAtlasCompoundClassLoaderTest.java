@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class DefaultAtlasCompoundClassLoaderTest {
+
+    @Test
+    public void testResolutionCache() throws Exception {
+        CountingClassLoader delegate = new CountingClassLoader(getClass().getClassLoader());
+        DefaultAtlasCompoundClassLoader cl = new DefaultAtlasCompoundClassLoader();
+        cl.addAlternativeLoader(delegate);
+        Thread thread = Thread.currentThread();
+        ClassLoader tccl = thread.getContextClassLoader();
+        thread.setContextClassLoader(null);
+        try {
+            assertSame(AtlasPath.class, cl.loadClass(AtlasPath.class.getName()));
+            assertSame(AtlasPath.class, cl.loadClass(AtlasPath.class.getName()));
+            assertEquals(1, delegate.count);
+
+            // misses are cached as well
+            assertThrows(ClassNotFoundException.class, () -> cl.loadClass("io.atlasmap.core.Missing"));
+            assertThrows(ClassNotFoundException.class, () -> cl.loadClass("io.atlasmap.core.Missing"));
+            assertEquals(2, delegate.count);
+
+            // adding a loader invalidates the cache
+            cl.addAlternativeLoader(delegate);
+            assertSame(AtlasPath.class, cl.loadClass(AtlasPath.class.getName()));
+            assertEquals(2, delegate.count);
+            cl.addAlternativeLoader(new CountingClassLoader(null));
+            assertSame(AtlasPath.class, cl.loadClass(AtlasPath.class.getName()));
+            assertEquals(3, delegate.count);
+            assertThrows(ClassNotFoundException.class, () -> cl.loadClass("io.atlasmap.core.Missing"));
+            assertEquals(4, delegate.count);
+        } finally {
+            thread.setContextClassLoader(tccl);
+        }
+    }
+
+    private static class CountingClassLoader extends ClassLoader {
+        private int count;
+
+        CountingClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        public Class<?> loadClass(String name) throws ClassNotFoundException {
+            count++;
+            return super.loadClass(name);
+        }
+    }
+
+}
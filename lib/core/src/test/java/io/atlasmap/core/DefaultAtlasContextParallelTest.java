@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.atlasmap.api.AtlasContextFactory;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.Audit;
+import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.ConstantField;
+import io.atlasmap.v2.CustomMapping;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
+import io.atlasmap.v2.PropertyField;
+import io.atlasmap.v2.Uppercase;
+
+public class DefaultAtlasContextParallelTest {
+
+    private static final int ENTRIES = 20;
+
+    @Test
+    public void testParallel() throws Exception {
+        assertParallel(false);
+    }
+
+    @Test
+    public void testParallelSharedMappingDefinition() throws Exception {
+        assertParallel(true);
+    }
+
+    @Test
+    public void testBelowThreshold() throws Exception {
+        DefaultAtlasContextFactory factory = DefaultAtlasContextFactory.getInstance();
+        AtomicInteger submitted = new AtomicInteger();
+        factory.setParallelExecutor(countingExecutor(submitted));
+        factory.getProperties().put(AtlasContextFactory.PROPERTY_ATLASMAP_PARALLEL_THRESHOLD, "100");
+        try {
+            DefaultAtlasContext context = new DefaultAtlasContext(factory, createAtlasMapping());
+            DefaultAtlasSession session = process(context);
+            assertEquals(0, submitted.get());
+            assertEquals("FOO0", session.getTargetProperties().get("out0"));
+        } finally {
+            factory.setParallelExecutor(null);
+            factory.getProperties().remove(AtlasContextFactory.PROPERTY_ATLASMAP_PARALLEL_THRESHOLD);
+        }
+    }
+
+    private void assertParallel(boolean share) throws Exception {
+        DefaultAtlasContextFactory factory = DefaultAtlasContextFactory.getInstance();
+        if (share) {
+            factory.getProperties().put(AtlasContextFactory.PROPERTY_ATLASMAP_SESSION_SHARE_MAPPING, "true");
+        }
+        AtomicInteger submitted = new AtomicInteger();
+        try {
+            DefaultAtlasSession expected = process(new DefaultAtlasContext(factory, createAtlasMapping()));
+            factory.setParallelExecutor(countingExecutor(submitted));
+            DefaultAtlasContext context = new DefaultAtlasContext(factory, createAtlasMapping());
+            for (int i = 0; i < 3; i++) {
+                DefaultAtlasSession actual = process(context);
+                assertEquals(expected.getTargetProperties(), actual.getTargetProperties());
+                assertEquals(toString(expected.getAudits().getAudit()), toString(actual.getAudits().getAudit()));
+            }
+            // all entries but the custom mapping
+            assertEquals(3 * (ENTRIES + 2), submitted.get());
+        } finally {
+            factory.setParallelExecutor(null);
+            factory.getProperties().remove(AtlasContextFactory.PROPERTY_ATLASMAP_SESSION_SHARE_MAPPING);
+        }
+        Map<String, Object> target = process(new DefaultAtlasContext(factory, createAtlasMapping()))
+                .getTargetProperties();
+        assertEquals("FOO0", target.get("out0"));
+        assertEquals("foo1", target.get("out1"));
+        assertEquals("constant", target.get("constant"));
+        assertFalse(target.containsKey("number"));
+    }
+
+    private DefaultAtlasSession process(DefaultAtlasContext context) throws Exception {
+        DefaultAtlasSession session = (DefaultAtlasSession) context.createSession();
+        for (int i = 0; i < ENTRIES; i++) {
+            session.getSourceProperties().put("in" + i, "foo" + i);
+        }
+        session.getSourceProperties().put("number", "not a number");
+        context.process(session);
+        assertTrue(session.hasErrors());
+        return session;
+    }
+
+    private Executor countingExecutor(AtomicInteger submitted) {
+        return r -> {
+            submitted.incrementAndGet();
+            ForkJoinPool.commonPool().execute(r);
+        };
+    }
+
+    private List<String> toString(List<Audit> audits) {
+        List<String> answer = new ArrayList<>();
+        for (Audit audit : audits) {
+            answer.add(audit.getStatus() + ":" + audit.getDocId() + ":" + audit.getPath() + ":" + audit.getMessage());
+        }
+        return answer;
+    }
+
+    private AtlasMapping createAtlasMapping() {
+        AtlasMapping atlasMapping = AtlasModelFactory.createAtlasMapping();
+        atlasMapping.setName("parallel");
+        List<BaseMapping> mappings = atlasMapping.getMappings().getMapping();
+        for (int i = 0; i < ENTRIES; i++) {
+            Mapping m = createMapping("in" + i, FieldType.STRING, "out" + i, FieldType.STRING);
+            if (i % 2 == 0) {
+                m.getOutputField().get(0).setActions(new ArrayList<>(Collections.singletonList(new Uppercase())));
+            }
+            mappings.add(m);
+            if (i == ENTRIES / 2) {
+                mappings.add(createMapping("number", FieldType.STRING, "number", FieldType.INTEGER));
+                CustomMapping custom = new CustomMapping();
+                custom.setClassName("io.atlasmap.core.NotExist");
+                mappings.add(custom);
+            }
+        }
+        Mapping constant = AtlasModelFactory.createMapping(MappingType.MAP);
+        ConstantField source = new ConstantField();
+        source.setValue("constant");
+        source.setFieldType(FieldType.STRING);
+        constant.getInputField().add(source);
+        PropertyField target = AtlasModelFactory.createPropertyField();
+        target.setName("constant");
+        target.setPath("/constant");
+        target.setFieldType(FieldType.STRING);
+        constant.getOutputField().add(target);
+        mappings.add(constant);
+        return atlasMapping;
+    }
+
+    private Mapping createMapping(String sourceName, FieldType sourceType, String targetName, FieldType targetType) {
+        Mapping m = AtlasModelFactory.createMapping(MappingType.MAP);
+        PropertyField source = AtlasModelFactory.createPropertyField();
+        source.setName(sourceName);
+        source.setPath("/" + sourceName);
+        source.setFieldType(sourceType);
+        m.getInputField().add(source);
+        PropertyField target = AtlasModelFactory.createPropertyField();
+        target.setName(targetName);
+        target.setPath("/" + targetName);
+        target.setFieldType(targetType);
+        m.getOutputField().add(target);
+        return m;
+    }
+
+}
@@ -792,6 +792,18 @@ public class DefaultAtlasConversionServiceTest {
         assertEquals("passthrough", service.convertType("passthrough", FieldType.TIME, FieldType.ANY));
     }
 
+    @Test
+    public void testConvertTypeCachedConverter() throws AtlasConversionException {
+        // resolved converters are cached per source and target class, including unsupported pairs
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Integer.valueOf(1), service.convertType("1", null, Integer.class, null));
+            assertEquals(1, service.convertType("1", null, int.class, null));
+            assertEquals("2021-01-01", service.convertType(LocalDate.of(2021, 1, 1), null, String.class, null));
+            assertFalse(service.isConvertionAvailableFor(new Object(), Integer.class));
+            assertThrows(AtlasConversionException.class, () -> service.convertType(new Object(), null, Integer.class, null));
+        }
+    }
+
     @Test
     public void testConvertTypeAtlasConversionException() throws AtlasConversionException {
         assertThrows(AtlasConversionException.class, () -> {
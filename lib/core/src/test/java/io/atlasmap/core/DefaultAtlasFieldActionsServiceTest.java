@@ -18,6 +18,7 @@ package io.atlasmap.core;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -44,9 +45,11 @@ import io.atlasmap.v2.ActionDetail;
 import io.atlasmap.v2.ActionParameter;
 import io.atlasmap.v2.Add;
 import io.atlasmap.v2.AddDays;
+import io.atlasmap.v2.AtlasModelFactory;
 import io.atlasmap.v2.Capitalize;
 import io.atlasmap.v2.CollectionType;
 import io.atlasmap.v2.Concatenate;
+import io.atlasmap.v2.CustomAction;
 import io.atlasmap.v2.Expression;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldGroup;
@@ -206,6 +209,23 @@ public class DefaultAtlasFieldActionsServiceTest {
         assertEquals(1L, processor.process(action, sourceObject));
     }
 
+    @Test
+    public void testFindActionProcessorIndexed() throws Exception {
+        ActionProcessor byClass = fieldActionsService.findActionProcessor(new Trim(), FieldType.STRING);
+        assertNotNull(byClass);
+        assertSame(byClass, fieldActionsService.findActionProcessor("trim", " foo "));
+        assertEquals("foo", byClass.process(new Trim(), " foo "));
+
+        CustomAction custom = new CustomAction();
+        custom.setName("trim");
+        custom.setClassName(byClass.getActionDetail().getClassName());
+        custom.setMethodName("trim");
+        assertSame(byClass, fieldActionsService.findActionProcessor(custom, FieldType.STRING));
+        custom.setMethodName("notExist");
+        assertNull(fieldActionsService.findActionProcessor(custom, FieldType.STRING));
+        assertNull(fieldActionsService.findActionProcessor("notExist", "foo"));
+    }
+
     @Test
     @SuppressWarnings("deprecation")
     public void testGetActionDetailByActionName() {
@@ -268,6 +288,43 @@ public class DefaultAtlasFieldActionsServiceTest {
         assertEquals("FOUR", f.getValue());
     }
 
+    @Test
+    public void testProcessActionForEachColumnarItem() throws Exception {
+        DefaultAtlasSession session = mock(DefaultAtlasSession.class);
+        Field template = new SimpleField();
+        template.setPath("/fields<>");
+        template.setFieldType(FieldType.STRING);
+        ColumnarFieldGroup fieldGroup = new ColumnarFieldGroup(template, 1, AtlasModelFactory::cloneFieldToSimpleField);
+        fieldGroup.add("one", FieldType.STRING);
+        fieldGroup.add("two", FieldType.STRING);
+        fieldGroup.add(3, "four", FieldType.STRING);
+        fieldGroup.setActions(new ArrayList<Action>());
+        fieldGroup.getActions().add(new Uppercase());
+        Field answer = fieldActionsService.processActions(session, fieldGroup);
+        assertSame(fieldGroup, answer);
+        assertEquals(3, fieldGroup.getElementCount());
+        assertEquals("ONE", fieldGroup.getElementValue(0));
+        assertEquals("TWO", fieldGroup.getElementValue(1));
+        Field f = fieldGroup.getField().get(2);
+        assertEquals("/fields<3>", f.getPath());
+        assertEquals("FOUR", f.getValue());
+    }
+
+    @Test
+    public void testProcessManyToOneActionColumnar() throws Exception {
+        DefaultAtlasSession session = mock(DefaultAtlasSession.class);
+        Field template = new SimpleField();
+        template.setPath("/fields<>");
+        ColumnarFieldGroup fieldGroup = new ColumnarFieldGroup(template, 1, AtlasModelFactory::cloneFieldToSimpleField);
+        for (int i = 1; i <= 100; i++) {
+            fieldGroup.add(i, FieldType.INTEGER);
+        }
+        fieldGroup.setActions(new ArrayList<Action>());
+        fieldGroup.getActions().add(new Add());
+        Field answer = fieldActionsService.processActions(session, fieldGroup);
+        assertEquals(5050L, ((Number) answer.getValue()).longValue());
+    }
+
     @Test
     public void testProcessOldExpressionActionWithRoot() throws Exception {
         DefaultAtlasSession session = mock(DefaultAtlasSession.class);
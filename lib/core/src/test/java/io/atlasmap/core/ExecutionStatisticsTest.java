@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class ExecutionStatisticsTest {
+
+    @Test
+    public void testRecord() {
+        ExecutionStatistics stats = new ExecutionStatistics();
+        assertEquals(0L, stats.getMinTime());
+        assertEquals(0L, stats.getPercentile(99));
+        for (long i = 1; i <= 1000; i++) {
+            stats.record(i * 1000L, i % 100 == 0);
+        }
+        assertEquals(1000L, stats.getCount());
+        assertEquals(10L, stats.getErrorCount());
+        assertEquals(990L, stats.getSuccessCount());
+        assertEquals(1000L, stats.getMinTime());
+        assertEquals(1000000L, stats.getMaxTime());
+        assertEquals(500500L, stats.getMeanTime());
+        assertWithin(500000L, stats.getPercentile(50));
+        assertWithin(990000L, stats.getPercentile(99));
+        assertEquals(1000000L, stats.getPercentile(100));
+
+        stats.reset();
+        assertEquals(0L, stats.getCount());
+        assertEquals(0L, stats.getMaxTime());
+        assertEquals(0L, stats.getPercentile(50));
+    }
+
+    @Test
+    public void testBucketIndex() {
+        int previous = -1;
+        for (long v = 0; v < 100000; v++) {
+            int index = ExecutionStatistics.bucketIndex(v);
+            assertTrue(index >= previous, "bucket index must be monotonic at " + v);
+            previous = index;
+            long midpoint = ExecutionStatistics.bucketMidpoint(index);
+            assertTrue(Math.abs(midpoint - v) <= Math.max(1L, v / 8), v + " -> " + midpoint);
+        }
+        assertEquals(ExecutionStatistics.bucketIndex(Long.MAX_VALUE), ExecutionStatistics.bucketIndex(1L << 50));
+    }
+
+    private void assertWithin(long expected, long actual) {
+        assertTrue(Math.abs(expected - actual) <= expected / 8, "expected ~" + expected + " but was " + actual);
+    }
+
+}
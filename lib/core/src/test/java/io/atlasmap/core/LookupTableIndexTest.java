@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import io.atlasmap.api.AtlasContextFactory;
+import io.atlasmap.api.AtlasConversionException;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.LookupEntry;
+import io.atlasmap.v2.LookupTable;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
+import io.atlasmap.v2.PropertyField;
+
+public class LookupTableIndexTest {
+
+    @Test
+    public void testBuild() throws Exception {
+        LookupTable table = new LookupTable();
+        table.setName("table");
+        LookupTableIndex index = LookupTableIndex.build(table, Arrays.asList(
+                createEntry("A", "1", FieldType.INTEGER),
+                createEntry("A", "2", FieldType.INTEGER),
+                createEntry("B", "beta", null),
+                createEntry("C", "not a number", FieldType.INTEGER)),
+                DefaultAtlasConversionService.getInstance());
+        assertEquals(3, index.size());
+        assertEquals(1, index.get("A").getTargetValue());
+        assertEquals(FieldType.INTEGER, index.get("A").getTargetType());
+        assertEquals("beta", index.get("B").getTargetValue());
+        assertNull(index.get("B").getTargetType());
+        assertThrows(AtlasConversionException.class, () -> index.get("C").getTargetValue());
+        assertNull(index.get("D"));
+        assertNull(index.get(1));
+    }
+
+    @Test
+    public void testLookupEntriesFromADMArchive() throws Exception {
+        AtlasMapping atlasMapping = AtlasModelFactory.createAtlasMapping();
+        atlasMapping.setName("lookup");
+        Mapping m = AtlasModelFactory.createMapping(MappingType.LOOKUP);
+        m.setLookupTableName("table");
+        m.getInputField().add(createPropertyField("code", FieldType.STRING));
+        m.getOutputField().add(createPropertyField("amount", null));
+        atlasMapping.getMappings().getMapping().add(m);
+        LookupTable table = new LookupTable();
+        table.setName("table");
+        atlasMapping.getLookupTables().getLookupTable().add(table);
+
+        ADMArchiveHandler handler = new ADMArchiveHandler();
+        handler.setIgnoreLibrary(true);
+        handler.setMappingDefinition(atlasMapping);
+        handler.setLookupEntries("table", new ByteArrayInputStream(
+                ("[{\"sourceValue\":\"A\",\"targetValue\":\"1\",\"targetType\":\"INTEGER\"},"
+                + "{\"sourceValue\":\"B\",\"targetValue\":\"2\",\"targetType\":\"INTEGER\"}]").getBytes()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        handler.export(out);
+
+        DefaultAtlasContext context = DefaultAtlasContextFactory.getInstance().createContext(
+                AtlasContextFactory.Format.ADM, new ByteArrayInputStream(out.toByteArray()));
+        DefaultAtlasSession session = (DefaultAtlasSession) context.createSession();
+        LookupTableIndex index = context.getLookupTableIndex(context.getLookupTables().get("table"));
+        assertNotNull(index);
+        assertEquals(2, index.size());
+        session.getSourceProperties().put("code", "B");
+        context.process(session);
+        assertFalse(session.hasErrors());
+        assertEquals(2, session.getTargetProperties().get("amount"));
+    }
+
+    private LookupEntry createEntry(String source, String target, FieldType targetType) {
+        LookupEntry entry = new LookupEntry();
+        entry.setSourceValue(source);
+        entry.setTargetValue(target);
+        entry.setTargetType(targetType);
+        return entry;
+    }
+
+    private PropertyField createPropertyField(String name, FieldType type) {
+        PropertyField field = AtlasModelFactory.createPropertyField();
+        field.setName(name);
+        field.setPath("/" + name);
+        field.setFieldType(type);
+        return field;
+    }
+
+}
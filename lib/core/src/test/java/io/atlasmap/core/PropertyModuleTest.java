@@ -19,6 +19,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -149,12 +150,16 @@ public class PropertyModuleTest {
 
     @Test
     public void testIsStatisticsSupported() {
-        assertFalse(module.isStatisticsSupported());
+        assertTrue(module.isStatisticsSupported());
     }
 
     @Test
     public void testIsStatisticsEnabled() {
         assertFalse(module.isStatisticsEnabled());
+        module.setStatisticsEnabled(true);
+        assertTrue(module.isStatisticsEnabled());
+        module.setStatisticsEnabled(false);
+        assertFalse(module.isStatisticsEnabled());
     }
 
     @Test
@@ -17,7 +17,7 @@ package io.atlasmap.expression;
 
 import java.io.StringReader;
 
-import io.atlasmap.expression.internal.LRUCache;
+import io.atlasmap.expression.internal.ExpressionCache;
 import io.atlasmap.expression.parser.ParseException;
 import io.atlasmap.expression.parser.Parser;
 import io.atlasmap.v2.Field;
@@ -32,7 +32,11 @@ import io.atlasmap.v2.Field;
  */
 public interface Expression {
 
-    LRUCache<String, Object> CACHE = new LRUCache<>(100);
+    ExpressionCache CACHE = new ExpressionCache();
+
+    FunctionResolver DEFAULT_FUNCTION_RESOLVER = (name, args) -> {
+        throw new ParseException("Function not found: " + name);
+    };
 
     /**
      * Execute the expression against the given context.
@@ -44,30 +48,20 @@ public interface Expression {
     Field evaluate(ExpressionContext expressionContext) throws ExpressionException;
 
     static Expression parse(String expessionText, FunctionResolver functionResolver) throws ExpressionException {
-        if (functionResolver == null) {
-            functionResolver = (name, args) -> {
-                throw new ParseException("Function not found: " + name);
-            };
-        }
-        Object result = CACHE.get(expessionText);
-        if (result instanceof ExpressionException) {
-            throw (ExpressionException) result;
-        } else if (result instanceof Expression) {
-            return (Expression) result;
-        } else {
-            String actual = expessionText;
+        final FunctionResolver resolver = functionResolver != null ? functionResolver : DEFAULT_FUNCTION_RESOLVER;
+        Object result = CACHE.get(expessionText, resolver, actual -> {
             try {
                 Parser parser = new Parser(new StringReader(actual));
-                parser.functionResolver = functionResolver;
-                Expression e = parser.parse();
-                CACHE.put(expessionText, e);
-                return e;
+                parser.functionResolver = resolver;
+                return parser.parse();
             } catch (Throwable e) {
-                ExpressionException fe = new ExpressionException(actual, e);
-                CACHE.put(expessionText, fe);
-                throw fe;
+                return new ExpressionException(actual, e);
             }
+        });
+        if (result instanceof ExpressionException) {
+            throw (ExpressionException) result;
         }
+        return (Expression) result;
     }
 
     static void clearCache() {
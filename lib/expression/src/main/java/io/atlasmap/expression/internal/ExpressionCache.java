@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.expression.internal;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+import io.atlasmap.expression.FunctionResolver;
+
+/**
+ * A bounded cache of the parsed expressions keyed by the expression text and
+ * the {@link FunctionResolver} used to parse it.
+ */
+public class ExpressionCache extends LruCache<ExpressionCache.Key, Object> {
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    public ExpressionCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public ExpressionCache(int maxSize) {
+        super(maxSize);
+    }
+
+    /**
+     * Returns the cached value, or computes and caches it if it's not cached yet.
+     * @param expressionText expression text
+     * @param functionResolver function resolver used to parse the expression
+     * @param loader computes the value if it's not cached
+     * @return cached value, either a parsed expression or a parse error
+     */
+    public Object get(String expressionText, FunctionResolver functionResolver, Function<String, Object> loader) {
+        return computeIfAbsent(new Key(expressionText, functionResolver), key -> loader.apply(expressionText));
+    }
+
+    /**
+     * The cache key.
+     */
+    public static final class Key {
+        private final String expressionText;
+        private final FunctionResolver functionResolver;
+
+        Key(String expressionText, FunctionResolver functionResolver) {
+            this.expressionText = expressionText;
+            this.functionResolver = functionResolver;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return functionResolver == other.functionResolver
+                    && Objects.equals(expressionText, other.expressionText);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(expressionText) * 31 + System.identityHashCode(functionResolver);
+        }
+    }
+
+}
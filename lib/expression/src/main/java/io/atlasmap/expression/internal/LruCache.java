@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.expression.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread safe, bounded cache which evicts the least recently used entries. Reads don't take
+ * any lock. Once the number of entries exceeds the maximum size, it evicts down to 90% of the
+ * maximum size at once, so that the entries are not sorted on every single miss at capacity.
+ * Hit, miss and eviction counts are recorded so that they can be exposed through JMX.
+ * This is shared by the expression, path and context caches.
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class LruCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile int maxSize;
+
+    public LruCache(int maxSize) {
+        setMaxSize(maxSize);
+    }
+
+    /**
+     * Returns the cached value, or loads and caches it if it's not cached yet.
+     * @param <E> exception type the loader throws
+     * @param key cache key
+     * @param loader loads the value if it's not cached
+     * @return cached value
+     * @throws E if the loader fails
+     */
+    public <E extends Exception> V computeIfAbsent(K key, Loader<? super K, ? extends V, E> loader) throws E {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            hits.increment();
+            entry.lastAccess = clock.incrementAndGet();
+            return entry.value;
+        }
+        misses.increment();
+        V value = loader.load(key);
+        entry = new Entry<>(value, clock.incrementAndGet());
+        Entry<V> existing = entries.putIfAbsent(key, entry);
+        if (existing != null) {
+            return existing.value;
+        }
+        if (entries.size() > maxSize) {
+            evict();
+        }
+        return value;
+    }
+
+    /**
+     * Returns the cached value without loading it.
+     * @param key cache key
+     * @return cached value, or {@code null} if it's not cached
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        entry.lastAccess = clock.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * Caches the value, replacing the existing one if any.
+     * @param key cache key
+     * @param value value
+     */
+    public void put(K key, V value) {
+        Entry<V> existing = entries.put(key, new Entry<>(value, clock.incrementAndGet()));
+        if (existing != null && existing.value != value) {
+            onRemoval(key, existing.value);
+        }
+        if (entries.size() > maxSize) {
+            evict();
+        }
+    }
+
+    /**
+     * Removes the entry if it's cached.
+     * @param key cache key
+     */
+    public void remove(K key) {
+        Entry<V> entry = entries.remove(key);
+        if (entry != null) {
+            onRemoval(key, entry.value);
+        }
+    }
+
+    private synchronized void evict() {
+        int overflow = entries.size() - maxSize;
+        if (overflow <= 0) {
+            return;
+        }
+        int toEvict = overflow + maxSize / 10;
+        List<Map.Entry<K, Entry<V>>> snapshot = new ArrayList<>(entries.entrySet());
+        snapshot.sort((a, b) -> Long.compare(a.getValue().lastAccess, b.getValue().lastAccess));
+        for (int i = 0; i < toEvict && i < snapshot.size(); i++) {
+            Map.Entry<K, Entry<V>> victim = snapshot.get(i);
+            if (entries.remove(victim.getKey(), victim.getValue())) {
+                evictions.increment();
+                onRemoval(victim.getKey(), victim.getValue().value);
+            }
+        }
+    }
+
+    /**
+     * Called when an entry is evicted or cleared, to release the resources held by the value.
+     * @param key key
+     * @param value removed value
+     */
+    protected void onRemoval(K key, V value) {
+    }
+
+    /**
+     * Removes all the entries.
+     */
+    public void clear() {
+        for (K key : new ArrayList<>(entries.keySet())) {
+            Entry<V> entry = entries.remove(key);
+            if (entry != null) {
+                onRemoval(key, entry.value);
+            }
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the maximum number of the cached entries.
+     * @param maxSize maximum size
+     */
+    public void setMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        if (entries.size() > maxSize) {
+            evict();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the ratio of the hits to all lookups.
+     * @return hit rate between 0 and 1, or 0 if nothing is looked up yet
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0d : (double) h / total;
+    }
+
+    /**
+     * Loads a value to be cached.
+     * @param <K> key type
+     * @param <V> value type
+     * @param <E> exception type
+     */
+    @FunctionalInterface
+    public interface Loader<K, V, E extends Exception> {
+        V load(K key) throws E;
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private volatile long lastAccess;
+
+        Entry(V value, long lastAccess) {
+            this.value = value;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import io.atlasmap.expression.internal.ExpressionCache;
+
+public class ExpressionCacheTest {
+
+    @Test
+    public void testHitMissAndEviction() {
+        ExpressionCache cache = new ExpressionCache(10);
+        FunctionResolver resolver = ExpressionTest.FUNCTION_RESOLVER;
+        Object first = cache.get("1 + 1", resolver, text -> new Object());
+        assertSame(first, cache.get("1 + 1", resolver, text -> new Object()));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        // the function resolver is a part of the key
+        assertNotSame(first, cache.get("1 + 1", Expression.DEFAULT_FUNCTION_RESOLVER, text -> new Object()));
+        assertEquals(2, cache.getMissCount());
+
+        for (int i = 0; i < 10; i++) {
+            cache.get("1 + 1", resolver, text -> new Object());
+            cache.get("expr" + i, resolver, text -> new Object());
+        }
+        assertEquals(10, cache.size());
+        assertEquals(2, cache.getEvictionCount());
+        // recently used one survives
+        assertSame(first, cache.get("1 + 1", resolver, text -> new Object()));
+
+        cache.setMaxSize(2);
+        assertEquals(2, cache.size());
+        assertSame(first, cache.get("1 + 1", resolver, text -> new Object()));
+    }
+
+    @Test
+    public void testParseErrorIsCached() {
+        Expression.clearCache();
+        long misses = Expression.CACHE.getMissCount();
+        assertThrows(ExpressionException.class, () -> Expression.parse("UNKNOWNFUNCTION(1)", null));
+        assertThrows(ExpressionException.class, () -> Expression.parse("UNKNOWNFUNCTION(1)", null));
+        assertEquals(misses + 1, Expression.CACHE.getMissCount());
+    }
+
+}
@@ -23,7 +23,7 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 @JsonTypeInfo(include = JsonTypeInfo.As.PROPERTY, use = JsonTypeInfo.Id.CLASS, property = "jsonType")
 public abstract class Field
-    implements Serializable
+    implements Serializable, Cloneable
 {
 
     private static final long serialVersionUID = 1L;
@@ -437,4 +437,23 @@ public abstract class Field
     public void setName(String value) {
         this.name = value;
     }
+
+    /**
+     * Creates a shallow copy of this field to be processed in place of it, so that the value,
+     * index and path set while processing are not written into this field. The actions
+     * themselves are shared, only the list is copied.
+     *
+     * @return a copy of this field
+     */
+    public Field workingCopy() {
+        try {
+            Field answer = (Field) super.clone();
+            if (this.actions != null) {
+                answer.actions = new ArrayList<Action>(this.actions);
+            }
+            return answer;
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -55,4 +55,21 @@ public class FieldGroup extends Field implements Serializable
         return this.field;
     }
 
+    /**
+     * Creates a copy of this field group, each child field is also copied by {@link Field#workingCopy()}.
+     *
+     * @return a copy of this field group
+     */
+    @Override
+    public FieldGroup workingCopy() {
+        FieldGroup answer = (FieldGroup) super.workingCopy();
+        if (this.field != null) {
+            answer.field = new ArrayList<Field>(this.field.size());
+            for (Field f : this.field) {
+                answer.field.add(f.workingCopy());
+            }
+        }
+        return answer;
+    }
+
 }
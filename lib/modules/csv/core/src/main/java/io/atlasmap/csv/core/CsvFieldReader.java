@@ -20,7 +20,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
@@ -29,9 +34,11 @@ import org.apache.commons.csv.CSVRecord;
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.core.AtlasPath;
 import io.atlasmap.core.AtlasUtil;
+import io.atlasmap.core.ColumnarFieldGroup;
 import io.atlasmap.csv.v2.CsvComplexType;
 import io.atlasmap.csv.v2.CsvField;
 import io.atlasmap.csv.v2.CsvFields;
+import io.atlasmap.spi.AtlasFieldCursor;
 import io.atlasmap.spi.AtlasFieldReader;
 import io.atlasmap.spi.AtlasInternalSession;
 import io.atlasmap.v2.AtlasModelFactory;
@@ -45,24 +52,40 @@ import io.atlasmap.v2.Fields;
 
 /**
  * It accepts InputStream as a document in order to process big files efficiently.
- * It uses the mark operation of the InputStream to reset the stream and read consecutive fields.
- * If InputStream does not support the mark operation it is wrapped in BufferedInputStream.
+ * The document is parsed once when the first field is read, and the values of the columns
+ * specified by {@link #setSourceFields(List)} are kept in memory column by column. The document
+ * is then consumed in a single pass without being buffered, so that a column which is not specified
+ * can't be read afterwards.
+ * If the source fields are not specified, it uses the mark operation of the InputStream to reset
+ * the stream and parse it again for each column which is not parsed yet. If InputStream does not
+ * support the mark operation it is wrapped in BufferedInputStream.
  */
 public class CsvFieldReader implements AtlasFieldReader {
 
     private final CsvConfig csvConfig;
     private InputStream document;
+    private List<CsvField> sourceFields;
+    private Map<Object, Column> columns;
+    private boolean consumed;
 
     public CsvFieldReader(CsvConfig csvConfig) {
         this.csvConfig = csvConfig;
     }
 
     public void setDocument(InputStream inputStream) {
-        if (inputStream != null && !inputStream.markSupported()) {
-            this.document = new BufferedInputStream(inputStream);
-        } else {
-            this.document = inputStream;
-        }
+        this.document = inputStream;
+        this.columns = null;
+        this.consumed = false;
+    }
+
+    /**
+     * Sets the source fields which are going to be read from the document, so that all their
+     * columns are collected in a single pass.
+     * @param fields source fields
+     */
+    public void setSourceFields(List<CsvField> fields) {
+        this.sourceFields = fields;
+        this.columns = null;
     }
 
     @Override
@@ -112,57 +135,84 @@ public class CsvFieldReader implements AtlasFieldReader {
         }
     }
 
+    /**
+     * Opens a cursor over the rows of the source column field set in the session head, e.g. {@code /<>/name}.
+     * @param session session
+     * @return the cursor, or {@code null} if the field can't be read row by row
+     * @throws AtlasException failed to parse the document
+     */
+    public AtlasFieldCursor openCursor(AtlasInternalSession session) throws AtlasException {
+        Field field = session.head().getSourceField();
+        if (document == null || !(field instanceof CsvField)) {
+            return null;
+        }
+        AtlasPath path = new AtlasPath(field.getPath());
+        if (path.getRootSegment().getCollectionIndex() != null) {
+            return null;
+        }
+        Column column = getColumn((CsvField) field);
+        if (column.failures != null) {
+            return null;
+        }
+        CsvField item = CsvField.cloneOf((CsvField) field);
+        item.setIndex(null);
+        item.setActions(null);
+        return new AtlasFieldCursor() {
+            private int next;
+
+            @Override
+            public Field next() {
+                if (next >= column.values.size()) {
+                    return null;
+                }
+                AtlasPath itemPath = path.clone();
+                itemPath.setCollectionIndex(0, next);
+                item.setPath(itemPath.toString());
+                item.setFieldType(field.getFieldType());
+                item.setValue(column.values.get(next++));
+                return item;
+            }
+        };
+    }
+
     private Field readFields(CsvField field) throws AtlasException {
         List<Field> fields = new ArrayList<>();
         CsvField csvField = field;
-        CSVFormat csvFormat = csvConfig.newCsvFormat();
-        try {
-            document.mark(Integer.MAX_VALUE);
+        Column column = getColumn(csvField);
 
-            CSVParser parser = csvFormat.parse(new InputStreamReader(document));
-
-            AtlasPath atlasPath = new AtlasPath(csvField.getPath());
-            int i = 0;
-            Integer fieldIndex = atlasPath.getRootSegment().getCollectionIndex();
-            if (fieldIndex != null) {
-                for (CSVRecord record: parser) {
-                    if (i == fieldIndex) {
-                        CsvField newField = CsvField.cloneOf(csvField);
-                        newField.setIndex(null); //do not copy over index if set
-                        String value;
-                        if (csvField.getColumn() != null) {
-                            value = record.get(csvField.getColumn());
-                        } else {
-                            value = record.get(csvField.getName());
-                        }
-                        newField.setValue(value);
-                        fields.add(newField);
-                        break;
-                    }
-                    i++;
+        AtlasPath atlasPath = new AtlasPath(csvField.getPath());
+        Integer fieldIndex = atlasPath.getRootSegment().getCollectionIndex();
+        if (fieldIndex != null) {
+            if (fieldIndex >= 0 && fieldIndex < column.values.size()) {
+                if (column.failureAt(fieldIndex) != null) {
+                    throw column.failureAt(fieldIndex);
                 }
-            } else {
-                for (CSVRecord record: parser) {
-                    CsvField collectionField = CsvField.cloneOf(csvField);
-                    collectionField.setIndex(null); //do not copy over index if set
-                    String value;
-                    if (csvField.getColumn() != null) {
-                        value = record.get(csvField.getColumn());
-                    } else {
-                        value = record.get(csvField.getName());
-                    }
-                    collectionField.setValue(value);
-                    AtlasPath collectionFieldPath = new AtlasPath(collectionField.getPath());
-                    collectionFieldPath.setCollectionIndex(0, i);
-                    collectionField.setPath(collectionFieldPath.toString());
-                    fields.add(collectionField);
-                    i++;
+                CsvField newField = CsvField.cloneOf(csvField);
+                newField.setIndex(null); //do not copy over index if set
+                newField.setValue(column.values.get(fieldIndex));
+                fields.add(newField);
+            }
+        } else {
+            if (column.failures != null) {
+                throw column.firstFailure();
+            }
+            if (column.values.size() != 1) {
+                // keep the values in a column rather than creating a CsvField per row
+                ColumnarFieldGroup fieldGroup = new ColumnarFieldGroup(field, 0, f -> CsvField.cloneOf((CsvField) f));
+                for (String value : column.values) {
+                    fieldGroup.add(value, field.getFieldType());
                 }
+                return fieldGroup;
+            }
+            for (int i = 0; i < column.values.size(); i++) {
+                CsvField collectionField = CsvField.cloneOf(csvField);
+                collectionField.setIndex(null); //do not copy over index if set
+                collectionField.setValue(column.values.get(i));
+                AtlasPath collectionFieldPath = new AtlasPath(collectionField.getPath());
+                collectionFieldPath.setCollectionIndex(0, i);
+                collectionField.setPath(collectionFieldPath.toString());
+                fields.add(collectionField);
             }
-
-            document.reset();
-        } catch (IOException e) {
-            throw new AtlasException(e);
         }
 
         if (fields.size() == 1) {
@@ -175,6 +225,98 @@ public class CsvFieldReader implements AtlasFieldReader {
 
     }
 
+    private Column getColumn(CsvField csvField) throws AtlasException {
+        Object key = Column.keyOf(csvField);
+        if (columns == null) {
+            columns = new HashMap<>();
+            columns.put(key, new Column(key));
+            if (sourceFields != null) {
+                for (CsvField f : sourceFields) {
+                    columns.putIfAbsent(Column.keyOf(f), new Column(Column.keyOf(f)));
+                }
+            }
+            // keep the document only if the columns to read are not known in advance
+            parse(columns.values(), sourceFields == null);
+        } else if (!columns.containsKey(key)) {
+            if (consumed) {
+                throw new AtlasException(String.format(
+                    "Column '%s' is not one of the source fields and the document has already been consumed", key));
+            }
+            Column column = new Column(key);
+            columns.put(key, column);
+            parse(Collections.singletonList(column), true);
+        }
+        return columns.get(key);
+    }
+
+    private void parse(Collection<Column> targets, boolean reparse) throws AtlasException {
+        CSVFormat csvFormat = csvConfig.newCsvFormat();
+        try {
+            if (reparse) {
+                markDocument();
+            }
+            CSVParser parser = csvFormat.parse(new InputStreamReader(document));
+            for (CSVRecord record : parser) {
+                for (Column column : targets) {
+                    column.add(record);
+                }
+            }
+            if (reparse) {
+                document.reset();
+            } else {
+                consumed = true;
+            }
+        } catch (IOException e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    private void markDocument() {
+        if (!document.markSupported()) {
+            document = new BufferedInputStream(document);
+        }
+        document.mark(Integer.MAX_VALUE);
+    }
+
+    /**
+     * The values of a column, keyed by either column index or column name.
+     * If the column could not be read from a record, the failure is kept for that row
+     * so that it's thrown only when the missing value is requested.
+     */
+    private static final class Column {
+        private final Object key;
+        private final List<String> values = new ArrayList<>();
+        private TreeMap<Integer, RuntimeException> failures;
+
+        private Column(Object key) {
+            this.key = key;
+        }
+
+        private static Object keyOf(CsvField field) {
+            return field.getColumn() != null ? (Object) field.getColumn() : field.getName();
+        }
+
+        private void add(CSVRecord record) {
+            try {
+                values.add(key instanceof Integer ? record.get((Integer) key) : record.get((String) key));
+            } catch (RuntimeException e) {
+                if (failures == null) {
+                    failures = new TreeMap<>();
+                }
+                failures.put(values.size(), e);
+                values.add(null);
+            }
+        }
+
+        private RuntimeException failureAt(int row) {
+            return failures != null ? failures.get(row) : null;
+        }
+
+        private RuntimeException firstFailure() {
+            return failures != null ? failures.firstEntry().getValue() : null;
+        }
+    }
+
     /**
      * Reads only the first row of the document.
      *
@@ -188,7 +330,7 @@ public class CsvFieldReader implements AtlasFieldReader {
         CSVFormat csvFormat = csvConfig.newCsvFormat();
         CSVParser parser;
         try {
-            document.mark(Integer.MAX_VALUE);
+            markDocument();
             parser = csvFormat.parse(new InputStreamReader(document));
 
         } catch (IOException e) {
@@ -25,6 +25,7 @@ import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 
 import io.atlasmap.api.AtlasException;
+import io.atlasmap.core.ColumnarFieldGroup;
 import io.atlasmap.csv.v2.CsvField;
 import io.atlasmap.spi.AtlasFieldWriter;
 import io.atlasmap.spi.AtlasInternalSession;
@@ -62,7 +63,9 @@ public class CsvFieldWriter implements AtlasFieldWriter {
         if (sourceField instanceof FieldGroup) {
             FieldGroup targetFieldGroup = AtlasModelFactory.createFieldGroupFrom(targetField, true);
 
-            for (Field sourceSubField: ((FieldGroup) sourceField).getField()) {
+            FieldGroup sourceFieldGroup = (FieldGroup) sourceField;
+            for (int i = 0; i < sourceFieldGroup.getField().size(); i++) {
+                Field sourceSubField = ColumnarFieldGroup.getElementField(sourceFieldGroup, i);
                 CsvField targetCsvField = (CsvField) targetField;
                 CsvField targetCsvSubField = new CsvField();
                 AtlasModelFactory.copyField(targetField, targetCsvSubField, false);
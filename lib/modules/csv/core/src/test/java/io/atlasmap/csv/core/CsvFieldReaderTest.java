@@ -16,11 +16,14 @@
 package io.atlasmap.csv.core;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
+import java.util.Arrays;
 
+import io.atlasmap.api.AtlasException;
 import io.atlasmap.csv.v2.CsvComplexType;
 import io.atlasmap.v2.Document;
 import org.junit.jupiter.api.Test;
@@ -29,6 +32,7 @@ import io.atlasmap.csv.v2.CsvField;
 import io.atlasmap.spi.AtlasInternalSession;
 import io.atlasmap.v2.AuditStatus;
 import io.atlasmap.v2.Audits;
+import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldGroup;
 
 public class CsvFieldReaderTest {
@@ -153,6 +157,109 @@ public class CsvFieldReaderTest {
         assertEquals("/<1>/FAMILYNAME", field.getField().get(1).getPath());
     }
 
+    @Test
+    public void testReadSourceFieldsInSinglePass() throws Exception {
+        CsvConfig csvConfig = new CsvConfig();
+        csvConfig.setFirstRecordAsHeader(true);
+        CsvFieldReader csvFieldReader = new CsvFieldReader(csvConfig);
+        int[] resetCount = new int[1];
+        csvFieldReader.setDocument(new ByteArrayInputStream("givenName,familyName\nBob,Smith\nAndrew,Johnson".getBytes()) {
+            @Override
+            public synchronized void reset() {
+                resetCount[0]++;
+                super.reset();
+            }
+        });
+        CsvField givenName = new CsvField();
+        givenName.setName("givenName");
+        givenName.setPath("/<>/givenName");
+        CsvField familyName = new CsvField();
+        familyName.setName("familyName");
+        familyName.setPath("/<1>/familyName");
+        csvFieldReader.setSourceFields(Arrays.asList(givenName, familyName));
+
+        AtlasInternalSession session = mock(AtlasInternalSession.class);
+        when(session.head()).thenReturn(mock(AtlasInternalSession.Head.class));
+        Audits audits = new Audits();
+        when(session.getAudits()).thenReturn(audits);
+        when(session.head().getSourceField()).thenReturn(givenName);
+        FieldGroup group = (FieldGroup) csvFieldReader.read(session);
+        assertEquals("Bob", group.getField().get(0).getValue());
+        assertEquals("Andrew", group.getField().get(1).getValue());
+        when(session.head().getSourceField()).thenReturn(familyName);
+        Field field = csvFieldReader.read(session);
+        assertEquals("Johnson", field.getValue());
+        // the document is consumed in a single pass without being kept
+        assertEquals(0, resetCount[0]);
+
+        CsvField notSpecified = new CsvField();
+        notSpecified.setName("familyName");
+        notSpecified.setColumn(1);
+        notSpecified.setPath("/<0>/familyName");
+        when(session.head().getSourceField()).thenReturn(notSpecified);
+        assertThrows(AtlasException.class, () -> csvFieldReader.read(session));
+        assertEquals(0, audits.getAudit().size());
+    }
+
+    @Test
+    public void testReadColumnsOnDemand() throws Exception {
+        CsvConfig csvConfig = new CsvConfig();
+        csvConfig.setFirstRecordAsHeader(true);
+        CsvFieldReader csvFieldReader = new CsvFieldReader(csvConfig);
+        int[] resetCount = new int[1];
+        csvFieldReader.setDocument(new ByteArrayInputStream("givenName,familyName\nBob,Smith\nAndrew,Johnson".getBytes()) {
+            @Override
+            public synchronized void reset() {
+                resetCount[0]++;
+                super.reset();
+            }
+        });
+        AtlasInternalSession session = mock(AtlasInternalSession.class);
+        when(session.head()).thenReturn(mock(AtlasInternalSession.Head.class));
+        when(session.getAudits()).thenReturn(new Audits());
+
+        // the source fields are not specified, each column is parsed on demand
+        CsvField givenName = new CsvField();
+        givenName.setName("givenName");
+        givenName.setPath("/<1>/givenName");
+        when(session.head().getSourceField()).thenReturn(givenName);
+        assertEquals("Andrew", csvFieldReader.read(session).getValue());
+        assertEquals(1, resetCount[0]);
+        CsvField familyName = new CsvField();
+        familyName.setName("familyName");
+        familyName.setColumn(1);
+        familyName.setPath("/<0>/familyName");
+        when(session.head().getSourceField()).thenReturn(familyName);
+        assertEquals("Smith", csvFieldReader.read(session).getValue());
+        assertEquals(2, resetCount[0]);
+        when(session.head().getSourceField()).thenReturn(givenName);
+        assertEquals("Andrew", csvFieldReader.read(session).getValue());
+        assertEquals(2, resetCount[0]);
+    }
+
+    @Test
+    public void testReadRowsMissingColumn() throws Exception {
+        CsvFieldReader csvFieldReader = new CsvFieldReader(new CsvConfig());
+        csvFieldReader.setDocument(new ByteArrayInputStream("Bob,Smith\nAndrew\nJohn,Doe".getBytes()));
+        AtlasInternalSession session = mock(AtlasInternalSession.class);
+        when(session.head()).thenReturn(mock(AtlasInternalSession.Head.class));
+        when(session.getAudits()).thenReturn(new Audits());
+        CsvField csvField = new CsvField();
+        csvField.setName("1");
+        csvField.setColumn(1);
+
+        // only the row which lacks the column fails
+        csvField.setPath("/<0>/1");
+        when(session.head().getSourceField()).thenReturn(csvField);
+        assertEquals("Smith", csvFieldReader.read(session).getValue());
+        csvField.setPath("/<2>/1");
+        assertEquals("Doe", csvFieldReader.read(session).getValue());
+        csvField.setPath("/<1>/1");
+        assertThrows(RuntimeException.class, () -> csvFieldReader.read(session));
+        csvField.setPath("/<>/1");
+        assertThrows(RuntimeException.class, () -> csvFieldReader.read(session));
+    }
+
     @Test
     public void testReadSchemaWithHeaderSpecified() throws Exception {
         CsvConfig csvConfig = new CsvConfig();
@@ -17,6 +17,8 @@ package io.atlasmap.csv.module;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,11 +30,16 @@ import io.atlasmap.csv.core.CsvConfig;
 import io.atlasmap.csv.core.CsvFieldReader;
 import io.atlasmap.csv.core.CsvFieldWriter;
 import io.atlasmap.csv.v2.CsvField;
+import io.atlasmap.spi.AtlasFieldCursor;
 import io.atlasmap.spi.AtlasInternalSession;
 import io.atlasmap.spi.AtlasModuleDetail;
+import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.AuditStatus;
+import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.Collection;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldGroup;
+import io.atlasmap.v2.Mapping;
 
 @AtlasModuleDetail(name = "CsvModule", uri = "atlas:csv", modes = { "SOURCE", "TARGET" }, dataFormats = {
         "csv" }, configPackages = { "io.atlasmap.csv.v2" })
@@ -63,6 +70,7 @@ public class CsvModule extends BaseAtlasModule {
         CsvConfig csvConfig = CsvConfig.newConfig(getUriParameters());
         CsvFieldReader reader = new CsvFieldReader(csvConfig);
         reader.setDocument(sourceInputStream);
+        reader.setSourceFields(collectSourceFields(session.getMapping()));
         session.setFieldReader(getDocId(), reader);
 
         if (LOG.isDebugEnabled()) {
@@ -70,6 +78,41 @@ public class CsvModule extends BaseAtlasModule {
         }
     }
 
+    private List<CsvField> collectSourceFields(AtlasMapping atlasMapping) {
+        List<CsvField> answer = new ArrayList<>();
+        if (atlasMapping == null || atlasMapping.getMappings() == null) {
+            return answer;
+        }
+        collectSourceFields(atlasMapping.getMappings().getMapping(), answer);
+        return answer;
+    }
+
+    private void collectSourceFields(List<BaseMapping> mappings, List<CsvField> answer) {
+        for (BaseMapping baseMapping : mappings) {
+            if (baseMapping instanceof Collection) {
+                collectSourceFields(((Collection) baseMapping).getMappings().getMapping(), answer);
+            } else if (baseMapping instanceof Mapping) {
+                Mapping mapping = (Mapping) baseMapping;
+                if (mapping.getInputFieldGroup() != null) {
+                    collectSourceField(mapping.getInputFieldGroup(), answer);
+                }
+                for (Field f : mapping.getInputField()) {
+                    collectSourceField(f, answer);
+                }
+            }
+        }
+    }
+
+    private void collectSourceField(Field field, List<CsvField> answer) {
+        if (field instanceof FieldGroup) {
+            for (Field f : ((FieldGroup) field).getField()) {
+                collectSourceField(f, answer);
+            }
+        } else if (field instanceof CsvField && getDocId().equals(field.getDocId())) {
+            answer.add((CsvField) field);
+        }
+    }
+
     @Override
     public void processPreTargetExecution(AtlasInternalSession session) throws AtlasException {
         CsvConfig csvConfig = CsvConfig.newConfig(getUriParameters());
@@ -101,6 +144,12 @@ public class CsvModule extends BaseAtlasModule {
         }
     }
 
+    @Override
+    public AtlasFieldCursor openSourceCursor(AtlasInternalSession session) throws AtlasException {
+        CsvFieldReader reader = session.getFieldReader(getDocId(), CsvFieldReader.class);
+        return reader != null ? reader.openCursor(session) : null;
+    }
+
     @Override
     public void writeTargetValue(AtlasInternalSession session) throws AtlasException {
         CsvFieldWriter writer = session.getFieldWriter(getDocId(), CsvFieldWriter.class);
@@ -90,6 +90,12 @@ public class DfdlModule extends XmlModule {
         return dfdlValidationService;
     }
 
+    @Override
+    protected boolean isStreamingEnabled() {
+        // the source document is converted into XML by daffodil
+        return false;
+    }
+
     @Override
     protected Document convertToXmlDocument(String source, boolean namespaced) throws AtlasException {
         W3CDOMInfosetOutputter output = new W3CDOMInfosetOutputter();
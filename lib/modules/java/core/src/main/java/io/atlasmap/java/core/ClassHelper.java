@@ -21,11 +21,14 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.atlasmap.core.AtlasUtil;
 import io.atlasmap.java.core.accessor.FieldAccessor;
@@ -34,6 +37,13 @@ import io.atlasmap.java.core.accessor.JavaChildAccessor;
 
 public class ClassHelper {
 
+    private static final ClassValue<ClassMembers> CLASS_MEMBERS = new ClassValue<ClassMembers>() {
+        @Override
+        protected ClassMembers computeValue(Class<?> type) {
+            return new ClassMembers(type);
+        }
+    };
+
     public static List<String> getterMethodNames(String fieldName) {
         List<String> opts = new ArrayList<String>();
         opts.add(getMethodNameFromFieldName(fieldName));
@@ -50,22 +60,44 @@ public class ClassHelper {
     }
 
     public static Method detectGetterMethod(Class<?> clazz, String methodName) throws NoSuchMethodException {
+        Method answer = findGetterMethod(clazz, methodName);
+        if (answer != null) {
+            return answer;
+        }
 
-        Method[] methods = clazz.getMethods();
+        throw new NoSuchMethodException(
+                String.format("No matching getter method for class=%s method=%s", clazz.getName(), methodName));
+    }
 
-        for (Method method : methods) {
-            if (method.getName().equals(methodName) && method.getParameterCount() == 0) {
+    /**
+     * Finds a public no-arg method with the name. Same as {@link #detectGetterMethod(Class, String)}
+     * but returns {@code null} instead of throwing if it's not found.
+     * @param clazz class
+     * @param methodName method name
+     * @return method or {@code null}
+     */
+    public static Method findGetterMethod(Class<?> clazz, String methodName) {
+        for (Method method : CLASS_MEMBERS.get(clazz).getMethods(methodName)) {
+            if (method.getParameterCount() == 0) {
                 return method;
             }
         }
+        return null;
+    }
 
-        throw new NoSuchMethodException(
-                String.format("No matching getter method for class=%s method=%s", clazz.getName(), methodName));
+    /**
+     * Finds a field declared by the class itself, not by its super classes.
+     * @param clazz class
+     * @param fieldName field name
+     * @return field or {@code null}
+     */
+    public static Field findDeclaredField(Class<?> clazz, String fieldName) {
+        return CLASS_MEMBERS.get(clazz).getDeclaredFields().get(fieldName);
     }
 
     public static Map<String, Method> detectAllGetterMethods(Class<?> clazz) throws Exception {
         Map<String, Method> answer = new HashMap<>();
-        Method[] methods = clazz.getMethods();
+        Method[] methods = CLASS_MEMBERS.get(clazz).methods;
         for (Method method : methods) {
             if (method.getName().startsWith("get") && method.getParameterTypes().length == 0
              && method.getReturnType() != Void.class) {
@@ -97,9 +129,8 @@ public class ClassHelper {
             throws NoSuchMethodException {
         List<Method> candidates = new ArrayList<Method>();
 
-        Method[] methods = clazz.getMethods();
-        for (Method method : methods) {
-            if (method.getName().equals(methodName) && method.getParameterCount() == 1) {
+        for (Method method : CLASS_MEMBERS.get(clazz).getMethods(methodName)) {
+            if (method.getParameterCount() == 1) {
                 candidates.add(method);
             }
         }
@@ -185,38 +216,14 @@ public class ClassHelper {
     }
 
     public static Method lookupGetterMethod(Object object, String name) {
-        List<String> getters = getterMethodNames(name);
-        Method getterMethod = null;
-        for (String getter : getters) {
-            try {
-                getterMethod = detectGetterMethod(object.getClass(), getter);
-                break;
-            } catch (NoSuchMethodException e) {
-                // exhaust options
-            }
-        }
-
-        if (getterMethod == null) {
-            return null;
-        } else {
-            getterMethod.setAccessible(true);
-            return getterMethod;
-        }
+        return CLASS_MEMBERS.get(object.getClass()).lookupGetterMethod(name).orElse(null);
     }
 
     public static Field lookupJavaField(Object source, String fieldName) {
-        Class<?> targetClazz = source != null ? source.getClass() : null;
-        while (targetClazz != null && targetClazz != Object.class) {
-            try {
-                Field field = targetClazz.getDeclaredField(fieldName);
-                field.setAccessible(true);
-                return field;
-            } catch (Exception e) {
-                e.getMessage(); // ignore
-                targetClazz = targetClazz.getSuperclass();
-            }
+        if (source == null) {
+            return null;
         }
-        return null;
+        return CLASS_MEMBERS.get(source.getClass()).lookupJavaField(fieldName).orElse(null);
     }
 
     public static JavaChildAccessor lookupAccessor(Object source, String name) {
@@ -255,4 +262,73 @@ public class ClassHelper {
         return answer;
     }
 
+    /**
+     * Reflective members of a class, which are resolved once and shared across sessions
+     * since {@link Class#getMethods()} and friends copy the whole array on every call.
+     */
+    private static class ClassMembers {
+        private final Class<?> clazz;
+        private final Method[] methods;
+        private final Map<String, List<Method>> methodsByName = new HashMap<>();
+        private volatile Map<String, Field> declaredFields;
+        private final Map<String, Optional<Method>> getters = new ConcurrentHashMap<>();
+        private final Map<String, Optional<Field>> javaFields = new ConcurrentHashMap<>();
+
+        ClassMembers(Class<?> clazz) {
+            this.clazz = clazz;
+            this.methods = clazz.getMethods();
+            for (Method method : methods) {
+                methodsByName.computeIfAbsent(method.getName(), k -> new ArrayList<>(1)).add(method);
+            }
+        }
+
+        Map<String, Field> getDeclaredFields() {
+            Map<String, Field> answer = declaredFields;
+            if (answer == null) {
+                answer = new HashMap<>();
+                for (Field field : clazz.getDeclaredFields()) {
+                    answer.put(field.getName(), field);
+                }
+                declaredFields = answer;
+            }
+            return answer;
+        }
+
+        List<Method> getMethods(String name) {
+            return methodsByName.getOrDefault(name, Collections.emptyList());
+        }
+
+        Optional<Method> lookupGetterMethod(String name) {
+            return getters.computeIfAbsent(name, n -> {
+                for (String getter : getterMethodNames(n)) {
+                    Method answer = findGetterMethod(clazz, getter);
+                    if (answer != null) {
+                        answer.setAccessible(true);
+                        return Optional.of(answer);
+                    }
+                }
+                return Optional.empty();
+            });
+        }
+
+        Optional<Field> lookupJavaField(String name) {
+            return javaFields.computeIfAbsent(name, n -> {
+                Class<?> targetClazz = clazz;
+                while (targetClazz != null && targetClazz != Object.class) {
+                    try {
+                        Field field = findDeclaredField(targetClazz, n);
+                        if (field != null) {
+                            field.setAccessible(true);
+                            return Optional.of(field);
+                        }
+                    } catch (Exception e) {
+                        e.getMessage(); // ignore
+                    }
+                    targetClazz = targetClazz.getSuperclass();
+                }
+                return Optional.empty();
+            });
+        }
+    }
+
 }
@@ -27,6 +27,7 @@ import java.lang.reflect.Type;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -61,6 +62,30 @@ import io.atlasmap.v2.CollectionType;
 
 public class JavaFieldWriterUtil {
     private static final org.slf4j.Logger LOG = LoggerFactory.getLogger(JavaFieldWriterUtil.class);
+    private static final ClassValue<Instantiator> INSTANTIATORS = new ClassValue<Instantiator>() {
+        @Override
+        protected Instantiator computeValue(Class<?> type) {
+            return new Instantiator(type);
+        }
+    };
+    private static final ClassValue<List<Class<?>>> MAPPABLE_CLASSES = new ClassValue<List<Class<?>>>() {
+        @Override
+        protected List<Class<?>> computeValue(Class<?> type) {
+            List<Class<?>> classTree = new ArrayList<>();
+            classTree.add(type);
+            Class<?> superClazz = type.getSuperclass();
+            while (superClazz != null) {
+                if (JdkPackages.contains(superClazz.getPackage().getName())) {
+                    superClazz = null;
+                } else {
+                    classTree.add(superClazz);
+                    superClazz = superClazz.getSuperclass();
+                }
+            }
+            // DON'T reverse.. prefer child -> parent -> grandparent
+            return Collections.unmodifiableList(classTree);
+        }
+    };
     private AtlasConversionService conversionService = null;
     private ClassLoader classLoader;
     private Map<Class<?>, Class<?>> defaultCollectionImplClasses = new HashMap<>();
@@ -107,20 +132,7 @@ public class JavaFieldWriterUtil {
             clazz = this.defaultCollectionImplClasses.get(clazz);
         }
         try {
-            Constructor<?> constructor = null;
-            if (clazz.getEnclosingClass() != null && !Modifier.isStatic(clazz.getModifiers())) {
-                // Nested class requires an instance of enclosing class to instantiate
-                Object enclosing = clazz.getEnclosingClass()
-                                        .getDeclaredConstructor(new Class[0])
-                                        .newInstance(new Object[0]);
-                constructor = clazz.getDeclaredConstructor(new Class[] { enclosing.getClass() });
-                constructor.setAccessible(true);
-                return constructor.newInstance(new Object[] { enclosing });
-            } else {
-                constructor = clazz.getDeclaredConstructor(new Class[0]);
-                constructor.setAccessible(true);
-                return constructor.newInstance(new Object[0]);
-            }
+            return INSTANTIATORS.get(clazz).newInstance();
         } catch (Exception e) {
             throw new AtlasException("Could not instantiate class: " + clazz.getName(), e);
         }
@@ -167,10 +179,9 @@ public class JavaFieldWriterUtil {
             return null;
         }
 
-        getterMethod.setAccessible(true);
         Object childObject;
         try {
-            childObject = getterMethod.invoke(parentObject);
+            childObject = MemberHandles.invokeGetter(getterMethod, parentObject);
         } catch (Exception e) {
             throw new AtlasException(e);
         }
@@ -195,15 +206,13 @@ public class JavaFieldWriterUtil {
         try {
             Method setterMethod = resolveSetterMethod(parentObject, segmentContext, null);
             Object targetObject = instantiateObject(clazz);
-            setterMethod.setAccessible(true);
-            setterMethod.invoke(parentObject, targetObject);
+            MemberHandles.invokeSetter(setterMethod, parentObject, targetObject);
             return targetObject;
         } catch (Exception e) {
             try {
                 java.lang.reflect.Field field = resolveField(parentObject.getClass(), segmentContext.getName());
-                field.setAccessible(true);
                 Object targetObject = instantiateObject(clazz);
-                field.set(parentObject, targetObject);
+                MemberHandles.setField(field, parentObject, targetObject);
                 return targetObject;
             } catch (Exception e2) {
                 String parentClassName = parentObject == null ? null : parentObject.getClass().getName();
@@ -223,16 +232,14 @@ public class JavaFieldWriterUtil {
             Method setterMethod = resolveSetterMethod(parentObject, segmentContext, null);
             clazz = setterMethod.getParameterTypes()[0];
             Object targetObject = instantiateObject(clazz);
-            setterMethod.setAccessible(true);
-            setterMethod.invoke(parentObject, targetObject);
+            MemberHandles.invokeSetter(setterMethod, parentObject, targetObject);
             return targetObject;
         } catch (Exception e) {
             try {
                 java.lang.reflect.Field field = resolveField(parentObject.getClass(), segmentContext.getName());
-                field.setAccessible(true);
                 clazz = field.getType();
                 Object targetObject = instantiateObject(clazz);
-                field.set(parentObject, targetObject);
+                MemberHandles.setField(field, parentObject, targetObject);
                 return targetObject;
             } catch (Exception e2) {
                 String parentClassName = parentObject == null ? null : parentObject.getClass().getName();
@@ -267,8 +274,7 @@ public class JavaFieldWriterUtil {
                     }
                     return;
                 }
-                setterMethod.setAccessible(true);
-                setterMethod.invoke(targetObject, childObject);
+                MemberHandles.invokeSetter(setterMethod, targetObject, childObject);
             } catch (Exception e) {
                 java.lang.reflect.Field field = resolveField(targetObject.getClass(), segmentContext.getName());
                 if (field == null) {
@@ -288,8 +294,7 @@ public class JavaFieldWriterUtil {
                     }
                     return;
                 }
-                field.setAccessible(true);
-                field.set(targetObject, childObject);
+                MemberHandles.setField(field, targetObject, childObject);
             }
         } catch (Exception e) {
             String parentClassName = parentObject == null ? null : parentObject.getClass().getName();
@@ -521,17 +526,16 @@ public class JavaFieldWriterUtil {
         Method getterMethod = null;
         for (Class<?> clazz : classTree) {
             for (String getter : getters) {
-                try {
-                    return ClassHelper.detectGetterMethod(clazz, getter);
-                } catch (NoSuchMethodException e) {
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("Looking for getter for '{}' on this class: {}",
-                            fieldName, clazz.getName(), e);
-                    }
+                getterMethod = ClassHelper.findGetterMethod(clazz, getter);
+                if (getterMethod != null) {
+                    return getterMethod;
+                }
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Looking for getter for '{}' on this class: {}", fieldName, clazz.getName());
                 }
             }
         }
-        return getterMethod;
+        return null;
     }
 
     private Method resolveSetterMethod(Object sourceObject, SegmentContext segmentContext, Class<?> targetType)
@@ -590,7 +594,10 @@ public class JavaFieldWriterUtil {
         List<Class<?>> classTree = resolveMappableClasses(clz);
         for (Class<?> clazz : classTree) {
             try {
-                return clazz.getDeclaredField(name);
+                java.lang.reflect.Field field = ClassHelper.findDeclaredField(clazz, name);
+                if (field != null) {
+                    return field;
+                }
             } catch (Exception e) {
                 continue;
             }
@@ -609,23 +616,7 @@ public class JavaFieldWriterUtil {
     }
 
     private List<Class<?>> resolveMappableClasses(Class<?> clazz) {
-        List<Class<?>> classTree = new ArrayList<>();
-        classTree.add(clazz);
-        Class<?> superClazz = clazz.getSuperclass();
-        while (superClazz != null) {
-            if (JdkPackages.contains(superClazz.getPackage().getName())) {
-                superClazz = null;
-            } else {
-                classTree.add(superClazz);
-                superClazz = superClazz.getSuperclass();
-            }
-        }
-
-        // DON'T reverse.. prefer child -> parent -> grandparent
-        // List<Class<?>> reverseTree = classTree.subList(0, classTree.size());
-        // Collections.reverse(reverseTree);
-        // return reverseTree;
-
+        List<Class<?>> classTree = MAPPABLE_CLASSES.get(clazz);
         if (LOG.isDebugEnabled()) {
             LOG.debug("Found " + classTree.size() + " mappable classes for class '"
                     + clazz.getName() + "': " + classTree);
@@ -634,4 +625,43 @@ public class JavaFieldWriterUtil {
         return classTree;
     }
 
+    /**
+     * Resolved constructors to instantiate a class, shared across sessions.
+     */
+    private static class Instantiator {
+        private final Constructor<?> enclosingConstructor;
+        private final Constructor<?> constructor;
+        private final Exception failure;
+
+        Instantiator(Class<?> clazz) {
+            Constructor<?> enclosing = null;
+            Constructor<?> ctor = null;
+            Exception error = null;
+            try {
+                if (clazz.getEnclosingClass() != null && !Modifier.isStatic(clazz.getModifiers())) {
+                    // Nested class requires an instance of enclosing class to instantiate
+                    enclosing = clazz.getEnclosingClass().getDeclaredConstructor(new Class[0]);
+                    ctor = clazz.getDeclaredConstructor(new Class[] { clazz.getEnclosingClass() });
+                } else {
+                    ctor = clazz.getDeclaredConstructor(new Class[0]);
+                }
+            } catch (Exception e) {
+                error = e;
+            }
+            this.enclosingConstructor = enclosing;
+            this.constructor = ctor;
+            this.failure = error;
+        }
+
+        Object newInstance() throws Exception {
+            if (failure != null) {
+                throw failure;
+            }
+            if (enclosingConstructor != null) {
+                return MemberHandles.newInstance(constructor, MemberHandles.newInstance(enclosingConstructor));
+            }
+            return MemberHandles.newInstance(constructor);
+        }
+    }
+
 }
@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.java.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Invokes the getters, setters, fields and constructors through {@link MethodHandle}s which are
+ * bound once per member and shared across sessions. The handles are adapted to the generic
+ * {@code Object} signature so that they're invoked with {@code invokeExact} without boxing the
+ * arguments into an array. If a handle can't be bound, e.g. for a static member or a final field,
+ * it falls back to the core reflection.
+ */
+public final class MemberHandles {
+    private static final Logger LOG = LoggerFactory.getLogger(MemberHandles.class);
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ClassValue<Map<Member, Optional<MethodHandle>>> INVOKERS =
+            new ClassValue<Map<Member, Optional<MethodHandle>>>() {
+                @Override
+                protected Map<Member, Optional<MethodHandle>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+    private static final ClassValue<Map<Member, Optional<MethodHandle>>> FIELD_SETTERS =
+            new ClassValue<Map<Member, Optional<MethodHandle>>>() {
+                @Override
+                protected Map<Member, Optional<MethodHandle>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private MemberHandles() {
+    }
+
+    /**
+     * Invokes a no-arg instance method.
+     * @param getter getter method
+     * @param target target object
+     * @return returned value
+     * @throws Exception failed to invoke
+     */
+    public static Object invokeGetter(Method getter, Object target) throws Exception {
+        MethodHandle handle = invoker(getter);
+        if (handle == null) {
+            return getter.invoke(target);
+        }
+        try {
+            return (Object) handle.invokeExact(target);
+        } catch (Throwable t) {
+            throw wrap(t);
+        }
+    }
+
+    /**
+     * Invokes a single argument instance method.
+     * @param setter setter method
+     * @param target target object
+     * @param value argument
+     * @throws Exception failed to invoke
+     */
+    public static void invokeSetter(Method setter, Object target, Object value) throws Exception {
+        MethodHandle handle = invoker(setter);
+        if (handle == null) {
+            setter.invoke(target, value);
+            return;
+        }
+        try {
+            handle.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw wrap(t);
+        }
+    }
+
+    /**
+     * Reads an instance field.
+     * @param field field
+     * @param target target object
+     * @return field value
+     * @throws Exception failed to read
+     */
+    public static Object getField(Field field, Object target) throws Exception {
+        MethodHandle handle = invoker(field);
+        if (handle == null) {
+            return field.get(target);
+        }
+        try {
+            return (Object) handle.invokeExact(target);
+        } catch (Throwable t) {
+            throw wrap(t);
+        }
+    }
+
+    /**
+     * Writes an instance field.
+     * @param field field
+     * @param target target object
+     * @param value field value
+     * @throws Exception failed to write
+     */
+    public static void setField(Field field, Object target, Object value) throws Exception {
+        MethodHandle handle = FIELD_SETTERS.get(field.getDeclaringClass())
+                .computeIfAbsent(field, f -> bind(field, true)).orElse(null);
+        if (handle == null) {
+            field.set(target, value);
+            return;
+        }
+        try {
+            handle.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw wrap(t);
+        }
+    }
+
+    /**
+     * Invokes a no-arg constructor, or a constructor of an inner class which takes the enclosing instance.
+     * @param constructor constructor
+     * @param args either empty or the enclosing instance
+     * @return new instance
+     * @throws Exception failed to instantiate
+     */
+    public static Object newInstance(Constructor<?> constructor, Object... args) throws Exception {
+        MethodHandle handle = invoker(constructor);
+        if (handle == null) {
+            return constructor.newInstance(args);
+        }
+        try {
+            return args.length == 0 ? (Object) handle.invokeExact() : (Object) handle.invokeExact(args[0]);
+        } catch (Throwable t) {
+            throw wrap(t);
+        }
+    }
+
+    private static MethodHandle invoker(Member member) {
+        return INVOKERS.get(member.getDeclaringClass())
+                .computeIfAbsent(member, m -> bind(m, false)).orElse(null);
+    }
+
+    private static Optional<MethodHandle> bind(Member member, boolean fieldSetter) {
+        try {
+            // the reflection fallback needs it as well
+            ((AccessibleObject) member).setAccessible(true);
+            if (Modifier.isStatic(member.getModifiers())) {
+                return Optional.empty();
+            }
+            MethodHandle handle;
+            if (member instanceof Method) {
+                Method method = (Method) member;
+                if (method.getParameterCount() > 1) {
+                    return Optional.empty();
+                }
+                handle = LOOKUP.unreflect(method);
+                if (method.getParameterCount() == 1) {
+                    return Optional.of(handle.asType(MethodType.methodType(void.class, Object.class, Object.class)));
+                }
+            } else if (member instanceof Constructor) {
+                Constructor<?> constructor = (Constructor<?>) member;
+                if (constructor.getParameterCount() > 1) {
+                    return Optional.empty();
+                }
+                handle = LOOKUP.unreflectConstructor(constructor);
+            } else {
+                Field field = (Field) member;
+                if (fieldSetter) {
+                    if (Modifier.isFinal(field.getModifiers())) {
+                        return Optional.empty();
+                    }
+                    return Optional.of(LOOKUP.unreflectSetter(field)
+                            .asType(MethodType.methodType(void.class, Object.class, Object.class)));
+                }
+                handle = LOOKUP.unreflectGetter(field);
+            }
+            return Optional.of(handle.asType(MethodType.genericMethodType(handle.type().parameterCount())));
+        } catch (Exception e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Falling back to the reflection for '{}': {}", member, e.getMessage());
+            }
+            return Optional.empty();
+        }
+    }
+
+    private static Exception wrap(Throwable t) {
+        // same as the core reflection, the errors thrown by the target are wrapped
+        return t instanceof Exception ? (Exception) t : new InvocationTargetException(t);
+    }
+
+}
@@ -19,6 +19,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Type;
 
 import io.atlasmap.api.AtlasException;
+import io.atlasmap.java.core.MemberHandles;
 
 public class FieldAccessor extends JavaChildAccessor {
 
@@ -26,14 +27,13 @@ public class FieldAccessor extends JavaChildAccessor {
 
     public FieldAccessor(Object parent, String name, Field field) {
         super(parent, name);
-        field.setAccessible(true);
         this.field = field;
     }
 
     @Override
     public Object getRawValue() throws AtlasException {
         try {
-            return field.get(getParentObject());
+            return MemberHandles.getField(field, getParentObject());
         } catch (Exception e) {
             throw new AtlasException(e);
         }
@@ -19,6 +19,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 
 import io.atlasmap.api.AtlasException;
+import io.atlasmap.java.core.MemberHandles;
 
 public class GetterAccessor extends JavaChildAccessor {
 
@@ -26,14 +27,13 @@ public class GetterAccessor extends JavaChildAccessor {
 
     public GetterAccessor(Object parent, String name, Method getter) {
         super(parent, name);
-        getter.setAccessible(true);
         this.getter = getter;
     }
 
     @Override
     public Object getRawValue() throws AtlasException {
         try {
-            return getter.invoke(getParentObject(), new Object[0]);
+            return MemberHandles.invokeGetter(getter, getParentObject());
         } catch (Exception e) {
             throw new AtlasException(e);
         }
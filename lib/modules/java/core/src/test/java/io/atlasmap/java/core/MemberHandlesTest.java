@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.java.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class MemberHandlesTest {
+
+    @Test
+    public void testGetterAndSetter() throws Exception {
+        Bean bean = new Bean();
+        MemberHandles.invokeSetter(Bean.class.getDeclaredMethod("setCount", int.class), bean, 3);
+        assertEquals(3, MemberHandles.invokeGetter(Bean.class.getDeclaredMethod("getCount"), bean));
+        MemberHandles.invokeSetter(Bean.class.getDeclaredMethod("setName", String.class), bean, null);
+        assertNull(MemberHandles.invokeGetter(Bean.class.getDeclaredMethod("getName"), bean));
+        assertThrows(IllegalStateException.class,
+                () -> MemberHandles.invokeGetter(Bean.class.getDeclaredMethod("fail"), bean));
+        // static members fall back to the reflection
+        assertEquals("static", MemberHandles.invokeGetter(Bean.class.getDeclaredMethod("staticValue"), null));
+    }
+
+    @Test
+    public void testField() throws Exception {
+        Bean bean = new Bean();
+        MemberHandles.setField(Bean.class.getDeclaredField("name"), bean, "foo");
+        assertEquals("foo", MemberHandles.getField(Bean.class.getDeclaredField("name"), bean));
+        assertEquals("final", MemberHandles.getField(Bean.class.getDeclaredField("constant"), bean));
+    }
+
+    @Test
+    public void testNewInstance() throws Exception {
+        Object bean = MemberHandles.newInstance(Bean.class.getDeclaredConstructor());
+        assertTrue(bean instanceof Bean);
+        MemberHandlesTest outer = new MemberHandlesTest();
+        Inner inner = (Inner) MemberHandles.newInstance(Inner.class.getDeclaredConstructor(MemberHandlesTest.class),
+                outer);
+        assertSame(outer, inner.outer());
+    }
+
+    private static class Bean {
+        private final String constant = "final";
+        private String name;
+        private int count;
+
+        private static String staticValue() {
+            return "static";
+        }
+
+        private String getName() {
+            return name;
+        }
+
+        private void setName(String name) {
+            this.name = name;
+        }
+
+        private int getCount() {
+            return count;
+        }
+
+        private void setCount(int count) {
+            this.count = count;
+        }
+
+        private Object fail() {
+            throw new IllegalStateException(constant);
+        }
+    }
+
+    private class Inner {
+        private MemberHandlesTest outer() {
+            return MemberHandlesTest.this;
+        }
+    }
+
+}
@@ -17,6 +17,8 @@ package io.atlasmap.java.inspect;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -36,6 +38,17 @@ public class ClassHelperTest {
         assertEquals(String.class, getter.getReturnType());
     }
 
+    @Test
+    public void testResolvedMembersAreCached() throws Exception {
+        Method getter = ClassHelper.detectGetterMethod(JavaGetterSetterModel.class, "getParam");
+        assertSame(getter, ClassHelper.detectGetterMethod(JavaGetterSetterModel.class, "getParam"));
+        assertNull(ClassHelper.findGetterMethod(JavaGetterSetterModel.class, "getParam2"));
+        JavaGetterSetterModel model = new JavaGetterSetterModel();
+        assertSame(ClassHelper.lookupGetterMethod(model, "param"), ClassHelper.lookupGetterMethod(model, "param"));
+        assertSame(ClassHelper.lookupJavaField(model, "param"), ClassHelper.lookupJavaField(model, "param"));
+        assertNull(ClassHelper.lookupJavaField(model, "param2"));
+    }
+
     @Test
     public void testDetectGetterNotFound() {
         try {
@@ -26,6 +26,7 @@ import io.atlasmap.api.AtlasValidationException;
 import io.atlasmap.core.AtlasPath;
 import io.atlasmap.core.AtlasUtil;
 import io.atlasmap.core.BaseAtlasModule;
+import io.atlasmap.core.ColumnarFieldGroup;
 import io.atlasmap.java.core.JavaFieldReader;
 import io.atlasmap.java.core.JavaFieldWriter;
 import io.atlasmap.java.core.JavaFieldWriterUtil;
@@ -225,7 +226,7 @@ public class JavaModule extends BaseAtlasModule {
 
             Field previousTargetSubField = null;
             for (int i=0; i<((FieldGroup)sourceField).getField().size(); i++) {
-                Field sourceSubField = ((FieldGroup)sourceField).getField().get(i);
+                Field sourceSubField = ColumnarFieldGroup.getElementField((FieldGroup)sourceField, i);
                 Field targetSubField = targetField instanceof JavaEnumField ? new JavaEnumField() : new JavaField();
                 AtlasJavaModelFactory.copyField(targetField, targetSubField, false);
                 getCollectionHelper().copyCollectionIndexes(sourceField, sourceSubField, targetSubField, previousTargetSubField);
@@ -295,6 +296,11 @@ public class JavaModule extends BaseAtlasModule {
         }
     }
 
+    @Override
+    public boolean isConcurrentReadSupported() {
+        return true;
+    }
+
     @Override
     public Boolean isSupportedField(Field field) {
         if (super.isSupportedField(field)) {
@@ -33,13 +33,16 @@ import io.atlasmap.api.AtlasException;
 import io.atlasmap.core.AtlasPath;
 import io.atlasmap.core.AtlasPath.SegmentContext;
 import io.atlasmap.core.AtlasUtil;
+import io.atlasmap.core.ColumnarFieldGroup;
 import io.atlasmap.json.v2.AtlasJsonModelFactory;
 import io.atlasmap.json.v2.JsonEnumField;
 import io.atlasmap.json.v2.JsonField;
 import io.atlasmap.spi.AtlasConversionService;
+import io.atlasmap.spi.AtlasFieldCursor;
 import io.atlasmap.spi.AtlasFieldReader;
 import io.atlasmap.spi.AtlasInternalSession;
 import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.Audit;
 import io.atlasmap.v2.AuditStatus;
 import io.atlasmap.v2.CollectionType;
 import io.atlasmap.v2.Field;
@@ -53,6 +56,8 @@ public class JsonFieldReader implements AtlasFieldReader {
 
     private AtlasConversionService conversionService;
     private JsonNode rootNode;
+    /** Scratch field to read the values of a column, reset per column and per element. */
+    private final JsonField columnItem = new JsonField();
 
     @SuppressWarnings("unused")
     private JsonFieldReader() {
@@ -75,7 +80,23 @@ public class JsonFieldReader implements AtlasFieldReader {
 
         AtlasPath path = new AtlasPath(field.getPath());
 
-        List<Field> fields = getJsonFieldsForPath(session, rootNode, field, path, 0);
+        if (field instanceof JsonField && field.getFieldType() != FieldType.COMPLEX
+                && path.getCollectionSegmentCount() == 1 && !path.isIndexedCollection()) {
+            // a collection of values, e.g. /orders<>/amount - keep the values in a column
+            ColumnarFieldGroup column = new ColumnarFieldGroup(field, getCollectionSegmentIndex(path),
+                    f -> AtlasJsonModelFactory.cloneField((JsonField) f, false));
+            columnItem.setDocId(field.getDocId());
+            columnItem.setPath(field.getPath());
+            columnItem.setFormat(field.getFormat());
+            getJsonFieldsForPath(session, rootNode, field, path, 0, column, 0);
+            if (column.getElementCount() == 0) {
+                column.setStatus(FieldStatus.NOT_FOUND);
+            }
+            session.head().setSourceField(column);
+            return column;
+        }
+
+        List<Field> fields = getJsonFieldsForPath(session, rootNode, field, path, 0, null, 0);
         if (path.hasCollection() && !path.isIndexedCollection()) {
             FieldGroup fieldGroup = AtlasModelFactory.createFieldGroupFrom(field, true);
             fieldGroup.getField().addAll(fields);
@@ -95,7 +116,94 @@ public class JsonFieldReader implements AtlasFieldReader {
         }
     }
 
-    private List<Field> getJsonFieldsForPath(AtlasInternalSession session, JsonNode node, Field field, AtlasPath path, int depth) throws AtlasException {
+    /**
+     * Opens a cursor over the items of the source collection field set in the session head. Only a
+     * collection of values, e.g. {@code /orders<>/amount}, could be read item by item.
+     * @param session session
+     * @return the cursor, or {@code null} if the field can't be read item by item
+     * @throws AtlasException failed to open the cursor
+     */
+    public AtlasFieldCursor openCursor(AtlasInternalSession session) throws AtlasException {
+        Field field = session.head().getSourceField();
+        if (rootNode == null || !(field instanceof JsonField) || field instanceof JsonEnumField
+                || field.getFieldType() == FieldType.COMPLEX) {
+            return null;
+        }
+        AtlasPath path = new AtlasPath(field.getPath());
+        if (path.getCollectionSegmentCount() != 1 || path.isIndexedCollection()) {
+            return null;
+        }
+        List<SegmentContext> segments = path.getSegments(true);
+        int collectionIndex = getCollectionSegmentIndex(path);
+        JsonNode node = rootNode;
+        if (!(collectionIndex == 0 && path.hasCollectionRoot())) {
+            node = peelRoot(node, path);
+            for (int depth = segments.size() > 1 ? 1 : 0; depth <= collectionIndex && node != null; depth++) {
+                node = node.get(segments.get(depth).getName());
+            }
+        }
+        if (node == null || !node.isArray()) {
+            return null;
+        }
+        return new JsonItemCursor(session, (JsonField) field, path, segments, collectionIndex, node);
+    }
+
+    private class JsonItemCursor implements AtlasFieldCursor {
+        private final AtlasInternalSession session;
+        private final JsonField field;
+        private final AtlasPath path;
+        private final List<SegmentContext> segments;
+        private final int collectionIndex;
+        private final JsonNode arrayNode;
+        private final JsonField item = new JsonField();
+        private int next;
+
+        JsonItemCursor(AtlasInternalSession session, JsonField field, AtlasPath path,
+                List<SegmentContext> segments, int collectionIndex, JsonNode arrayNode) {
+            this.session = session;
+            this.field = field;
+            this.path = path;
+            this.segments = segments;
+            this.collectionIndex = collectionIndex;
+            this.arrayNode = arrayNode;
+        }
+
+        @Override
+        public Field next() throws AtlasException {
+            while (next < arrayNode.size()) {
+                int index = next++;
+                JsonNode node = arrayNode.get(index);
+                for (int depth = collectionIndex + 1; depth < segments.size() && node != null; depth++) {
+                    node = node.get(segments.get(depth).getName());
+                }
+                if (node == null) {
+                    continue;
+                }
+                AtlasPath itemPath = path.clone();
+                itemPath.setCollectionIndex(collectionIndex, index);
+                item.setDocId(field.getDocId());
+                item.setPath(itemPath.toString());
+                item.setFieldType(field.getFieldType());
+                item.setFormat(field.getFormat());
+                item.setValue(handleValueNode(session, node, item));
+                return item;
+            }
+            return null;
+        }
+    }
+
+    private int getCollectionSegmentIndex(AtlasPath path) {
+        List<SegmentContext> segments = path.getSegments(true);
+        for (int i = 0; i < segments.size(); i++) {
+            if (segments.get(i).getCollectionType() != CollectionType.NONE) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private List<Field> getJsonFieldsForPath(AtlasInternalSession session, JsonNode node, Field field, AtlasPath path,
+            int depth, ColumnarFieldGroup column, int itemIndex) throws AtlasException {
         List<Field> fields = new ArrayList<>();
         List<SegmentContext> segments = path.getSegments(true);
         if (segments.size() < depth) {
@@ -103,7 +211,9 @@ public class JsonFieldReader implements AtlasFieldReader {
         }
         if (segments.size() == depth) {
             //if traversed the entire path and found value
-            if (field.getFieldType() == FieldType.COMPLEX && !node.isValueNode()) {
+            if (column != null) {
+                addColumnValue(session, node, field, column, itemIndex);
+            } else if (field.getFieldType() == FieldType.COMPLEX && !node.isValueNode()) {
                 FieldGroup group = (FieldGroup) field;
                 populateChildFields(session, node, group, path);
                 fields.add(group);
@@ -129,10 +239,7 @@ public class JsonFieldReader implements AtlasFieldReader {
             segmentContext = segments.get(depth);
         } else {
             if (depth == 0) {
-                if (node.size() == 1 && !path.getSegments(false).get(0).getExpression().startsWith(rootNode.fieldNames().next())) {
-                    //peel off a rooted object, i.e. mapping /orderId works for document { source: { orderId: 123 } }
-                    node = node.elements().next();
-                }
+                node = peelRoot(node, path);
 
                 if (segments.size() > 1) {
                     depth = 1; //skip the root, if not a collection
@@ -147,7 +254,7 @@ public class JsonFieldReader implements AtlasFieldReader {
         }
 
         if (segmentContext.getCollectionType() == CollectionType.NONE) {
-            List<Field> childFields = getJsonFieldsForPath(session, child, field, path, depth + 1);
+            List<Field> childFields = getJsonFieldsForPath(session, child, field, path, depth + 1, column, itemIndex);
             fields.addAll(childFields);
             return fields;
         }
@@ -158,11 +265,16 @@ public class JsonFieldReader implements AtlasFieldReader {
                 //index out of range
                 return fields;
             }
-            List<Field> arrayFields = getJsonFieldsForPath(session, child.get(segmentContext.getCollectionIndex()), field, path, depth + 1);
+            List<Field> arrayFields = getJsonFieldsForPath(session, child.get(segmentContext.getCollectionIndex()), field,
+                path, depth + 1, column, itemIndex);
             fields.addAll(arrayFields);
         } else {
             //if index not included, iterate over all
             for (int i=0; i<child.size(); i++) {
+                if (column != null) {
+                    getJsonFieldsForPath(session, child.get(i), field, path, depth + 1, column, i);
+                    continue;
+                }
                 Field itemField;
                 if (field instanceof FieldGroup) {
                     itemField = AtlasJsonModelFactory.cloneFieldGroup((FieldGroup)field);
@@ -174,13 +286,44 @@ public class JsonFieldReader implements AtlasFieldReader {
                     itemField.setPath(itemPath.toString());
                  }
                 List<Field> arrayFields = getJsonFieldsForPath(
-                    session, child.get(i), itemField, new AtlasPath(itemField.getPath()), depth + 1);
+                    session, child.get(i), itemField, new AtlasPath(itemField.getPath()), depth + 1, null, 0);
                 fields.addAll(arrayFields);
             }
         }
         return fields;
     }
 
+    /**
+     * Peels off a rooted object, i.e. mapping /orderId works for document { source: { orderId: 123 } }.
+     */
+    private JsonNode peelRoot(JsonNode node, AtlasPath path) {
+        if (!node.isObject() || node.size() != 1) {
+            return node;
+        }
+        List<SegmentContext> segments = path.getSegments(false);
+        if (segments.isEmpty() || segments.get(0).getExpression().startsWith(node.fieldNames().next())) {
+            return node;
+        }
+        return node.elements().next();
+    }
+
+    private void addColumnValue(AtlasInternalSession session, JsonNode node, Field field, ColumnarFieldGroup column,
+            int itemIndex) throws AtlasException {
+        // the value handling may update the field type
+        columnItem.setFieldType(field.getFieldType());
+        List<Audit> audits = session.getAudits() != null ? session.getAudits().getAudit() : null;
+        int auditCount = audits != null ? audits.size() : 0;
+        Object value = handleValueNode(session, node, columnItem);
+        column.add(itemIndex, value, columnItem.getFieldType());
+        if (audits != null && audits.size() > auditCount) {
+            // report the item path rather than the collection path
+            String itemPath = column.createElementField(column.getElementCount() - 1).getPath();
+            for (int i = auditCount; i < audits.size(); i++) {
+                audits.get(i).setPath(itemPath);
+            }
+        }
+    }
+
     private void populateChildFields(AtlasInternalSession session, JsonNode node, FieldGroup fieldGroup, AtlasPath path)
      throws AtlasException {
         List<Field> newChildren = new ArrayList<>();
@@ -365,4 +508,12 @@ public class JsonFieldReader implements AtlasFieldReader {
         }
     }
 
+    /**
+     * Sets the already parsed document, e.g. loaded by {@link JsonStreamingDocumentLoader}.
+     * @param rootNode root node
+     */
+    public void setRootNode(JsonNode rootNode) {
+        this.rootNode = rootNode;
+    }
+
 }
@@ -20,6 +20,7 @@ import java.math.BigInteger;
 
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.MapperFeature;
@@ -44,24 +45,39 @@ import io.atlasmap.v2.FieldType;
  */
 public class JsonFieldWriter implements AtlasFieldWriter {
     private static final org.slf4j.Logger LOG = LoggerFactory.getLogger(JsonFieldWriter.class);
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = createObjectMapper();
 
     private ObjectMapper objectMapper = null;
     private ContainerNode<?> rootNode = null;
 
     public JsonFieldWriter() {
-        this.objectMapper = new ObjectMapper()
-            .enable(MapperFeature.BLOCK_UNSAFE_POLYMORPHIC_BASE_TYPES)
-            .setDefaultPrettyPrinter(new DefaultPrettyPrinter());
+        this(DEFAULT_OBJECT_MAPPER);
     }
 
     public JsonFieldWriter(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
     }
 
+    /**
+     * Creates an {@link ObjectMapper} to build and serialize the target document. It's thread safe
+     * once configured, so the callers are supposed to share it rather than creating one per session.
+     * @return ObjectMapper
+     */
+    public static ObjectMapper createObjectMapper() {
+        return new ObjectMapper()
+            .enable(MapperFeature.BLOCK_UNSAFE_POLYMORPHIC_BASE_TYPES)
+            .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false)
+            .setDefaultPrettyPrinter(new DefaultPrettyPrinter());
+    }
+
     public ContainerNode<?> getRootNode() {
         return rootNode;
     }
 
+    protected void setRootNode(ContainerNode<?> rootNode) {
+        this.rootNode = rootNode;
+    }
+
     public ObjectMapper getObjectMapper() {
         return objectMapper;
     }
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.json.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.core.AtlasPath;
+import io.atlasmap.core.AtlasPath.SegmentContext;
+
+/**
+ * Loads a source JSON document in a single token stream pass, materializing only the values
+ * which are on the paths referenced by the mapping. The result is a regular {@link JsonNode}
+ * tree so that {@link JsonFieldReader} works on it as is.
+ * <p>
+ * Arrays are always kept with all of their items so that the collection indexes in the path
+ * are still valid, and the value at the end of the path is kept with its whole subtree since
+ * it might be read as a COMPLEX field. The fields of the root object are also always kept,
+ * possibly emptied, since {@link JsonFieldReader} peels off a single rooted object.
+ * <p>
+ * Once all the paths are registered, the loader could be shared and {@code load()} invoked concurrently.
+ */
+public class JsonStreamingDocumentLoader {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(MapperFeature.BLOCK_UNSAFE_POLYMORPHIC_BASE_TYPES);
+
+    private final PathNode root = new PathNode();
+
+    /**
+     * Registers the path of a source field to be loaded.
+     * @param path field path, or {@code null} to load the whole document
+     */
+    public void addPath(String path) {
+        if (path == null) {
+            root.wholeValue = true;
+            return;
+        }
+        PathNode node = root;
+        for (SegmentContext segment : new AtlasPath(path).getSegments(false)) {
+            node = node.children.computeIfAbsent(segment.getName(), k -> new PathNode());
+        }
+        node.wholeValue = true;
+    }
+
+    public JsonNode load(InputStream in) throws AtlasException {
+        try {
+            return load(MAPPER.getFactory().createParser(in));
+        } catch (IOException e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    public JsonNode load(Reader in) throws AtlasException {
+        try {
+            return load(MAPPER.getFactory().createParser(in));
+        } catch (IOException e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    public JsonNode load(byte[] in) throws AtlasException {
+        try {
+            return load(MAPPER.getFactory().createParser(in));
+        } catch (IOException e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    /**
+     * Loads the document from the parser. The parser is closed when it's done.
+     * @param parser parser
+     * @return loaded document, or {@code null} if it's empty
+     * @throws AtlasException failed to parse
+     */
+    public JsonNode load(JsonParser parser) throws AtlasException {
+        try (JsonParser p = parser) {
+            JsonToken token = p.currentToken() != null ? p.currentToken() : p.nextToken();
+            if (token == null) {
+                return null;
+            }
+            if (root.wholeValue) {
+                return MAPPER.readTree(p);
+            }
+            if (token == JsonToken.START_OBJECT) {
+                ObjectNode answer = MAPPER.createObjectNode();
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = p.getCurrentName();
+                    p.nextToken();
+                    List<PathNode> nodes = new ArrayList<>(2);
+                    nodes.add(root);
+                    PathNode child = root.children.get(name);
+                    if (child != null) {
+                        nodes.add(child);
+                    }
+                    // keep all the root fields as is, the root object might be peeled off
+                    answer.set(name, readValue(p, nodes));
+                }
+                return answer;
+            }
+            return readValue(p, Collections.singletonList(root));
+        } catch (IOException e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    private JsonNode readValue(JsonParser p, List<PathNode> nodes) throws IOException {
+        for (PathNode node : nodes) {
+            if (node.wholeValue) {
+                return MAPPER.readTree(p);
+            }
+        }
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_ARRAY) {
+            ArrayNode answer = MAPPER.createArrayNode();
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                answer.add(readValue(p, nodes));
+            }
+            return answer;
+        }
+        if (token == JsonToken.START_OBJECT) {
+            ObjectNode answer = MAPPER.createObjectNode();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.getCurrentName();
+                p.nextToken();
+                List<PathNode> children = matchChildren(nodes, name);
+                if (children.isEmpty()) {
+                    p.skipChildren();
+                } else {
+                    answer.set(name, readValue(p, children));
+                }
+            }
+            return answer;
+        }
+        return MAPPER.readTree(p);
+    }
+
+    private List<PathNode> matchChildren(List<PathNode> nodes, String name) {
+        List<PathNode> answer = new ArrayList<>(1);
+        for (PathNode node : nodes) {
+            PathNode child = node.children.get(name);
+            if (child != null) {
+                answer.add(child);
+            }
+        }
+        return answer;
+    }
+
+    private static class PathNode {
+        private final Map<String, PathNode> children = new HashMap<>();
+        private boolean wholeValue;
+    }
+
+}
@@ -0,0 +1,481 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.json.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ContainerNode;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.core.AtlasPath;
+import io.atlasmap.core.AtlasPath.SegmentContext;
+import io.atlasmap.spi.AtlasInternalSession;
+import io.atlasmap.v2.CollectionType;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldStatus;
+import io.atlasmap.v2.FieldType;
+
+/**
+ * A {@link JsonFieldWriter} which writes the target fields directly into a {@link JsonGenerator}
+ * instead of building a {@link ContainerNode} tree. It works as long as the target fields are
+ * written in document order, i.e. an object member or an array element is never revisited once
+ * the writer moved on to its next sibling. Once an out of order write is detected, the output
+ * written so far is read back into a tree and the rest is written by {@link JsonFieldWriter}.
+ * {@link #isDocumentOrder(List)} tells in advance if the target paths of a mapping are in document order.
+ * <p>
+ * If the target {@link OutputStream} is given, the document is written directly into it and nothing is
+ * buffered. Since the output written so far can't be read back then, an out of order write fails
+ * instead of falling back. Otherwise the document is buffered in UTF-8 until {@link #finish()}, which is
+ * the target document itself rather than an extra copy.
+ */
+public class JsonStreamingFieldWriter extends JsonFieldWriter {
+    private static final Logger LOG = LoggerFactory.getLogger(JsonStreamingFieldWriter.class);
+
+    /** {@code null} if writing into the target output stream. */
+    private final ByteArrayOutputStream buffer;
+    private final JsonGenerator generator;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private boolean fallback = false;
+    private boolean finished = false;
+    private boolean started = false;
+
+    public JsonStreamingFieldWriter(ObjectMapper objectMapper, boolean prettyPrint) throws AtlasException {
+        this(objectMapper, prettyPrint, null);
+    }
+
+    /**
+     * A constructor.
+     * @param objectMapper object mapper
+     * @param prettyPrint true to indent the document
+     * @param out the target output stream to write into, or {@code null} to buffer the document
+     * @throws AtlasException failed to create a generator
+     */
+    public JsonStreamingFieldWriter(ObjectMapper objectMapper, boolean prettyPrint, OutputStream out)
+            throws AtlasException {
+        super(objectMapper);
+        this.buffer = out == null ? new ByteArrayOutputStream() : null;
+        try {
+            this.generator = objectMapper.getFactory().createGenerator(out == null ? buffer : out, JsonEncoding.UTF8);
+        } catch (IOException e) {
+            throw new AtlasException(e);
+        }
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (prettyPrint) {
+            this.generator.useDefaultPrettyPrinter();
+        }
+    }
+
+    /**
+     * Checks if the target paths are in document order, i.e. they could be written by this writer
+     * without falling back to the tree. The paths must be in the order the mapping writes them.
+     * A collection path without index is expanded into all of its elements when it's written, so
+     * no other path may share the same collection. The indexed elements of a collection must be ascending.
+     * @param paths target paths in the order the mapping writes them
+     * @return true if in document order
+     */
+    public static boolean isDocumentOrder(List<String> paths) {
+        Set<String> closed = new HashSet<>();
+        List<String> previous = null;
+        Boolean collectionRoot = null;
+        for (String p : paths) {
+            AtlasPath path = new AtlasPath(p);
+            if (collectionRoot != null && collectionRoot != path.hasCollectionRoot()) {
+                return false;
+            }
+            collectionRoot = path.hasCollectionRoot();
+            List<String> keys = new ArrayList<>();
+            for (Step step : toSteps(path, null, true)) {
+                keys.add(step.toString());
+            }
+            int common = 0;
+            if (previous != null) {
+                while (common < previous.size() && common < keys.size()
+                        && previous.get(common).equals(keys.get(common))) {
+                    if (keys.get(common).endsWith("<*>")) {
+                        return false;
+                    }
+                    common++;
+                }
+                if (common == previous.size() || common == keys.size()
+                        || !isAscending(previous.get(common), keys.get(common))) {
+                    return false;
+                }
+                for (int i = common; i < previous.size(); i++) {
+                    closed.add(String.join("/", previous.subList(0, i + 1)));
+                }
+            }
+            for (int i = common; i < keys.size(); i++) {
+                if (closed.contains(String.join("/", keys.subList(0, i + 1)))) {
+                    return false;
+                }
+            }
+            previous = keys;
+        }
+        return true;
+    }
+
+    /**
+     * Checks that the next sibling doesn't go back to an element of the same collection.
+     */
+    private static boolean isAscending(String previous, String next) {
+        if (!previous.startsWith("<") || !next.startsWith("<")) {
+            return true;
+        }
+        if (previous.equals("<*>") || next.equals("<*>")) {
+            return false;
+        }
+        return Integer.parseInt(next.substring(1, next.length() - 1))
+                > Integer.parseInt(previous.substring(1, previous.length() - 1));
+    }
+
+    /**
+     * Returns whether the writer fell back to build the tree.
+     * @return true if fell back
+     */
+    public boolean isFallback() {
+        return fallback;
+    }
+
+    /**
+     * Returns whether the document is written directly into the target output stream.
+     * @return true if writing into the target output stream
+     */
+    public boolean isOutputStreamTarget() {
+        return buffer == null;
+    }
+
+    /**
+     * Returns whether anything is written into the document.
+     * @return true if written
+     */
+    public boolean hasContent() {
+        return !fallback && started;
+    }
+
+    /**
+     * Closes the document and returns it encoded in UTF-8. If writing into the target output stream,
+     * the stream is flushed but not closed, and {@code null} is returned.
+     * @return the target document, or {@code null} if nothing is written or it fell back to the tree
+     * @throws AtlasException failed to close the document
+     */
+    public byte[] finish() throws AtlasException {
+        close();
+        return buffer != null && buffer.size() > 0 ? buffer.toByteArray() : null;
+    }
+
+    /**
+     * Closes the document and returns it as a {@code String}, decoded straight from the buffer.
+     * @return the target document, or {@code null} if nothing is written, it fell back to the tree
+     * or it's written into the target output stream
+     * @throws AtlasException failed to close the document
+     */
+    public String finishAsString() throws AtlasException {
+        close();
+        try {
+            return buffer != null && buffer.size() > 0 ? buffer.toString(StandardCharsets.UTF_8.name()) : null;
+        } catch (UnsupportedEncodingException e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    private void close() throws AtlasException {
+        if (fallback || finished) {
+            return;
+        }
+        try {
+            closeFrames(0);
+            generator.close();
+            finished = true;
+        } catch (IOException e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    @Override
+    public void write(AtlasInternalSession session) throws AtlasException {
+        if (fallback) {
+            super.write(session);
+            return;
+        }
+        Field targetField = session.head().getTargetField();
+        if (targetField == null) {
+            throw new AtlasException(new IllegalArgumentException("Argument 'jsonField' cannot be null"));
+        }
+        if (finished) {
+            throw new AtlasException("The target document is already closed");
+        }
+        AtlasPath path = new AtlasPath(targetField.getPath());
+        try {
+            if (!writeInOrder(path, targetField)) {
+                if (buffer == null) {
+                    throw new AtlasException(String.format("Target field '%s' is not in document order while"
+                            + " the preceding fields are already written into the target OutputStream",
+                            targetField.getPath()));
+                }
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Target field '{}' is not in document order, falling back to the tree",
+                            targetField.getPath());
+                }
+                fallBack();
+                super.write(session);
+            }
+        } catch (IOException e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    private boolean writeInOrder(AtlasPath path, Field targetField) throws IOException {
+        if (frames.isEmpty()) {
+            started = true;
+            if (path.hasCollectionRoot()) {
+                generator.writeStartArray();
+                frames.push(new Frame(null, true));
+            } else {
+                generator.writeStartObject();
+                frames.push(new Frame(null, false));
+            }
+        } else if (frames.peekLast().array != path.hasCollectionRoot()) {
+            return false;
+        }
+
+        List<Step> steps = toSteps(path, targetField, false);
+        Step last = steps.isEmpty() ? null : steps.get(steps.size() - 1);
+        int common = 0;
+        int depth = 0;
+        for (Iterator<Frame> it = frames.descendingIterator(); it.hasNext();) {
+            Frame frame = it.next();
+            if (frame.step == null) {
+                continue;
+            }
+            if (depth < steps.size() && frame.step.equals(steps.get(depth))) {
+                common++;
+                depth++;
+            } else {
+                break;
+            }
+        }
+        if (common == steps.size()) {
+            // only the parents are requested, which are already open
+            return last == null || (last.kind != Kind.VALUE && !last.complex);
+        }
+        closeFrames(common + 1);
+
+        boolean notFound = targetField.getStatus() == FieldStatus.NOT_FOUND;
+        for (int i = common; i < steps.size(); i++) {
+            Step step = steps.get(i);
+            Frame parent = frames.peek();
+            if (notFound && step.field != null && step.kind == Kind.OBJECT) {
+                // JsonFieldWriter doesn't create a missing parent object for a missing field either
+                return true;
+            }
+            if (step.field != null) {
+                if (parent.array || !parent.names.add(step.field)) {
+                    return false;
+                }
+                generator.writeFieldName(step.field);
+            } else {
+                if (!parent.array || step.index < parent.count) {
+                    return false;
+                }
+                while (parent.count < step.index) {
+                    if (step.kind == Kind.VALUE) {
+                        generator.writeNull();
+                    } else if (step.kind == Kind.OBJECT) {
+                        generator.writeStartObject();
+                        generator.writeEndObject();
+                    } else {
+                        return false;
+                    }
+                    parent.count++;
+                }
+                parent.count++;
+            }
+            if (step.kind == Kind.VALUE) {
+                writeValue(targetField);
+            } else {
+                if (step.kind == Kind.OBJECT) {
+                    generator.writeStartObject();
+                } else {
+                    generator.writeStartArray();
+                }
+                frames.push(new Frame(step, step.kind == Kind.ARRAY));
+            }
+        }
+        return true;
+    }
+
+    private void closeFrames(int depth) throws IOException {
+        while (frames.size() > depth) {
+            Frame frame = frames.pop();
+            if (frame.array) {
+                generator.writeEndArray();
+            } else {
+                generator.writeEndObject();
+            }
+        }
+    }
+
+    private void fallBack() throws IOException {
+        closeFrames(0);
+        generator.close();
+        fallback = true;
+        if (buffer.size() > 0) {
+            JsonNode root = getObjectMapper().readTree(buffer.toByteArray());
+            setRootNode((ContainerNode<?>) root);
+        }
+        buffer.reset();
+    }
+
+    private void writeValue(Field field) throws IOException {
+        FieldType type = field.getFieldType();
+        Object value = field.getValue();
+        if (value == null) {
+            generator.writeNull();
+        } else if (FieldType.STRING.equals(type)) {
+            generator.writeString(String.valueOf(value));
+        } else if (FieldType.CHAR.equals(type)) {
+            generator.writeString(Character.toString((char) value));
+        } else if (FieldType.BOOLEAN.equals(type)) {
+            generator.writeBoolean((Boolean) value);
+        } else if (FieldType.INTEGER.equals(type)) {
+            generator.writeNumber((Integer) value);
+        } else if (FieldType.DOUBLE.equals(type) || FieldType.FLOAT.equals(type) || FieldType.NUMBER.equals(type)) {
+            generator.writeNumber(new BigDecimal(String.valueOf(value)));
+        } else if (FieldType.SHORT.equals(type)) {
+            generator.writeNumber(Short.valueOf(String.valueOf(value)));
+        } else if (FieldType.LONG.equals(type)) {
+            generator.writeNumber(Long.valueOf(String.valueOf(value)));
+        } else if (FieldType.BYTE.equals(type)) {
+            generator.writeNumber(Byte.valueOf(String.valueOf(value)));
+        } else if (FieldType.BIG_INTEGER.equals(type)) {
+            generator.writeNumber(new BigInteger(String.valueOf(value)));
+        } else {
+            generator.writeString(String.valueOf(value));
+        }
+    }
+
+    /**
+     * Converts the path into the steps from the root, the same way {@link JsonFieldWriter} walks
+     * the tree. A collection without index ends the steps with an empty array, unless it's
+     * for the static check where it's a wildcard index.
+     */
+    private static List<Step> toSteps(AtlasPath path, Field targetField, boolean wildcard) {
+        List<Step> steps = new ArrayList<>();
+        List<SegmentContext> segments = path.getSegments(true);
+        boolean complex = targetField != null && targetField.getFieldType() == FieldType.COMPLEX;
+        for (int i = 0; i < segments.size(); i++) {
+            SegmentContext segment = segments.get(i);
+            if (!segment.isRoot()) {
+                steps.add(new Step(segment.getName(), null));
+            }
+            if (segment.getCollectionType() == CollectionType.NONE) {
+                continue;
+            }
+            Integer index = segment.getCollectionIndex();
+            if (index == null && !wildcard) {
+                if (!steps.isEmpty()) {
+                    steps.get(steps.size() - 1).kind = Kind.ARRAY;
+                }
+                return steps;
+            }
+            steps.add(new Step(null, index != null ? index : -1));
+        }
+        for (int i = 0; i < steps.size() - 1; i++) {
+            steps.get(i).kind = steps.get(i + 1).field != null ? Kind.OBJECT : Kind.ARRAY;
+        }
+        if (steps.isEmpty()) {
+            return steps;
+        }
+        Step last = steps.get(steps.size() - 1);
+        if (targetField != null && targetField.getStatus() == FieldStatus.NOT_FOUND && last.field != null) {
+            steps.remove(steps.size() - 1);
+        } else {
+            last.kind = complex ? Kind.OBJECT : Kind.VALUE;
+            last.complex = complex;
+        }
+        return steps;
+    }
+
+    private enum Kind {
+        OBJECT, ARRAY, VALUE
+    }
+
+    private static class Step {
+        private final String field;
+        private final Integer index;
+        private Kind kind;
+        private boolean complex;
+
+        private Step(String field, Integer index) {
+            this.field = field;
+            this.index = index;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Step)) {
+                return false;
+            }
+            Step other = (Step) o;
+            return Objects.equals(field, other.field) && Objects.equals(index, other.index) && kind == other.kind;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(field, index, kind);
+        }
+
+        @Override
+        public String toString() {
+            return field != null ? field : (index < 0 ? "<*>" : "<" + index + ">");
+        }
+    }
+
+    private static class Frame {
+        private final Step step;
+        private final boolean array;
+        private final Set<String> names;
+        private int count;
+
+        private Frame(Step step, boolean array) {
+            this.step = step;
+            this.array = array;
+            this.names = array ? null : new HashSet<>();
+        }
+    }
+
+}
@@ -30,9 +30,11 @@ import java.nio.file.Paths;
 import org.junit.jupiter.api.Test;
 
 import io.atlasmap.api.AtlasException;
+import io.atlasmap.core.ColumnarFieldGroup;
 import io.atlasmap.core.DefaultAtlasConversionService;
 import io.atlasmap.json.v2.AtlasJsonModelFactory;
 import io.atlasmap.json.v2.JsonField;
+import io.atlasmap.spi.AtlasFieldCursor;
 import io.atlasmap.spi.AtlasInternalSession;
 import io.atlasmap.spi.AtlasInternalSession.Head;
 import io.atlasmap.v2.AuditStatus;
@@ -1116,7 +1118,7 @@ public class JsonFieldReaderTest {
         field.setFieldType(null);
         field.setPath("/<>");
         Field readField = reader.read(session);
-        assertEquals(FieldGroup.class, readField.getClass());
+        assertEquals(ColumnarFieldGroup.class, readField.getClass());
         FieldGroup readFieldGroup = (FieldGroup)readField;
         assertEquals(5, readFieldGroup.getField().size());
         assertEquals(100, readFieldGroup.getField().get(0).getValue());
@@ -1148,7 +1150,7 @@ public class JsonFieldReaderTest {
         field.setFieldType(null);
         field.setPath("/<>/color");
         Field readField = reader.read(session);
-        assertEquals(FieldGroup.class, readField.getClass());
+        assertEquals(ColumnarFieldGroup.class, readField.getClass());
         FieldGroup readFieldGroup = (FieldGroup)readField;
         assertEquals(3, readFieldGroup.getField().size());
         assertEquals("red", readFieldGroup.getField().get(0).getValue());
@@ -1156,6 +1158,66 @@ public class JsonFieldReaderTest {
         assertEquals("blue", readFieldGroup.getField().get(2).getValue());
     }
 
+    @Test
+    public void testReadCollectionIntoColumn() throws Exception {
+        final String document = "{ \"orders\": [ { \"amount\": 1 }, { \"other\": 2 }, { \"amount\": 3 },"
+                + " { \"amount\": \"abc\" } ] }";
+        reader.setDocument(document);
+        JsonField field = AtlasJsonModelFactory.createJsonField();
+        field.setPath("/orders<>/amount");
+        field.setDocId("json");
+        AtlasInternalSession session = mock(AtlasInternalSession.class);
+        when(session.head()).thenReturn(mock(Head.class));
+        when(session.head().getSourceField()).thenReturn(field);
+        Audits audits = new Audits();
+        when(session.getAudits()).thenReturn(audits);
+        Field readField = reader.read(session);
+        assertEquals(ColumnarFieldGroup.class, readField.getClass());
+        ColumnarFieldGroup column = (ColumnarFieldGroup) readField;
+        assertEquals(3, column.getElementCount());
+        assertEquals(1, column.getElementValue(0));
+        assertEquals(3, column.getElementValue(1));
+        assertEquals("abc", column.getElementValue(2));
+        assertEquals(FieldType.STRING, column.getElementFieldType(2));
+        Field item = column.getField().get(1);
+        assertEquals(JsonField.class, item.getClass());
+        assertEquals("/orders<2>/amount", item.getPath());
+        assertEquals(FieldType.INTEGER, item.getFieldType());
+        assertEquals("json", item.getDocId());
+        assertEquals(0, audits.getAudit().size());
+
+        field.setFieldType(FieldType.INTEGER);
+        column = (ColumnarFieldGroup) reader.read(session);
+        assertEquals(3, column.getElementCount());
+        assertNull(column.getElementValue(2));
+        assertEquals(1, audits.getAudit().size());
+        assertEquals("/orders<3>/amount", audits.getAudit().get(0).getPath());
+    }
+
+    @Test
+    public void testOpenCursor() throws Exception {
+        JsonField field = AtlasJsonModelFactory.createJsonField();
+        field.setPath("/orders<>/amount");
+        field.setDocId("json");
+        AtlasInternalSession session = mock(AtlasInternalSession.class);
+        when(session.head()).thenReturn(mock(Head.class));
+        when(session.head().getSourceField()).thenReturn(field);
+
+        reader.setDocument("{ \"source\": { \"orders\": [ { \"amount\": 1 }, { \"other\": 2 }, { \"amount\": 3 } ] } }");
+        AtlasFieldCursor cursor = reader.openCursor(session);
+        Field item = cursor.next();
+        assertEquals("/orders<0>/amount", item.getPath());
+        assertEquals(1, item.getValue());
+        item = cursor.next();
+        assertEquals("/orders<2>/amount", item.getPath());
+        assertEquals(3, item.getValue());
+        assertNull(cursor.next());
+
+        // a single element array root is not peeled off as a rooted object
+        reader.setDocument("[ { \"amount\": 1 } ]");
+        assertNull(reader.openCursor(session));
+    }
+
     @Test
     public void testReadParentCollection() throws Exception {
         final String document = new String(Files.readAllBytes(Paths.get(
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.json.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.atlasmap.core.DefaultAtlasConversionService;
+import io.atlasmap.json.v2.AtlasJsonModelFactory;
+import io.atlasmap.json.v2.JsonField;
+import io.atlasmap.spi.AtlasInternalSession;
+import io.atlasmap.spi.AtlasInternalSession.Head;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldGroup;
+
+public class JsonStreamingDocumentLoaderTest {
+
+    private JsonFieldReader reader = new JsonFieldReader(DefaultAtlasConversionService.getInstance());
+
+    @Test
+    public void testLoadReferencedValues() throws Exception {
+        JsonStreamingDocumentLoader loader = new JsonStreamingDocumentLoader();
+        loader.addPath("/id");
+        loader.addPath("/batters/batter<>/type");
+        loader.addPath("/topping[1]/id");
+        JsonNode root = loader.load(Files.readAllBytes(Paths.get("src/test/resources/highly-nested-object.json")));
+        assertTrue(root.has("name"));
+        assertFalse(root.get("batters").get("batter").get(0).has("id"));
+        assertEquals(7, root.get("topping").size());
+        assertFalse(root.get("topping").get(0).has("type"));
+        reader.setRootNode(root);
+
+        assertEquals("0001", read("/id").getValue());
+        FieldGroup types = (FieldGroup) read("/batters/batter<>/type");
+        assertEquals(4, types.getField().size());
+        assertEquals("Devil's Food", types.getField().get(3).getValue());
+        assertEquals("5002", read("/topping[1]/id").getValue());
+    }
+
+    @Test
+    public void testLoadRootedObject() throws Exception {
+        JsonStreamingDocumentLoader loader = new JsonStreamingDocumentLoader();
+        loader.addPath("/orderId");
+        loader.addPath("/address");
+        JsonNode root = loader.load(new StringReader(
+                "{\"source\":{\"orderId\":123,\"comment\":\"foo\",\"address\":{\"city\":\"Raleigh\"}}}"));
+        assertFalse(root.get("source").has("comment"));
+        reader.setRootNode(root);
+
+        Field orderId = read("/orderId");
+        assertEquals(123, orderId.getValue());
+        assertEquals("Raleigh", root.get("source").get("address").get("city").asText());
+    }
+
+    private Field read(String path) throws Exception {
+        JsonField field = AtlasJsonModelFactory.createJsonField();
+        field.setPath(path);
+        AtlasInternalSession session = mock(AtlasInternalSession.class);
+        Head head = mock(Head.class);
+        when(session.head()).thenReturn(head);
+        when(head.getSourceField()).thenReturn(field);
+        return reader.read(session);
+    }
+
+}
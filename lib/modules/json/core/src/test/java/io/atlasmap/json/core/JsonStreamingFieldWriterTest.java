@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.json.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.json.v2.AtlasJsonModelFactory;
+import io.atlasmap.json.v2.JsonField;
+import io.atlasmap.spi.AtlasFieldWriter;
+import io.atlasmap.spi.AtlasInternalSession;
+import io.atlasmap.spi.AtlasInternalSession.Head;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldStatus;
+import io.atlasmap.v2.FieldType;
+
+public class JsonStreamingFieldWriterTest {
+
+    @Test
+    public void testWriteInDocumentOrder() throws Exception {
+        JsonField[] fields = new JsonField[] {
+            createField("/order/id", 1, FieldType.INTEGER),
+            createField("/order/items<0>/name", "foo", FieldType.STRING),
+            createField("/order/items<0>/price", 1.5, FieldType.DOUBLE),
+            createField("/order/items<2>/name", "bar", FieldType.STRING),
+            createField("/order/tags<1>", "baz", FieldType.STRING),
+            createField("/total", 10L, FieldType.LONG),
+            createField("/empty<>", null, FieldType.STRING),
+        };
+        JsonStreamingFieldWriter writer = new JsonStreamingFieldWriter(JsonFieldWriter.createObjectMapper(), false);
+        String streamed = write(writer, fields);
+        assertFalse(writer.isFallback());
+        assertEquals(write(new JsonFieldWriter(), fields), streamed);
+        assertEquals("{\"order\":{\"id\":1,\"items\":[{\"name\":\"foo\",\"price\":1.5},{},{\"name\":\"bar\"}],"
+                + "\"tags\":[null,\"baz\"]},\"total\":10,\"empty\":[]}", streamed);
+    }
+
+    @Test
+    public void testWriteCollectionRoot() throws Exception {
+        JsonField[] fields = new JsonField[] {
+            createField("/<0>/name", "foo", FieldType.STRING),
+            createField("/<1>/name", "bar", FieldType.STRING),
+        };
+        JsonStreamingFieldWriter writer = new JsonStreamingFieldWriter(JsonFieldWriter.createObjectMapper(), false);
+        assertEquals("[{\"name\":\"foo\"},{\"name\":\"bar\"}]", write(writer, fields));
+        assertFalse(writer.isFallback());
+    }
+
+    @Test
+    public void testFallbackOutOfOrder() throws Exception {
+        JsonField notFound = createField("/c/missing", null, FieldType.STRING);
+        notFound.setStatus(FieldStatus.NOT_FOUND);
+        JsonField[] fields = new JsonField[] {
+            createField("/a/items<1>/x", "1", FieldType.STRING),
+            createField("/b", "2", FieldType.STRING),
+            notFound,
+            createField("/a/items<0>/x", "3", FieldType.STRING),
+            createField("/a/y", "4", FieldType.STRING),
+        };
+        JsonStreamingFieldWriter writer = new JsonStreamingFieldWriter(JsonFieldWriter.createObjectMapper(), false);
+        String streamed = write(writer, fields);
+        assertTrue(writer.isFallback());
+        assertNull(writer.finish());
+        assertEquals(write(new JsonFieldWriter(), fields), streamed);
+    }
+
+    @Test
+    public void testWriteIntoOutputStream() throws Exception {
+        JsonField[] fields = new JsonField[] {
+            createField("/order/id", 1, FieldType.INTEGER),
+            createField("/order/items<0>/name", "foo", FieldType.STRING),
+            createField("/total", 10L, FieldType.LONG),
+        };
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonStreamingFieldWriter writer = new JsonStreamingFieldWriter(JsonFieldWriter.createObjectMapper(), false, out);
+        assertTrue(writer.isOutputStreamTarget());
+        assertFalse(writer.hasContent());
+        for (JsonField field : fields) {
+            write(writer, field);
+        }
+        assertTrue(writer.hasContent());
+        assertNull(writer.finish());
+        assertNull(writer.finishAsString());
+        assertEquals(write(new JsonFieldWriter(), fields), new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        // the output can't be read back to fall back to the tree
+        writer = new JsonStreamingFieldWriter(JsonFieldWriter.createObjectMapper(), false, new ByteArrayOutputStream());
+        write(writer, createField("/a/items<1>/x", "1", FieldType.STRING));
+        JsonStreamingFieldWriter direct = writer;
+        assertThrows(AtlasException.class, () -> write(direct, createField("/a/items<0>/x", "2", FieldType.STRING)));
+    }
+
+    @Test
+    public void testFinishAsString() throws Exception {
+        JsonStreamingFieldWriter writer = new JsonStreamingFieldWriter(JsonFieldWriter.createObjectMapper(), false);
+        write(writer, createField("/name", "\u3042", FieldType.STRING));
+        assertEquals("{\"name\":\"\u3042\"}", writer.finishAsString());
+    }
+
+    @Test
+    public void testIsDocumentOrder() {
+        assertTrue(JsonStreamingFieldWriter.isDocumentOrder(Arrays.asList("/a/x", "/a/y", "/b<>/z", "/c")));
+        assertTrue(JsonStreamingFieldWriter.isDocumentOrder(Arrays.asList("/a<0>/x", "/a<0>/y", "/a<1>/x")));
+        assertFalse(JsonStreamingFieldWriter.isDocumentOrder(Arrays.asList("/a/x", "/b", "/a/y")));
+        assertFalse(JsonStreamingFieldWriter.isDocumentOrder(Arrays.asList("/a<>/x", "/a<>/y")));
+        assertFalse(JsonStreamingFieldWriter.isDocumentOrder(Arrays.asList("/a", "/a")));
+        assertFalse(JsonStreamingFieldWriter.isDocumentOrder(Arrays.asList("/a/x", "/<0>/y")));
+        assertFalse(JsonStreamingFieldWriter.isDocumentOrder(Arrays.asList("/a<1>/x", "/a<0>/x")));
+        assertFalse(JsonStreamingFieldWriter.isDocumentOrder(Arrays.asList("/a<>/x", "/a<0>/y")));
+    }
+
+    private String write(JsonFieldWriter writer, Field... fields) throws Exception {
+        for (Field field : fields) {
+            write(writer, field);
+        }
+        if (writer instanceof JsonStreamingFieldWriter && !((JsonStreamingFieldWriter) writer).isFallback()) {
+            return new String(((JsonStreamingFieldWriter) writer).finish(), StandardCharsets.UTF_8);
+        }
+        return writer.getRootNode().toString();
+    }
+
+    private void write(AtlasFieldWriter writer, Field field) throws Exception {
+        AtlasInternalSession session = mock(AtlasInternalSession.class);
+        when(session.head()).thenReturn(mock(Head.class));
+        when(session.head().getTargetField()).thenReturn(field);
+        writer.write(session);
+    }
+
+    private JsonField createField(String path, Object value, FieldType type) {
+        JsonField field = AtlasJsonModelFactory.createJsonField();
+        field.setPath(path);
+        field.setValue(value);
+        field.setFieldType(type);
+        return field;
+    }
+
+}
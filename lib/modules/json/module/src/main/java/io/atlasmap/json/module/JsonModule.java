@@ -15,27 +15,46 @@
  */
 package io.atlasmap.json.module;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.api.AtlasValidationException;
 import io.atlasmap.core.AtlasPath;
 import io.atlasmap.core.AtlasUtil;
 import io.atlasmap.core.BaseAtlasModule;
+import io.atlasmap.core.ColumnarFieldGroup;
 import io.atlasmap.json.core.JsonFieldReader;
 import io.atlasmap.json.core.JsonFieldWriter;
+import io.atlasmap.json.core.JsonStreamingDocumentLoader;
+import io.atlasmap.json.core.JsonStreamingFieldWriter;
 import io.atlasmap.json.v2.AtlasJsonModelFactory;
 import io.atlasmap.json.v2.JsonEnumField;
 import io.atlasmap.json.v2.JsonField;
+import io.atlasmap.spi.AtlasFieldCursor;
 import io.atlasmap.spi.AtlasInternalSession;
 import io.atlasmap.spi.AtlasModuleDetail;
+import io.atlasmap.spi.AtlasModuleMode;
+import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.AtlasModelFactory;
 import io.atlasmap.v2.AuditStatus;
+import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.Collection;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldGroup;
+import io.atlasmap.v2.Mapping;
 import io.atlasmap.v2.Validation;
 import io.atlasmap.v2.Validations;
 
@@ -44,6 +63,35 @@ import io.atlasmap.v2.Validations;
 public class JsonModule extends BaseAtlasModule {
     private static final Logger LOG = LoggerFactory.getLogger(JsonModule.class);
 
+    private ObjectMapper objectMapper = JsonFieldWriter.createObjectMapper();
+    private ObjectWriter objectWriter = objectMapper.writer();
+    /** The loader for the source paths of the compiled mapping definition, shared across the sessions. */
+    private volatile JsonStreamingDocumentLoader preparedLoader;
+    private volatile Boolean preparedDocumentOrder;
+
+    @Override
+    public void init() throws AtlasException {
+        super.init();
+        this.objectWriter = isPrettyPrintEnabled() ? objectMapper.writerWithDefaultPrettyPrinter()
+                : objectMapper.writer();
+    }
+
+    @Override
+    public void prepareMapping(AtlasMapping mappingDefinition) throws AtlasException {
+        this.preparedLoader = null;
+        this.preparedDocumentOrder = null;
+        if (!isStreamingEnabled() || mappingDefinition == null || mappingDefinition.getMappings() == null) {
+            return;
+        }
+        if (getMode() == AtlasModuleMode.SOURCE) {
+            JsonStreamingDocumentLoader loader = new JsonStreamingDocumentLoader();
+            collectSourcePaths(mappingDefinition.getMappings().getMapping(), loader);
+            this.preparedLoader = loader;
+        } else if (getMode() == AtlasModuleMode.TARGET) {
+            this.preparedDocumentOrder = isDocumentOrder(mappingDefinition);
+        }
+    }
+
     @Override
     public void processPreValidation(AtlasInternalSession atlasSession) throws AtlasException {
         if (atlasSession == null || atlasSession.getMapping() == null) {
@@ -71,6 +119,10 @@ public class JsonModule extends BaseAtlasModule {
     @Override
     public void processPreSourceExecution(AtlasInternalSession session) throws AtlasException {
         Object sourceDocument = session.getSourceDocument(getDocId());
+        if (isStreamingEnabled()) {
+            processPreSourceExecutionStreaming(session, sourceDocument);
+            return;
+        }
         String sourceDocumentString = null;
         if (sourceDocument == null || !(sourceDocument instanceof String)) {
             AtlasUtil.addAudit(session, getDocId(), String.format(
@@ -88,9 +140,125 @@ public class JsonModule extends BaseAtlasModule {
         }
     }
 
+    private void processPreSourceExecutionStreaming(AtlasInternalSession session, Object sourceDocument)
+            throws AtlasException {
+        JsonNode rootNode = null;
+        if (sourceDocument instanceof String || sourceDocument instanceof byte[]
+                || sourceDocument instanceof InputStream || sourceDocument instanceof JsonParser) {
+            JsonStreamingDocumentLoader loader = session.isMappingDefinitionIntact() ? this.preparedLoader : null;
+            if (loader == null) {
+                // the session mapping differs from the compiled one
+                loader = new JsonStreamingDocumentLoader();
+                if (session.getMapping() != null && session.getMapping().getMappings() != null) {
+                    collectSourcePaths(session.getMapping().getMappings().getMapping(), loader);
+                }
+            }
+            if (sourceDocument instanceof String) {
+                if (!((String) sourceDocument).isEmpty()) {
+                    rootNode = loader.load(new StringReader((String) sourceDocument));
+                }
+            } else if (sourceDocument instanceof byte[]) {
+                rootNode = loader.load((byte[]) sourceDocument);
+            } else if (sourceDocument instanceof InputStream) {
+                rootNode = loader.load((InputStream) sourceDocument);
+            } else {
+                rootNode = loader.load((JsonParser) sourceDocument);
+            }
+        } else {
+            AtlasUtil.addAudit(session, getDocId(), String.format(
+                    "Null or unsupported source document: docId='%s'", getDocId()),
+                    AuditStatus.WARN, null);
+        }
+        JsonFieldReader fieldReader = new JsonFieldReader(getConversionService());
+        fieldReader.setRootNode(rootNode);
+        session.setFieldReader(getDocId(), fieldReader);
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("{} processPreSourceExcution completed in streaming mode", getDocId());
+        }
+    }
+
+    private void collectSourcePaths(List<BaseMapping> mappings, JsonStreamingDocumentLoader loader) {
+        for (BaseMapping baseMapping : mappings) {
+            if (baseMapping instanceof Collection) {
+                collectSourcePaths(((Collection) baseMapping).getMappings().getMapping(), loader);
+            } else if (baseMapping instanceof Mapping) {
+                Mapping mapping = (Mapping) baseMapping;
+                if (mapping.getInputFieldGroup() != null) {
+                    collectSourcePath(mapping.getInputFieldGroup(), loader);
+                }
+                for (Field f : mapping.getInputField()) {
+                    collectSourcePath(f, loader);
+                }
+            }
+        }
+    }
+
+    private void collectSourcePath(Field field, JsonStreamingDocumentLoader loader) {
+        if (!getDocId().equals(field.getDocId())) {
+            if (field instanceof FieldGroup) {
+                for (Field f : ((FieldGroup) field).getField()) {
+                    collectSourcePath(f, loader);
+                }
+            }
+            return;
+        }
+        loader.addPath(field.getPath());
+    }
+
+    /**
+     * Whether to load the source document with {@link JsonStreamingDocumentLoader}, which materializes
+     * only the values referenced by the mapping, or to write the target document with
+     * {@link JsonStreamingFieldWriter} if the target fields are in document order.
+     * Enabled by {@code streaming=true} URI parameter.
+     * @return true if enabled
+     */
+    protected boolean isStreamingEnabled() {
+        return "true".equalsIgnoreCase(this.getUriParameters().get("streaming"));
+    }
+
+    /**
+     * Whether to indent the target document. Enabled by {@code prettyPrint=true} URI parameter,
+     * otherwise the target document is written in compact form.
+     * @return true if enabled
+     */
+    protected boolean isPrettyPrintEnabled() {
+        return "true".equalsIgnoreCase(this.getUriParameters().get("prettyPrint"));
+    }
+
+    /**
+     * Whether to emit the target document as {@code byte[]} encoded in UTF-8 instead of {@code String}.
+     * Enabled by {@code targetDocumentType=bytes} URI parameter. If the caller puts an {@link OutputStream}
+     * as a target document before processing, the target document is written into it regardless.
+     * @return true if enabled
+     */
+    protected boolean isBytesTargetDocument() {
+        return "bytes".equalsIgnoreCase(this.getUriParameters().get("targetDocumentType"));
+    }
+
     @Override
     public void processPreTargetExecution(AtlasInternalSession session) throws AtlasException {
-        JsonFieldWriter writer = new JsonFieldWriter();
+        JsonFieldWriter writer = null;
+        if (isStreamingEnabled() && session.getMapping() != null && session.getMapping().getMappings() != null) {
+            Boolean documentOrder = session.isMappingDefinitionIntact() ? this.preparedDocumentOrder : null;
+            if (documentOrder == null) {
+                // the session mapping differs from the compiled one
+                documentOrder = isDocumentOrder(session.getMapping());
+            }
+            if (documentOrder) {
+                // write directly into the target OutputStream if it's given
+                Object targetDocument = session.hasTargetDocument(getDocId())
+                        ? session.getTargetDocument(getDocId()) : null;
+                writer = new JsonStreamingFieldWriter(this.objectMapper, isPrettyPrintEnabled(),
+                        targetDocument instanceof OutputStream ? (OutputStream) targetDocument : null);
+            } else if (LOG.isDebugEnabled()) {
+                LOG.debug("{}: Target fields are not in document order, streaming target writer is disabled",
+                        getDocId());
+            }
+        }
+        if (writer == null) {
+            writer = new JsonFieldWriter(this.objectMapper);
+        }
         session.setFieldWriter(getDocId(), writer);
 
         if (LOG.isDebugEnabled()) {
@@ -98,6 +266,26 @@ public class JsonModule extends BaseAtlasModule {
         }
     }
 
+    private boolean isDocumentOrder(AtlasMapping mapping) {
+        List<String> targetPaths = new ArrayList<>();
+        collectTargetPaths(mapping.getMappings().getMapping(), targetPaths);
+        return JsonStreamingFieldWriter.isDocumentOrder(targetPaths);
+    }
+
+    private void collectTargetPaths(List<BaseMapping> mappings, List<String> targetPaths) {
+        for (BaseMapping baseMapping : mappings) {
+            if (baseMapping instanceof Collection) {
+                collectTargetPaths(((Collection) baseMapping).getMappings().getMapping(), targetPaths);
+            } else if (baseMapping instanceof Mapping) {
+                for (Field f : ((Mapping) baseMapping).getOutputField()) {
+                    if (getDocId().equals(f.getDocId()) && f.getPath() != null) {
+                        targetPaths.add(f.getPath());
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public void readSourceValue(AtlasInternalSession session) throws AtlasException {
         Field sourceField = session.head().getSourceField();
@@ -117,6 +305,12 @@ public class JsonModule extends BaseAtlasModule {
         }
     }
 
+    @Override
+    public AtlasFieldCursor openSourceCursor(AtlasInternalSession session) throws AtlasException {
+        JsonFieldReader reader = session.getFieldReader(getDocId(), JsonFieldReader.class);
+        return reader != null ? reader.openCursor(session) : null;
+    }
+
     @Override
     public void populateTargetField(AtlasInternalSession session) throws AtlasException {
         Field sourceField = session.head().getSourceField();
@@ -160,7 +354,7 @@ public class JsonModule extends BaseAtlasModule {
         } else if (sourceField instanceof FieldGroup) {
             Field previousTargetSubField = null;
             for (int i=0; i<((FieldGroup)sourceField).getField().size(); i++) {
-                Field sourceSubField = ((FieldGroup)sourceField).getField().get(i);
+                Field sourceSubField = ColumnarFieldGroup.getElementField((FieldGroup)sourceField, i);
                 JsonField targetSubField = new JsonField();
                 AtlasJsonModelFactory.copyField(targetField, targetSubField, false);
                 getCollectionHelper().copyCollectionIndexes(sourceField, sourceSubField, targetSubField, previousTargetSubField);
@@ -219,12 +413,62 @@ public class JsonModule extends BaseAtlasModule {
     @Override
     public void processPostTargetExecution(AtlasInternalSession session) throws AtlasException {
         JsonFieldWriter writer = session.getFieldWriter(getDocId(), JsonFieldWriter.class);
-        if (writer != null && writer.getRootNode() != null) {
-            String outputBody = writer.getRootNode().toString();
-            session.setTargetDocument(getDocId(), outputBody);
-            if (LOG.isDebugEnabled()) {
-                LOG.debug(String.format("processPostTargetExecution converting JsonNode to string size=%s",
-                        outputBody.length()));
+        JsonStreamingFieldWriter streaming = writer instanceof JsonStreamingFieldWriter
+                && ((JsonStreamingFieldWriter) writer).hasContent() ? (JsonStreamingFieldWriter) writer : null;
+        if (streaming != null) {
+            try {
+                if (streaming.isOutputStreamTarget()) {
+                    streaming.finish();
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("processPostTargetExecution streamed into the target OutputStream");
+                    }
+                } else if (isBytesTargetDocument()) {
+                    byte[] outputBody = streaming.finish();
+                    session.setTargetDocument(getDocId(), outputBody);
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug(String.format("processPostTargetExecution streamed target document size=%s",
+                                outputBody.length));
+                    }
+                } else {
+                    String outputBody = streaming.finishAsString();
+                    session.setTargetDocument(getDocId(), outputBody);
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug(String.format("processPostTargetExecution streamed target document size=%s",
+                                outputBody.length()));
+                    }
+                }
+            } catch (AtlasException e) {
+                AtlasUtil.addAudit(session, getDocId(), String.format(
+                        "Failed to write target document: docId='%s', msg=%s", getDocId(), e.getMessage()),
+                        AuditStatus.ERROR, null);
+            }
+        } else if (writer != null && writer.getRootNode() != null) {
+            Object targetDocument = session.hasTargetDocument(getDocId()) ? session.getTargetDocument(getDocId()) : null;
+            try {
+                if (targetDocument instanceof OutputStream) {
+                    this.objectWriter.writeValue((OutputStream) targetDocument, writer.getRootNode());
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("processPostTargetExecution wrote JsonNode into the target OutputStream");
+                    }
+                } else if (isBytesTargetDocument()) {
+                    byte[] outputBody = this.objectWriter.writeValueAsBytes(writer.getRootNode());
+                    session.setTargetDocument(getDocId(), outputBody);
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug(String.format("processPostTargetExecution converting JsonNode to bytes size=%s",
+                                outputBody.length));
+                    }
+                } else {
+                    String outputBody = this.objectWriter.writeValueAsString(writer.getRootNode());
+                    session.setTargetDocument(getDocId(), outputBody);
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug(String.format("processPostTargetExecution converting JsonNode to string size=%s",
+                                outputBody.length()));
+                    }
+                }
+            } catch (IOException e) {
+                AtlasUtil.addAudit(session, getDocId(), String.format(
+                        "Failed to write target document: docId='%s', msg=%s", getDocId(), e.getMessage()),
+                        AuditStatus.ERROR, null);
             }
         } else {
             AtlasUtil.addAudit(session, getDocId(), String
@@ -238,6 +482,20 @@ public class JsonModule extends BaseAtlasModule {
         }
     }
 
+    /**
+     * The source document is parsed into a Jackson tree in {@link #processPreSourceExecution(AtlasInternalSession)}
+     * and only read afterwards.
+     */
+    @Override
+    public boolean isConcurrentReadSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isTargetItemWriteSupported() {
+        return true;
+    }
+
     @Override
     public Boolean isSupportedField(Field field) {
         if (super.isSupportedField(field)) {
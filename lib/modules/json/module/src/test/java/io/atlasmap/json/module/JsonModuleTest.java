@@ -15,17 +15,36 @@
  */
 package io.atlasmap.json.module;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import io.atlasmap.api.AtlasContext;
+import io.atlasmap.api.AtlasContextFactory;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.core.DefaultAtlasContextFactory;
 import io.atlasmap.json.v2.JsonField;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.AtlasModelFactory;
 import io.atlasmap.v2.ConstantField;
+import io.atlasmap.v2.DataSource;
+import io.atlasmap.v2.DataSourceType;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
 import io.atlasmap.v2.PropertyField;
 import io.atlasmap.v2.SimpleField;
+import io.atlasmap.v2.Uppercase;
 
 public class JsonModuleTest {
 
@@ -49,4 +68,185 @@ public class JsonModuleTest {
         assertTrue(module.isSupportedField(new SimpleField()));
     }
 
+    @Test
+    public void testTargetDocumentType() throws Exception {
+        AtlasSession session = processConstantMapping("");
+        assertEquals("{\"foo\":\"bar\"}", session.getTargetDocument("target"));
+
+        session = processConstantMapping("?targetDocumentType=bytes");
+        assertEquals("{\"foo\":\"bar\"}",
+                new String((byte[]) session.getTargetDocument("target"), StandardCharsets.UTF_8));
+
+        session = processConstantMapping("?streaming=true&targetDocumentType=bytes");
+        assertEquals("{\"foo\":\"bar\"}",
+                new String((byte[]) session.getTargetDocument("target"), StandardCharsets.UTF_8));
+
+        session = processConstantMapping("?prettyPrint=true");
+        assertTrue(((String) session.getTargetDocument("target")).contains("\n"));
+    }
+
+    @Test
+    public void testTargetOutputStream() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AtlasContext context = createConstantMappingContext("");
+        AtlasSession session = context.createSession();
+        session.setTargetDocument("target", out);
+        context.process(session);
+        assertFalse(session.hasErrors());
+        assertSame(out, session.getTargetDocument("target"));
+        assertEquals("{\"foo\":\"bar\"}", new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        // the streaming writer writes directly into the OutputStream
+        out = new ByteArrayOutputStream();
+        context = createConstantMappingContext("?streaming=true");
+        session = context.createSession();
+        session.setTargetDocument("target", out);
+        context.process(session);
+        assertFalse(session.hasErrors());
+        assertSame(out, session.getTargetDocument("target"));
+        assertEquals("{\"foo\":\"bar\"}", new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        // the next session reuses the document order prepared for the mapping
+        out = new ByteArrayOutputStream();
+        session = context.createSession();
+        session.setTargetDocument("target", out);
+        context.process(session);
+        assertFalse(session.hasErrors());
+        assertEquals("{\"foo\":\"bar\"}", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testCollectionStreaming() throws Exception {
+        String source = "{\"orders\":[{\"amount\":\"a\"},{\"other\":1},{\"amount\":\"c\"}]}";
+        String expected = processCollectionMapping(source, false);
+        assertEquals("{\"out\":[{\"value\":\"A\"},{},{\"value\":\"C\"}]}", expected);
+        assertEquals(expected, processCollectionMapping(source, true));
+
+        // an empty collection is processed as usual
+        String empty = "{\"orders\":[]}";
+        assertEquals(processCollectionMapping(empty, false), processCollectionMapping(empty, true));
+
+        // a rooted object is peeled off in the same way
+        String rooted = "{\"source\":{\"orders\":[{\"amount\":\"a\"}]}}";
+        assertEquals("{\"out\":[{\"value\":\"A\"}]}", processCollectionMapping(rooted, false));
+        assertEquals("{\"out\":[{\"value\":\"A\"}]}", processCollectionMapping(rooted, true));
+    }
+
+    @Test
+    public void testStreamingSourcePaths() throws Exception {
+        AtlasMapping mapping = AtlasModelFactory.createAtlasMapping();
+        mapping.setName("json_streaming_source");
+        DataSource sourceDataSource = new DataSource();
+        sourceDataSource.setId("source");
+        sourceDataSource.setUri("atlas:json:source?streaming=true");
+        sourceDataSource.setDataSourceType(DataSourceType.SOURCE);
+        mapping.getDataSource().add(sourceDataSource);
+        DataSource targetDataSource = new DataSource();
+        targetDataSource.setId("target");
+        targetDataSource.setUri("atlas:json:target");
+        targetDataSource.setDataSourceType(DataSourceType.TARGET);
+        mapping.getDataSource().add(targetDataSource);
+        Mapping m = AtlasModelFactory.createMapping(MappingType.MAP);
+        JsonField sourceField = new JsonField();
+        sourceField.setDocId("source");
+        sourceField.setPath("/a");
+        sourceField.setFieldType(FieldType.STRING);
+        m.getInputField().add(sourceField);
+        JsonField targetField = new JsonField();
+        targetField.setDocId("target");
+        targetField.setPath("/out");
+        targetField.setFieldType(FieldType.STRING);
+        m.getOutputField().add(targetField);
+        mapping.getMappings().getMapping().add(m);
+        AtlasContext context = DefaultAtlasContextFactory.getInstance().createContext(mapping);
+
+        // the source paths prepared for the mapping definition
+        AtlasSession session = context.createSession();
+        session.setSourceDocument("source", "{\"a\":\"foo\",\"b\":\"bar\"}");
+        context.process(session);
+        assertFalse(session.hasErrors());
+        assertEquals("{\"out\":\"foo\"}", session.getTargetDocument("target"));
+
+        // the session mapping is modified, its own source paths are collected
+        session = context.createSession();
+        ((Mapping) session.getMapping().getMappings().getMapping().get(0)).getInputField().get(0).setPath("/b");
+        session.setSourceDocument("source", "{\"a\":\"foo\",\"b\":\"bar\"}");
+        context.process(session);
+        assertFalse(session.hasErrors());
+        assertEquals("{\"out\":\"bar\"}", session.getTargetDocument("target"));
+    }
+
+    private String processCollectionMapping(String sourceDocument, boolean streaming) throws Exception {
+        DefaultAtlasContextFactory factory = DefaultAtlasContextFactory.getInstance();
+        if (streaming) {
+            factory.getProperties().put(AtlasContextFactory.PROPERTY_ATLASMAP_COLLECTION_STREAMING, "true");
+        }
+        try {
+            AtlasMapping mapping = AtlasModelFactory.createAtlasMapping();
+            mapping.setName("json_collection");
+            DataSource sourceDataSource = new DataSource();
+            sourceDataSource.setId("source");
+            sourceDataSource.setUri("atlas:json:source");
+            sourceDataSource.setDataSourceType(DataSourceType.SOURCE);
+            mapping.getDataSource().add(sourceDataSource);
+            DataSource targetDataSource = new DataSource();
+            targetDataSource.setId("target");
+            targetDataSource.setUri("atlas:json:target");
+            targetDataSource.setDataSourceType(DataSourceType.TARGET);
+            mapping.getDataSource().add(targetDataSource);
+            Mapping m = AtlasModelFactory.createMapping(MappingType.MAP);
+            JsonField sourceField = new JsonField();
+            sourceField.setDocId("source");
+            sourceField.setPath("/orders<>/amount");
+            sourceField.setFieldType(FieldType.STRING);
+            sourceField.setActions(new ArrayList<>(Collections.singletonList(new Uppercase())));
+            m.getInputField().add(sourceField);
+            JsonField targetField = new JsonField();
+            targetField.setDocId("target");
+            targetField.setPath("/out<>/value");
+            targetField.setFieldType(FieldType.STRING);
+            m.getOutputField().add(targetField);
+            mapping.getMappings().getMapping().add(m);
+
+            AtlasContext context = factory.createContext(mapping);
+            AtlasSession session = context.createSession();
+            session.setSourceDocument("source", sourceDocument);
+            context.process(session);
+            assertFalse(session.hasErrors());
+            return (String) session.getTargetDocument("target");
+        } finally {
+            factory.getProperties().remove(AtlasContextFactory.PROPERTY_ATLASMAP_COLLECTION_STREAMING);
+        }
+    }
+
+    private AtlasSession processConstantMapping(String uriParameters) throws Exception {
+        AtlasContext context = createConstantMappingContext(uriParameters);
+        AtlasSession session = context.createSession();
+        context.process(session);
+        assertFalse(session.hasErrors());
+        return session;
+    }
+
+    private AtlasContext createConstantMappingContext(String uriParameters) throws Exception {
+        AtlasMapping mapping = AtlasModelFactory.createAtlasMapping();
+        mapping.setName("json_target");
+        DataSource target = new DataSource();
+        target.setId("target");
+        target.setUri("atlas:json:target" + uriParameters);
+        target.setDataSourceType(DataSourceType.TARGET);
+        mapping.getDataSource().add(target);
+        Mapping m = AtlasModelFactory.createMapping(MappingType.MAP);
+        ConstantField source = new ConstantField();
+        source.setFieldType(FieldType.STRING);
+        source.setValue("bar");
+        m.getInputField().add(source);
+        JsonField targetField = new JsonField();
+        targetField.setDocId("target");
+        targetField.setPath("/foo");
+        targetField.setFieldType(FieldType.STRING);
+        m.getOutputField().add(targetField);
+        mapping.getMappings().getMapping().add(m);
+        return DefaultAtlasContextFactory.getInstance().createContext(mapping);
+    }
+
 }
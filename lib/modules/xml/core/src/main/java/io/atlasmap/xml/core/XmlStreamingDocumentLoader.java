@@ -0,0 +1,292 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.xml.core;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.xml.core.XmlPath.XmlSegmentContext;
+
+/**
+ * Loads a source XML document in a single StAX pass, keeping only the elements which
+ * are on the paths referenced by the mapping. The result is a regular W3C DOM so that
+ * {@link XmlFieldReader} works on it as is, but the unreferenced elements are never materialized.
+ * <p>
+ * The element names are matched by the local name only and the collection indexes are not
+ * taken into account, so the loaded document is always a superset of what
+ * {@link XmlFieldReader} actually looks up. The element at the end of the path is kept
+ * with its whole subtree since its text content or child fields are read from there.
+ */
+public class XmlStreamingDocumentLoader {
+
+    private final PathNode root;
+    private final ClassLoader classLoader;
+    private final boolean namespaceAware;
+    private final XMLInputFactory inputFactory;
+    private final DocumentBuilderFactory documentBuilderFactory;
+
+    public XmlStreamingDocumentLoader(ClassLoader cl, boolean namespaceAware) {
+        this(new PathNode(), cl, namespaceAware);
+    }
+
+    /**
+     * Creates a loader which shares the registered paths with the given one, but has its own
+     * parsers. The paths must not be added to either of them anymore.
+     * @param template loader to share the paths with
+     */
+    public XmlStreamingDocumentLoader(XmlStreamingDocumentLoader template) {
+        this(template.root, template.classLoader, template.namespaceAware);
+    }
+
+    private XmlStreamingDocumentLoader(PathNode root, ClassLoader cl, boolean namespaceAware) {
+        this.root = root;
+        this.classLoader = cl;
+        this.namespaceAware = namespaceAware;
+        ClassLoader origTccl = Thread.currentThread().getContextClassLoader();
+        try {
+            Thread.currentThread().setContextClassLoader(cl);
+            this.inputFactory = XMLInputFactory.newFactory();
+            this.documentBuilderFactory = DocumentBuilderFactory.newInstance();
+        } finally {
+            Thread.currentThread().setContextClassLoader(origTccl);
+        }
+        this.inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, namespaceAware);
+        this.inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        this.documentBuilderFactory.setNamespaceAware(namespaceAware);
+    }
+
+    /**
+     * Registers the path of a source field to be loaded.
+     * @param path field path, or {@code null} to load the whole document
+     * @param complex true if the field reads the child fields of the element, i.e. a complex field
+     */
+    public void addPath(String path, boolean complex) {
+        if (path == null) {
+            root.wholeElement = true;
+            return;
+        }
+        List<XmlSegmentContext> segments = new XmlPath(path).getXmlSegments(false);
+        boolean wholeElement = true;
+        int size = segments.size();
+        if (size > 0 && segments.get(size - 1).isAttribute() && !complex) {
+            // only the attributes of the owner element are needed
+            wholeElement = false;
+            size--;
+        }
+        PathNode node = root;
+        for (int i = 0; i < size; i++) {
+            node = node.children.computeIfAbsent(segments.get(i).getName(), k -> new PathNode());
+        }
+        node.wholeElement |= wholeElement;
+    }
+
+    /**
+     * Loads the document from the stream.
+     * @param in input stream
+     * @return loaded document
+     * @throws AtlasException failed to parse
+     */
+    public Document load(InputStream in) throws AtlasException {
+        try {
+            return load(inputFactory.createXMLStreamReader(in));
+        } catch (XMLStreamException e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    /**
+     * Loads the document from the reader.
+     * @param in reader
+     * @return loaded document
+     * @throws AtlasException failed to parse
+     */
+    public Document load(Reader in) throws AtlasException {
+        try {
+            return load(inputFactory.createXMLStreamReader(in));
+        } catch (XMLStreamException e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    private Document load(XMLStreamReader reader) throws AtlasException {
+        try {
+            Document document = documentBuilderFactory.newDocumentBuilder().newDocument();
+            Deque<Frame> stack = new ArrayDeque<>();
+            int skipDepth = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (skipDepth > 0) {
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        skipDepth++;
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        skipDepth--;
+                    }
+                    continue;
+                }
+                switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    Frame parent = stack.peek();
+                    String name = stripNamespaceAlias(reader.getLocalName());
+                    List<PathNode> nodes;
+                    if (parent == null) {
+                        nodes = matchRoot(name);
+                    } else if (parent.wholeElement) {
+                        nodes = Collections.emptyList();
+                    } else {
+                        nodes = matchChildren(parent.nodes, name);
+                        if (nodes.isEmpty()) {
+                            skipDepth = 1;
+                            continue;
+                        }
+                    }
+                    boolean wholeElement = parent != null && parent.wholeElement;
+                    for (PathNode node : nodes) {
+                        wholeElement |= node.wholeElement;
+                    }
+                    Element element = createElement(document, reader);
+                    (parent == null ? document : parent.element).appendChild(element);
+                    stack.push(new Frame(element, nodes, wholeElement));
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    stack.pop();
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    Frame current = stack.peek();
+                    if (current != null && current.wholeElement) {
+                        current.element.appendChild(document.createTextNode(reader.getText()));
+                    }
+                    break;
+                default:
+                    // comments and processing instructions are not read by XmlFieldReader
+                }
+            }
+            return document;
+        } catch (Exception e) {
+            throw new AtlasException(e);
+        } finally {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                // ignore
+            }
+        }
+    }
+
+    private List<PathNode> matchRoot(String name) {
+        // XmlFieldReader accepts the path either with or without the root element
+        List<PathNode> answer = new ArrayList<>();
+        answer.add(root);
+        for (Map.Entry<String, PathNode> entry : root.children.entrySet()) {
+            if (entry.getKey().equals(name)) {
+                answer.add(entry.getValue());
+            }
+        }
+        return answer;
+    }
+
+    private List<PathNode> matchChildren(List<PathNode> nodes, String name) {
+        List<PathNode> answer = new ArrayList<>(1);
+        for (PathNode node : nodes) {
+            PathNode child = node.children.get(name);
+            if (child != null) {
+                answer.add(child);
+            }
+        }
+        return answer;
+    }
+
+    private Element createElement(Document document, XMLStreamReader reader) {
+        Element element;
+        if (!namespaceAware) {
+            element = document.createElement(toQualifiedName(reader.getPrefix(), reader.getLocalName()));
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                QName attr = reader.getAttributeName(i);
+                element.setAttribute(toQualifiedName(attr.getPrefix(), attr.getLocalPart()),
+                        reader.getAttributeValue(i));
+            }
+            return element;
+        }
+
+        element = document.createElementNS(emptyToNull(reader.getNamespaceURI()),
+                toQualifiedName(reader.getPrefix(), reader.getLocalName()));
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            String prefix = reader.getNamespacePrefix(i);
+            String qname = prefix == null || prefix.isEmpty() ? XMLConstants.XMLNS_ATTRIBUTE
+                    : XMLConstants.XMLNS_ATTRIBUTE + ":" + prefix;
+            String uri = reader.getNamespaceURI(i);
+            element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, qname, uri != null ? uri : "");
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            QName attr = reader.getAttributeName(i);
+            element.setAttributeNS(emptyToNull(attr.getNamespaceURI()),
+                    toQualifiedName(attr.getPrefix(), attr.getLocalPart()), reader.getAttributeValue(i));
+        }
+        return element;
+    }
+
+    private static String toQualifiedName(String prefix, String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+    }
+
+    private static String stripNamespaceAlias(String name) {
+        int index = name.indexOf(':');
+        return index >= 0 ? name.substring(index + 1) : name;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static class PathNode {
+        private final Map<String, PathNode> children = new HashMap<>();
+        private boolean wholeElement;
+    }
+
+    private static class Frame {
+        private final Node element;
+        private final List<PathNode> nodes;
+        private final boolean wholeElement;
+
+        Frame(Node element, List<PathNode> nodes, boolean wholeElement) {
+            this.element = element;
+            this.nodes = nodes;
+            this.wholeElement = wholeElement;
+        }
+    }
+
+}
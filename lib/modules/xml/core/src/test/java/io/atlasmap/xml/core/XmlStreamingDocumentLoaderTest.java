@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.xml.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import io.atlasmap.core.DefaultAtlasConversionService;
+import io.atlasmap.spi.AtlasInternalSession;
+import io.atlasmap.spi.AtlasInternalSession.Head;
+import io.atlasmap.v2.Field;
+import io.atlasmap.xml.v2.AtlasXmlModelFactory;
+import io.atlasmap.xml.v2.XmlField;
+
+public class XmlStreamingDocumentLoaderTest {
+    private XmlFieldReader reader = new XmlFieldReader(XmlFieldReader.class.getClassLoader(), DefaultAtlasConversionService.getInstance());
+
+    @Test
+    public void testLoadReferencedElements() throws Exception {
+        XmlStreamingDocumentLoader loader = new XmlStreamingDocumentLoader(getClass().getClassLoader(), false);
+        loader.addPath("/orders/order<>/id<>", false);
+        loader.addPath("/orders/@totalCost", false);
+        Document doc;
+        try (InputStream in = new FileInputStream("src/test/resources/complex_example.xml")) {
+            doc = loader.load(in);
+        }
+        Element orders = doc.getDocumentElement();
+        assertEquals("12525.00", orders.getAttribute("totalCost"));
+        assertEquals(4, XmlIOHelper.getChildrenWithName("order", orders).size());
+        reader.setDocument(doc);
+
+        XmlField id = AtlasXmlModelFactory.createXmlField();
+        id.setPath("/orders/order[2]/id[2]");
+        assertEquals("54554555", read(id).getValue());
+
+        XmlField totalCost = AtlasXmlModelFactory.createXmlField();
+        totalCost.setPath("/orders/@totalCost");
+        assertEquals("12525.00", read(totalCost).getValue());
+    }
+
+    @Test
+    public void testSkipUnreferencedElements() throws Exception {
+        XmlStreamingDocumentLoader loader = new XmlStreamingDocumentLoader(getClass().getClassLoader(), true);
+        loader.addPath("/order/id/@y:custId", false);
+        Document doc = loader.load(new StringReader(
+                "<x:orders xmlns:x=\"http://www.example.com/x/\" xmlns:y=\"http://www.example.com/y/\">"
+                + "<customer><name>foo</name></customer>"
+                + "<order><id y:custId=\"a\">12312<item>bar</item></id></order>"
+                + "</x:orders>"));
+        Element orders = doc.getDocumentElement();
+        assertEquals("http://www.example.com/x/", orders.getNamespaceURI());
+        assertEquals(0, XmlIOHelper.getChildrenWithName("customer", orders).size());
+        Element id = XmlIOHelper.getChildrenWithName("id", XmlIOHelper.getChildrenWithName("order", orders).get(0)).get(0);
+        assertEquals("a", id.getAttributeNS("http://www.example.com/y/", "custId"));
+        assertEquals(0, id.getChildNodes().getLength());
+        reader.setDocument(doc);
+
+        XmlField custId = AtlasXmlModelFactory.createXmlField();
+        custId.setPath("/x:orders/order/id/@y:custId");
+        assertEquals("a", read(custId).getValue());
+    }
+
+    @Test
+    public void testMatchRootByExactName() throws Exception {
+        XmlStreamingDocumentLoader loader = new XmlStreamingDocumentLoader(getClass().getClassLoader(), false);
+        loader.addPath("/orders/id", false);
+        Document doc = loader.load(new StringReader(
+                "<order><id>1</id><orders><id>2</id></orders></order>"));
+        Element order = doc.getDocumentElement();
+        // 'orders' is not the root element 'order', it's only a child of the root
+        assertEquals(0, XmlIOHelper.getChildrenWithName("id", order).size());
+        Element orders = XmlIOHelper.getChildrenWithName("orders", order).get(0);
+        assertEquals("2", XmlIOHelper.getChildrenWithName("id", orders).get(0).getTextContent());
+    }
+
+    @Test
+    public void testSharePaths() throws Exception {
+        XmlStreamingDocumentLoader template = new XmlStreamingDocumentLoader(getClass().getClassLoader(), false);
+        template.addPath("/orders/id", false);
+        XmlStreamingDocumentLoader loader = new XmlStreamingDocumentLoader(template);
+        Document doc = loader.load(new StringReader("<orders><id>1</id><name>foo</name></orders>"));
+        Element orders = doc.getDocumentElement();
+        assertEquals("1", XmlIOHelper.getChildrenWithName("id", orders).get(0).getTextContent());
+        assertEquals(0, XmlIOHelper.getChildrenWithName("name", orders).size());
+    }
+
+    private Field read(XmlField field) throws Exception {
+        AtlasInternalSession session = mock(AtlasInternalSession.class);
+        Head head = mock(Head.class);
+        when(session.head()).thenReturn(head);
+        when(head.getSourceField()).thenReturn(field);
+        return reader.read(session);
+    }
+
+}
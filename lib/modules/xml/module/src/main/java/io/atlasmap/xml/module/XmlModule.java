@@ -16,9 +16,12 @@
 package io.atlasmap.xml.module;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
@@ -36,23 +39,30 @@ import io.atlasmap.api.AtlasException;
 import io.atlasmap.api.AtlasValidationException;
 import io.atlasmap.core.AtlasUtil;
 import io.atlasmap.core.BaseAtlasModule;
+import io.atlasmap.core.ColumnarFieldGroup;
 import io.atlasmap.spi.AtlasCollectionHelper;
 import io.atlasmap.spi.AtlasFieldActionService;
 import io.atlasmap.spi.AtlasInternalSession;
 import io.atlasmap.spi.AtlasModuleDetail;
+import io.atlasmap.spi.AtlasModuleMode;
+import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.AtlasModelFactory;
 import io.atlasmap.v2.AuditStatus;
+import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.Collection;
 import io.atlasmap.v2.DataSource;
 import io.atlasmap.v2.DataSourceType;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldGroup;
 import io.atlasmap.v2.InspectionType;
+import io.atlasmap.v2.Mapping;
 import io.atlasmap.v2.Validation;
 import io.atlasmap.xml.core.XmlCollectionHelper;
 import io.atlasmap.xml.core.XmlFieldReader;
 import io.atlasmap.xml.core.XmlFieldWriter;
 import io.atlasmap.xml.core.XmlIOHelper;
 import io.atlasmap.xml.core.XmlPath;
+import io.atlasmap.xml.core.XmlStreamingDocumentLoader;
 import io.atlasmap.xml.core.schema.AtlasRewritingXSVisitor;
 import io.atlasmap.xml.core.schema.AtlasXmlSchemaSetParser;
 import io.atlasmap.xml.v2.AtlasXmlModelFactory;
@@ -68,11 +78,33 @@ public class XmlModule extends BaseAtlasModule {
     private static final Logger LOG = LoggerFactory.getLogger(XmlModule.class);
 
     private XmlIOHelper ioHelper;
+    private volatile TargetSchema targetSchema;
+    private DocumentBuilderFactory documentBuilderFactory;
+    private final ThreadLocal<DocumentBuilder> documentBuilder = new ThreadLocal<>();
+    private volatile XmlStreamingDocumentLoader preparedLoader;
 
     @Override
     public void init() throws AtlasException {
         super.init();
         this.ioHelper = new XmlIOHelper(this.getClassLoader());
+        this.documentBuilderFactory = DocumentBuilderFactory.newInstance();
+        this.documentBuilderFactory.setNamespaceAware(true);
+        if (getMode() == AtlasModuleMode.TARGET) {
+            // only the target document is rewritten with the schema
+            getTargetSchema();
+        }
+    }
+
+    @Override
+    public void prepareMapping(AtlasMapping mappingDefinition) throws AtlasException {
+        this.preparedLoader = null;
+        if (!isStreamingEnabled() || getMode() != AtlasModuleMode.SOURCE
+                || mappingDefinition == null || mappingDefinition.getMappings() == null) {
+            return;
+        }
+        XmlStreamingDocumentLoader loader = new XmlStreamingDocumentLoader(getClassLoader(), isNamespaceEnabled());
+        collectSourcePaths(mappingDefinition.getMappings().getMapping(), loader);
+        this.preparedLoader = loader;
     }
 
     @Override
@@ -104,6 +136,10 @@ public class XmlModule extends BaseAtlasModule {
     @Override
     public void processPreSourceExecution(AtlasInternalSession session) throws AtlasException {
         Object sourceDocument = session.getSourceDocument(getDocId());
+        if (isStreamingEnabled()) {
+            processPreSourceExecutionStreaming(session, sourceDocument);
+            return;
+        }
         String sourceDocumentString = null;
         boolean enableNamespaces = false;
         if (sourceDocument == null || !(sourceDocument instanceof String)) {
@@ -153,6 +189,89 @@ public class XmlModule extends BaseAtlasModule {
         }
     };
 
+    private void processPreSourceExecutionStreaming(AtlasInternalSession session, Object sourceDocument)
+            throws AtlasException {
+        Document sourceXmlDocument = null;
+        if (sourceDocument instanceof String || sourceDocument instanceof byte[]
+                || sourceDocument instanceof InputStream) {
+            XmlStreamingDocumentLoader prepared = session.isMappingDefinitionIntact() ? this.preparedLoader : null;
+            XmlStreamingDocumentLoader loader;
+            if (prepared != null) {
+                loader = new XmlStreamingDocumentLoader(prepared);
+            } else {
+                // the session mapping differs from the compiled one
+                loader = new XmlStreamingDocumentLoader(getClassLoader(), isNamespaceEnabled());
+                if (session.getMapping() != null && session.getMapping().getMappings() != null) {
+                    collectSourcePaths(session.getMapping().getMappings().getMapping(), loader);
+                }
+            }
+            try {
+                if (sourceDocument instanceof String) {
+                    sourceXmlDocument = loader.load(new StringReader((String) sourceDocument));
+                } else if (sourceDocument instanceof byte[]) {
+                    sourceXmlDocument = loader.load(new ByteArrayInputStream((byte[]) sourceDocument));
+                } else {
+                    sourceXmlDocument = loader.load((InputStream) sourceDocument);
+                }
+            } catch (Exception e) {
+                LOG.warn("Failed to parse XML document", e);
+            }
+        } else {
+            AtlasUtil.addAudit(session, getDocId(), String.format(
+                    "Null or unsupported source document: docId='%s'", getDocId()),
+                    AuditStatus.WARN, null);
+        }
+        XmlFieldReader reader = new XmlFieldReader(getClassLoader(), getConversionService());
+        reader.setDocument(sourceXmlDocument);
+        session.setFieldReader(getDocId(), reader);
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("{}: processPreSourceExecution completed in streaming mode", getDocId());
+        }
+    }
+
+    private boolean isNamespaceEnabled() {
+        String param = this.getUriParameters().get("disableNamespaces");
+        return param == null || !"true".equalsIgnoreCase(param);
+    }
+
+    private void collectSourcePaths(List<BaseMapping> mappings, XmlStreamingDocumentLoader loader) {
+        for (BaseMapping baseMapping : mappings) {
+            if (baseMapping instanceof Collection) {
+                collectSourcePaths(((Collection) baseMapping).getMappings().getMapping(), loader);
+            } else if (baseMapping instanceof Mapping) {
+                Mapping mapping = (Mapping) baseMapping;
+                if (mapping.getInputFieldGroup() != null) {
+                    collectSourcePath(mapping.getInputFieldGroup(), loader);
+                }
+                for (Field f : mapping.getInputField()) {
+                    collectSourcePath(f, loader);
+                }
+            }
+        }
+    }
+
+    private void collectSourcePath(Field field, XmlStreamingDocumentLoader loader) {
+        if (!getDocId().equals(field.getDocId())) {
+            if (field instanceof FieldGroup) {
+                for (Field f : ((FieldGroup) field).getField()) {
+                    collectSourcePath(f, loader);
+                }
+            }
+            return;
+        }
+        loader.addPath(field.getPath(), field instanceof FieldGroup);
+    }
+
+    /**
+     * Whether to load the source document with {@link XmlStreamingDocumentLoader}, which keeps only
+     * the elements referenced by the mapping. Enabled by {@code streaming=true} URI parameter.
+     * @return true if enabled
+     */
+    protected boolean isStreamingEnabled() {
+        return "true".equalsIgnoreCase(this.getUriParameters().get("streaming"));
+    }
+
     @Override
     public void processPreTargetExecution(AtlasInternalSession session) throws AtlasException {
         XmlNamespaces xmlNs = null;
@@ -242,7 +361,7 @@ public class XmlModule extends BaseAtlasModule {
             targetFieldGroup.setStatus(sourceField.getStatus());
             Field previousTargetSubField = null;
             for (int i=0; i<((FieldGroup)sourceField).getField().size(); i++) {
-                Field sourceSubField = ((FieldGroup)sourceField).getField().get(i);
+                Field sourceSubField = ColumnarFieldGroup.getElementField((FieldGroup)sourceField, i);
                 XmlField targetSubField = new XmlField();
                 AtlasXmlModelFactory.copyField(targetField, targetSubField, false);
                 getCollectionHelper().copyCollectionIndexes(sourceField, sourceSubField, targetSubField, previousTargetSubField);
@@ -337,6 +456,11 @@ public class XmlModule extends BaseAtlasModule {
         return getXmlIOHelper().writeDocumentToString(false, xml);
     }
 
+    @Override
+    public boolean isTargetItemWriteSupported() {
+        return true;
+    }
+
     @Override
     public Boolean isSupportedField(Field field) {
         if (super.isSupportedField(field)) {
@@ -360,14 +484,11 @@ public class XmlModule extends BaseAtlasModule {
     }
 
     private Document enforceSchema(Document doc) {
-        if (getDataSourceMetadata() == null || getDataSourceMetadata().getInspectionType() != InspectionType.SCHEMA
-            || getDataSourceMetadata().getSpecification() == null || getDataSourceMetadata().getSpecification().length == 0) {
+        TargetSchema schema = getTargetSchema();
+        if (schema == null || schema.schemaSet == null) {
             return doc;
         }
         try {
-            byte[] bytes = getDataSourceMetadata().getSpecification();
-            AtlasXmlSchemaSetParser schemaParser = new AtlasXmlSchemaSetParser(getClassLoader());
-            XSSchemaSet schemaSet = schemaParser.parse(new ByteArrayInputStream(bytes));
             Element sourceRoot = doc.getDocumentElement();
             String namespaceUri = sourceRoot.getNamespaceURI();
             if (namespaceUri == null) {
@@ -377,19 +498,17 @@ public class XmlModule extends BaseAtlasModule {
             if (XMLConstants.NULL_NS_URI.equals(namespaceUri)) {
                 localName = sourceRoot.getTagName();
             }
-            XSElementDecl rootDecl = schemaSet.getElementDecl(namespaceUri, localName);
+            XSElementDecl rootDecl = schema.getRootElementDecl(namespaceUri, localName);
             if (rootDecl == null) {
                 LOG.warn("Declaration of the root element '{}' was not found in the schema",
                         namespaceUri != null ? namespaceUri + ":" + localName : localName);
                 return doc;
             }
-            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-            dbf.setNamespaceAware(true);
-            Document targetDoc = dbf.newDocumentBuilder().newDocument();
+            Document targetDoc = getDocumentBuilder().newDocument();
             rootDecl.visit(new AtlasRewritingXSVisitor(doc, targetDoc));
             return targetDoc;
         } catch (Exception e) {
-            LOG.warn("Failed to load XML schema for the document '{}': {} - ignoring", getDocId(), e.getMessage());
+            LOG.warn("Failed to enforce XML schema for the document '{}': {} - ignoring", getDocId(), e.getMessage());
             if (LOG.isDebugEnabled()) {
                 LOG.debug("", e);
             }
@@ -397,4 +516,72 @@ public class XmlModule extends BaseAtlasModule {
         }
     }
 
+    private DocumentBuilder getDocumentBuilder() throws Exception {
+        DocumentBuilder builder = this.documentBuilder.get();
+        if (builder == null) {
+            synchronized (this.documentBuilderFactory) {
+                builder = this.documentBuilderFactory.newDocumentBuilder();
+            }
+            this.documentBuilder.set(builder);
+        }
+        return builder;
+    }
+
+    XSSchemaSet getTargetSchemaSet() {
+        TargetSchema schema = getTargetSchema();
+        return schema != null ? schema.schemaSet : null;
+    }
+
+    /**
+     * Returns the target schema parsed from the {@link io.atlasmap.v2.DataSourceMetadata} specification.
+     * It's parsed once and cached as long as the specification is not replaced.
+     */
+    private TargetSchema getTargetSchema() {
+        if (getDataSourceMetadata() == null || getDataSourceMetadata().getInspectionType() != InspectionType.SCHEMA
+            || getDataSourceMetadata().getSpecification() == null || getDataSourceMetadata().getSpecification().length == 0) {
+            return null;
+        }
+        byte[] bytes = getDataSourceMetadata().getSpecification();
+        TargetSchema schema = this.targetSchema;
+        if (schema != null && schema.specification == bytes) {
+            return schema;
+        }
+        XSSchemaSet schemaSet = null;
+        try {
+            AtlasXmlSchemaSetParser schemaParser = new AtlasXmlSchemaSetParser(getClassLoader());
+            schemaSet = schemaParser.parse(new ByteArrayInputStream(bytes));
+        } catch (Exception e) {
+            LOG.warn("Failed to load XML schema for the document '{}': {} - ignoring", getDocId(), e.getMessage());
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("", e);
+            }
+        }
+        schema = new TargetSchema(bytes, schemaSet);
+        this.targetSchema = schema;
+        return schema;
+    }
+
+    private static class TargetSchema {
+        private final byte[] specification;
+        private final XSSchemaSet schemaSet;
+        private final Map<String, XSElementDecl> rootElementDecls = new ConcurrentHashMap<>();
+
+        TargetSchema(byte[] specification, XSSchemaSet schemaSet) {
+            this.specification = specification;
+            this.schemaSet = schemaSet;
+        }
+
+        XSElementDecl getRootElementDecl(String namespaceUri, String localName) {
+            String key = "{" + namespaceUri + "}" + localName;
+            XSElementDecl answer = rootElementDecls.get(key);
+            if (answer == null) {
+                answer = schemaSet.getElementDecl(namespaceUri, localName);
+                if (answer != null) {
+                    rootElementDecls.put(key, answer);
+                }
+            }
+            return answer;
+        }
+    }
+
 }
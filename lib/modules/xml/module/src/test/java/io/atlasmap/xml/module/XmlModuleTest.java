@@ -15,14 +15,27 @@
  */
 package io.atlasmap.xml.module;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.sun.xml.xsom.XSSchemaSet;
+
+import io.atlasmap.spi.AtlasModuleMode;
 import io.atlasmap.v2.ConstantField;
+import io.atlasmap.v2.DataSourceMetadata;
+import io.atlasmap.v2.InspectionType;
 import io.atlasmap.v2.PropertyField;
 import io.atlasmap.v2.SimpleField;
 import io.atlasmap.xml.v2.XmlField;
@@ -49,4 +62,51 @@ public class XmlModuleTest {
         assertTrue(module.isSupportedField(new SimpleField()));
     }
 
+    @Test
+    public void testTargetSchemaSet() throws Exception {
+        module.setClassLoader(getClass().getClassLoader());
+        module.setMode(AtlasModuleMode.TARGET);
+        module.setDataSourceMetadata(createSchemaMetadata("foo"));
+        module.init();
+        XSSchemaSet schemaSet = module.getTargetSchemaSet();
+        assertNotNull(schemaSet.getElementDecl("", "foo"));
+        // parsed once and reused by the subsequent sessions
+        assertSame(schemaSet, module.getTargetSchemaSet());
+        assertSame(schemaSet, module.getTargetSchemaSet());
+
+        // parsed again once the specification is replaced
+        module.setDataSourceMetadata(createSchemaMetadata("bar"));
+        XSSchemaSet replaced = module.getTargetSchemaSet();
+        assertNotSame(schemaSet, replaced);
+        assertNull(replaced.getElementDecl("", "foo"));
+        assertNotNull(replaced.getElementDecl("", "bar"));
+        assertSame(replaced, module.getTargetSchemaSet());
+    }
+
+    @Test
+    public void testSourceModuleDoesNotParseSchema() throws Exception {
+        AtomicInteger lookups = new AtomicInteger();
+        DataSourceMetadata metadata = createSchemaMetadata("foo");
+        module = new XmlModule() {
+            @Override
+            public DataSourceMetadata getDataSourceMetadata() {
+                lookups.incrementAndGet();
+                return metadata;
+            }
+        };
+        module.setClassLoader(getClass().getClassLoader());
+        module.setMode(AtlasModuleMode.SOURCE);
+        module.init();
+        assertEquals(0, lookups.get());
+    }
+
+    private DataSourceMetadata createSchemaMetadata(String rootElement) {
+        String xsd = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\">"
+                + "<xs:element name=\"" + rootElement + "\" type=\"xs:string\"/></xs:schema>";
+        DataSourceMetadata metadata = new DataSourceMetadata();
+        metadata.setInspectionType(InspectionType.SCHEMA);
+        metadata.setSpecification(xsd.getBytes(StandardCharsets.UTF_8));
+        return metadata;
+    }
+
 }
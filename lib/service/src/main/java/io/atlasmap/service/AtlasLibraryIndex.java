@@ -0,0 +1,311 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An index of the classes in the library jars, which holds the super class and the interfaces
+ * read from the class file headers. It answers the sub type queries without loading the library
+ * classes. The index of each jar is persisted next to the jar as {@code <jar name>.index} so that
+ * it's built only once per jar.
+ * The index is immutable, adding jars creates a new index so that it can be queried without a lock.
+ */
+class AtlasLibraryIndex {
+    static final String INDEX_SUFFIX = ".index";
+    private static final Logger LOG = LoggerFactory.getLogger(AtlasLibraryIndex.class);
+    private static final String HEADER = "# atlasmap library index 1";
+    private static final String CLASS_SUFFIX = ".class";
+    private static final String NONE = "-";
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+
+    private final List<String> classNames;
+    private final Map<String, ClassEntry> classes;
+
+    AtlasLibraryIndex() {
+        this(Collections.emptyList(), Collections.emptyMap());
+    }
+
+    private AtlasLibraryIndex(List<String> classNames, Map<String, ClassEntry> classes) {
+        this.classNames = classNames;
+        this.classes = classes;
+    }
+
+    /**
+     * Creates a new index which adds the classes of the jar to this index.
+     * @param jar jar file
+     * @return new index
+     * @throws IOException failed to read the jar
+     * @see #withJars(List)
+     */
+    AtlasLibraryIndex withJar(File jar) throws IOException {
+        return withJars(Collections.singletonList(jar));
+    }
+
+    /**
+     * Creates a new index which adds the classes of the jars to this index, either from the persisted
+     * index or by reading the jar and persisting its index if it doesn't exist yet or the jar has been
+     * modified since.
+     * @param jars jar files
+     * @return new index
+     * @throws IOException failed to read a jar
+     */
+    AtlasLibraryIndex withJars(List<File> jars) throws IOException {
+        List<String> names = new ArrayList<>(classNames);
+        Map<String, ClassEntry> entriesByName = new HashMap<>(classes);
+        for (File jar : jars) {
+            File indexFile = indexFileOf(jar);
+            List<ClassEntry> entries = readIndex(jar, indexFile);
+            if (entries == null) {
+                entries = readJar(jar);
+                writeIndex(jar, indexFile, entries);
+            }
+            for (ClassEntry entry : entries) {
+                names.add(entry.name);
+                entriesByName.putIfAbsent(entry.name, entry);
+            }
+        }
+        return new AtlasLibraryIndex(Collections.unmodifiableList(names), Collections.unmodifiableMap(entriesByName));
+    }
+
+    List<String> getClassNames() {
+        return classNames;
+    }
+
+    ArrayList<String> getSubTypesOf(Class<?> clazz, boolean allowAbstract, ClassLoader loader) {
+        ArrayList<String> answer = new ArrayList<>();
+        Map<String, Boolean> resolved = new HashMap<>();
+        for (String className : classNames) {
+            ClassEntry entry = classes.get(className);
+            if (!allowAbstract && (entry.access & (ACC_INTERFACE | ACC_ABSTRACT)) != 0) {
+                continue;
+            }
+            if (isSubTypeOf(className, clazz, loader, resolved)) {
+                answer.add(className);
+            }
+        }
+        return answer;
+    }
+
+    static File indexFileOf(File jar) {
+        return new File(jar.getParentFile(), jar.getName() + INDEX_SUFFIX);
+    }
+
+    private boolean isSubTypeOf(String className, Class<?> clazz, ClassLoader loader, Map<String, Boolean> resolved) {
+        if (className == null) {
+            return false;
+        }
+        if (className.equals(clazz.getName())) {
+            return true;
+        }
+        Boolean answer = resolved.get(className);
+        if (answer != null) {
+            return answer;
+        }
+        resolved.put(className, Boolean.FALSE);
+        ClassEntry entry = classes.get(className);
+        if (entry == null) {
+            // a class outside of the libraries, e.g. AtlasMap API, which is loaded anyway
+            try {
+                answer = clazz.isAssignableFrom(Class.forName(className, false, loader));
+            } catch (Throwable t) {
+                LOG.debug("Class not found: [Class name:{}, message:{}]", className, t.getMessage());
+                answer = false;
+            }
+        } else {
+            answer = isSubTypeOf(entry.superName, clazz, loader, resolved);
+            for (int i = 0; !answer && i < entry.interfaces.length; i++) {
+                answer = isSubTypeOf(entry.interfaces[i], clazz, loader, resolved);
+            }
+        }
+        resolved.put(className, answer);
+        return answer;
+    }
+
+    private List<ClassEntry> readIndex(File jar, File indexFile) {
+        if (!indexFile.isFile()) {
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(indexFile.toPath(), StandardCharsets.UTF_8)) {
+            if (!header(jar).equals(reader.readLine())) {
+                return null;
+            }
+            List<ClassEntry> answer = new ArrayList<>();
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                String[] tokens = line.split(" ");
+                if (tokens.length < 3) {
+                    return null;
+                }
+                ClassEntry entry = new ClassEntry(tokens[0]);
+                entry.access = Integer.parseInt(tokens[1]);
+                entry.superName = NONE.equals(tokens[2]) ? null : tokens[2];
+                entry.interfaces = Arrays.copyOfRange(tokens, 3, tokens.length);
+                answer.add(entry);
+            }
+            return answer;
+        } catch (Exception e) {
+            LOG.warn("Ignoring a broken library index '{}': {}", indexFile.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeIndex(File jar, File indexFile, List<ClassEntry> entries) {
+        try (BufferedWriter writer = Files.newBufferedWriter(indexFile.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(header(jar));
+            writer.newLine();
+            for (ClassEntry entry : entries) {
+                writer.write(entry.name);
+                writer.write(' ');
+                writer.write(Integer.toString(entry.access));
+                writer.write(' ');
+                writer.write(entry.superName != null ? entry.superName : NONE);
+                for (String iface : entry.interfaces) {
+                    writer.write(' ');
+                    writer.write(iface);
+                }
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to persist a library index '{}': {}", indexFile.getName(), e.getMessage());
+        }
+    }
+
+    private String header(File jar) {
+        return HEADER + " " + jar.length() + " " + jar.lastModified();
+    }
+
+    private List<ClassEntry> readJar(File jar) throws IOException {
+        List<ClassEntry> answer = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new FileInputStream(jar))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                if (entry.isDirectory() || !entry.getName().endsWith(CLASS_SUFFIX)) {
+                    continue;
+                }
+                String className = entry.getName().replace('/', '.');
+                ClassEntry classEntry = new ClassEntry(
+                        className.substring(0, className.length() - CLASS_SUFFIX.length()));
+                try {
+                    readClassHeader(zip, classEntry);
+                } catch (IOException | RuntimeException e) {
+                    LOG.warn("Failed to read a class file header '{}' in '{}', it's indexed as abstract: {}",
+                        entry.getName(), jar.getName(), e.getMessage());
+                    classEntry.access = ACC_ABSTRACT;
+                    classEntry.superName = null;
+                    classEntry.interfaces = new String[0];
+                }
+                answer.add(classEntry);
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Reads the access flags, the super class and the interfaces from the class file header,
+     * skipping over the constant pool.
+     */
+    private void readClassHeader(InputStream in, ClassEntry classEntry) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != 0xCAFEBABE) {
+            throw new IOException("Not a class file");
+        }
+        data.readUnsignedShort(); // minor version
+        data.readUnsignedShort(); // major version
+        int poolCount = data.readUnsignedShort();
+        String[] utf8 = new String[poolCount];
+        int[] classNameIndex = new int[poolCount];
+        for (int i = 1; i < poolCount; i++) {
+            int tag = data.readUnsignedByte();
+            switch (tag) {
+            case 1: // Utf8
+                utf8[i] = data.readUTF();
+                break;
+            case 7: // Class
+                classNameIndex[i] = data.readUnsignedShort();
+                break;
+            case 8: // String
+            case 16: // MethodType
+            case 19: // Module
+            case 20: // Package
+                data.skipBytes(2);
+                break;
+            case 15: // MethodHandle
+                data.skipBytes(3);
+                break;
+            case 3: // Integer
+            case 4: // Float
+            case 9: // Fieldref
+            case 10: // Methodref
+            case 11: // InterfaceMethodref
+            case 12: // NameAndType
+            case 17: // Dynamic
+            case 18: // InvokeDynamic
+                data.skipBytes(4);
+                break;
+            case 5: // Long
+            case 6: // Double
+                data.skipBytes(8);
+                i++;
+                break;
+            default:
+                throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+        classEntry.access = data.readUnsignedShort();
+        data.readUnsignedShort(); // this class
+        int superIndex = data.readUnsignedShort();
+        classEntry.superName = superIndex == 0 ? null : toClassName(utf8[classNameIndex[superIndex]]);
+        classEntry.interfaces = new String[data.readUnsignedShort()];
+        for (int i = 0; i < classEntry.interfaces.length; i++) {
+            classEntry.interfaces[i] = toClassName(utf8[classNameIndex[data.readUnsignedShort()]]);
+        }
+    }
+
+    private String toClassName(String internalName) {
+        return internalName.replace('/', '.');
+    }
+
+    private static final class ClassEntry {
+        private final String name;
+        private int access;
+        private String superName;
+        private String[] interfaces;
+
+        private ClassEntry(String name) {
+            this.name = name;
+        }
+    }
+
+}
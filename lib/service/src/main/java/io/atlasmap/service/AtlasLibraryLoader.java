@@ -16,11 +16,9 @@
 package io.atlasmap.service;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.Modifier;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
@@ -33,23 +31,36 @@ import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.core.CompoundClassLoader;
+import io.atlasmap.expression.internal.LruCache;
 
 public class AtlasLibraryLoader extends CompoundClassLoader {
     private static final Logger LOG = LoggerFactory.getLogger(AtlasLibraryLoader.class);
+    private static final int NOT_FOUND_CACHE_SIZE = 1000;
 
     private File saveDir;
     private URLClassLoader urlClassLoader;
-    private Set<ClassLoader> alternativeLoaders = new HashSet<>();
+    private Set<ClassLoader> alternativeLoaders = new LinkedHashSet<>();
+    /** Copy-on-write, the library class loader followed by the alternative loaders. */
+    private volatile ClassLoader[] loaders = new ClassLoader[0];
+    /** Class name to the class loaded by {@link #loaders}, the misses are kept in {@link #notFound}. */
+    private final Map<String, Class<?>> resolved = new ConcurrentHashMap<>();
+    /** Class names none of {@link #loaders} could load, bounded so that arbitrary names can't grow it. */
+    private final LruCache<String, Boolean> notFound = new LruCache<>(NOT_FOUND_CACHE_SIZE);
+    /**
+     * Built on demand from the persisted index files, discarded on reload unless a jar is just added.
+     * It's immutable and replaced as a whole, so that it's queried without the lock.
+     */
+    private volatile AtlasLibraryIndex index;
     private Set<AtlasLibraryLoaderListener> listeners = new HashSet<>();
 
     public AtlasLibraryLoader(String saveDirName) throws AtlasException {
@@ -77,13 +88,11 @@ public class AtlasLibraryLoader extends CompoundClassLoader {
         }
         buffer.flush();
         buffer.close();
-        List<URL> urls = new LinkedList<>();
-        urls.add(dest.toURI().toURL());
-        if (this.urlClassLoader != null) {
-            URL[] origUrls = this.urlClassLoader.getURLs();
-            urls.addAll(Arrays.asList(origUrls));
+        synchronized (this) {
+            // add only the new jar to the live index instead of building it again from all the jars
+            AtlasLibraryIndex live = this.index;
+            reload(live != null ? live.withJar(dest) : null);
         }
-        reload();
     }
 
     public void clearLibraries() {
@@ -94,6 +103,7 @@ public class AtlasLibraryLoader extends CompoundClassLoader {
                 LOG.warn("Ignoring an error while closing an old URLClassLoader: {}", e.getMessage());
             }
             this.urlClassLoader = null;
+            updateLoaders();
         }
 
         File[] files = saveDir.listFiles();
@@ -111,60 +121,58 @@ public class AtlasLibraryLoader extends CompoundClassLoader {
     }
 
     public ArrayList<String> getLibraryClassNames() throws AtlasException {
-        final String classSuffix = ".class";
-        ArrayList<String> classNames = new ArrayList<String>();
-
-        if (this.urlClassLoader == null) {
-            return classNames;
-        }
-        URL candidateURLs[] = this.urlClassLoader.getURLs();
-
-        for (int i=0; i < candidateURLs.length; i++) {
-            try (ZipInputStream zip = new ZipInputStream(new FileInputStream(candidateURLs[i].toURI().getPath()))) {
-                for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
-                    if (!entry.isDirectory() && entry.getName().endsWith(classSuffix)) {
-                        String className = entry.getName().replace('/', '.');
-                        classNames.add(className.substring(0, className.length() - classSuffix.length()));
-                    }
-                }
-            } catch (IOException | URISyntaxException e) {
-                throw new AtlasException(String.format("URL library '%s' access error: %s",
-                    candidateURLs[i].getPath(), e.getMessage()));
-            }
-        }
-        return classNames;
+        return new ArrayList<>(getIndex().getClassNames());
     }
 
     public ArrayList<String> getSubTypesOf(Class<?> clazz, boolean allowAbstract) throws AtlasException {
-        ArrayList<String> answer = new ArrayList<>();
         if (clazz == null) {
-            return answer;
+            return new ArrayList<>();
         }
         if (LOG.isDebugEnabled()) {
             LOG.debug("Searching sub types of {}", clazz.getName());
         }
-        for (String className : getLibraryClassNames()) {
-            try {
-                Class<?> c = loadClass(className);
-                if (clazz.isAssignableFrom(c)) {
-                    if (!allowAbstract
-                            && (c.isInterface() || Modifier.isAbstract(c.getModifiers()))) {
-                        continue;
-                    }
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("Found {}", className);
+        ArrayList<String> answer = getIndex().getSubTypesOf(clazz, allowAbstract, this);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Found {}", answer);
+        }
+        return answer;
+    }
+
+    private AtlasLibraryIndex getIndex() throws AtlasException {
+        AtlasLibraryIndex answer = this.index;
+        if (answer != null) {
+            return answer;
+        }
+        synchronized (this) {
+            if (this.index != null) {
+                return this.index;
+            }
+            List<File> jars = new ArrayList<>();
+            if (this.urlClassLoader != null) {
+                for (URL url : this.urlClassLoader.getURLs()) {
+                    try {
+                        jars.add(new File(url.toURI()));
+                    } catch (URISyntaxException e) {
+                        throw new AtlasException(String.format("URL library '%s' access error: %s",
+                            url.getPath(), e.getMessage()));
                     }
-                    answer.add(className);
                 }
-            } catch (Exception e) {
-                LOG.debug("", e);
-                continue;
             }
+            try {
+                answer = new AtlasLibraryIndex().withJars(jars);
+            } catch (IOException e) {
+                throw new AtlasException(String.format("Library access error: %s", e.getMessage()));
+            }
+            this.index = answer;
+            return answer;
         }
-        return answer;
     }
 
     public synchronized void reload() {
+        reload(null);
+    }
+
+    private synchronized void reload(AtlasLibraryIndex keepIndex) {
         List<URL> urls = new LinkedList<>();
         File[] files = saveDir.listFiles();
         if (!saveDir.exists() || !saveDir.isDirectory() || files == null) {
@@ -172,6 +180,9 @@ public class AtlasLibraryLoader extends CompoundClassLoader {
         }
 
         for (File f : files) {
+            if (f.getName().endsWith(AtlasLibraryIndex.INDEX_SUFFIX)) {
+                continue;
+            }
             try {
                 if (!f.isFile()) {
                     LOG.warn("Ignoring invalid file {}", f.getAbsolutePath());
@@ -189,37 +200,96 @@ public class AtlasLibraryLoader extends CompoundClassLoader {
         }
         this.urlClassLoader = urls.size() == 0 ? null
          : new URLClassLoader(urls.toArray(new URL[0]), AtlasLibraryLoader.class.getClassLoader());
+        this.index = keepIndex;
+        updateLoaders();
         listeners.forEach(l -> l.onUpdate(this));
     }
 
+    private synchronized void updateLoaders() {
+        List<ClassLoader> answer = new ArrayList<>();
+        if (this.urlClassLoader != null) {
+            answer.add(this.urlClassLoader);
+        }
+        answer.addAll(this.alternativeLoaders);
+        this.loaders = answer.toArray(new ClassLoader[0]);
+        this.resolved.clear();
+        this.notFound.clear();
+    }
+
     @Override
     public Class<?> loadClass(String name) throws ClassNotFoundException {
-        LOG.debug("Loading Class:{}", name);
-        for (ClassLoader cl : sortLoaders()) {
+        ClassLoader[] current = this.loaders;
+        Class<?> answer = resolved.get(name);
+        if (answer != null) {
+            return answer;
+        }
+        if (notFound.get(name) == null) {
+            LOG.debug("Loading Class:{}", name);
+            answer = loadFromLoaders(current, name);
+            if (answer != null) {
+                resolved.put(name, answer);
+                if (current != this.loaders) {
+                    // reloaded meanwhile
+                    resolved.remove(name);
+                }
+                return answer;
+            }
+            notFound.put(name, Boolean.TRUE);
+            if (current != this.loaders) {
+                notFound.remove(name);
+            }
+        }
+        // the thread context class loader differs by thread, so it's not cached
+        ClassLoader tccl = contextClassLoader(current);
+        if (tccl != null) {
             try {
-                return cl.loadClass(name);
+                return tccl.loadClass(name);
             } catch (NoClassDefFoundError ncdfe) {
                 throw ncdfe;
             } catch (Throwable t) {
                 LOG.debug("Class not found: [ClassLoader:{}, Class name:{}, message:{}]",
-                    cl, name, t.getMessage(), t);
-                continue;
+                    tccl, name, t.getMessage(), t);
             }
         }
         return super.loadClass(name);
     }
 
-    private Set<ClassLoader> sortLoaders() {
-        Set<ClassLoader> loaders = new LinkedHashSet<>();
-        if (this.urlClassLoader != null) {
-            loaders.add(this.urlClassLoader);
+    private Class<?> loadFromLoaders(ClassLoader[] current, String name) {
+        for (ClassLoader cl : current) {
+            try {
+                return cl.loadClass(name);
+            } catch (NoClassDefFoundError ncdfe) {
+                throw ncdfe;
+            } catch (Throwable t) {
+                LOG.debug("Class not found: [ClassLoader:{}, Class name:{}, message:{}]",
+                    cl, name, t.getMessage(), t);
+            }
         }
-        loaders.addAll(this.alternativeLoaders);
+        return null;
+    }
+
+    private ClassLoader contextClassLoader(ClassLoader[] current) {
         ClassLoader tccl = Thread.currentThread().getContextClassLoader();
-        if (this != tccl) {
-            loaders.add(tccl);
+        if (tccl == null || tccl == this) {
+            return null;
+        }
+        for (ClassLoader cl : current) {
+            if (cl == tccl) {
+                return null;
+            }
         }
-        return loaders;
+        return tccl;
+    }
+
+    private ClassLoader[] sortLoaders() {
+        ClassLoader[] current = this.loaders;
+        ClassLoader tccl = contextClassLoader(current);
+        if (tccl == null) {
+            return current;
+        }
+        ClassLoader[] answer = Arrays.copyOf(current, current.length + 1);
+        answer[current.length] = tccl;
+        return answer;
     }
 
     @Override
@@ -276,9 +346,9 @@ public class AtlasLibraryLoader extends CompoundClassLoader {
     }
 
     @Override
-    public void addAlternativeLoader(ClassLoader cl) {
-        if (this != cl) {
-            this.alternativeLoaders.add(cl);
+    public synchronized void addAlternativeLoader(ClassLoader cl) {
+        if (cl != null && this != cl && this.alternativeLoaders.add(cl)) {
+            updateLoaders();
         }
     }
 
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.atlasmap.core.AtlasUtil;
+import io.atlasmap.v2.Action;
+import io.atlasmap.v2.FieldAction;
+
+public class AtlasLibraryIndexTest {
+
+    private static final String TEST_DIR = "target/library-index";
+    private static final String CLASSES_DIR = TEST_DIR + "/classes";
+    private static final String LIB_DIR = TEST_DIR + "/lib";
+    private static final String PACKAGE_DIR = "io/atlasmap/service/lib/";
+    private static final String PACKAGE = "io.atlasmap.service.lib.";
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        AtlasUtil.deleteDirectory(new File(TEST_DIR));
+        new File(CLASSES_DIR + "/" + PACKAGE_DIR).mkdirs();
+        new File(LIB_DIR).mkdirs();
+        writeSource("AbstractLibAction", "public abstract class AbstractLibAction extends io.atlasmap.v2.Action {}");
+        writeSource("LibAction", "public class LibAction extends AbstractLibAction {}");
+        writeSource("LibFieldAction", "public interface LibFieldAction extends io.atlasmap.v2.FieldAction {}");
+        writeSource("LibPojo", "public class LibPojo {}");
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        int answer = compiler.run(System.in, System.out, System.err, "-d", CLASSES_DIR,
+                sourceOf("AbstractLibAction"), sourceOf("LibAction"), sourceOf("LibFieldAction"), sourceOf("LibPojo"));
+        assertEquals(0, answer);
+        // not a class file, which is indexed as abstract
+        Files.write(new File(CLASSES_DIR + "/" + PACKAGE_DIR + "Broken.class").toPath(),
+                "broken".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        AtlasUtil.deleteDirectory(new File(TEST_DIR));
+    }
+
+    @Test
+    public void testGetSubTypesOf() throws Exception {
+        File jar = createJar("lib.jar", "AbstractLibAction", "LibAction", "LibFieldAction", "LibPojo", "Broken");
+        AtlasLibraryIndex empty = new AtlasLibraryIndex();
+        AtlasLibraryIndex index = empty.withJar(jar);
+        assertEquals(5, index.getClassNames().size());
+        // a new index is created, the existing one is not modified
+        assertTrue(empty.getClassNames().isEmpty());
+        ClassLoader loader = getClass().getClassLoader();
+
+        assertEquals(Arrays.asList(PACKAGE + "LibAction"), index.getSubTypesOf(Action.class, false, loader));
+        assertEquals(Arrays.asList(PACKAGE + "AbstractLibAction", PACKAGE + "LibAction"),
+                index.getSubTypesOf(Action.class, true, loader));
+        assertEquals(Arrays.asList(PACKAGE + "LibAction"), index.getSubTypesOf(FieldAction.class, false, loader));
+        assertEquals(Arrays.asList(PACKAGE + "AbstractLibAction", PACKAGE + "LibAction", PACKAGE + "LibFieldAction"),
+                index.getSubTypesOf(FieldAction.class, true, loader));
+        assertTrue(index.getSubTypesOf(Runnable.class, true, loader).isEmpty());
+    }
+
+    @Test
+    public void testPersistedIndex() throws Exception {
+        File jar = createJar("lib.jar", "LibAction", "AbstractLibAction");
+        File indexFile = AtlasLibraryIndex.indexFileOf(jar);
+        new AtlasLibraryIndex().withJar(jar);
+        assertTrue(indexFile.isFile());
+
+        // the persisted index is used as long as the jar is not modified
+        Files.write(indexFile.toPath(), (PACKAGE + "Marker 1 java.lang.Object\n").getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        AtlasLibraryIndex index = new AtlasLibraryIndex().withJar(jar);
+        assertTrue(index.getClassNames().contains(PACKAGE + "Marker"));
+
+        // modified time changed
+        assertTrue(jar.setLastModified(jar.lastModified() - 10000));
+        index = new AtlasLibraryIndex().withJar(jar);
+        assertFalse(index.getClassNames().contains(PACKAGE + "Marker"));
+        assertEquals(2, index.getClassNames().size());
+
+        // size changed while the modified time is kept
+        Files.write(indexFile.toPath(), (PACKAGE + "Marker 1 java.lang.Object\n").getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        long lastModified = jar.lastModified();
+        createJar("lib.jar", "LibAction", "AbstractLibAction", "LibPojo");
+        assertTrue(jar.setLastModified(lastModified));
+        index = new AtlasLibraryIndex().withJar(jar);
+        assertFalse(index.getClassNames().contains(PACKAGE + "Marker"));
+        assertEquals(3, index.getClassNames().size());
+    }
+
+    @Test
+    public void testLibraryLoader() throws Exception {
+        File jar = createJar("lib.jar", "AbstractLibAction", "LibAction");
+        File jar2 = createJar("lib2.jar", "LibPojo");
+        File saveDir = new File(TEST_DIR + "/save");
+        AtlasLibraryLoader loader = new AtlasLibraryLoader(saveDir.getPath());
+        try (InputStream in = new FileInputStream(jar)) {
+            loader.addJarFromStream(in);
+        }
+        List<String> names = loader.getLibraryClassNames();
+        assertEquals(Arrays.asList(PACKAGE + "AbstractLibAction", PACKAGE + "LibAction"), names);
+        File[] indexFiles = saveDir.listFiles((dir, name) -> name.endsWith(AtlasLibraryIndex.INDEX_SUFFIX));
+        assertEquals(1, indexFiles.length);
+
+        // the uploaded jar is added to the live index, the existing jars are not indexed again
+        Files.delete(indexFiles[0].toPath());
+        try (InputStream in = new FileInputStream(jar2)) {
+            loader.addJarFromStream(in);
+        }
+        names = loader.getLibraryClassNames();
+        assertEquals(3, names.size());
+        assertTrue(names.contains(PACKAGE + "LibPojo"));
+        assertFalse(indexFiles[0].exists());
+        assertEquals(Arrays.asList(PACKAGE + "LibAction"), loader.getSubTypesOf(Action.class, false));
+
+        // reload skips the index files
+        loader = new AtlasLibraryLoader(saveDir.getPath());
+        names = loader.getLibraryClassNames();
+        assertEquals(3, names.size());
+        File[] files = saveDir.listFiles();
+        assertEquals(4, files.length);
+        for (File f : files) {
+            assertFalse(f.getName().endsWith(AtlasLibraryIndex.INDEX_SUFFIX + AtlasLibraryIndex.INDEX_SUFFIX));
+        }
+    }
+
+    private void writeSource(String name, String body) throws Exception {
+        Files.write(new File(sourceOf(name)).toPath(),
+                ("package io.atlasmap.service.lib;\n" + body).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String sourceOf(String name) {
+        return CLASSES_DIR + "/" + PACKAGE_DIR + name + ".java";
+    }
+
+    private File createJar(String jarName, String... classNames) throws Exception {
+        File jarFile = new File(LIB_DIR, jarName);
+        try (JarOutputStream jarOut = new JarOutputStream(new FileOutputStream(jarFile))) {
+            jarOut.putNextEntry(new JarEntry(PACKAGE_DIR));
+            jarOut.closeEntry();
+            for (String name : classNames) {
+                jarOut.putNextEntry(new JarEntry(PACKAGE_DIR + name + ".class"));
+                jarOut.write(Files.readAllBytes(new File(CLASSES_DIR + "/" + PACKAGE_DIR + name + ".class").toPath()));
+                jarOut.closeEntry();
+            }
+        }
+        return jarFile;
+    }
+
+}